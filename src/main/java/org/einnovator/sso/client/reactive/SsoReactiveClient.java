@@ -6,10 +6,20 @@ import static org.einnovator.util.UriUtils.encode;
 import static org.einnovator.util.UriUtils.encodeId;
 import static org.einnovator.util.UriUtils.makeURI;
 
+import java.io.File;
+import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.Principal;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 import javax.servlet.http.HttpSession;
 
@@ -36,7 +46,35 @@ import org.einnovator.sso.client.modelx.RoleFilter;
 import org.einnovator.sso.client.modelx.RoleOptions;
 import org.einnovator.sso.client.modelx.UserFilter;
 import org.einnovator.sso.client.modelx.UserOptions;
+import org.einnovator.sso.client.reactive.cache.ConditionalCache;
+import org.einnovator.sso.client.reactive.cache.RegistryCache;
+import org.einnovator.sso.client.reactive.cache.SharedCache;
+import org.einnovator.sso.client.reactive.cache.StaleWhileRevalidateCache;
+import org.einnovator.sso.client.reactive.cache.WriteBehindBuffer;
+import org.einnovator.sso.client.reactive.config.ReactiveClientsConfiguration;
+import org.einnovator.sso.client.reactive.config.ReactiveCountsConfiguration;
+import org.einnovator.sso.client.reactive.config.ReactiveRegistrationConfiguration;
+import org.einnovator.sso.client.reactive.config.ReactiveResourcesConfiguration;
+import org.einnovator.sso.client.reactive.config.ReactiveStreamingConfiguration;
+import org.einnovator.sso.client.reactive.config.ReactiveWebClientFactory;
+import org.einnovator.sso.client.reactive.config.SsoReactiveClientConfiguration;
 import org.einnovator.sso.client.reactive.config.SsoReactiveClientContext;
+import org.einnovator.sso.client.reactive.event.SsoChangeEvent;
+import org.einnovator.sso.client.reactive.event.SsoChangeEvent.Action;
+import org.einnovator.sso.client.reactive.event.SsoChangeEvent.Type;
+import org.einnovator.sso.client.reactive.event.SsoChangeListener;
+import org.einnovator.sso.client.reactive.limit.DemandMetrics;
+import org.einnovator.sso.client.reactive.limit.RequestLane;
+import org.einnovator.sso.client.reactive.manager.BulkInvitation;
+import org.einnovator.sso.client.reactive.model.GroupView;
+import org.einnovator.sso.client.reactive.model.InvitationResult;
+import org.einnovator.sso.client.reactive.model.RoleView;
+import org.einnovator.sso.client.reactive.model.UserView;
+import org.einnovator.sso.client.reactive.security.ReactiveClientTokenProvider;
+import org.einnovator.sso.client.reactive.security.ReactiveJwtTokenVerifier;
+import org.einnovator.sso.client.reactive.security.TokenRevoker;
+import org.einnovator.sso.client.reactive.web.BinaryNegotiationFilter;
+import org.einnovator.sso.client.reactive.web.PrincipalUserWebFilter;
 import org.einnovator.util.MappingUtils;
 import org.einnovator.util.PageResult;
 import org.einnovator.util.PageUtil;
@@ -47,12 +85,16 @@ import org.einnovator.util.web.Result;
 import org.einnovator.util.web.WebUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.RequestEntity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.client.DefaultOAuth2ClientContext;
@@ -62,14 +104,26 @@ import org.springframework.security.oauth2.client.token.grant.client.ClientCrede
 import org.springframework.security.oauth2.client.token.grant.password.ResourceOwnerPasswordResourceDetails;
 import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
 import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.provider.OAuth2Authentication;
 import org.springframework.security.oauth2.provider.authentication.OAuth2AuthenticationDetails;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClient.RequestBodySpec;
+import org.springframework.web.reactive.function.client.WebClient.RequestHeadersSpec;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import reactor.core.publisher.BufferOverflowStrategy;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * A Reactive client to EInnovator SSO Gateway.
@@ -83,12 +137,13 @@ import reactor.core.publisher.Mono;
  * <p>All API methods that invoke a server endpoint accept an <em>optional</em> tail parameter to connect to alternative server
  *  (e.g. for cover the less likely case where an application need to connect to multiple servers in different clusters).
  * <p>Internally, {@code SsoClient} uses a {@code WebClient} to invoke remote server.
- * <p>When setup as a <b>Spring Bean</b> both {@code SsoClientConfiguration} and {@code WebClient} are auto-configured.
+ * <p>When setup as a <b>Spring Bean</b> both {@code SsoClientConfiguration} and {@code WebClient} are auto-configured (see {@code SsoReactiveClientConfig}).
  * <p>Requests use a session-scoped  {@code OAuth2ClientContext} if running in a web-environment.
  * <p>If the invoking thread does not have an associated web session, the default behavior is to fallback to use a {@code OAuth2ClientContext} 
  * with client credentials. This can be disabled by setting property {@link #web} to false.
  * <p>Method {@link #register()} can be used to register custom application roles with server.
- * <p>This is automatically performed by if configuration property {@code sso.registration.roles.auto} is set to true.
+ * <p>This is automatically performed asynchronously once the application is ready by {@code SsoRegistrationListener},
+ * if configuration property {@code sso.registration.roles.auto} is set to true.
  * 
  * @see org.einnovator.sso.client.manager.UserManager
  * @see org.einnovator.sso.client.manager.GroupManager
@@ -101,16 +156,33 @@ import reactor.core.publisher.Mono;
  */
 public class SsoReactiveClient {
 
+	/**
+	 * Query parameter with the properties to return (projection).
+	 */
+	public static final String FIELDS_PARAM = "fields";
+
+	private static final String WRITE_BEHIND_USER = "user:";
+
+	private static final String WRITE_BEHIND_GROUP = "group:";
+
+	private static final String WRITE_BEHIND_INVITATION = "invitation:";
+
+	private static final String[] HOP_BY_HOP_HEADERS = {HttpHeaders.CONNECTION, HttpHeaders.TRANSFER_ENCODING, "Keep-Alive", HttpHeaders.UPGRADE};
+
+	private static final ObjectMapper REGISTRATION_MAPPER = new ObjectMapper()
+		.configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+		.configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
 	private final Log logger = LogFactory.getLog(getClass());
 
 	private SsoClientConfiguration config;
 
-	@Autowired
+	@Autowired(required=false)
 	@Qualifier("ssoWebClient")
 	private WebClient webClient;
 
-	@Autowired
-	private OAuth2ClientContext oauth2ClientContext;
+	@Autowired(required=false)
+	private OAuth2ClientContext oauth2ClientContext = new DefaultOAuth2ClientContext();
 
 	private OAuth2ClientContext oauth2ClientContext0 = new DefaultOAuth2ClientContext();
 
@@ -122,6 +194,41 @@ public class SsoReactiveClient {
 	private Application application;
 
 	private boolean web = true;
+
+	private final List<SsoChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+	@Autowired(required=false)
+	private SsoReactiveClientConfiguration reactiveConfig;
+
+	@Autowired(required=false)
+	private ReactiveWebClientFactory webClientFactory;
+
+	@Autowired(required=false)
+	private ReactiveClientTokenProvider tokenProvider;
+
+	@Autowired(required=false)
+	private ReactiveJwtTokenVerifier tokenVerifier;
+
+	@Autowired(required=false)
+	private TokenRevoker tokenRevoker;
+
+	@Autowired(required=false)
+	private SharedCache sharedCache;
+
+	@Autowired(required=false)
+	private WriteBehindBuffer writeBehindBuffer;
+
+	private volatile StaleWhileRevalidateCache<String, Integer> countCache;
+
+	private volatile Flux<InvitationStats> invitationStatsFlux;
+
+	private volatile InvitationStats invitationStats;
+
+	private volatile ConditionalCache resourceCache;
+
+	private volatile RegistryCache<Client> clientRegistry;
+
+	private final DemandMetrics demandMetrics = new DemandMetrics();
 	
 	/**
 	 * Create instance of {@code SsoClient}.
@@ -142,7 +249,7 @@ public class SsoReactiveClient {
 	public SsoReactiveClient(WebClient webClient, SsoClientConfiguration config) {
 		this.config = config;
 		this.webClient = webClient;
-		this.oauth2ClientContext = null; //TODO
+		this.oauth2ClientContext = new DefaultOAuth2ClientContext();
 	}
 
 	/**
@@ -284,6 +391,231 @@ public class SsoReactiveClient {
 		this.web = web;
 	}
 
+	/**
+	 * Get the value of property {@code reactiveConfig}.
+	 *
+	 * @return the reactiveConfig
+	 */
+	public SsoReactiveClientConfiguration getReactiveConfig() {
+		return reactiveConfig;
+	}
+
+	/**
+	 * Set the value of property {@code reactiveConfig}.
+	 *
+	 * @param reactiveConfig the value of property reactiveConfig
+	 */
+	public void setReactiveConfig(SsoReactiveClientConfiguration reactiveConfig) {
+		this.reactiveConfig = reactiveConfig;
+	}
+
+	/**
+	 * Get the value of property {@code webClientFactory}.
+	 *
+	 * @return the webClientFactory
+	 */
+	public ReactiveWebClientFactory getWebClientFactory() {
+		return webClientFactory;
+	}
+
+	/**
+	 * Set the value of property {@code webClientFactory}.
+	 *
+	 * @param webClientFactory the value of property webClientFactory
+	 */
+	public void setWebClientFactory(ReactiveWebClientFactory webClientFactory) {
+		this.webClientFactory = webClientFactory;
+	}
+
+	/**
+	 * Get the value of property {@code tokenProvider}.
+	 *
+	 * @return the tokenProvider
+	 */
+	public ReactiveClientTokenProvider getTokenProvider() {
+		return tokenProvider;
+	}
+
+	/**
+	 * Set the value of property {@code tokenProvider}.
+	 *
+	 * @param tokenProvider the value of property tokenProvider
+	 */
+	public void setTokenProvider(ReactiveClientTokenProvider tokenProvider) {
+		this.tokenProvider = tokenProvider;
+	}
+
+	/**
+	 * Get the value of property {@code tokenVerifier}.
+	 *
+	 * @return the tokenVerifier
+	 */
+	public ReactiveJwtTokenVerifier getTokenVerifier() {
+		return tokenVerifier;
+	}
+
+	/**
+	 * Set the value of property {@code tokenVerifier}.
+	 *
+	 * @param tokenVerifier the value of property tokenVerifier
+	 */
+	public void setTokenVerifier(ReactiveJwtTokenVerifier tokenVerifier) {
+		this.tokenVerifier = tokenVerifier;
+	}
+
+	/**
+	 * Get the value of property {@code tokenRevoker}.
+	 *
+	 * @return the tokenRevoker
+	 */
+	public TokenRevoker getTokenRevoker() {
+		return tokenRevoker;
+	}
+
+	/**
+	 * Set the value of property {@code tokenRevoker}.
+	 *
+	 * @param tokenRevoker the value of property tokenRevoker
+	 */
+	public void setTokenRevoker(TokenRevoker tokenRevoker) {
+		this.tokenRevoker = tokenRevoker;
+	}
+
+	/**
+	 * Get the value of property {@code sharedCache}.
+	 *
+	 * @return the sharedCache
+	 */
+	public SharedCache getSharedCache() {
+		return sharedCache;
+	}
+
+	/**
+	 * Set the value of property {@code sharedCache}.
+	 *
+	 * @param sharedCache the value of property sharedCache
+	 */
+	public void setSharedCache(SharedCache sharedCache) {
+		this.sharedCache = sharedCache;
+	}
+
+	/**
+	 * Get the value of property {@code writeBehindBuffer}.
+	 *
+	 * @return the writeBehindBuffer
+	 */
+	public WriteBehindBuffer getWriteBehindBuffer() {
+		return writeBehindBuffer;
+	}
+
+	/**
+	 * Set the value of property {@code writeBehindBuffer}.
+	 *
+	 * @param writeBehindBuffer the value of property writeBehindBuffer
+	 */
+	public void setWriteBehindBuffer(WriteBehindBuffer writeBehindBuffer) {
+		this.writeBehindBuffer = writeBehindBuffer;
+	}
+
+	/**
+	 * Get the cache for count requests, creating it on first use.
+	 *
+	 * @return the cache, or null if disabled by configuration
+	 */
+	public StaleWhileRevalidateCache<String, Integer> getCountCache() {
+		if (countCache==null) {
+			ReactiveCountsConfiguration counts = reactiveConfig!=null ? reactiveConfig.getCounts() : new ReactiveCountsConfiguration();
+			if (counts==null || !Boolean.TRUE.equals(counts.getCache())) {
+				return null;
+			}
+			synchronized (this) {
+				if (countCache==null) {
+					countCache = new StaleWhileRevalidateCache<>(counts.getSoftTtl(), counts.getHardTtl(), counts.getMaxCacheSize());
+				}
+			}
+		}
+		return countCache;
+	}
+
+	/**
+	 * Set the value of property {@code countCache}.
+	 *
+	 * @param countCache the value of property countCache
+	 */
+	public void setCountCache(StaleWhileRevalidateCache<String, Integer> countCache) {
+		this.countCache = countCache;
+	}
+
+	/**
+	 * Get the cache for single resources ({@code User}, {@code Group}, {@code Role}), creating it on first use.
+	 *
+	 * @return the cache, or null if disabled by configuration
+	 */
+	public ConditionalCache getResourceCache() {
+		if (resourceCache==null) {
+			ReactiveResourcesConfiguration resources = reactiveConfig!=null ? reactiveConfig.getResources() : new ReactiveResourcesConfiguration();
+			if (resources==null || !Boolean.TRUE.equals(resources.getCache())) {
+				return null;
+			}
+			synchronized (this) {
+				if (resourceCache==null) {
+					resourceCache = new ConditionalCache(resources.getTtl(), resources.getMaxCacheSize());
+				}
+			}
+		}
+		return resourceCache;
+	}
+
+	/**
+	 * Set the value of property {@code resourceCache}.
+	 *
+	 * @param resourceCache the value of property resourceCache
+	 */
+	public void setResourceCache(ConditionalCache resourceCache) {
+		this.resourceCache = resourceCache;
+	}
+
+	/**
+	 * Get the cache of OAuth {@code Client}s, creating it on first use.
+	 *
+	 * @return the cache, or null if disabled by configuration
+	 */
+	public RegistryCache<Client> getClientRegistry() {
+		if (clientRegistry==null) {
+			ReactiveClientsConfiguration clients = reactiveConfig!=null ? reactiveConfig.getClients() : new ReactiveClientsConfiguration();
+			if (clients==null || !Boolean.TRUE.equals(clients.getCache())) {
+				return null;
+			}
+			synchronized (this) {
+				if (clientRegistry==null) {
+					clientRegistry = new RegistryCache<>(
+						clients.getTtl()!=null ? clients.getTtl() : RegistryCache.DEFAULT_TTL,
+						clients.getNegativeTtl()!=null ? clients.getNegativeTtl() : RegistryCache.DEFAULT_NEGATIVE_TTL,
+						clients.getMaxCacheSize()!=null ? clients.getMaxCacheSize() : RegistryCache.DEFAULT_MAX_SIZE);
+				}
+			}
+		}
+		return clientRegistry;
+	}
+
+	/**
+	 * Set the value of property {@code clientRegistry}.
+	 *
+	 * @param clientRegistry the value of property clientRegistry
+	 */
+	public void setClientRegistry(RegistryCache<Client> clientRegistry) {
+		this.clientRegistry = clientRegistry;
+	}
+
+	/**
+	 * Get the metrics on the demand signalled by subscribers of {@code Flux} methods.
+	 *
+	 * @return the {@code DemandMetrics}
+	 */
+	public DemandMetrics getDemandMetrics() {
+		return demandMetrics;
+	}
+
 	public boolean isAutoSetupToken() {
 		return autoSetupToken;
 	}
@@ -301,45 +633,183 @@ public class SsoReactiveClient {
 	/**
 	 * Register client application data with default server using default configured {@code SsoRegistration}.
 	 * 
+	 * <p>The returned {@code Mono} is lazy, and nothing is sent until it is subscribed.
+	 * <p>A random delay up to {@link ReactiveRegistrationConfiguration#getMaxDelay()} is applied before registering,
+	 * to spread the load on the server when many instances are (re)started at the same time.
+	 * 
+	 * @return a {@code Mono} of void
 	 * @see SsoClientConfiguration
 	 * @see SsoRegistration
 	 */
-	public void register() {
+	public Mono<Void> register() {
 		SsoRegistration registration = config.getRegistration();
-		if (registration!=null) {
-			if (application!=null) {
-				registration.setApplication(application);
-			}
-			try {
-				register(registration);							
-			} catch (RuntimeException e) {
-				throw e;
-			}
+		if (registration==null) {
+			return Mono.empty();
+		}
+		if (application!=null) {
+			registration.setApplication(application);
 		}
+		Long maxDelay = getRegistrationConfig().getMaxDelay();
+		if (maxDelay!=null && maxDelay>0) {
+			long delay = ThreadLocalRandom.current().nextLong(maxDelay);
+			return Mono.delay(Duration.ofMillis(delay)).then(register(registration));
+		}
+		return register(registration);
 	}
 
 	/**
 	 * Register client application data with default server using client credentials.
 	 * 
+	 * <p>Registration is skipped if the content hash of {@code registration} matches the hash of the last successful registration,
+	 * as recorded in the file returned by {@link #getRegistrationHashFile()}.
+	 * The hash is recorded only after the server accepts the registration with a {@code 2xx} response.
+	 * 
 	 * @param registration the {@code SsoRegistration}
+	 * @return a {@code Mono} of void
 	 */
-	public void register(SsoRegistration registration) {
-		setupClientToken(oauth2ClientContext0);
-		register(registration, makeClientWebClient());
+	public Mono<Void> register(SsoRegistration registration) {
+		if (registration==null) {
+			return Mono.empty();
+		}
+		String hash = hashRegistration(registration);
+		return Mono.fromCallable(() -> isRegistered(hash))
+			.subscribeOn(Schedulers.boundedElastic())
+			.flatMap(registered -> {
+				if (registered) {
+					if (logger.isDebugEnabled()) {
+						logger.debug("register: skipped, registration unchanged: " + hash);
+					}
+					return Mono.<Void>empty();
+				}
+				return Mono.defer(() -> register(registration, makeClientWebClient()))
+					.then(Mono.fromRunnable(() -> writeRegistrationHash(hash)).subscribeOn(Schedulers.boundedElastic()).then());
+			});
 	}
 
 	/**
 	 * Register client application data.
 	 * 
+	 * <p>Failed requests are retried with exponential backoff and jitter, as specified by {@code ReactiveRegistrationConfiguration}.
+	 * Responses other than {@code 2xx} are considered failures, so the returned {@code Mono} completes only if the server accepted the registration.
+	 * 
 	 * <p><b>Required Security Credentials</b>: Client or Admin (global role ADMIN).
 	 * 
 	 * @param registration the {@code SsoRegistration}
 	 * @param webClient the {@code WebClient} used to connect to server
+	 * @return a {@code Mono} of void
 	 */
-	public void register(SsoRegistration registration, WebClient webClient) {
+	public Mono<Void> register(SsoRegistration registration, WebClient webClient) {
 		URI uri = makeURI(SsoEndpoints.register(config));
-		RequestEntity<SsoRegistration> request = RequestEntity.post(uri).body(registration);
-		retrieveBodyToFlux(webClient, request, Void.class);
+		RequestEntity<SsoRegistration> request = RequestEntity.post(uri).contentType(MediaType.APPLICATION_JSON).body(registration);
+		ReactiveRegistrationConfiguration registrationConfig = getRegistrationConfig();
+		Mono<Void> mono = Mono.defer(() -> retrieveBodilessEntityMono(webClient, request))
+			.flatMap(response -> response.getStatusCode().is2xxSuccessful() ? Mono.<Void>empty()
+				: Mono.<Void>error(new RestClientException("register: unexpected response status: " + response.getStatusCode())));
+		long maxRetries = registrationConfig.getMaxRetries()!=null ? registrationConfig.getMaxRetries() : 0;
+		if (maxRetries>0) {
+			mono = mono.retryBackoff(maxRetries, Duration.ofMillis(registrationConfig.getBackoff()), Duration.ofMillis(registrationConfig.getMaxBackoff()));
+		}
+		return mono;
+	}
+
+	/**
+	 * Get the {@code ReactiveRegistrationConfiguration} in use.
+	 * 
+	 * @return the {@code ReactiveRegistrationConfiguration}
+	 */
+	protected ReactiveRegistrationConfiguration getRegistrationConfig() {
+		if (reactiveConfig!=null && reactiveConfig.getRegistration()!=null) {
+			return reactiveConfig.getRegistration();
+		}
+		return new ReactiveRegistrationConfiguration();
+	}
+
+	/**
+	 * Compute a content hash for a {@code SsoRegistration}.
+	 * 
+	 * @param registration the {@code SsoRegistration}
+	 * @return the hash as an hex {@code String}, or null if it could not be computed
+	 */
+	protected String hashRegistration(SsoRegistration registration) {
+		try {
+			byte[] content = REGISTRATION_MAPPER.writeValueAsBytes(registration);
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+			StringBuilder sb = new StringBuilder();
+			for (byte b: digest) {
+				sb.append(String.format("%02x", b));
+			}
+			return sb.toString();
+		} catch (JsonProcessingException | NoSuchAlgorithmException e) {
+			logger.warn("hashRegistration: " + e);
+			return null;
+		}
+	}
+
+	/**
+	 * Check if a registration with specified hash was already successfully performed.
+	 * 
+	 * @param hash the registration hash
+	 * @return true if the hash matches the last successful registration
+	 */
+	protected boolean isRegistered(String hash) {
+		if (hash==null || !Boolean.TRUE.equals(getRegistrationConfig().getSkipUnchanged())) {
+			return false;
+		}
+		File file = getRegistrationHashFile();
+		if (file==null || !file.exists()) {
+			return false;
+		}
+		try {
+			String hash0 = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).trim();
+			return hash.equals(hash0);
+		} catch (IOException e) {
+			logger.warn("isRegistered: " + e);
+			return false;
+		}
+	}
+
+	/**
+	 * Record the hash of a successful registration.
+	 * 
+	 * @param hash the registration hash
+	 */
+	protected void writeRegistrationHash(String hash) {
+		if (hash==null || !Boolean.TRUE.equals(getRegistrationConfig().getSkipUnchanged())) {
+			return;
+		}
+		File file = getRegistrationHashFile();
+		if (file==null) {
+			return;
+		}
+		try {
+			if (file.getParentFile()!=null) {
+				file.getParentFile().mkdirs();
+			}
+			Files.write(file.toPath(), hash.getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			logger.warn("writeRegistrationHash: " + e);
+		}
+	}
+
+	/**
+	 * Get the file where the hash of the last successful registration is kept.
+	 * 
+	 * <p>This is the file specified by {@link ReactiveRegistrationConfiguration#getHashFile()}, if set.
+	 * Otherwise, a file named after the client id in the directory specified by {@link ReactiveRegistrationConfiguration#getHashDir()}.
+	 * 
+	 * @return the {@code File}, or null if no location is configured
+	 */
+	protected File getRegistrationHashFile() {
+		ReactiveRegistrationConfiguration registrationConfig = getRegistrationConfig();
+		String hashFile = registrationConfig.getHashFile();
+		if (hashFile!=null && !hashFile.trim().isEmpty()) {
+			return new File(hashFile);
+		}
+		String hashDir = registrationConfig.getHashDir();
+		if (hashDir!=null && !hashDir.trim().isEmpty()) {
+			return new File(hashDir, "sso-registration-" + config.getClientId() + ".hash");
+		}
+		return null;
 	}
 	
 	//
@@ -364,7 +834,50 @@ public class SsoReactiveClient {
 		URI uri = makeURI(SsoEndpoints.user(id, config, isAdminRequest(options, context)));
 		uri = processURI(uri, options);
 		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
-		return retrieveBodyToMono(request, User.class, context);
+		return retrieveConditional(request, User.class, context);
+	}
+
+	/**
+	 * Get a {@code Mono} for the raw response for a {@code User} with specified identifier.
+	 * 
+	 * <p>The response body is not decoded, so it can be written as is to a {@code ServerHttpResponse}.
+	 * The body {@code Flux} must be subscribed (or its buffers released) to free the connection.
+	 * 
+	 * <p><b>Required Security Credentials</b>: Any, but results depend on each {@code User} privacy settings.
+	 *
+	 * @param id the identifier
+	 * @param options (optional) the {@code UserOptions} that tailor which fields are returned (projection)
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Mono} for the {@code ResponseEntity} with the response body
+	 */
+	public Mono<ResponseEntity<Flux<DataBuffer>>> getUserRaw(String id, UserOptions options, SsoReactiveClientContext context) {
+		id = encodeId(id);
+		URI uri = makeURI(SsoEndpoints.user(id, config, isAdminRequest(options, context)));
+		uri = processURI(uri, options);
+		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
+		return retrieveRaw(request, context);
+	}
+
+	/**
+	 * Get a {@code Mono} for a compact {@code UserView} of the {@code User} with specified identifier.
+	 * 
+	 * <p>Only the properties in {@code UserView#FIELDS} are requested (projection) and decoded.
+	 * Views are cached like full resources, but separately.
+	 * 
+	 * <p><b>Required Security Credentials</b>: Any, but results depend on each {@code User} privacy settings.
+	 *
+	 * @param id the identifier
+	 * @param options (optional) the {@code UserOptions}
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Mono} for the {@code UserView}
+	 */
+	public Mono<UserView> getUserViewMono(String id, UserOptions options, SsoReactiveClientContext context) {
+		id = encodeId(id);
+		URI uri = makeURI(SsoEndpoints.user(id, config, isAdminRequest(options, context)));
+		uri = processURI(uri, options);
+		uri = processFields(uri, UserView.FIELDS);
+		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
+		return retrieveConditional(request, UserView.class, context);
 	}
 	
 	
@@ -386,6 +899,69 @@ public class SsoReactiveClient {
 		Mono<PageResult> mono = retrieveBodyToMono(request, PageResult.class, context);
 		return mono.map(r -> PageUtil.create2(r, User.class));
 	}
+
+	/**
+	 * Get a {@code Mono} for the raw response for a page of {@code User}s.
+	 * 
+	 * <p>The response body is not decoded, so it can be written as is to a {@code ServerHttpResponse}.
+	 * The body {@code Flux} must be subscribed (or its buffers released) to free the connection.
+	 * 
+	 * <p><b>Required Security Credentials</b>: Any, but results depend on credentials and each {@code User} privacy settings.
+	 * 
+	 * @param filter a {@code UserFilter}
+	 * @param pageable a {@code Pageable} (optional)
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Mono} for the {@code ResponseEntity} with the response body
+	 */
+	public Mono<ResponseEntity<Flux<DataBuffer>>> listUsersRaw(UserFilter filter, Pageable pageable, SsoReactiveClientContext context) {
+		URI uri = makeURI(SsoEndpoints.users(config, isAdminRequest(filter, context)));
+		uri = processURI(uri, filter, pageable);
+		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
+		return retrieveRaw(request, context);
+	}
+
+	/**
+	 * Get a {@code Mono} for a page of compact {@code UserView}s of {@code User}s.
+	 * 
+	 * <p>Only the properties in {@code UserView#FIELDS} are requested (projection), so less data is sent and parsed.
+	 * The page is decoded generically, and its content is then converted to {@code UserView}s.
+	 * 
+	 * <p><b>Required Security Credentials</b>: Any, but results depend on credentials and each {@code User} privacy settings.
+	 * 
+	 * @param filter a {@code UserFilter}
+	 * @param pageable a {@code Pageable} (optional)
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Mono} for a {@code Page} with {@code UserView}s
+	 */
+	public Mono<Page<UserView>> listUserViewsMono(UserFilter filter, Pageable pageable, SsoReactiveClientContext context) {
+		URI uri = makeURI(SsoEndpoints.users(config, isAdminRequest(filter, context)));
+		uri = processURI(uri, filter, pageable);
+		uri = processFields(uri, UserView.FIELDS);
+		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
+		@SuppressWarnings("rawtypes")
+		Mono<PageResult> mono = retrieveBodyToMono(request, PageResult.class, context);
+		return mono.map(r -> PageUtil.create2(r, UserView.class));
+	}
+
+	/**
+	 * Get a {@code Flux} for compact {@code UserView}s of {@code User}s.
+	 * 
+	 * <p>Only the properties in {@code UserView#FIELDS} are requested (projection) and decoded.
+	 * 
+	 * <p><b>Required Security Credentials</b>: Any, but results depend on credentials and each {@code User} privacy settings.
+	 * 
+	 * @param filter a {@code UserFilter}
+	 * @param pageable a {@code Pageable} (optional)
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Flux} for the {@code UserView}s
+	 */
+	public Flux<UserView> listUserViewsFlux(UserFilter filter, Pageable pageable, SsoReactiveClientContext context) {
+		URI uri = makeURI(SsoEndpoints.usersFlux(config, isAdminRequest(filter, context)));
+		uri = processURI(uri, filter, pageable);
+		uri = processFields(uri, UserView.FIELDS);
+		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
+		return retrieveBodyToFlux(request, UserView.class, context);
+	}
 	
 	/**
 	 * Get a {@code Flux} for the list of {@code User}s.
@@ -428,17 +1004,23 @@ public class SsoReactiveClient {
 	 * 
 	 * <p><b>Required Security Credentials</b>: Client, Admin (global role ADMIN), or owner.
 	 * 
+	 * <p>If write-behind is enabled, the update may be replaced by later updates of the same {@code User},
+	 * and the returned {@code Mono} completes when the latest update is sent.
+	 * 
 	 * @param user the {@code User}
 	 * @param options optional {@code RequestOptions}
 	 * @param context optional {@code SsoReactiveClientContext}
 	 * @return a {@code Mono} of void
 	 */
 	public Mono<Void> updateUser(User user, RequestOptions options, SsoReactiveClientContext context) {
-		URI uri = makeURI(SsoEndpoints.user(user.getId(), config, isAdminRequest(options, context)));
-		uri = processURI(uri, options);
-		RequestEntity<User> request = RequestEntity.put(uri).accept(MediaType.APPLICATION_JSON).body(user);
-		Mono<ResponseEntity<Void>> mono = retrieveBodilessEntityMono(request, context);
-		return mono.then();
+		return writeBehind(WRITE_BEHIND_USER + user.getId(), options, context, () -> {
+			SsoChangeEvent event = new SsoChangeEvent(Type.USER, Action.UPDATE, user.getId()).withUserId(user.getUsername());
+			URI uri = makeURI(SsoEndpoints.user(user.getId(), config, isAdminRequest(options, context)));
+			uri = processURI(uri, options);
+			RequestEntity<User> request = RequestEntity.put(uri).accept(MediaType.APPLICATION_JSON).body(user);
+			Mono<ResponseEntity<Void>> mono = retrieveBodilessEntityMono(request, context);
+			return mono.doOnSuccess(r -> publishChange(event)).then();
+		});
 	}
 	
 	/**
@@ -455,12 +1037,13 @@ public class SsoReactiveClient {
 	 * @return a {@code Mono} of void
 	 */
 	public Mono<Void> deleteUser(String id, RequestOptions options, SsoReactiveClientContext context) {
+		SsoChangeEvent event = new SsoChangeEvent(Type.USER, Action.DELETE, id);
 		id = encodeId(id);
 		URI uri = makeURI(SsoEndpoints.user(id, config, isAdminRequest(options, context)));
 		uri = processURI(uri, options);
 		RequestEntity<Void> request = RequestEntity.delete(uri).accept(MediaType.APPLICATION_JSON).build();
 		Mono<ResponseEntity<Void>> mono = retrieveBodilessEntityMono(request, context);
-		return mono.then();
+		return mono.doOnSuccess(r -> publishChange(event)).then();
 	}
 	
 
@@ -493,24 +1076,67 @@ public class SsoReactiveClient {
 	
 
 	/**
-	 * Get a {@code Mono} for a {@code Group} with specified identifier.
+	 * Get a {@code Mono} for a {@code Group} with specified identifier.
+	 * 
+	 * Identifier {@code id} is the value of a property with unique constraints, that is:
+	 * UUID, name for root {@code Groups} if server is configured to required unique names for root {@code Group}s .
+	 * 
+	 * <p><b>Required Security Credentials</b>: any for root {@code Group}, but results depend on each {@code User} privacy settings.
+	 *
+	 * @param groupId the identifier
+	 * @param filter (optional) the {@code GroupOptions} that tailor which fields are returned (projection) and {@code GroupFilter} for sub-groups
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Mono} for the {@code Group}
+	 */
+	public Mono<Group> getGroupMono(String groupId, GroupFilter filter, SsoReactiveClientContext context) {
+		groupId = encode(groupId);
+		URI uri = makeURI(SsoEndpoints.group(groupId, config, isAdminRequest(filter, context)));
+		uri = processURI(uri, filter);
+		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
+		return retrieveConditional(request, Group.class, context);
+	}
+
+	/**
+	 * Get a {@code Mono} for the raw response for a {@code Group} with specified identifier.
+	 * 
+	 * <p>The response body is not decoded, so it can be written as is to a {@code ServerHttpResponse}.
+	 * The body {@code Flux} must be subscribed (or its buffers released) to free the connection.
+	 * 
+	 * <p><b>Required Security Credentials</b>: any for root {@code Group}, but results depend on each {@code User} privacy settings.
+	 *
+	 * @param groupId the identifier
+	 * @param filter (optional) the {@code GroupOptions} that tailor which fields are returned (projection) and {@code GroupFilter} for sub-groups
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Mono} for the {@code ResponseEntity} with the response body
+	 */
+	public Mono<ResponseEntity<Flux<DataBuffer>>> getGroupRaw(String groupId, GroupFilter filter, SsoReactiveClientContext context) {
+		groupId = encode(groupId);
+		URI uri = makeURI(SsoEndpoints.group(groupId, config, isAdminRequest(filter, context)));
+		uri = processURI(uri, filter);
+		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
+		return retrieveRaw(request, context);
+	}
+
+	/**
+	 * Get a {@code Mono} for a compact {@code GroupView} of the {@code Group} with specified identifier.
 	 * 
-	 * Identifier {@code id} is the value of a property with unique constraints, that is:
-	 * UUID, name for root {@code Groups} if server is configured to required unique names for root {@code Group}s .
+	 * <p>Only the properties in {@code GroupView#FIELDS} are requested (projection) and decoded.
+	 * Views are cached like full resources, but separately.
 	 * 
 	 * <p><b>Required Security Credentials</b>: any for root {@code Group}, but results depend on each {@code User} privacy settings.
 	 *
 	 * @param groupId the identifier
-	 * @param filter (optional) the {@code GroupOptions} that tailor which fields are returned (projection) and {@code GroupFilter} for sub-groups
+	 * @param filter (optional) the {@code GroupFilter}
 	 * @param context optional {@code SsoReactiveClientContext}
-	 * @return a {@code Mono} for the {@code Group}
+	 * @return a {@code Mono} for the {@code GroupView}
 	 */
-	public Mono<Group> getGroupMono(String groupId, GroupFilter filter, SsoReactiveClientContext context) {
+	public Mono<GroupView> getGroupViewMono(String groupId, GroupFilter filter, SsoReactiveClientContext context) {
 		groupId = encode(groupId);
 		URI uri = makeURI(SsoEndpoints.group(groupId, config, isAdminRequest(filter, context)));
 		uri = processURI(uri, filter);
+		uri = processFields(uri, GroupView.FIELDS);
 		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
-		return retrieveBodyToMono(request, Group.class, context);
+		return retrieveConditional(request, GroupView.class, context);
 	}
 	
 	/**
@@ -532,6 +1158,69 @@ public class SsoReactiveClient {
 		return mono.map(r -> PageUtil.create2(r, Group.class));
 	}
 
+	/**
+	 * Get a {@code Mono} for the raw response for a page of {@code Group}s.
+	 * 
+	 * <p>The response body is not decoded, so it can be written as is to a {@code ServerHttpResponse}.
+	 * The body {@code Flux} must be subscribed (or its buffers released) to free the connection.
+	 * 
+	 * <p><b>Required Security Credentials</b>: any, but results depend on each {@code Group}, parent and root {@code Group} privacy settings.
+	 * 
+	 * @param filter a {@code GroupFilter}
+	 * @param pageable a {@code Pageable} (optional)
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Mono} for the {@code ResponseEntity} with the response body
+	 */
+	public Mono<ResponseEntity<Flux<DataBuffer>>> listGroupsRaw(GroupFilter filter, Pageable pageable, SsoReactiveClientContext context) {
+		URI uri = makeURI(SsoEndpoints.groups(config, isAdminRequest(filter, context)));
+		uri = processURI(uri, filter, pageable);
+		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
+		return retrieveRaw(request, context);
+	}
+
+	/**
+	 * Get a {@code Mono} for a page of compact {@code GroupView}s of {@code Group}s.
+	 * 
+	 * <p>Only the properties in {@code GroupView#FIELDS} are requested (projection), so less data is sent and parsed.
+	 * The page is decoded generically, and its content is then converted to {@code GroupView}s.
+	 * 
+	 * <p><b>Required Security Credentials</b>: any, but results depend on each {@code Group}, parent and root {@code Group} privacy settings.
+	 * 
+	 * @param filter a {@code GroupFilter}
+	 * @param pageable a {@code Pageable} (optional)
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Mono} for a {@code Page} with {@code GroupView}s
+	 */
+	public Mono<Page<GroupView>> listGroupViewsMono(GroupFilter filter, Pageable pageable, SsoReactiveClientContext context) {
+		URI uri = makeURI(SsoEndpoints.groups(config, isAdminRequest(filter, context)));
+		uri = processURI(uri, filter, pageable);
+		uri = processFields(uri, GroupView.FIELDS);
+		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
+		@SuppressWarnings("rawtypes")
+		Mono<PageResult> mono = retrieveBodyToMono(request, PageResult.class, context);
+		return mono.map(r -> PageUtil.create2(r, GroupView.class));
+	}
+
+	/**
+	 * Get a {@code Flux} for compact {@code GroupView}s of {@code Group}s.
+	 * 
+	 * <p>Only the properties in {@code GroupView#FIELDS} are requested (projection) and decoded.
+	 * 
+	 * <p><b>Required Security Credentials</b>: any, but results depend on each {@code Group}, parent and root {@code Group} privacy settings.
+	 * 
+	 * @param filter a {@code GroupFilter}
+	 * @param pageable a {@code Pageable} (optional)
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Flux} for the {@code GroupView}s
+	 */
+	public Flux<GroupView> listGroupViewsFlux(GroupFilter filter, Pageable pageable, SsoReactiveClientContext context) {
+		URI uri = makeURI(SsoEndpoints.groupsFlux(config, isAdminRequest(filter, context)));
+		uri = processURI(uri, filter, pageable);
+		uri = processFields(uri, GroupView.FIELDS);
+		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
+		return retrieveBodyToFlux(request, GroupView.class, context);
+	}
+
 	/**
 	 * Get a {@code Flux} for the list of {@code Group}s.
 	 * 
@@ -576,17 +1265,23 @@ public class SsoReactiveClient {
 	 * <p>For root {@code Group}s: owner or role <b>GROUP_MANAGER</b> in {@code Group}
 	 * <p>For sub-{@code Group}s: owner or role <b>GROUP_MANAGER</b> in {@code Group}, owner or role <b>GROUP_MANAGER</b> of parent {@code Group}, or owner or role <b>GROUP_MANAGER</b> of tree root {@code Group}.
 	 * 
+	 * <p>If write-behind is enabled, the update may be replaced by later updates of the same {@code Group},
+	 * and the returned {@code Mono} completes when the latest update is sent.
+	 * 
 	 * @param group the {@code Group}
 	 * @param options optional {@code RequestOptions}
 	 * @param context optional {@code SsoReactiveClientContext}
 	 * @return a {@code Mono} of void
 	 */
 	public Mono<Void> updateGroup(Group group, RequestOptions options, SsoReactiveClientContext context) {
-		URI uri = makeURI(SsoEndpoints.group(encode(group.getId()), config, isAdminRequest(options, context)));
-		uri = processURI(uri, options);
-		RequestEntity<Group> request = RequestEntity.put(uri).accept(MediaType.APPLICATION_JSON).body(group);		
-		Mono<ResponseEntity<Void>> mono = retrieveBodilessEntityMono(request, context);
-		return mono.then();
+		return writeBehind(WRITE_BEHIND_GROUP + group.getId(), options, context, () -> {
+			SsoChangeEvent event = new SsoChangeEvent(Type.GROUP, Action.UPDATE, group.getId());
+			URI uri = makeURI(SsoEndpoints.group(encode(group.getId()), config, isAdminRequest(options, context)));
+			uri = processURI(uri, options);
+			RequestEntity<Group> request = RequestEntity.put(uri).accept(MediaType.APPLICATION_JSON).body(group);		
+			Mono<ResponseEntity<Void>> mono = retrieveBodilessEntityMono(request, context);
+			return mono.doOnSuccess(r -> publishChange(event)).then();
+		});
 	}
 
 	/**
@@ -602,12 +1297,13 @@ public class SsoReactiveClient {
 	 * @return a {@code Mono} of void	 
 	 */
 	public Mono<Void> deleteGroup(String id, RequestOptions options, SsoReactiveClientContext context) {
+		SsoChangeEvent event = new SsoChangeEvent(Type.GROUP, Action.DELETE, id);
 		id = encode(id);
 		URI uri = makeURI(SsoEndpoints.group(id, config, isAdminRequest(options, context)));
 		uri = processURI(uri, options);
 		RequestEntity<Void> request = RequestEntity.delete(uri).accept(MediaType.APPLICATION_JSON).build();
 		Mono<ResponseEntity<Void>> mono = retrieveBodilessEntityMono(request, context);
-		return mono.then();
+		return mono.doOnSuccess(r -> publishChange(event)).then();
 	}
 	
 	//
@@ -679,7 +1375,7 @@ public class SsoReactiveClient {
 		URI uri = makeURI(SsoEndpoints.countGroups(config, isAdminRequest(filter, context)));
 		uri = processURI(uri, filter);
 		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
-		return retrieveBodyToMono(request, Integer.class, context);
+		return retrieveCount(request, context);
 	}
 	
 	/**
@@ -731,6 +1427,29 @@ public class SsoReactiveClient {
 		Mono<PageResult> mono = retrieveBodyToMono(request, PageResult.class, context);
 		return mono.map(r -> PageUtil.create2(r, Member.class));
 	}
+
+	/**
+	 * Get a {@code Mono} for the raw response for a page of {@code Member}s.
+	 * 
+	 * <p>The response body is not decoded, so it can be written as is to a {@code ServerHttpResponse}.
+	 * The body {@code Flux} must be subscribed (or its buffers released) to free the connection.
+	 * 
+	 * <p><b>Required Security Credentials</b>: any, but results depend on each {@code Group}, parent and root {@code Group} privacy settings,
+	 * and each {@code User} privacy settings.
+	 * 
+	 * @param groupId the {@code Group} identifier (UUID, or name of root group if supported)
+	 * @param filter a {@code MemberFilter}
+	 * @param pageable a {@code Pageable} (optional)
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Mono} for the {@code ResponseEntity} with the response body
+	 */
+	public Mono<ResponseEntity<Flux<DataBuffer>>> listGroupMembersRaw(String groupId, MemberFilter filter, Pageable pageable, SsoReactiveClientContext context) {
+		groupId = encode(groupId);
+		URI uri = makeURI(SsoEndpoints.groupMembers(groupId, config, isAdminRequest(filter, context)));
+		uri = processURI(uri, filter, pageable);
+		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
+		return retrieveRaw(request, context);
+	}
 	
 	/**
 	 * Get a {@code Flux} for the list of {@code Member} of a {@code Group} .
@@ -769,7 +1488,7 @@ public class SsoReactiveClient {
 		URI uri = makeURI(SsoEndpoints.countMembers(id, config, isAdminRequest(filter, context)));
 		uri = processURI(uri, filter);
 		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
-		return retrieveBodyToMono(request, Integer.class, context);
+		return retrieveCount(request, context);
 	}
 
 	/**
@@ -810,13 +1529,14 @@ public class SsoReactiveClient {
 	 
 	 */
 	public Mono<URI> addMemberToGroup(String userId, String groupId, RequestOptions options, SsoReactiveClientContext context) {
+		SsoChangeEvent event = new SsoChangeEvent(Type.MEMBER, Action.CREATE, null).withUserId(userId).withGroupId(groupId);
 		groupId = encode(groupId);
 		userId = encodeId(userId);
 		URI uri = makeURI(SsoEndpoints.groupMembers(groupId, config, isAdminRequest(options, context)) + "?username=" + userId);
 		uri = processURI(uri, options);
 		RequestEntity<Void> request = RequestEntity.post(uri).accept(MediaType.APPLICATION_JSON).build();		
 		Mono<ResponseEntity<Void>> mono = retrieveBodilessEntityMono(request, context);
-		return mono.map(r->r.getHeaders().getLocation());
+		return mono.doOnSuccess(r -> publishChange(event)).map(r->r.getHeaders().getLocation());
 	}
 	
 	/**
@@ -833,12 +1553,14 @@ public class SsoReactiveClient {
 	 
 	 */
 	public Mono<URI> addMemberToGroup(Member member, String groupId, RequestOptions options, SsoReactiveClientContext context) {
+		SsoChangeEvent event = new SsoChangeEvent(Type.MEMBER, Action.CREATE, null).withGroupId(groupId)
+				.withUserId(member.getUser()!=null ? member.getUser().getUsername() : null);
 		groupId = encode(groupId);
 		URI uri = makeURI(SsoEndpoints.groupMembers(groupId, config, isAdminRequest(options, context)));
 		uri = processURI(uri, options);
 		RequestEntity<Member> request = RequestEntity.post(uri).accept(MediaType.APPLICATION_JSON).body(member);		
 		Mono<ResponseEntity<Void>> mono = retrieveBodilessEntityMono(request, context);
-		return mono.map(r->r.getHeaders().getLocation());
+		return mono.doOnSuccess(r -> publishChange(event)).map(r->r.getHeaders().getLocation());
 	}
 	
 	/**
@@ -855,13 +1577,14 @@ public class SsoReactiveClient {
 	 
 	 */
 	public Mono<Void> removeMemberFromGroup(String userId, String groupId, RequestOptions options, SsoReactiveClientContext context) {
+		SsoChangeEvent event = new SsoChangeEvent(Type.MEMBER, Action.DELETE, null).withUserId(userId).withGroupId(groupId);
 		groupId = encode(groupId);
 		userId = encodeId(userId);
 		URI uri = makeURI(SsoEndpoints.groupMembers(groupId, config, isAdminRequest(options, context)) + "?username=" + userId);
 		uri = processURI(uri, options);
 		RequestEntity<Void> request = RequestEntity.delete(uri).accept(MediaType.APPLICATION_JSON).build();
 		Mono<ResponseEntity<Void>> mono = retrieveBodilessEntityMono(request, context);
-		return mono.then();
+		return mono.doOnSuccess(r -> publishChange(event)).then();
 	}
 	
 	/**
@@ -929,6 +1652,26 @@ public class SsoReactiveClient {
 		return retrieveBodyToMono(request, Invitation.class, context);
 	}
 
+	/**
+	 * Get a {@code Mono} for the raw response for a {@code Invitation} with specified identifier.
+	 * 
+	 * <p>The response body is not decoded, so it can be written as is to a {@code ServerHttpResponse}.
+	 * The body {@code Flux} must be subscribed (or its buffers released) to free the connection.
+	 * 
+	 * <p><b>Required Security Credentials</b>: Client, Admin (global role ADMIN), owner.
+	 *
+	 * @param id the identifier (UUID)
+	 * @param options optional  {@code InvitationOptions}
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Mono} for the {@code ResponseEntity} with the response body
+	 */
+	public Mono<ResponseEntity<Flux<DataBuffer>>> getInvitationRaw(String id, InvitationOptions options, SsoReactiveClientContext context) {
+		URI uri = makeURI(SsoEndpoints.invitation(id, config, isAdminRequest(options, context)));
+		uri = processURI(uri, options);
+		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
+		return retrieveRaw(request, context);
+	}
+
 	/**
 	 *  Get a {@code Mono} for the list of {@code Invitation}s.
 	 * 
@@ -949,6 +1692,26 @@ public class SsoReactiveClient {
 		Mono<PageResult> mono = retrieveBodyToMono(request, PageResult.class, context);
 		return mono.map(r -> PageUtil.create2(r, Invitation.class));
 	}
+
+	/**
+	 * Get a {@code Mono} for the raw response for a page of {@code Invitation}s.
+	 * 
+	 * <p>The response body is not decoded, so it can be written as is to a {@code ServerHttpResponse}.
+	 * The body {@code Flux} must be subscribed (or its buffers released) to free the connection.
+	 * 
+	 * <p><b>Required Security Credentials</b>: Client, Admin (global role ADMIN).
+	 * 
+	 * @param filter a {@code InvitationFilter}
+	 * @param pageable a {@code Pageable} (optional)
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Mono} for the {@code ResponseEntity} with the response body
+	 */
+	public Mono<ResponseEntity<Flux<DataBuffer>>> listInvitationsRaw(InvitationFilter filter, Pageable pageable, SsoReactiveClientContext context) {
+		URI uri = makeURI(SsoEndpoints.invitations(config, isAdminRequest(filter, context)));
+		uri = processURI(uri, filter, pageable);
+		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
+		return retrieveRaw(request, context);
+	}
 	
 	/**
 	 * Get a {@code Flux} for the list of {@code Invitation}s.
@@ -975,14 +1738,31 @@ public class SsoReactiveClient {
 	 * @param invitation the {@code Invitation}
 	 * @param options the {@code InvitationOptions}
 	 * @param context optional {@code SsoReactiveClientContext}
-	 * @return a {@code Mono} for the location {@code URI} for the created {@code Invitation}
+	 * @return a {@code Mono} for the location {@code URI} for the created {@code Invitation}, empty if the server sent no {@code Location}
 	 */
 	public Mono<URI> invite(Invitation invitation, InvitationOptions options, SsoReactiveClientContext context) {
 		URI uri = makeURI(SsoEndpoints.invite(config, isAdminRequest(options, context)));
 		uri = processURI(uri, options);
 		RequestEntity<Invitation> request = RequestEntity.post(uri).accept(MediaType.APPLICATION_JSON).body(invitation);		
 		Mono<ResponseEntity<Void>> mono = retrieveBodilessEntityMono(request, context);
-		return mono.map(r->r.getHeaders().getLocation());
+		return mono.flatMap(r->Mono.justOrEmpty(r.getHeaders().getLocation()));
+	}
+
+	/**
+	 * Create several {@code Invitation}s, and generate their tokens.
+	 * 
+	 * <p>Creation and token generation are pipelined with bounded concurrency, as in {@link BulkInvitation}.
+	 * To track progress or resume after an interruption, use a {@code BulkInvitation} directly.
+	 * 
+	 * <p><b>Required Security Credentials</b>: Client, Admin (global role ADMIN), any. 
+	 * 
+	 * @param invitations the {@code Invitation}s
+	 * @param options the {@code InvitationOptions}
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Flux} for the {@code InvitationResult}s, in input order
+	 */
+	public Flux<InvitationResult> inviteAll(Flux<Invitation> invitations, InvitationOptions options, SsoReactiveClientContext context) {
+		return new BulkInvitation(this, options, context).invite(invitations);
 	}
 	
 	/**
@@ -990,17 +1770,22 @@ public class SsoReactiveClient {
 	 * 
 	 * <p><b>Required Security Credentials</b>: Client, Admin (global role ADMIN), or owner.
 	 * 
+	 * <p>If write-behind is enabled, the update may be replaced by later updates of the same {@code Invitation},
+	 * and the returned {@code Mono} completes when the latest update is sent.
+	 * 
 	 * @param invitation the {@code Invitation}
 	 * @param options optional  {@code InvitationOptions}
 	 * @param context optional {@code SsoReactiveClientContext}
 	 * @return a {@code Mono} of void
 	 */
 	public Mono<Void> updateInvitation(Invitation invitation, RequestOptions options, SsoReactiveClientContext context) {
-		URI uri = makeURI(SsoEndpoints.invitation(invitation.getUuid(), config, isAdminRequest(options, context)));
-		uri = processURI(uri, options);
-		RequestEntity<Invitation> request = RequestEntity.put(uri).accept(MediaType.APPLICATION_JSON).body(invitation);
-		Mono<ResponseEntity<Void>> mono = retrieveBodilessEntityMono(request, context);
-		return mono.then();
+		return writeBehind(WRITE_BEHIND_INVITATION + invitation.getUuid(), options, context, () -> {
+			URI uri = makeURI(SsoEndpoints.invitation(invitation.getUuid(), config, isAdminRequest(options, context)));
+			uri = processURI(uri, options);
+			RequestEntity<Invitation> request = RequestEntity.put(uri).accept(MediaType.APPLICATION_JSON).body(invitation);
+			Mono<ResponseEntity<Void>> mono = retrieveBodilessEntityMono(request, context);
+			return mono.then();
+		});
 	}
 
 	
@@ -1020,6 +1805,62 @@ public class SsoReactiveClient {
 		return retrieveBodyToMono(request, InvitationStats.class, context);
 	}
 
+	/**
+	 * Get a shared {@code Flux} with snapshots of {@code InvitationStats}.
+	 * 
+	 * <p>While there are subscribers, a single background task gets the {@code InvitationStats} every
+	 * {@link ReactiveCountsConfiguration#getStatsInterval()}, and emits them to all subscribers.
+	 * New subscribers get the latest snapshot right away. So any number of subscribers costs one request per interval.
+	 * Failed refreshes are skipped, and the previous snapshot is kept.
+	 * 
+	 * <p><b>Required Security Credentials</b>: Client, Admin (global role ADMIN).
+	 *
+	 * @return the {@code Flux} for the {@code InvitationStats}
+	 */
+	public Flux<InvitationStats> getInvitationStatsFlux() {
+		Flux<InvitationStats> flux = invitationStatsFlux;
+		if (flux==null) {
+			synchronized (this) {
+				flux = invitationStatsFlux;
+				if (flux==null) {
+					flux = makeInvitationStatsFlux();
+					invitationStatsFlux = flux;
+				}
+			}
+		}
+		return flux;
+	}
+
+	/**
+	 * Make the shared {@code Flux} with snapshots of {@code InvitationStats}.
+	 *
+	 * @return the {@code Flux} for the {@code InvitationStats}
+	 */
+	protected Flux<InvitationStats> makeInvitationStatsFlux() {
+		ReactiveCountsConfiguration counts = reactiveConfig!=null && reactiveConfig.getCounts()!=null ? reactiveConfig.getCounts() : new ReactiveCountsConfiguration();
+		long interval = counts.getStatsInterval()!=null && counts.getStatsInterval()>0 ? counts.getStatsInterval() : ReactiveCountsConfiguration.DEFAULT_STATS_INTERVAL;
+		return Flux.interval(Duration.ZERO, Duration.ofMillis(interval))
+			.onBackpressureDrop()
+			.concatMap(tick -> Mono.defer(() -> getInvitationStats(null, null))
+				.onErrorResume(e -> {
+					logger.warn("makeInvitationStatsFlux: " + e);
+					return Mono.empty();
+				}), 1)
+			.doOnNext(stats -> invitationStats = stats)
+			.subscriberContext(RequestLane.context(RequestLane.BACKGROUND))
+			.replay(1)
+			.refCount();
+	}
+
+	/**
+	 * Get the latest snapshot of {@code InvitationStats} emitted by {@link #getInvitationStatsFlux()}.
+	 *
+	 * @return the {@code InvitationStats}, or null if none yet
+	 */
+	public InvitationStats getInvitationStatsSnapshot() {
+		return invitationStats;
+	}
+
 	/**
 	 * Get {@code Mono} with invitation {@code URI} with token for specified {@code Invitation}.
 	 * 
@@ -1079,7 +1920,48 @@ public class SsoReactiveClient {
 		URI uri = makeURI(SsoEndpoints.role(id, config, isAdminRequest(options, context)));
 		uri = processURI(uri, options);
 		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
-		return retrieveBodyToMono(request, Role.class, context);
+		return retrieveConditional(request, Role.class, context);
+	}
+
+	/**
+	 * Get a {@code Mono} for the raw response for a {@code Role} with specified identifier.
+	 * 
+	 * <p>The response body is not decoded, so it can be written as is to a {@code ServerHttpResponse}.
+	 * The body {@code Flux} must be subscribed (or its buffers released) to free the connection.
+	 * 
+	 * <p><b>Required Security Credentials</b>: Client, Admin (global role ADMIN) for global Roles and group Roles prototypes.
+	 *
+	 * @param id the {@code Role} identifier (UUID)
+	 * @param options the {@code RoleOptions} (options)
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Mono} for the {@code ResponseEntity} with the response body
+	 */
+	public Mono<ResponseEntity<Flux<DataBuffer>>> getRoleRaw(String id, RoleOptions options, SsoReactiveClientContext context) {
+		URI uri = makeURI(SsoEndpoints.role(id, config, isAdminRequest(options, context)));
+		uri = processURI(uri, options);
+		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
+		return retrieveRaw(request, context);
+	}
+
+	/**
+	 * Get a {@code Mono} for a compact {@code RoleView} of the {@code Role} with specified identifier.
+	 * 
+	 * <p>Only the properties in {@code RoleView#FIELDS} are requested (projection) and decoded.
+	 * Views are cached like full resources, but separately.
+	 * 
+	 * <p><b>Required Security Credentials</b>: Client, Admin (global role ADMIN) for global Roles and group Roles prototypes.
+	 *
+	 * @param id the {@code Role} identifier (UUID)
+	 * @param options the {@code RoleOptions} (options)
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Mono} for the {@code RoleView}
+	 */
+	public Mono<RoleView> getRoleViewMono(String id, RoleOptions options, SsoReactiveClientContext context) {
+		URI uri = makeURI(SsoEndpoints.role(id, config, isAdminRequest(options, context)));
+		uri = processURI(uri, options);
+		uri = processFields(uri, RoleView.FIELDS);
+		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
+		return retrieveConditional(request, RoleView.class, context);
 	}
 	
 	/**
@@ -1103,6 +1985,69 @@ public class SsoReactiveClient {
 		Mono<PageResult> mono = retrieveBodyToMono(request, PageResult.class, context);
 		return mono.map(r -> PageUtil.create2(r, Role.class));
 	}
+
+	/**
+	 * Get a {@code Mono} for the raw response for a page of {@code Role}s.
+	 * 
+	 * <p>The response body is not decoded, so it can be written as is to a {@code ServerHttpResponse}.
+	 * The body {@code Flux} must be subscribed (or its buffers released) to free the connection.
+	 * 
+	 * <p><b>Required Security Credentials</b>: Client, Admin (global role ADMIN) for global Roles and group Roles prototypes.
+	 * 
+	 * @param filter a {@code RoleFilter}
+	 * @param pageable a {@code Pageable} (optional)
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Mono} for the {@code ResponseEntity} with the response body
+	 */
+	public Mono<ResponseEntity<Flux<DataBuffer>>> listRolesRaw(RoleFilter filter, Pageable pageable, SsoReactiveClientContext context) {
+		URI uri = makeURI(SsoEndpoints.roles(config, isAdminRequest(filter, context)));
+		uri = processURI(uri, filter, pageable);
+		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
+		return retrieveRaw(request, context);
+	}
+
+	/**
+	 * Get a {@code Mono} for a page of compact {@code RoleView}s of {@code Role}s.
+	 * 
+	 * <p>Only the properties in {@code RoleView#FIELDS} are requested (projection), so less data is sent and parsed.
+	 * The page is decoded generically, and its content is then converted to {@code RoleView}s.
+	 * 
+	 * <p><b>Required Security Credentials</b>: Client, Admin (global role ADMIN) for global Roles and group Roles prototypes.
+	 * 
+	 * @param filter a {@code RoleFilter}
+	 * @param pageable a {@code Pageable} (optional)
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Mono} for a {@code Page} with {@code RoleView}s
+	 */
+	public Mono<Page<RoleView>> listRoleViewsMono(RoleFilter filter, Pageable pageable, SsoReactiveClientContext context) {
+		URI uri = makeURI(SsoEndpoints.roles(config, isAdminRequest(filter, context)));
+		uri = processURI(uri, filter, pageable);
+		uri = processFields(uri, RoleView.FIELDS);
+		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
+		@SuppressWarnings("rawtypes")
+		Mono<PageResult> mono = retrieveBodyToMono(request, PageResult.class, context);
+		return mono.map(r -> PageUtil.create2(r, RoleView.class));
+	}
+
+	/**
+	 * Get a {@code Flux} for compact {@code RoleView}s of {@code Role}s.
+	 * 
+	 * <p>Only the properties in {@code RoleView#FIELDS} are requested (projection) and decoded.
+	 * 
+	 * <p><b>Required Security Credentials</b>: Client, Admin (global role ADMIN) for global Roles and group Roles prototypes.
+	 * 
+	 * @param filter a {@code RoleFilter}
+	 * @param pageable a {@code Pageable} (optional)
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Flux} for the {@code RoleView}s
+	 */
+	public Flux<RoleView> listRoleViewsFlux(RoleFilter filter, Pageable pageable, SsoReactiveClientContext context) {
+		URI uri = makeURI(SsoEndpoints.rolesFlux(config, isAdminRequest(filter, context)));
+		uri = processURI(uri, filter, pageable);
+		uri = processFields(uri, RoleView.FIELDS);
+		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
+		return retrieveBodyToFlux(request, RoleView.class, context);
+	}
 	
 	/**
 	 * Get a {@code Flux} for the list of {@code Role}s.
@@ -1155,11 +2100,12 @@ public class SsoReactiveClient {
 	 * @return a {@code Mono} of void	 
 	 */
 	public Mono<Void> updateRole(Role role, RequestOptions options, SsoReactiveClientContext context) {
+		SsoChangeEvent event = new SsoChangeEvent(Type.ROLE, Action.UPDATE, role.getId());
 		URI uri = makeURI(SsoEndpoints.role(role.getId(), config, isAdminRequest(options, context)));
 		uri = processURI(uri, options);
 		RequestEntity<Role> request = RequestEntity.put(uri).accept(MediaType.APPLICATION_JSON).body(role);
 		Mono<ResponseEntity<Void>> mono = retrieveBodilessEntityMono(request, context);
-		return mono.then();
+		return mono.doOnSuccess(r -> publishChange(event)).then();
 	}
 	
 	
@@ -1177,11 +2123,12 @@ public class SsoReactiveClient {
 	 * @return a {@code Mono} of void	 
 	 */
 	public Mono<Void> deleteRole(String id, RequestOptions options, SsoReactiveClientContext context) {
+		SsoChangeEvent event = new SsoChangeEvent(Type.ROLE, Action.DELETE, id);
 		URI uri = makeURI(SsoEndpoints.role(id, config, isAdminRequest(options, context)));
 		uri = processURI(uri, options);
 		RequestEntity<Void> request = RequestEntity.delete(uri).accept(MediaType.APPLICATION_JSON).build();
 		Mono<ResponseEntity<Void>> mono = retrieveBodilessEntityMono(request, context);
-		return mono.then();
+		return mono.doOnSuccess(r -> publishChange(event)).then();
 	}
 	
 	//
@@ -1210,6 +2157,27 @@ public class SsoReactiveClient {
 		Mono<PageResult> mono = retrieveBodyToMono(request, PageResult.class, context);
 		return mono.map(r -> PageUtil.create2(r, User.class));
 	}
+
+	/**
+	 * Get a {@code Mono} for the raw response for a page of {@code User}s.
+	 * 
+	 * <p>The response body is not decoded, so it can be written as is to a {@code ServerHttpResponse}.
+	 * The body {@code Flux} must be subscribed (or its buffers released) to free the connection.
+	 * 
+	 * <p><b>Required Security Credentials</b>: Client, Admin (global role ADMIN) for global Roles and group Roles prototypes.
+	 * 
+	 * @param roleId the {@code Role} identifier (UUID)
+	 * @param filter a {@code UserFilter}
+	 * @param pageable a {@code Pageable} (optional)
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Mono} for the {@code ResponseEntity} with the response body
+	 */
+	public Mono<ResponseEntity<Flux<DataBuffer>>> listRoleMembersRaw(String roleId, UserFilter filter, Pageable pageable, SsoReactiveClientContext context) {
+		URI uri = makeURI(SsoEndpoints.roleMembers(roleId, config, isAdminRequest(filter, context)));
+		uri = processURI(uri, filter, pageable);
+		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
+		return retrieveRaw(request, context);
+	}
 	
 	/**
 	 * Get a {@code Flux} for the list of {@code User}s assigned to a {@code Role} .
@@ -1249,7 +2217,7 @@ public class SsoReactiveClient {
 		URI uri = makeURI(SsoEndpoints.countRoleMembers(roleId, config, isAdminRequest(filter, context)));
 		uri = processURI(uri, filter);
 		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
-		return retrieveBodyToMono(request, Integer.class, context);
+		return retrieveCount(request, context);
 	}
 
 	/**
@@ -1391,19 +2359,71 @@ public class SsoReactiveClient {
 	/**
 	 * Get a {@code Mono} for a {@code Client} with specified identifier.
 	 * 
-	 * <p><b>Required Security Credentials</b>: Admin (global role ADMIN).
+	 * <p>If no {@code options} are given, the {@code Client} is looked up in {@link #getClientRegistry()},
+	 * separately for admin and non-admin requests, since they use different endpoints.
+	 * Unknown identifiers are also cached, and repeated lookups fail with the same {@code 404 Not Found} error.
+	 * 
+	 * <p><b>Required Security Credentials</b>: Admin (global role ADMIN).
+	 * 
+	 * @param id the identifier (UUID)
+	 * @param options {@code ClientOptions} options (optional)
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Mono} for the {@code Client}	 
+	 */
+	public Mono<Client> getClientMono(String id, ClientOptions options, SsoReactiveClientContext context) {
+		RegistryCache<Client> registry = getClientRegistry();
+		if (registry==null || options!=null || id==null || (context!=null && context.getWebClient()!=null)) {
+			return loadClientMono(id, options, context);
+		}
+		return registry.get(getClientRegistryKey(id, context), () -> loadClientMono(id, null, context));
+	}
+
+	/**
+	 * Get the key of a {@code Client} in {@link #getClientRegistry()}.
+	 * 
+	 * @param id the identifier (UUID)
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return the key, distinct for admin requests
+	 */
+	protected String getClientRegistryKey(String id, SsoReactiveClientContext context) {
+		return isAdminRequest((ClientOptions) null, context) ? id + "|admin" : id;
+	}
+
+	/**
+	 * Get a {@code Mono} for a {@code Client} with specified identifier from the server.
+	 * 
+	 * @param id the identifier (UUID)
+	 * @param options {@code ClientOptions} options (optional)
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Mono} for the {@code Client}	 
+	 */
+	protected Mono<Client> loadClientMono(String id, ClientOptions options, SsoReactiveClientContext context) {
+		id = encodeId(id);
+		URI uri = makeURI(SsoEndpoints.client(id, config, isAdminRequest(options, context)));
+		uri = processURI(uri, options);
+		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
+		return retrieveBodyToMono(request, Client.class, context);
+	}
+
+	/**
+	 * Get a {@code Mono} for the raw response for a {@code Client} with specified identifier.
+	 * 
+	 * <p>The response body is not decoded, so it can be written as is to a {@code ServerHttpResponse}.
+	 * The body {@code Flux} must be subscribed (or its buffers released) to free the connection.
 	 * 
+	 * <p><b>Required Security Credentials</b>: Admin (global role ADMIN).
+	 *
 	 * @param id the identifier (UUID)
 	 * @param options {@code ClientOptions} options (optional)
 	 * @param context optional {@code SsoReactiveClientContext}
-	 * @return a {@code Mono} for the {@code Client}	 
+	 * @return a {@code Mono} for the {@code ResponseEntity} with the response body
 	 */
-	public Mono<Client> getClientMono(String id, ClientOptions options, SsoReactiveClientContext context) {
+	public Mono<ResponseEntity<Flux<DataBuffer>>> getClientRaw(String id, ClientOptions options, SsoReactiveClientContext context) {
 		id = encodeId(id);
 		URI uri = makeURI(SsoEndpoints.client(id, config, isAdminRequest(options, context)));
 		uri = processURI(uri, options);
 		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
-		return retrieveBodyToMono(request, Client.class, context);
+		return retrieveRaw(request, context);
 	}
 
 	/**
@@ -1424,6 +2444,26 @@ public class SsoReactiveClient {
 		Mono<PageResult> mono = retrieveBodyToMono(request, PageResult.class, context);
 		return mono.map(r -> PageUtil.create2(r, Client.class));
 	}
+
+	/**
+	 * Get a {@code Mono} for the raw response for a page of {@code Client}s.
+	 * 
+	 * <p>The response body is not decoded, so it can be written as is to a {@code ServerHttpResponse}.
+	 * The body {@code Flux} must be subscribed (or its buffers released) to free the connection.
+	 * 
+	 * <p><b>Required Security Credentials</b>: Any, but results depend on credentials and each {@code Client} privacy settings.
+	 * 
+	 * @param filter a {@code ClientFilter}
+	 * @param pageable a {@code Pageable} (optional)
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Mono} for the {@code ResponseEntity} with the response body
+	 */
+	public Mono<ResponseEntity<Flux<DataBuffer>>> listClientsRaw(ClientFilter filter, Pageable pageable, SsoReactiveClientContext context) {
+		URI uri = makeURI(SsoEndpoints.clients(config, isAdminRequest(filter, context)));
+		uri = processURI(uri, filter, pageable);
+		RequestEntity<Void> request = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
+		return retrieveRaw(request, context);
+	}
 	
 	/**
 	 * Get a {@code Flux} for the list of {@code Client}s.
@@ -1442,6 +2482,24 @@ public class SsoReactiveClient {
 		return retrieveBodyToFlux(request, Client.class, context);
 	}
 
+	/**
+	 * Load all {@code Client}s into {@link #getClientRegistry()}.
+	 * 
+	 * <p><b>Required Security Credentials</b>: Admin (global role ADMIN).
+	 * 
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Mono} for the number of {@code Client}s loaded
+	 */
+	public Mono<Long> preloadClients(SsoReactiveClientContext context) {
+		RegistryCache<Client> registry = getClientRegistry();
+		if (registry==null) {
+			return Mono.just(0L);
+		}
+		return listClientsFlux(null, null, context)
+			.doOnNext(client -> registry.put(getClientRegistryKey(client.getId(), context), client))
+			.count();
+	}
+
 	/**
 	 * Deferred Create a new {@code Client}
 	 * 
@@ -1454,11 +2512,12 @@ public class SsoReactiveClient {
 	 
 	 */
 	public Mono<URI> createClient(Client client, RequestOptions options, SsoReactiveClientContext context) {
+		SsoChangeEvent event = new SsoChangeEvent(Type.CLIENT, Action.CREATE, client.getId());
 		URI uri = makeURI(SsoEndpoints.clients(config, isAdminRequest(options, context)));
 		uri = processURI(uri, options);
 		RequestEntity<Client> request = RequestEntity.post(uri).accept(MediaType.APPLICATION_JSON).body(client);
 		Mono<ResponseEntity<Void>> mono = retrieveBodilessEntityMono(request, context);
-		return mono.map(r->r.getHeaders().getLocation());
+		return mono.doOnSuccess(r -> publishChange(event)).map(r->r.getHeaders().getLocation());
 	}
 	
 	/**
@@ -1472,11 +2531,12 @@ public class SsoReactiveClient {
 	 * @return a {@code Mono} of void	 
 	 */
 	public Mono<Void> updateClient(Client client, RequestOptions options, SsoReactiveClientContext context) {
+		SsoChangeEvent event = new SsoChangeEvent(Type.CLIENT, Action.UPDATE, client.getId());
 		URI uri = makeURI(SsoEndpoints.client(client.getId(), config, isAdminRequest(options, context)));
 		uri = processURI(uri, options);
 		RequestEntity<Client> request = RequestEntity.put(uri).accept(MediaType.APPLICATION_JSON).body(client);
 		Mono<ResponseEntity<Void>> mono = retrieveBodilessEntityMono(request, context);
-		return mono.then();
+		return mono.doOnSuccess(r -> publishChange(event)).then();
 	}
 	
 	/**
@@ -1490,12 +2550,89 @@ public class SsoReactiveClient {
 	 * @return a {@code Mono} of void	 
 	 */
 	public Mono<Void> deleteClient(String clientId, RequestOptions options, SsoReactiveClientContext context) {
+		SsoChangeEvent event = new SsoChangeEvent(Type.CLIENT, Action.DELETE, clientId);
 		clientId = encodeId(clientId);
 		URI uri = makeURI(SsoEndpoints.client(clientId, config, isAdminRequest(options, context)));
 		uri = processURI(uri, options);
 		RequestEntity<Void> request = RequestEntity.delete(uri).accept(MediaType.APPLICATION_JSON).build();
 		Mono<ResponseEntity<Void>> mono = retrieveBodilessEntityMono(request, context);
-		return mono.then();
+		return mono.doOnSuccess(r -> publishChange(event)).then();
+	}
+
+	//
+	// Change Events
+	//
+
+	/**
+	 * Add a {@code SsoChangeListener} notified of changes performed through this client.
+	 * 
+	 * @param listener the {@code SsoChangeListener}
+	 */
+	public void addChangeListener(SsoChangeListener listener) {
+		changeListeners.add(listener);
+	}
+
+	/**
+	 * Remove a {@code SsoChangeListener}.
+	 * 
+	 * @param listener the {@code SsoChangeListener}
+	 */
+	public void removeChangeListener(SsoChangeListener listener) {
+		changeListeners.remove(listener);
+	}
+
+	/**
+	 * Notify all {@code SsoChangeListener}s of a change.
+	 * 
+	 * <p>Failures in listeners are logged and do not affect other listeners or the caller.
+	 * 
+	 * @param event the {@code SsoChangeEvent}
+	 */
+	public void publishChange(SsoChangeEvent event) {
+		if (countCache!=null && event.getType()!=Type.CLIENT && event.getType()!=Type.INVITATION) {
+			countCache.clear();
+		}
+		if (resourceCache!=null && (event.getType()==Type.USER || event.getType()==Type.GROUP || event.getType()==Type.ROLE)
+				&& event.getAction()!=Action.CREATE) {
+			if (event.getId()!=null) {
+				resourceCache.invalidateTagged(event.getId());
+			} else {
+				resourceCache.clear();
+			}
+		}
+		if (clientRegistry!=null && event.getType()==Type.CLIENT) {
+			clientRegistry.clear();
+		}
+		for (SsoChangeListener listener: changeListeners) {
+			try {
+				listener.onChange(event);
+			} catch (RuntimeException e) {
+				logger.error("publishChange: " + event + " " + e);
+			}
+		}
+	}
+
+	/**
+	 * Notify all {@code SsoChangeListener}s that changes may have been missed, and discard all cached resources, counts and {@code Client}s.
+	 * 
+	 */
+	public void publishResync() {
+		if (countCache!=null) {
+			countCache.clear();
+		}
+		if (resourceCache!=null) {
+			resourceCache.clear();
+		}
+		if (clientRegistry!=null) {
+			clientRegistry.clear();
+		}
+		for (SsoChangeListener listener: changeListeners) {
+			try {
+				listener.onResync();
+			} catch (RuntimeException e) {
+				logger.error("publishResync: " + e);
+			}
+		}
 	}
 
 	//
@@ -1520,7 +2657,7 @@ public class SsoReactiveClient {
 	protected <T> Flux<T> retrieveBodyToFlux(RequestEntity<?> request, Class<T> responseType, SsoReactiveClientContext context) throws RestClientException {
 		WebClient webClient = getRequiredWebClient(context);
 		try {
-			return retrieveBodyToFlux(webClient, request, responseType);			
+			return withLane(limitRate(retrieveBodyToFlux(webClient, request, responseType), context), context);
 		} catch (RuntimeException e) {
 			if (context!=null && !context.isSingleton()) {
 				context.setResult(new Result<Object>(e));
@@ -1546,7 +2683,7 @@ public class SsoReactiveClient {
 	protected <T> Mono<T> retrieveBodyToMono(RequestEntity<?> request, Class<T> responseType, SsoReactiveClientContext context) throws RestClientException {
 		WebClient webClient = getRequiredWebClient(context);
 		try {
-			return retrieveBodyToMono(webClient, request, responseType);			
+			return withLane(retrieveBodyToMono(webClient, request, responseType), context);
 		} catch (RuntimeException e) {
 			if (context!=null && !context.isSingleton()) {
 				context.setResult(new Result<Object>(e));
@@ -1556,6 +2693,30 @@ public class SsoReactiveClient {
 	}
 	
 	
+	/**
+	 * Perform the HTTP request and retrieve the response as a {@code Mono<ResponseEntity<T>>}.
+	 * 
+	 * <p>Error responses fail with a {@code WebClientResponseException}, other responses (e.g. {@code 304 Not Modified})
+	 * are returned with their status and headers.
+	 * 
+	 * @param <T> response type
+	 * @param request the {@code RequestEntity}
+	 * @param responseType the response type
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Mono} for the {@code ResponseEntity}
+	 */
+	protected <T> Mono<ResponseEntity<T>> retrieveBodyToEntityMono(RequestEntity<?> request, Class<T> responseType, SsoReactiveClientContext context) throws RestClientException {
+		WebClient webClient = getRequiredWebClient(context);
+		try {
+			return withLane(retrieveBodyToEntityMono(webClient, request, responseType), context);
+		} catch (RuntimeException e) {
+			if (context!=null && !context.isSingleton()) {
+				context.setResult(new Result<Object>(e));
+			}
+			throw e;
+		}
+	}
+
 	/**
 	 * Perform the HTTP request and retrieve a response with no body as a {@code Mono<ResponseEntity<Void>>}.
 	 * 
@@ -1568,7 +2729,7 @@ public class SsoReactiveClient {
 	protected <T> Mono<ResponseEntity<Void>> retrieveBodilessEntityMono(RequestEntity<?> request, SsoReactiveClientContext context) throws RestClientException {
 		WebClient webClient = getRequiredWebClient(context);
 		try {
-			return retrieveBodilessEntityMono(webClient, request);			
+			return withLane(retrieveBodilessEntityMono(webClient, request), context);
 		} catch (RuntimeException e) {
 			if (context!=null && !context.isSingleton()) {
 				context.setResult(new Result<Object>(e));
@@ -1577,6 +2738,262 @@ public class SsoReactiveClient {
 		}
 	}
 
+	/**
+	 * Perform the HTTP request and retrieve the response with the body as a {@code Flux} of raw {@code DataBuffer}s.
+	 * 
+	 * <p>Error responses fail with a {@code WebClientResponseException}.
+	 * Binary format negotiation is disabled, so the body has the media type requested.
+	 * Hop-by-hop headers are not included in the {@code ResponseEntity}, so its headers can be copied to another response.
+	 * 
+	 * @param request the {@code RequestEntity}
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Mono} for the {@code ResponseEntity} with the response body
+	 */
+	protected Mono<ResponseEntity<Flux<DataBuffer>>> retrieveRaw(RequestEntity<?> request, SsoReactiveClientContext context) {
+		WebClient webClient = getRequiredWebClient(context);
+		if (autoSetupToken) {
+			setupToken();
+		}
+		RequestHeadersSpec<?> spec = setup(webClient, request);
+		spec.attribute(BinaryNegotiationFilter.DISABLE_ATTRIBUTE, true);
+		return withLane(spec.exchange().flatMap(response -> {
+			if (response.statusCode().isError()) {
+				return response.createException().flatMap(e -> Mono.<ResponseEntity<Flux<DataBuffer>>>error(e));
+			}
+			HttpHeaders headers = new HttpHeaders();
+			headers.putAll(response.headers().asHttpHeaders());
+			for (String name: HOP_BY_HOP_HEADERS) {
+				headers.remove(name);
+			}
+			return Mono.just(ResponseEntity.status(response.rawStatusCode()).headers(headers).body(response.bodyToFlux(DataBuffer.class)));
+		}), context);
+	}
+
+	/**
+	 * Perform a count request, with the result cached in {@link #getCountCache()}.
+	 * 
+	 * <p>Counts are cached per request URI and per authenticated principal, since results depend on the caller privileges.
+	 * Requests with a {@code WebClient} provided in the context are not cached.
+	 * 
+	 * @param request the {@code RequestEntity}
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Mono} for the count
+	 */
+	protected Mono<Integer> retrieveCount(RequestEntity<?> request, SsoReactiveClientContext context) {
+		StaleWhileRevalidateCache<String, Integer> cache = getCountCache();
+		Supplier<Mono<Integer>> loader = () -> retrieveBodyToMono(request, Integer.class, context);
+		if (cache==null || (context!=null && context.getWebClient()!=null)) {
+			return loader.get();
+		}
+		return getPrincipalName().flatMap(name -> cache.get(name + " " + request.getUrl(), loader));
+	}
+
+	/**
+	 * Perform a read request for a single resource, using {@link #getResourceCache()}.
+	 * 
+	 * <p>A fresh cached resource is returned without contacting the server.
+	 * Otherwise, if the resource is cached, the request is sent with {@code If-None-Match} and {@code If-Modified-Since}
+	 * headers set from the cached validators, and a {@code 304 Not Modified} response returns the cached resource without decoding.
+	 * Resources are cached per request URI and per authenticated principal.
+	 * Requests with a {@code WebClient} provided in the context are not cached.
+	 * 
+	 * @param <T> response type
+	 * @param request the {@code RequestEntity}
+	 * @param responseType the response type
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return a {@code Mono} for the resource
+	 */
+	protected <T> Mono<T> retrieveConditional(RequestEntity<?> request, Class<T> responseType, SsoReactiveClientContext context) {
+		ConditionalCache cache = getResourceCache();
+		if (cache==null || (context!=null && context.getWebClient()!=null)) {
+			return retrieveBodyToMono(request, responseType, context);
+		}
+		return getPrincipalName().flatMap(name -> {
+			String key = name + " " + request.getUrl();
+			ConditionalCache.Entry<T> entry = cache.get(key, responseType);
+			if (entry!=null && cache.isFresh(entry)) {
+				return Mono.just(entry.getValue());
+			}
+			return retrieveBodyToEntityMono(makeConditionalRequest(request, entry), responseType, context)
+				.flatMap(response -> {
+					if (response.getStatusCode()==HttpStatus.NOT_MODIFIED && entry!=null) {
+						cache.touch(entry);
+						return Mono.just(entry.getValue());
+					}
+					T value = response.getBody();
+					if (value==null) {
+						return Mono.empty();
+					}
+					HttpHeaders headers = response.getHeaders();
+					cache.put(key, value, headers.getETag(), headers.getLastModified(), getResourceTags(value));
+					return Mono.just(value);
+				})
+				.doOnError(WebClientResponseException.class, e -> cache.invalidate(key));
+		});
+	}
+
+	/**
+	 * Make a conditional request for a resource, with the {@code If-None-Match} and {@code If-Modified-Since} headers
+	 * set from the validators of the cached resource.
+	 * 
+	 * @param request the {@code RequestEntity}
+	 * @param entry the cached resource, or null if none
+	 * @return the conditional {@code RequestEntity}, or {@code request} if no validators are available
+	 */
+	protected RequestEntity<?> makeConditionalRequest(RequestEntity<?> request, ConditionalCache.Entry<?> entry) {
+		if (entry==null || (entry.getEtag()==null && entry.getLastModified()<0)) {
+			return request;
+		}
+		HttpHeaders headers = new HttpHeaders();
+		headers.putAll(request.getHeaders());
+		if (entry.getEtag()!=null) {
+			headers.setIfNoneMatch(entry.getEtag());
+		}
+		if (entry.getLastModified()>=0) {
+			headers.setIfModifiedSince(entry.getLastModified());
+		}
+		return new RequestEntity<>(request.getBody(), headers, request.getMethod(), request.getUrl());
+	}
+
+	/**
+	 * Add the projection query parameter, to request only specified properties of resources.
+	 * 
+	 * @param uri the request {@code URI}
+	 * @param fields the names of the properties
+	 * @return the {@code URI}
+	 */
+	protected URI processFields(URI uri, String... fields) {
+		if (fields==null || fields.length==0) {
+			return uri;
+		}
+		return UriComponentsBuilder.fromUri(uri).replaceQueryParam(FIELDS_PARAM, String.join(",", fields)).build(true).toUri();
+	}
+
+	/**
+	 * Get the tags used to invalidate a cached resource on change events: the identifiers that may be used to refer to it.
+	 * 
+	 * @param value the resource
+	 * @return the tags
+	 */
+	protected String[] getResourceTags(Object value) {
+		if (value instanceof User) {
+			return new String[] {((User) value).getId(), ((User) value).getUsername()};
+		}
+		if (value instanceof Group) {
+			return new String[] {((Group) value).getId()};
+		}
+		if (value instanceof Role) {
+			return new String[] {((Role) value).getId()};
+		}
+		if (value instanceof UserView) {
+			return new String[] {((UserView) value).getId(), ((UserView) value).getUsername()};
+		}
+		if (value instanceof GroupView) {
+			return new String[] {((GroupView) value).getId()};
+		}
+		if (value instanceof RoleView) {
+			return new String[] {((RoleView) value).getId()};
+		}
+		return null;
+	}
+
+	/**
+	 * Get the name of the authenticated principal, from the reactive or thread-bound security context.
+	 * 
+	 * @return a {@code Mono} for the name, or an empty string if there is no authenticated principal
+	 */
+	protected static Mono<String> getPrincipalName() {
+		return ReactiveSecurityContextHolder.getContext()
+			.flatMap(securityContext -> Mono.justOrEmpty(securityContext.getAuthentication()))
+			.map(Authentication::getName)
+			.switchIfEmpty(Mono.fromSupplier(() -> {
+				Authentication authentication = SecurityUtil.getAuthentication();
+				return authentication!=null ? authentication.getName() : null;
+			}))
+			.defaultIfEmpty("");
+	}
+
+	/**
+	 * Apply backpressure settings to a streamed response.
+	 * 
+	 * <p>Elements are requested from the response in batches of {@code limitRate}, and optionally read ahead
+	 * into a bounded buffer with an overflow policy, as configured in {@code ReactiveStreamingConfiguration}
+	 * or overridden in the context. Demand is recorded in {@link #getDemandMetrics()}.
+	 * 
+	 * @param <T> the element type
+	 * @param flux the {@code Flux} for the response
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return the {@code Flux}
+	 */
+	protected <T> Flux<T> limitRate(Flux<T> flux, SsoReactiveClientContext context) {
+		ReactiveStreamingConfiguration streaming = reactiveConfig!=null && reactiveConfig.getStreaming()!=null ? reactiveConfig.getStreaming() : new ReactiveStreamingConfiguration();
+		Integer limitRate = context!=null && context.getLimitRate()!=null ? context.getLimitRate() : streaming.getLimitRate();
+		Integer maxBuffer = context!=null && context.getMaxBuffer()!=null ? context.getMaxBuffer() : streaming.getMaxBuffer();
+		BufferOverflowStrategy overflow = context!=null && context.getOverflow()!=null ? context.getOverflow() : streaming.getOverflow();
+		flux = flux.doOnRequest(demandMetrics::onRequest);
+		if (limitRate!=null && limitRate>0) {
+			Integer lowTide = streaming.getLowTide();
+			flux = lowTide!=null && lowTide>=0 ? flux.limitRate(limitRate, Math.min(lowTide, limitRate)) : flux.limitRate(limitRate);
+		}
+		if (maxBuffer!=null && maxBuffer>0) {
+			flux = flux.onBackpressureBuffer(maxBuffer, value -> demandMetrics.onDropped(), overflow!=null ? overflow : BufferOverflowStrategy.ERROR);
+		}
+		return flux.doOnSubscribe(subscription -> demandMetrics.onSubscribe())
+			.doOnNext(value -> demandMetrics.onNext())
+			.doFinally(signal -> demandMetrics.onTerminate());
+	}
+
+	/**
+	 * Perform a write, or submit it to the {@code WriteBehindBuffer} if write-behind is enabled.
+	 * 
+	 * <p>Write-behind is enabled if property {@link #writeBehindBuffer} is set (e.g. with {@code sso.reactive.write-behind.enabled=true}),
+	 * unless disabled in the context.
+	 * Writes are coalesced only with writes of the same entity submitted with the same {@code options} and {@code context}
+	 * instances, so a write is never performed with the options or credentials of another caller.
+	 * 
+	 * @param key the key of the entity written
+	 * @param options optional {@code RequestOptions}
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @param write a {@code Supplier} of the {@code Mono} that performs the write
+	 * @return a {@code Mono} that completes when the write is performed
+	 */
+	protected Mono<Void> writeBehind(String key, RequestOptions options, SsoReactiveClientContext context, Supplier<Mono<Void>> write) {
+		if (writeBehindBuffer==null || (context!=null && Boolean.FALSE.equals(context.getWriteBehind()))) {
+			return write.get();
+		}
+		return writeBehindBuffer.submit(key, new Object[] {options, context}, write);
+	}
+
+	/**
+	 * Set the {@code RequestLane} specified in the context, if any, in the Reactor {@code Context} of a request.
+	 * 
+	 * @param <T> the element type
+	 * @param mono the {@code Mono} for the request
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return the {@code Mono}
+	 */
+	protected <T> Mono<T> withLane(Mono<T> mono, SsoReactiveClientContext context) {
+		if (context==null || context.getLane()==null) {
+			return mono;
+		}
+		return mono.subscriberContext(RequestLane.context(context.getLane()));
+	}
+
+	/**
+	 * Set the {@code RequestLane} specified in the context, if any, in the Reactor {@code Context} of a request.
+	 * 
+	 * @param <T> the element type
+	 * @param flux the {@code Flux} for the request
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return the {@code Flux}
+	 */
+	protected <T> Flux<T> withLane(Flux<T> flux, SsoReactiveClientContext context) {
+		if (context==null || context.getLane()==null) {
+			return flux;
+		}
+		return flux.subscriberContext(RequestLane.context(context.getLane()));
+	}
+
 	/**
 	 * Get the {@code WebClient} to use to perform a request.
 	 * 
@@ -1594,10 +3011,7 @@ public class SsoReactiveClient {
 			webClient = context.getWebClient();
 		} else {
 			if (WebUtil.getHttpServletRequest()==null && web) {
-				if (this.webClient0==null) {
-					this.webClient0 = makeClientWebClient(config);
-				}
-				webClient = this.webClient0;
+				webClient = makeClientWebClient();
 			}			
 		}
 		return webClient;
@@ -1618,7 +3032,7 @@ public class SsoReactiveClient {
 		if (autoSetupToken) {
 			setupToken();
 		}
-		RequestBodySpec spec = setup(webClient, request);
+		RequestHeadersSpec<?> spec = setup(webClient, request);
 		return spec.retrieve().bodyToFlux(responseType);
 	}
 
@@ -1637,8 +3051,7 @@ public class SsoReactiveClient {
 		if (autoSetupToken) {
 			setupToken();
 		}
-		RequestBodySpec spec =  setup(webClient, request);
-		setup(webClient, request);
+		RequestHeadersSpec<?> spec = setup(webClient, request);
 		return spec.retrieve().toEntity(responseType);
 	}
 	
@@ -1657,8 +3070,7 @@ public class SsoReactiveClient {
 		if (autoSetupToken) {
 			setupToken();
 		}
-		RequestBodySpec spec =  setup(webClient, request);
-		setup(webClient, request);
+		RequestHeadersSpec<?> spec = setup(webClient, request);
 		return spec.retrieve().bodyToMono(responseType);
 	}
 	
@@ -1674,18 +3086,24 @@ public class SsoReactiveClient {
 		if (autoSetupToken) {
 			setupToken();
 		}
-		RequestBodySpec spec =  setup(webClient, request);
-		setup(webClient, request);
+		RequestHeadersSpec<?> spec = setup(webClient, request);
 		return spec.retrieve().toBodilessEntity();
 	}
 	
-	protected RequestBodySpec setup(WebClient webClient, RequestEntity<?> request) {
+	/**
+	 * Create the {@code WebClient} request for a {@code RequestEntity}, with its method, URI, headers and body.
+	 * 
+	 * @param webClient the {@code WebClient} to use
+	 * @param request the {@code RequestEntity}
+	 * @return the request spec
+	 */
+	protected RequestHeadersSpec<?> setup(WebClient webClient, RequestEntity<?> request) {
 		RequestBodySpec spec =  webClient.method(request.getMethod()).uri(request.getUrl());
 		if (request.getHeaders()!=null) {
-			List<MediaType> types = request.getHeaders().getAccept(); 
-			if (types!=null) {
-				spec.accept(types.toArray(new MediaType[types.size()]));		
-			}
+			spec.headers(headers -> headers.addAll(request.getHeaders()));
+		}
+		if (request.getBody()!=null) {
+			return spec.bodyValue(request.getBody());
 		}
 		return spec;
 	}
@@ -1835,6 +3253,40 @@ public class SsoReactiveClient {
 		return oauth2ClientContext.getAccessToken();
 	}
 	
+	//
+	// Token verification
+	//
+
+	/**
+	 * Verify a signed access token locally, without a round trip to the server.
+	 * 
+	 * <p>Requires property {@link #tokenVerifier} to be set (e.g. with {@code sso.reactive.jwt.enabled=true}).
+	 * 
+	 * @param tokenValue the token value
+	 * @return a {@code Mono} for the verified {@code Jwt}, or an error if the token is not valid
+	 */
+	public Mono<Jwt> verifyToken(String tokenValue) {
+		if (tokenVerifier==null) {
+			return Mono.error(new IllegalStateException("verifyToken: no ReactiveJwtTokenVerifier configured"));
+		}
+		return tokenVerifier.decode(tokenValue);
+	}
+
+	/**
+	 * Verify locally the access token of an {@code Authentication}.
+	 * 
+	 * @param authentication the {@code Authentication}
+	 * @return a {@code Mono} for the verified {@code Jwt}, empty if {@code authentication} has no token
+	 * @see #verifyToken(String)
+	 */
+	public Mono<Jwt> verifyToken(Authentication authentication) {
+		String tokenValue = getTokenValue(authentication);
+		if (tokenValue==null) {
+			return Mono.empty();
+		}
+		return verifyToken(tokenValue);
+	}
+
 	//
 	// Static Token utils
 	//
@@ -2005,6 +3457,38 @@ public class SsoReactiveClient {
 		 Map<String, Object> details = SecurityUtil.getPrincipalDetails();
 		 return MappingUtils.convert(details, User.class);
 	}
+
+	/**
+	 * Get a {@code Mono} for the {@code User} for {@code Principal} in the reactive {@code SecurityContext}.
+	 * 
+	 * <p>If running downstream of a {@code PrincipalUserWebFilter}, the {@code User} memoized for the current request is used.
+	 * Otherwise, the {@code User} is resolved from the reactive {@code SecurityContext} on each call.
+	 * 
+	 * @return the {@code Mono} for the {@code User}, empty if not authenticated
+	 */
+	public static final Mono<User> getPrincipalUserMono() {
+		return Mono.subscriberContext().flatMap(context -> {
+			if (context.hasKey(PrincipalUserWebFilter.PRINCIPAL_USER_ATTRIBUTE)) {
+				return context.<Mono<User>>get(PrincipalUserWebFilter.PRINCIPAL_USER_ATTRIBUTE);
+			}
+			return ReactiveSecurityContextHolder.getContext()
+				.flatMap(securityContext -> Mono.justOrEmpty(PrincipalUserWebFilter.makeUser(securityContext.getAuthentication())));
+		});
+	}
+
+	/**
+	 * Get a {@code Mono} for the {@code User} for {@code Principal} of a {@code ServerWebExchange}.
+	 * 
+	 * @param exchange the {@code ServerWebExchange}
+	 * @return the {@code Mono} for the {@code User}, empty if not authenticated
+	 * @see #getPrincipalUserMono()
+	 */
+	public static final Mono<User> getPrincipalUserMono(ServerWebExchange exchange) {
+		if (exchange.getAttribute(PrincipalUserWebFilter.PRINCIPAL_USER_ATTRIBUTE)!=null) {
+			return PrincipalUserWebFilter.getPrincipalUser(exchange);
+		}
+		return getPrincipalUserMono();
+	}
 	
 	//
 	// Logout
@@ -2036,6 +3520,9 @@ public class SsoReactiveClient {
 	/**
 	 * Force logout.
 	 * 
+	 * <p>If property {@link #tokenRevoker} is set (e.g. with {@code sso.reactive.revocation.enabled=true}),
+	 * the access token is revoked asynchronously, and the returned {@code Mono} completes as soon as the token is queued.
+	 * 
 	 * @param authentication the {@code Authentication}
 	 * @param context optional {@code SsoReactiveClientContext}
 	 * @return a {@code Mono} of void
@@ -2047,6 +3534,12 @@ public class SsoReactiveClient {
 		Object details = authentication.getDetails();
 		if (details.getClass().isAssignableFrom(OAuth2AuthenticationDetails.class)) {
 			String accessToken = ((OAuth2AuthenticationDetails) details).getTokenValue();
+			if (tokenRevoker!=null && (context==null || context.getConfig()==null)) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("logout: queued");
+				}
+				return tokenRevoker.revoke(accessToken);
+			}
 			SsoClientConfiguration config = this.config;
 			if (context!=null && context.getConfig()!=null) {
 				config = context.getConfig();
@@ -2056,7 +3549,6 @@ public class SsoReactiveClient {
 					.accept(MediaType.APPLICATION_JSON).contentType(MediaType.APPLICATION_JSON)
 					.header("Authorization", "Bearer " + accessToken).build();
 			try {
-				WebClient webClient = makeWebClient();
 				Mono<ResponseEntity<Void>> mono = retrieveBodilessEntityMono(request2, context);
 				if (logger.isDebugEnabled()) {
 					logger.debug("logout:");					
@@ -2095,14 +3587,28 @@ public class SsoReactiveClient {
 	/**
 	 * Make a {@code WebClient} to connect to server specified by a {@code OAuth2ProtectedResourceDetails}.
 	 * 
-	 * @param resource the {@code OAuth2ProtectedResourceDetails}
+	 * <p>Requests get a bearer token from a {@code ReactiveClientTokenProvider} for {@code resource},
+	 * kept in {@code oauth2ClientContext}.
+	 * 
+	 * @param resource the {@code OAuth2ProtectedResourceDetails} (client credentials or resource owner password)
 	 * @param oauth2ClientContext the {@code OAuth2ClientContext}
 	 * @return the {@code WebClient}
+	 * @throws IllegalArgumentException if the grant type of {@code resource} is not supported
 	 */
 	public static WebClient makeWebClient(OAuth2ProtectedResourceDetails resource, OAuth2ClientContext oauth2ClientContext) {
-		//ClientHttpRequestFactory clientHttpRequestFactory = config.getConnection().makeClientHttpRequestFactory();
-		//webClient.setRequestFactory(clientHttpRequestFactory); //TODO
-		return makeWebClient(resource, oauth2ClientContext);
+		return makeWebClient(new ReactiveClientTokenProvider(resource, oauth2ClientContext, WebClient.create()));
+	}
+
+	/**
+	 * Make a {@code WebClient} that gets bearer tokens from a {@code ReactiveClientTokenProvider}.
+	 * 
+	 * @param tokenProvider the {@code ReactiveClientTokenProvider}
+	 * @return the {@code WebClient}
+	 */
+	public static WebClient makeWebClient(ReactiveClientTokenProvider tokenProvider) {
+		return WebClient.builder()
+				.filter(tokenProvider.filter())
+				.build();
 	}
 	
 	/**
@@ -2138,10 +3644,21 @@ public class SsoReactiveClient {
 		return makeWebClient(resource, oauth2ClientContext);
 	}
 
-	
+	/**
+	 * Make a {@code WebClient} to connect to server specified by configuration {@code SsoClientConfiguration}.
+	 * 
+	 * <p>Returns the {@code WebClient} specified in the context, if any.
+	 * Otherwise, a {@code WebClient} with client credentials.
+	 * 
+	 * @param config the {@code SsoClientConfiguration}
+	 * @param context optional {@code SsoReactiveClientContext}
+	 * @return the {@code WebClient}
+	 */
 	public static WebClient makeWebClient(SsoClientConfiguration config, SsoReactiveClientContext context) {
-		return WebClient.builder()
-				.build();
+		if (context!=null && context.getWebClient()!=null) {
+			return context.getWebClient();
+		}
+		return makeWebClient(SsoClient.makeClientCredentialsResourceDetails(config), new DefaultOAuth2ClientContext());
 	}
 
 	
@@ -2149,12 +3666,18 @@ public class SsoReactiveClient {
 	 * Make a {@code WebClient} to connect to default server with Client credentials in singleton {@code OAuth2ClientContext}.
 	 * 
 	 * Sets the created {@code WebClient} as value of property {@code webClient0} if currently null.
+	 * If property {@link #webClientFactory} is set, the {@code WebClient} shares its connection pool and codecs, 
+	 * and gets client tokens from {@link #tokenProvider}.
 	 * 
 	 * @return the {@code WebClient}
 	 */
 	public WebClient makeClientWebClient() {
 		if (webClient0==null) {
-			webClient0 = makeWebClient(oauth2ClientContext0);
+			if (webClientFactory!=null) {
+				webClient0 = webClientFactory.makeWebClient(tokenProvider!=null ? tokenProvider.filter() : null);
+			} else {
+				webClient0 = makeWebClient(oauth2ClientContext0);				
+			}
 		}
 		return webClient0;
 	}
@@ -2170,12 +3693,11 @@ public class SsoReactiveClient {
 	
 
 	private static WebClient makeClientWebClient(ClientCredentialsResourceDetails resource, OAuth2ClientContext context, boolean setup) {
-		WebClient webClient = WebClient.builder()
-				.build();
+		ReactiveClientTokenProvider tokenProvider = new ReactiveClientTokenProvider(resource, context, WebClient.create());
 		if (setup) {
-			//setupClientToken(webClient.getOAuth2ClientContext(), config);			
+			tokenProvider.getToken().subscribe(token -> {}, e -> {});
 		}
-		return webClient;
+		return makeWebClient(tokenProvider);
 	}
 
 	public static WebClient makeClientWebClient(SsoClientConfiguration config) {
@@ -0,0 +1,182 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+
+/**
+ * A thread-safe map bounded to a maximum number of entries, evicting the least recently used entry when full.
+ *
+ * <p>Used as the in-process store of the caches in this client. Expiry is left to callers, which check it on lookup
+ * and remove expired entries with {@link #remove(Object, Object)}, so an entry replaced concurrently is not removed.
+ * Eviction drops one entry at a time, so a full cache keeps its most recently used entries rather than being cleared.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ *
+ * @author support@einnovator.org
+ */
+public class BoundedCache<K, V> {
+
+	private volatile int maxSize;
+
+	private final Map<K, V> map;
+
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * Create instance of {@code BoundedCache}.
+	 *
+	 * @param maxSize the maximum number of entries, or zero or negative for no limit
+	 */
+	public BoundedCache(int maxSize) {
+		this.maxSize = maxSize;
+		this.map = new LinkedHashMap<K, V>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+				if (isFull(size() - 1)) {
+					evictions.incrementAndGet();
+					return true;
+				}
+				return false;
+			}
+
+		};
+	}
+
+	/**
+	 * Get the value of property {@code maxSize}.
+	 *
+	 * @return the maxSize
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Set the value of property {@code maxSize}.
+	 *
+	 * <p>If the cache holds more entries than the new limit, the least recently used are evicted.
+	 *
+	 * @param maxSize the value of property maxSize
+	 */
+	public synchronized void setMaxSize(int maxSize) {
+		this.maxSize = maxSize;
+		Iterator<K> it = map.keySet().iterator();
+		while (it.hasNext() && isFull(map.size() - 1)) {
+			it.next();
+			it.remove();
+			evictions.incrementAndGet();
+		}
+	}
+
+	private boolean isFull(int size) {
+		int max = maxSize;
+		return max>0 && size>=max;
+	}
+
+	//
+	// Access
+	//
+
+	/**
+	 * Get the value of a key, and mark it as recently used.
+	 *
+	 * @param key the key
+	 * @return the value, or null if missing
+	 */
+	public synchronized V get(K key) {
+		return map.get(key);
+	}
+
+	/**
+	 * Put the value of a key, evicting the least recently used entry if full.
+	 *
+	 * @param key the key
+	 * @param value the value
+	 * @return the previous value, or null if none
+	 */
+	public synchronized V put(K key, V value) {
+		return map.put(key, value);
+	}
+
+	/**
+	 * Remove the value of a key.
+	 *
+	 * @param key the key
+	 * @return the removed value, or null if missing
+	 */
+	public synchronized V remove(K key) {
+		return map.remove(key);
+	}
+
+	/**
+	 * Remove the value of a key, only if it is the given value.
+	 *
+	 * @param key the key
+	 * @param value the expected value
+	 * @return true if removed
+	 */
+	public synchronized boolean remove(K key, V value) {
+		return map.remove(key, value);
+	}
+
+	/**
+	 * Remove the entries matching a {@code BiPredicate}.
+	 *
+	 * @param predicate the {@code BiPredicate} on key and value
+	 */
+	public synchronized void removeIf(BiPredicate<? super K, ? super V> predicate) {
+		map.entrySet().removeIf(entry -> predicate.test(entry.getKey(), entry.getValue()));
+	}
+
+	/**
+	 * Get a snapshot of the keys.
+	 *
+	 * @return the keys
+	 */
+	public synchronized List<K> keys() {
+		return new ArrayList<>(map.keySet());
+	}
+
+	/**
+	 * Remove all entries.
+	 *
+	 */
+	public synchronized void clear() {
+		map.clear();
+	}
+
+	/**
+	 * Get the number of entries.
+	 *
+	 * @return the number of entries
+	 */
+	public synchronized int size() {
+		return map.size();
+	}
+
+	//
+	// Metrics
+	//
+
+	/**
+	 * Get the number of entries evicted because the cache was full.
+	 *
+	 * @return the number of evictions
+	 */
+	public long getEvictions() {
+		return evictions.get();
+	}
+
+}
@@ -0,0 +1,303 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * A cache of resources together with their HTTP validators ({@code ETag} and {@code Last-Modified}).
+ *
+ * <p>Entries validated less than {@link #getTtl()} ago are considered fresh and can be used without contacting the server.
+ * Older entries are revalidated with a conditional request ({@code If-None-Match}, {@code If-Modified-Since}),
+ * and a {@code 304 Not Modified} response is turned into a hit with {@link #touch(Entry)}.
+ *
+ * @author support@einnovator.org
+ */
+public class ConditionalCache {
+
+	public static final long DEFAULT_TTL = 0;
+
+	public static final int DEFAULT_MAX_SIZE = 10000;
+
+	private long ttl = DEFAULT_TTL;
+
+	private int maxSize = DEFAULT_MAX_SIZE;
+
+	private final BoundedCache<String, Entry<?>> cache = new BoundedCache<>(DEFAULT_MAX_SIZE);
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong notModified = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Create instance of {@code ConditionalCache}.
+	 *
+	 */
+	public ConditionalCache() {
+	}
+
+	/**
+	 * Create instance of {@code ConditionalCache}.
+	 *
+	 * @param ttl the time an entry is fresh after being validated (milliseconds)
+	 * @param maxSize the maximum number of entries
+	 */
+	public ConditionalCache(long ttl, int maxSize) {
+		this.ttl = ttl;
+		setMaxSize(maxSize);
+	}
+
+	/**
+	 * Get the value of property {@code ttl}.
+	 *
+	 * @return the ttl (milliseconds)
+	 */
+	public long getTtl() {
+		return ttl;
+	}
+
+	/**
+	 * Set the value of property {@code ttl}.
+	 *
+	 * @param ttl the value of property ttl (milliseconds)
+	 */
+	public void setTtl(long ttl) {
+		this.ttl = ttl;
+	}
+
+	/**
+	 * Get the value of property {@code maxSize}.
+	 *
+	 * @return the maxSize
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Set the value of property {@code maxSize}.
+	 *
+	 * @param maxSize the value of property maxSize
+	 */
+	public void setMaxSize(int maxSize) {
+		this.maxSize = maxSize;
+		cache.setMaxSize(maxSize);
+	}
+
+	//
+	// Access
+	//
+
+	/**
+	 * Get the cached entry for a key.
+	 *
+	 * @param <T> the value type
+	 * @param key the key
+	 * @param type the value type
+	 * @return the {@code Entry}, or null if not cached or cached with a different type
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> Entry<T> get(String key, Class<T> type) {
+		Entry<?> entry = cache.get(key);
+		if (entry==null || !type.isInstance(entry.value)) {
+			misses.incrementAndGet();
+			return null;
+		}
+		if (isFresh(entry)) {
+			hits.incrementAndGet();
+		}
+		return (Entry<T>) entry;
+	}
+
+	/**
+	 * Check if an entry can be used without revalidation.
+	 *
+	 * @param entry the {@code Entry}
+	 * @return true if fresh
+	 */
+	public boolean isFresh(Entry<?> entry) {
+		return ttl>0 && System.currentTimeMillis() - entry.validatedAt<ttl;
+	}
+
+	/**
+	 * Put a value in the cache, with its validators.
+	 *
+	 * @param key the key
+	 * @param value the value
+	 * @param etag the {@code ETag} (optional)
+	 * @param lastModified the {@code Last-Modified} time (milliseconds), or a negative number if unknown
+	 * @param tags optional tags for the entry (e.g. the identifiers of the resource), used by {@link #invalidateTagged(String)}
+	 */
+	public void put(String key, Object value, String etag, long lastModified, String... tags) {
+		if (value==null) {
+			return;
+		}
+		if (etag==null && lastModified<0 && ttl<=0) {
+			return;
+		}
+		cache.put(key, new Entry<Object>(value, etag, lastModified, tags));
+	}
+
+	/**
+	 * Mark an entry as just validated by the server (e.g. after a {@code 304 Not Modified} response).
+	 *
+	 * @param entry the {@code Entry}
+	 */
+	public void touch(Entry<?> entry) {
+		notModified.incrementAndGet();
+		entry.validatedAt = System.currentTimeMillis();
+	}
+
+	/**
+	 * Remove the entry for a key.
+	 *
+	 * @param key the key
+	 */
+	public void invalidate(String key) {
+		cache.remove(key);
+	}
+
+	/**
+	 * Remove the entries whose key matches a {@code Predicate}.
+	 *
+	 * @param predicate the {@code Predicate}
+	 */
+	public void invalidateIf(Predicate<String> predicate) {
+		cache.removeIf((key, entry) -> predicate.test(key));
+	}
+
+	/**
+	 * Remove the entries with a tag.
+	 *
+	 * @param tag the tag
+	 */
+	public void invalidateTagged(String tag) {
+		cache.removeIf((key, entry) -> entry.hasTag(tag));
+	}
+
+	/**
+	 * Remove all entries.
+	 *
+	 */
+	public void clear() {
+		cache.clear();
+	}
+
+	/**
+	 * Get the number of entries in the cache.
+	 *
+	 * @return the number of entries
+	 */
+	public int size() {
+		return cache.size();
+	}
+
+	//
+	// Metrics
+	//
+
+	/**
+	 * Get the number of lookups answered with a fresh entry.
+	 *
+	 * @return the number of hits
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Get the number of revalidations answered with {@code 304 Not Modified}.
+	 *
+	 * @return the number of not-modified responses
+	 */
+	public long getNotModified() {
+		return notModified.get();
+	}
+
+	/**
+	 * Get the number of lookups with no cached entry.
+	 *
+	 * @return the number of misses
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * A cached value with its validators.
+	 *
+	 * @param <T> the value type
+	 */
+	public static class Entry<T> {
+
+		private final T value;
+
+		private final String etag;
+
+		private final long lastModified;
+
+		private final String[] tags;
+
+		private volatile long validatedAt = System.currentTimeMillis();
+
+		Entry(T value, String etag, long lastModified, String[] tags) {
+			this.value = value;
+			this.etag = etag;
+			this.lastModified = lastModified;
+			this.tags = tags;
+		}
+
+		boolean hasTag(String tag) {
+			if (tags!=null) {
+				for (String tag2: tags) {
+					if (tag.equals(tag2)) {
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Get the value of property {@code value}.
+		 *
+		 * @return the value
+		 */
+		public T getValue() {
+			return value;
+		}
+
+		/**
+		 * Get the value of property {@code etag}.
+		 *
+		 * @return the etag
+		 */
+		public String getEtag() {
+			return etag;
+		}
+
+		/**
+		 * Get the value of property {@code lastModified}.
+		 *
+		 * @return the lastModified (milliseconds), or a negative number if unknown
+		 */
+		public long getLastModified() {
+			return lastModified;
+		}
+
+		/**
+		 * Get the value of property {@code validatedAt}.
+		 *
+		 * @return the validatedAt (milliseconds)
+		 */
+		public long getValidatedAt() {
+			return validatedAt;
+		}
+
+	}
+
+}
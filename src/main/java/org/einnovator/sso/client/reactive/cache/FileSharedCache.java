@@ -0,0 +1,207 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reference file-backed implementation of {@code SharedCache}.
+ *
+ * <p>Each entry is stored in a file named after the SHA-256 hash of the key, holding the expiry time, the key and the value.
+ * Eviction by prefix reads the key of every entry, so its cost grows with the number of entries.
+ * Files are written to a temporary file and atomically renamed, so the directory can be shared by several processes
+ * (e.g. replicas in the same host, or mounting the same volume).
+ * <p>Entries carry no integrity check, so the directory should only be writable by the processes sharing it.
+ * If missing, it is created accessible only to the owner (in file systems supporting POSIX permissions).
+ * <p>File I/O runs in the bounded elastic {@code Scheduler}.
+ *
+ * @author support@einnovator.org
+ */
+public class FileSharedCache implements SharedCache {
+
+	private static final String SUFFIX = ".cache";
+
+	private static final int HEADER_SIZE = Long.BYTES + Integer.BYTES;
+
+	private final Path dir;
+
+	/**
+	 * Create instance of {@code FileSharedCache}.
+	 *
+	 * @param dir the directory where to store entries (created owner-only if missing)
+	 */
+	public FileSharedCache(File dir) {
+		this.dir = dir.toPath();
+	}
+
+	/**
+	 * Get the value of property {@code dir}.
+	 *
+	 * @return the dir
+	 */
+	public File getDir() {
+		return dir.toFile();
+	}
+
+	@Override
+	public Mono<byte[]> get(String key) {
+		return Mono.fromCallable(() -> read(getPath(key), key))
+			.subscribeOn(Schedulers.boundedElastic());
+	}
+
+	@Override
+	public Mono<Void> put(String key, byte[] value, long ttl) {
+		return Mono.<Void>fromRunnable(() -> write(getPath(key), key, value, System.currentTimeMillis() + ttl))
+			.subscribeOn(Schedulers.boundedElastic());
+	}
+
+	@Override
+	public Mono<Void> evict(String key) {
+		return Mono.<Void>fromRunnable(() -> {
+			try {
+				Files.deleteIfExists(getPath(key));
+			} catch (IOException e) {
+				throw new UncheckedIOException("evict: " + key, e);
+			}
+		}).subscribeOn(Schedulers.boundedElastic());
+	}
+
+	@Override
+	public Mono<Void> evictAll(String prefix) {
+		return Mono.<Void>fromRunnable(() -> {
+			if (!Files.isDirectory(dir)) {
+				return;
+			}
+			try (DirectoryStream<Path> paths = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+				for (Path path: paths) {
+					String key = readKey(path);
+					if (key!=null && key.startsWith(prefix)) {
+						Files.deleteIfExists(path);
+					}
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException("evictAll: " + prefix, e);
+			}
+		}).subscribeOn(Schedulers.boundedElastic());
+	}
+
+	/**
+	 * Get the file for a key.
+	 *
+	 * @param key the key
+	 * @return the {@code Path}
+	 */
+	protected Path getPath(String key) {
+		return dir.resolve(hash(key) + SUFFIX);
+	}
+
+	private byte[] read(Path path, String key) {
+		byte[] data;
+		try {
+			data = Files.readAllBytes(path);
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (IOException e) {
+			throw new UncheckedIOException("read: " + path, e);
+		}
+		if (data.length<HEADER_SIZE) {
+			return null;
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(data);
+		long expiresAt = buffer.getLong();
+		int keyLength = buffer.getInt();
+		if (keyLength<0 || keyLength>buffer.remaining()) {
+			return null;
+		}
+		if (expiresAt<=System.currentTimeMillis()) {
+			try {
+				Files.deleteIfExists(path);
+			} catch (IOException e) {
+				//ignore
+			}
+			return null;
+		}
+		if (!key.equals(new String(data, HEADER_SIZE, keyLength, StandardCharsets.UTF_8))) {
+			return null;
+		}
+		return Arrays.copyOfRange(data, HEADER_SIZE + keyLength, data.length);
+	}
+
+	private void createDir() throws IOException {
+		if (Files.isDirectory(dir)) {
+			return;
+		}
+		if (dir.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+			Files.createDirectories(dir, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+		} else {
+			Files.createDirectories(dir);
+		}
+	}
+
+	private String readKey(Path path) {
+		byte[] data;
+		try {
+			data = Files.readAllBytes(path);
+		} catch (IOException e) {
+			return null;
+		}
+		if (data.length<HEADER_SIZE) {
+			return null;
+		}
+		int keyLength = ByteBuffer.wrap(data, Long.BYTES, Integer.BYTES).getInt();
+		if (keyLength<0 || keyLength>data.length - HEADER_SIZE) {
+			return null;
+		}
+		return new String(data, HEADER_SIZE, keyLength, StandardCharsets.UTF_8);
+	}
+
+	private void write(Path path, String key, byte[] value, long expiresAt) {
+		try {
+			createDir();
+			Path tmp = Files.createTempFile(dir, "tmp", null);
+			try {
+				byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+				ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + keyBytes.length + value.length);
+				buffer.putLong(expiresAt).putInt(keyBytes.length).put(keyBytes).put(value);
+				Files.write(tmp, buffer.array());
+				Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} finally {
+				Files.deleteIfExists(tmp);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("write: " + path, e);
+		}
+	}
+
+	private static String hash(String key) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			byte[] bytes = digest.digest(key.getBytes(StandardCharsets.UTF_8));
+			StringBuilder sb = new StringBuilder();
+			for (byte b: bytes) {
+				sb.append(String.format("%02x", b));
+			}
+			return sb.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
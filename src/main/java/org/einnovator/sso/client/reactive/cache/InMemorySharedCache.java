@@ -0,0 +1,110 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.cache;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reference in-process implementation of {@code SharedCache}.
+ *
+ * <p>Shared by all clients in the same JVM. Mostly useful for testing, and as a template for other implementations.
+ *
+ * @author support@einnovator.org
+ */
+public class InMemorySharedCache implements SharedCache {
+
+	public static final int DEFAULT_MAX_SIZE = 100000;
+
+	private int maxSize = DEFAULT_MAX_SIZE;
+
+	private final BoundedCache<String, Entry> cache = new BoundedCache<>(DEFAULT_MAX_SIZE);
+
+	/**
+	 * Create instance of {@code InMemorySharedCache}.
+	 *
+	 */
+	public InMemorySharedCache() {
+	}
+
+	/**
+	 * Create instance of {@code InMemorySharedCache}.
+	 *
+	 * @param maxSize the maximum number of entries
+	 */
+	public InMemorySharedCache(int maxSize) {
+		setMaxSize(maxSize);
+	}
+
+	/**
+	 * Get the value of property {@code maxSize}.
+	 *
+	 * @return the maxSize
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Set the value of property {@code maxSize}.
+	 *
+	 * @param maxSize the value of property maxSize
+	 */
+	public void setMaxSize(int maxSize) {
+		this.maxSize = maxSize;
+		cache.setMaxSize(maxSize);
+	}
+
+	@Override
+	public Mono<byte[]> get(String key) {
+		return Mono.fromSupplier(() -> {
+			Entry entry = cache.get(key);
+			if (entry==null) {
+				return null;
+			}
+			if (entry.expiresAt<=System.currentTimeMillis()) {
+				cache.remove(key, entry);
+				return null;
+			}
+			return entry.value;
+		});
+	}
+
+	@Override
+	public Mono<Void> put(String key, byte[] value, long ttl) {
+		return Mono.fromRunnable(() -> cache.put(key, new Entry(value, System.currentTimeMillis() + ttl)));
+	}
+
+	@Override
+	public Mono<Void> evict(String key) {
+		return Mono.fromRunnable(() -> cache.remove(key));
+	}
+
+	@Override
+	public Mono<Void> evictAll(String prefix) {
+		return Mono.fromRunnable(() -> cache.removeIf((key, entry) -> key.startsWith(prefix)));
+	}
+
+	/**
+	 * Get the number of entries.
+	 *
+	 * @return the number of entries
+	 */
+	public int size() {
+		return cache.size();
+	}
+
+	private static class Entry {
+
+		private final byte[] value;
+
+		private final long expiresAt;
+
+		Entry(byte[] value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+
+	}
+
+}
@@ -0,0 +1,80 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * The loads in flight of a cache, so that concurrent loads for the same key share the same request.
+ *
+ * <p>A load is forgotten when it terminates, or when it is discarded with {@link #remove(Object)} or {@link #clear()}
+ * (e.g. on invalidation), so that later readers start a new load. A terminating load only removes itself, never
+ * a newer load for the same key.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ *
+ * @author support@einnovator.org
+ */
+public class PendingLoads<K, V> {
+
+	private final Map<K, Mono<V>> pending = new ConcurrentHashMap<>();
+
+	/**
+	 * Create instance of {@code PendingLoads}.
+	 *
+	 */
+	public PendingLoads() {
+	}
+
+	/**
+	 * Get a {@code Mono} for the load in flight for a key, starting a new one if none.
+	 *
+	 * @param key the key
+	 * @param loader the supplier of the {@code Mono} that loads the value
+	 * @return a {@code Mono} for the value, shared by all readers of the same load
+	 */
+	public Mono<V> get(K key, Supplier<Mono<V>> loader) {
+		return pending.computeIfAbsent(key, key2 -> {
+			AtomicReference<Mono<V>> self = new AtomicReference<>();
+			Mono<V> mono = Mono.defer(loader)
+				.doFinally(signal -> pending.remove(key2, self.get()))
+				.cache();
+			self.set(mono);
+			return mono;
+		});
+	}
+
+	/**
+	 * Forget the load in flight for a key.
+	 *
+	 * @param key the key
+	 */
+	public void remove(K key) {
+		pending.remove(key);
+	}
+
+	/**
+	 * Forget all loads in flight.
+	 *
+	 */
+	public void clear() {
+		pending.clear();
+	}
+
+	/**
+	 * Get the number of loads in flight.
+	 *
+	 * @return the number of loads
+	 */
+	public int size() {
+		return pending.size();
+	}
+
+}
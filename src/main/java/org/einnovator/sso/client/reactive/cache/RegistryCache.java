@@ -0,0 +1,289 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.cache;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * A cache of registry entries (e.g. OAuth {@code Client}s) by identifier, with negative caching of unknown identifiers.
+ *
+ * <p>Values are cached for {@link #getTtl()}. Lookups of unknown identifiers ({@code 404 Not Found}) are cached for
+ * {@link #getNegativeTtl()}, and repeated lookups fail with the same error without a request to the server.
+ * Concurrent loads for the same missing key share the same request.
+ * <p>Loads in flight when the cache is invalidated are not cached, so an invalidation is never undone by an older response,
+ * and lookups after the invalidation start a new load.
+ *
+ * @param <V> the value type
+ *
+ * @author support@einnovator.org
+ */
+public class RegistryCache<V> {
+
+	public static final long DEFAULT_TTL = 60000;
+
+	public static final long DEFAULT_NEGATIVE_TTL = 10000;
+
+	public static final int DEFAULT_MAX_SIZE = 10000;
+
+	private final long ttl;
+
+	private final long negativeTtl;
+
+	private final int maxSize;
+
+	private final BoundedCache<String, Entry<V>> cache;
+
+	private final PendingLoads<String, V> pending = new PendingLoads<>();
+
+	private Clock clock = Clock.systemUTC();
+
+	private final AtomicLong version = new AtomicLong();
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong negativeHits = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Create instance of {@code RegistryCache} with default settings.
+	 *
+	 */
+	public RegistryCache() {
+		this(DEFAULT_TTL, DEFAULT_NEGATIVE_TTL, DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Create instance of {@code RegistryCache}.
+	 *
+	 * @param ttl the time-to-live of values (milliseconds)
+	 * @param negativeTtl the time-to-live of unknown identifiers (milliseconds), zero or negative to not cache them
+	 * @param maxSize the maximum number of entries
+	 */
+	public RegistryCache(long ttl, long negativeTtl, int maxSize) {
+		this.ttl = ttl;
+		this.negativeTtl = negativeTtl;
+		this.maxSize = maxSize;
+		this.cache = new BoundedCache<>(maxSize);
+	}
+
+	/**
+	 * Get the value of property {@code ttl}.
+	 *
+	 * @return the ttl (milliseconds)
+	 */
+	public long getTtl() {
+		return ttl;
+	}
+
+	/**
+	 * Get the value of property {@code negativeTtl}.
+	 *
+	 * @return the negativeTtl (milliseconds)
+	 */
+	public long getNegativeTtl() {
+		return negativeTtl;
+	}
+
+	/**
+	 * Get the value of property {@code maxSize}.
+	 *
+	 * @return the maxSize
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Get the value of property {@code clock}.
+	 *
+	 * @return the clock
+	 */
+	public Clock getClock() {
+		return clock;
+	}
+
+	/**
+	 * Set the value of property {@code clock}.
+	 *
+	 * @param clock the value of property clock
+	 */
+	public void setClock(Clock clock) {
+		this.clock = clock;
+	}
+
+	//
+	// Lookup
+	//
+
+	/**
+	 * Get the value of a key, loading it if not cached.
+	 *
+	 * @param key the key
+	 * @param loader the supplier of the {@code Mono} that loads the value
+	 * @return a {@code Mono} for the value, failing with the cached error if the key is known to be unknown
+	 */
+	public Mono<V> get(String key, Supplier<Mono<V>> loader) {
+		return Mono.defer(() -> {
+			Entry<V> entry = cache.get(key);
+			if (entry!=null) {
+				if (entry.expiresAt>clock.millis()) {
+					if (entry.error!=null) {
+						negativeHits.incrementAndGet();
+						return Mono.error(entry.error);
+					}
+					hits.incrementAndGet();
+					return Mono.just(entry.value);
+				}
+				cache.remove(key, entry);
+			}
+			misses.incrementAndGet();
+			long version = this.version.get();
+			return pending.get(key, () -> loader.get()
+				.doOnNext(value -> {
+					if (version==this.version.get()) {
+						put(key, value);
+					}
+				})
+				.doOnError(e -> {
+					if (isNotFound(e) && version==this.version.get()) {
+						putNotFound(key, e);
+					}
+				}));
+		});
+	}
+
+	/**
+	 * Get the value of a key, if cached and not expired.
+	 *
+	 * @param key the key
+	 * @return the value, or null if not available (or unknown)
+	 */
+	public V getIfPresent(String key) {
+		Entry<V> entry = cache.get(key);
+		if (entry==null || entry.expiresAt<=clock.millis()) {
+			return null;
+		}
+		return entry.value;
+	}
+
+	/**
+	 * Check if an error means the key is unknown.
+	 *
+	 * @param e the error
+	 * @return true if the error is a {@code 404 Not Found} response
+	 */
+	protected boolean isNotFound(Throwable e) {
+		return e instanceof WebClientResponseException && ((WebClientResponseException) e).getStatusCode()==HttpStatus.NOT_FOUND;
+	}
+
+	//
+	// Updates
+	//
+
+	/**
+	 * Put a value in the cache.
+	 *
+	 * @param key the key
+	 * @param value the value
+	 */
+	public void put(String key, V value) {
+		if (key==null || value==null) {
+			return;
+		}
+		cache.put(key, new Entry<V>(value, null, clock.millis() + ttl));
+	}
+
+	private void putNotFound(String key, Throwable error) {
+		if (negativeTtl<=0) {
+			return;
+		}
+		cache.put(key, new Entry<V>(null, error, clock.millis() + negativeTtl));
+	}
+
+	/**
+	 * Remove the entry for a key.
+	 *
+	 * @param key the key
+	 */
+	public void invalidate(String key) {
+		version.incrementAndGet();
+		pending.remove(key);
+		cache.remove(key);
+	}
+
+	/**
+	 * Remove all entries.
+	 *
+	 */
+	public void clear() {
+		version.incrementAndGet();
+		pending.clear();
+		cache.clear();
+	}
+
+	//
+	// Metrics
+	//
+
+	/**
+	 * Get the number of entries in the cache (including unknown keys).
+	 *
+	 * @return the number of entries
+	 */
+	public int size() {
+		return cache.size();
+	}
+
+	/**
+	 * Get the number of lookups served with a cached value.
+	 *
+	 * @return the number of hits
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Get the number of lookups of unknown keys served from the cache.
+	 *
+	 * @return the number of negative hits
+	 */
+	public long getNegativeHits() {
+		return negativeHits.get();
+	}
+
+	/**
+	 * Get the number of lookups that needed a load.
+	 *
+	 * @return the number of misses
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	private static class Entry<V> {
+
+		private final V value;
+
+		private final Throwable error;
+
+		private final long expiresAt;
+
+		Entry(V value, Throwable error, long expiresAt) {
+			this.value = value;
+			this.error = error;
+			this.expiresAt = expiresAt;
+		}
+
+	}
+
+}
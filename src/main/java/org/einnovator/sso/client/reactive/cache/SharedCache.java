@@ -0,0 +1,54 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.cache;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * SPI for a second-level (L2) cache of serialized entities, that may be shared by several client instances (e.g. replicas).
+ *
+ * <p>Implementations may be backed by any store (e.g. a shared file system, or a key-value store).
+ * Operations are asynchronous, and failures are tolerated by callers by falling back to the SSO server.
+ *
+ * @author support@einnovator.org
+ */
+public interface SharedCache {
+
+	/**
+	 * Get the value of a key.
+	 *
+	 * @param key the key
+	 * @return a {@code Mono} for the serialized value, empty if missing or expired
+	 */
+	Mono<byte[]> get(String key);
+
+	/**
+	 * Put the value of a key.
+	 *
+	 * @param key the key
+	 * @param value the serialized value
+	 * @param ttl the time to live (milliseconds)
+	 * @return a {@code Mono} that completes when the value is stored
+	 */
+	Mono<Void> put(String key, byte[] value, long ttl);
+
+	/**
+	 * Remove the value of a key.
+	 *
+	 * @param key the key
+	 * @return a {@code Mono} that completes when the value is removed
+	 */
+	Mono<Void> evict(String key);
+
+	/**
+	 * Remove the values of all keys starting with a prefix.
+	 *
+	 * <p>Used to invalidate a group of entries (e.g. all entries of a {@code User}), including those stored by other client instances.
+	 *
+	 * @param prefix the key prefix
+	 * @return a {@code Mono} that completes when the values are removed
+	 */
+	Mono<Void> evictAll(String prefix);
+
+}
@@ -0,0 +1,307 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.cache;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * A cache of values loaded asynchronously, with stale-while-revalidate semantics.
+ *
+ * <p>Values younger than {@link #getSoftTtl()} are returned as is.
+ * Values older than {@link #getSoftTtl()}, but younger than {@link #getHardTtl()}, are also returned immediately,
+ * while a single background load refreshes them (concurrent readers do not trigger additional loads).
+ * Values older than {@link #getHardTtl()} are never returned, and readers wait for a new load.
+ * <p>Concurrent loads for the same missing key share the same request.
+ * If a background refresh fails, the stale value keeps being served until {@link #getHardTtl()},
+ * and the next stale read triggers another refresh.
+ * <p>Values of loads and refreshes started before an invalidation are returned to their callers, but not stored.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ *
+ * @author support@einnovator.org
+ */
+public class StaleWhileRevalidateCache<K, V> {
+
+	public static final long DEFAULT_SOFT_TTL = 5000;
+
+	public static final long DEFAULT_HARD_TTL = 60000;
+
+	public static final int DEFAULT_MAX_SIZE = 10000;
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private long softTtl = DEFAULT_SOFT_TTL;
+
+	private long hardTtl = DEFAULT_HARD_TTL;
+
+	private int maxSize = DEFAULT_MAX_SIZE;
+
+	private final BoundedCache<K, Entry<V>> cache = new BoundedCache<>(DEFAULT_MAX_SIZE);
+
+	private final PendingLoads<K, V> pending = new PendingLoads<>();
+
+	private Clock clock = Clock.systemUTC();
+
+	private final AtomicLong version = new AtomicLong();
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong staleHits = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Create instance of {@code StaleWhileRevalidateCache}.
+	 *
+	 */
+	public StaleWhileRevalidateCache() {
+	}
+
+	/**
+	 * Create instance of {@code StaleWhileRevalidateCache}.
+	 *
+	 * @param softTtl the soft TTL (milliseconds)
+	 * @param hardTtl the hard TTL (milliseconds)
+	 * @param maxSize the maximum number of entries
+	 */
+	public StaleWhileRevalidateCache(long softTtl, long hardTtl, int maxSize) {
+		this.softTtl = softTtl;
+		this.hardTtl = hardTtl;
+		this.maxSize = maxSize;
+		cache.setMaxSize(maxSize);
+	}
+
+	/**
+	 * Get the value of property {@code softTtl}.
+	 *
+	 * @return the softTtl (milliseconds)
+	 */
+	public long getSoftTtl() {
+		return softTtl;
+	}
+
+	/**
+	 * Set the value of property {@code softTtl}.
+	 *
+	 * @param softTtl the value of property softTtl (milliseconds)
+	 */
+	public void setSoftTtl(long softTtl) {
+		this.softTtl = softTtl;
+	}
+
+	/**
+	 * Get the value of property {@code hardTtl}.
+	 *
+	 * @return the hardTtl (milliseconds)
+	 */
+	public long getHardTtl() {
+		return hardTtl;
+	}
+
+	/**
+	 * Set the value of property {@code hardTtl}.
+	 *
+	 * @param hardTtl the value of property hardTtl (milliseconds)
+	 */
+	public void setHardTtl(long hardTtl) {
+		this.hardTtl = hardTtl;
+	}
+
+	/**
+	 * Get the value of property {@code maxSize}.
+	 *
+	 * @return the maxSize
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Set the value of property {@code maxSize}.
+	 *
+	 * @param maxSize the value of property maxSize
+	 */
+	public void setMaxSize(int maxSize) {
+		this.maxSize = maxSize;
+		cache.setMaxSize(maxSize);
+	}
+
+	/**
+	 * Get the value of property {@code clock}.
+	 *
+	 * @return the clock
+	 */
+	public Clock getClock() {
+		return clock;
+	}
+
+	/**
+	 * Set the value of property {@code clock}.
+	 *
+	 * @param clock the value of property clock
+	 */
+	public void setClock(Clock clock) {
+		this.clock = clock;
+	}
+
+	//
+	// Access
+	//
+
+	/**
+	 * Get a {@code Mono} for the value of a key, loading it if missing or expired.
+	 *
+	 * <p>Background refreshes run with the subscriber {@code Context} of the reader that triggered them.
+	 *
+	 * @param key the key
+	 * @param loader the supplier of the {@code Mono} that loads the value
+	 * @return a {@code Mono} for the value
+	 */
+	public Mono<V> get(K key, Supplier<Mono<V>> loader) {
+		return Mono.subscriberContext().flatMap(ctx -> {
+			long version = this.version.get();
+			Entry<V> entry = cache.get(key);
+			if (entry!=null) {
+				long age = clock.millis() - entry.loadedAt;
+				if (age<softTtl) {
+					hits.incrementAndGet();
+					return Mono.just(entry.value);
+				}
+				if (age<hardTtl) {
+					staleHits.incrementAndGet();
+					if (entry.refreshing.compareAndSet(false, true)) {
+						loader.get().subscriberContext(ctx)
+							.doFinally(signal -> entry.refreshing.set(false))
+							.subscribe(
+								value -> put(key, value, version),
+								e -> logger.warn("get: refresh failed: " + key + " " + e));
+					}
+					return Mono.just(entry.value);
+				}
+				cache.remove(key, entry);
+			}
+			misses.incrementAndGet();
+			return pending.get(key, () -> loader.get().doOnNext(value -> put(key, value, version)));
+		});
+	}
+
+	/**
+	 * Get the value of a key, if present and not expired.
+	 *
+	 * @param key the key
+	 * @return the value, or null if not available
+	 */
+	public V getIfPresent(K key) {
+		Entry<V> entry = cache.get(key);
+		if (entry==null || clock.millis() - entry.loadedAt>=hardTtl) {
+			return null;
+		}
+		return entry.value;
+	}
+
+	/**
+	 * Put a value in the cache.
+	 *
+	 * @param key the key
+	 * @param value the value
+	 */
+	public void put(K key, V value) {
+		if (value==null) {
+			return;
+		}
+		cache.put(key, new Entry<V>(value, clock.millis()));
+	}
+
+	private void put(K key, V value, long version) {
+		if (version==this.version.get()) {
+			put(key, value);
+		}
+	}
+
+	/**
+	 * Remove the value for a key.
+	 *
+	 * @param key the key
+	 */
+	public void invalidate(K key) {
+		version.incrementAndGet();
+		pending.remove(key);
+		cache.remove(key);
+	}
+
+	/**
+	 * Remove all values.
+	 *
+	 */
+	public void clear() {
+		version.incrementAndGet();
+		pending.clear();
+		cache.clear();
+	}
+
+	/**
+	 * Get the number of entries in the cache.
+	 *
+	 * @return the number of entries
+	 */
+	public int size() {
+		return cache.size();
+	}
+
+	//
+	// Metrics
+	//
+
+	/**
+	 * Get the number of reads answered with a fresh value.
+	 *
+	 * @return the number of hits
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Get the number of reads answered with a stale value (while revalidating).
+	 *
+	 * @return the number of stale hits
+	 */
+	public long getStaleHits() {
+		return staleHits.get();
+	}
+
+	/**
+	 * Get the number of reads that required waiting for a load.
+	 *
+	 * @return the number of misses
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	private static class Entry<V> {
+
+		private final V value;
+
+		private final long loadedAt;
+
+		private final AtomicBoolean refreshing = new AtomicBoolean();
+
+		Entry(V value, long loadedAt) {
+			this.value = value;
+			this.loadedAt = loadedAt;
+		}
+
+	}
+
+}
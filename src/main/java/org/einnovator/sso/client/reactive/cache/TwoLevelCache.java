@@ -0,0 +1,496 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * A two-level cache of entities: an in-process first level (L1), and an optional {@code SharedCache} as second level (L2).
+ *
+ * <p>Lookups check L1, then L2, and only then load the value (e.g. from the SSO server).
+ * Loaded values are stored in both levels, serialized as JSON in L2, so other client instances sharing the same L2
+ * do not need to load them again (e.g. after a rollout).
+ * L2 values carry their expiry time, so a value read from L2 is kept in L1 only for the rest of its TTL.
+ * Concurrent loads for the same key share the same request.
+ * Values of loads started before an invalidation are returned to their callers, but not stored.
+ * <p>Failures of the L2 are logged and treated as misses.
+ * Invalidation of a key or of a key prefix applies to both levels, including L2 entries stored by other instances.
+ * Invalidation with a {@code Predicate} applies to L2 only for the keys known locally.
+ *
+ * @param <V> the value type
+ *
+ * @author support@einnovator.org
+ */
+public class TwoLevelCache<V> {
+
+	public static final long DEFAULT_TTL = 60000;
+
+	public static final int DEFAULT_MAX_SIZE = 10000;
+
+	private static final byte FORMAT = 1;
+
+	private static final int HEADER_SIZE = 9;
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final String name;
+
+	private final JavaType type;
+
+	private ObjectMapper mapper = new ObjectMapper();
+
+	private SharedCache sharedCache;
+
+	private long ttl = DEFAULT_TTL;
+
+	private int maxSize = DEFAULT_MAX_SIZE;
+
+	private final BoundedCache<String, Entry<V>> cache = new BoundedCache<>(DEFAULT_MAX_SIZE);
+
+	private final PendingLoads<String, V> pending = new PendingLoads<>();
+
+	private final AtomicLong version = new AtomicLong();
+
+	private Clock clock = Clock.systemUTC();
+
+	private final AtomicLong l1Hits = new AtomicLong();
+
+	private final AtomicLong l1Misses = new AtomicLong();
+
+	private final AtomicLong l2Hits = new AtomicLong();
+
+	private final AtomicLong l2Misses = new AtomicLong();
+
+	private final AtomicLong l2Errors = new AtomicLong();
+
+	/**
+	 * Create instance of {@code TwoLevelCache}.
+	 *
+	 * @param name the name of the cache, used as prefix of L2 keys
+	 * @param type the value type
+	 */
+	public TwoLevelCache(String name, JavaType type) {
+		this.name = name;
+		this.type = type;
+	}
+
+	/**
+	 * Create instance of {@code TwoLevelCache}.
+	 *
+	 * @param name the name of the cache, used as prefix of L2 keys
+	 * @param type the value type
+	 */
+	public TwoLevelCache(String name, Class<V> type) {
+		this(name, new ObjectMapper().constructType(type));
+	}
+
+	/**
+	 * Get the value of property {@code name}.
+	 *
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Get the value of property {@code mapper}.
+	 *
+	 * @return the mapper
+	 */
+	public ObjectMapper getMapper() {
+		return mapper;
+	}
+
+	/**
+	 * Set the value of property {@code mapper}.
+	 *
+	 * @param mapper the value of property mapper
+	 */
+	public void setMapper(ObjectMapper mapper) {
+		this.mapper = mapper;
+	}
+
+	/**
+	 * Get the value of property {@code sharedCache}.
+	 *
+	 * @return the sharedCache
+	 */
+	public SharedCache getSharedCache() {
+		return sharedCache;
+	}
+
+	/**
+	 * Set the value of property {@code sharedCache}.
+	 *
+	 * @param sharedCache the value of property sharedCache
+	 */
+	public void setSharedCache(SharedCache sharedCache) {
+		this.sharedCache = sharedCache;
+	}
+
+	/**
+	 * Get the value of property {@code ttl}.
+	 *
+	 * @return the ttl (milliseconds)
+	 */
+	public long getTtl() {
+		return ttl;
+	}
+
+	/**
+	 * Set the value of property {@code ttl}.
+	 *
+	 * @param ttl the value of property ttl (milliseconds)
+	 */
+	public void setTtl(long ttl) {
+		this.ttl = ttl;
+	}
+
+	/**
+	 * Get the value of property {@code maxSize}.
+	 *
+	 * @return the maxSize
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Set the value of property {@code maxSize}.
+	 *
+	 * @param maxSize the value of property maxSize
+	 */
+	public void setMaxSize(int maxSize) {
+		this.maxSize = maxSize;
+		cache.setMaxSize(maxSize);
+	}
+
+	/**
+	 * Get the value of property {@code clock}.
+	 *
+	 * @return the clock
+	 */
+	public Clock getClock() {
+		return clock;
+	}
+
+	/**
+	 * Set the value of property {@code clock}.
+	 *
+	 * @param clock the value of property clock
+	 */
+	public void setClock(Clock clock) {
+		this.clock = clock;
+	}
+
+	//
+	// Access
+	//
+
+	/**
+	 * Get a {@code Mono} for the value of a key, looking up L1, then L2, and loading it if missing in both.
+	 *
+	 * @param key the key
+	 * @param loader the supplier of the {@code Mono} that loads the value
+	 * @return a {@code Mono} for the value
+	 */
+	public Mono<V> get(String key, Supplier<Mono<V>> loader) {
+		V value = getIfPresent(key);
+		if (value!=null) {
+			return Mono.just(value);
+		}
+		long version = this.version.get();
+		return pending.get(key, () -> getShared(key, version)
+			.switchIfEmpty(Mono.defer(() -> loader.get().doOnNext(value2 -> {
+				if (version==this.version.get()) {
+					put(key, value2);
+				}
+			}))));
+	}
+
+	/**
+	 * Get the value of a key from L1.
+	 *
+	 * @param key the key
+	 * @return the value, or null if missing or expired
+	 */
+	public V getIfPresent(String key) {
+		Entry<V> entry = cache.get(key);
+		if (entry!=null) {
+			if (entry.expiresAt>clock.millis()) {
+				l1Hits.incrementAndGet();
+				return entry.value;
+			}
+			cache.remove(key, entry);
+		}
+		l1Misses.incrementAndGet();
+		return null;
+	}
+
+	/**
+	 * Put a value in both levels, with the default TTL.
+	 *
+	 * @param key the key
+	 * @param value the value
+	 */
+	public void put(String key, V value) {
+		put(key, value, ttl);
+	}
+
+	/**
+	 * Put a value in both levels.
+	 *
+	 * @param key the key
+	 * @param value the value
+	 * @param ttl the time to live (milliseconds)
+	 */
+	public void put(String key, V value, long ttl) {
+		if (value==null) {
+			return;
+		}
+		long expiresAt = clock.millis() + ttl;
+		putLocal(key, value, expiresAt);
+		if (sharedCache!=null) {
+			byte[] data;
+			try {
+				data = write(value, expiresAt);
+			} catch (IOException e) {
+				logger.warn("put: " + key + " " + e);
+				return;
+			}
+			sharedCache.put(getSharedKey(key), data, ttl).subscribe(null, e -> onSharedError("put", key, e));
+		}
+	}
+
+	/**
+	 * Remove the value of a key from both levels.
+	 *
+	 * @param key the key
+	 */
+	public void invalidate(String key) {
+		version.incrementAndGet();
+		pending.remove(key);
+		cache.remove(key);
+		if (sharedCache!=null) {
+			sharedCache.evict(getSharedKey(key)).subscribe(null, e -> onSharedError("invalidate", key, e));
+		}
+	}
+
+	/**
+	 * Remove the values of the locally known keys matching a {@code Predicate} from both levels.
+	 *
+	 * @param predicate the {@code Predicate}
+	 */
+	public void invalidateIf(Predicate<String> predicate) {
+		version.incrementAndGet();
+		List<String> keys = cache.keys();
+		for (String key: keys) {
+			if (predicate.test(key)) {
+				invalidate(key);
+			}
+		}
+	}
+
+	/**
+	 * Remove the values of all keys starting with a prefix from both levels.
+	 *
+	 * @param prefix the key prefix
+	 */
+	public void invalidatePrefix(String prefix) {
+		version.incrementAndGet();
+		cache.removeIf((key, entry) -> key.startsWith(prefix));
+		if (sharedCache!=null) {
+			sharedCache.evictAll(getSharedKey(prefix)).subscribe(null, e -> onSharedError("invalidatePrefix", prefix, e));
+		}
+	}
+
+	/**
+	 * Remove all values from both levels.
+	 *
+	 */
+	public void clear() {
+		pending.clear();
+		invalidatePrefix("");
+	}
+
+	/**
+	 * Get the number of entries in L1.
+	 *
+	 * @return the number of entries
+	 */
+	public int size() {
+		return cache.size();
+	}
+
+	//
+	// Metrics
+	//
+
+	/**
+	 * Get the number of L1 hits.
+	 *
+	 * @return the number of hits
+	 */
+	public long getL1Hits() {
+		return l1Hits.get();
+	}
+
+	/**
+	 * Get the number of L1 misses.
+	 *
+	 * @return the number of misses
+	 */
+	public long getL1Misses() {
+		return l1Misses.get();
+	}
+
+	/**
+	 * Get the number of L2 hits.
+	 *
+	 * @return the number of hits
+	 */
+	public long getL2Hits() {
+		return l2Hits.get();
+	}
+
+	/**
+	 * Get the number of L2 misses (including failures).
+	 *
+	 * @return the number of misses
+	 */
+	public long getL2Misses() {
+		return l2Misses.get();
+	}
+
+	/**
+	 * Get the number of L2 failures.
+	 *
+	 * @return the number of failures
+	 */
+	public long getL2Errors() {
+		return l2Errors.get();
+	}
+
+	/**
+	 * Get the L1 hit rate.
+	 *
+	 * @return the hit rate (between 0 and 1)
+	 */
+	public double getL1HitRate() {
+		return rate(l1Hits.get(), l1Misses.get());
+	}
+
+	/**
+	 * Get the L2 hit rate, relative to L1 misses that reached L2.
+	 *
+	 * @return the hit rate (between 0 and 1)
+	 */
+	public double getL2HitRate() {
+		return rate(l2Hits.get(), l2Misses.get());
+	}
+
+	//
+	// Internal
+	//
+
+	/**
+	 * Get a value from L2, and store it in L1 for the rest of its TTL if found.
+	 *
+	 * @param key the key
+	 * @param version the version of the cache when the lookup started, so the value is not stored in L1 if invalidated since
+	 * @return a {@code Mono} for the value, empty if missing or on failure
+	 */
+	protected Mono<V> getShared(String key, long version) {
+		if (sharedCache==null) {
+			return Mono.empty();
+		}
+		return sharedCache.get(getSharedKey(key))
+			.<V>handle((data, sink) -> {
+				ByteBuffer buffer = ByteBuffer.wrap(data);
+				if (data.length<HEADER_SIZE || buffer.get()!=FORMAT) {
+					sink.error(new IllegalStateException("Unknown format"));
+					return;
+				}
+				long expiresAt = buffer.getLong();
+				if (expiresAt<=clock.millis()) {
+					return;
+				}
+				V value;
+				try {
+					value = mapper.readValue(data, HEADER_SIZE, data.length - HEADER_SIZE, type);
+				} catch (IOException e) {
+					sink.error(e);
+					return;
+				}
+				l2Hits.incrementAndGet();
+				if (version==this.version.get()) {
+					putLocal(key, value, expiresAt);
+				}
+				sink.next(value);
+			})
+			.onErrorResume(e -> {
+				onSharedError("get", key, e);
+				return Mono.empty();
+			})
+			.switchIfEmpty(Mono.<V>fromRunnable(() -> l2Misses.incrementAndGet()));
+	}
+
+	/**
+	 * Get the L2 key for a key.
+	 *
+	 * @param key the key
+	 * @return the L2 key
+	 */
+	protected String getSharedKey(String key) {
+		return name + ":" + key;
+	}
+
+	private void putLocal(String key, V value, long expiresAt) {
+		cache.put(key, new Entry<V>(value, expiresAt));
+	}
+
+	private byte[] write(V value, long expiresAt) throws IOException {
+		byte[] json = mapper.writeValueAsBytes(value);
+		return ByteBuffer.allocate(HEADER_SIZE + json.length).put(FORMAT).putLong(expiresAt).put(json).array();
+	}
+
+	private void onSharedError(String op, String key, Throwable e) {
+		l2Errors.incrementAndGet();
+		logger.warn(op + ": " + name + ":" + key + " " + e);
+	}
+
+	private static double rate(long hits, long misses) {
+		long total = hits + misses;
+		return total>0 ? (double) hits / total : 0;
+	}
+
+	private static class Entry<V> {
+
+		private final V value;
+
+		private final long expiresAt;
+
+		Entry(V value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+
+	}
+
+}
@@ -0,0 +1,297 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.einnovator.sso.client.reactive.config.ReactiveWriteBehindConfiguration;
+import org.springframework.beans.factory.DisposableBean;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+/**
+ * A write-behind buffer that coalesces writes to the same key.
+ *
+ * <p>The first write submitted for a key is held for {@code window}. Writes submitted for the same key in the meantime
+ * replace it, so only the latest is performed. All callers whose writes were coalesced get the result of the write performed.
+ * <p>Writes are coalesced only if submitted with the same scope objects (e.g. request options and credentials),
+ * compared by identity, so a write is never performed on behalf of a caller with different options or credentials.
+ * A write submitted with a different scope performs the pending write right away, and starts a new window.
+ * <p>Writes to the same key are performed in order: a write starts only after the previous write for the key completes.
+ * Writes submitted while a write for the key is in flight start a new window.
+ * <p>{@link #flush()} performs all pending writes right away, and is invoked on {@link #destroy()}.
+ *
+ * @author support@einnovator.org
+ */
+public class WriteBehindBuffer implements DisposableBean {
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final ReactiveWriteBehindConfiguration config;
+
+	private final Map<String, Pending> pending = new HashMap<>();
+
+	private final Map<String, Pending> writing = new HashMap<>();
+
+	private final AtomicLong submitted = new AtomicLong();
+
+	private final AtomicLong writes = new AtomicLong();
+
+	private final AtomicLong coalesced = new AtomicLong();
+
+	private final AtomicLong failed = new AtomicLong();
+
+	/**
+	 * Create instance of {@code WriteBehindBuffer}.
+	 *
+	 * @param config the {@code ReactiveWriteBehindConfiguration}
+	 */
+	public WriteBehindBuffer(ReactiveWriteBehindConfiguration config) {
+		this.config = config!=null ? config : new ReactiveWriteBehindConfiguration();
+	}
+
+	/**
+	 * Get the value of property {@code config}.
+	 *
+	 * @return the config
+	 */
+	public ReactiveWriteBehindConfiguration getConfig() {
+		return config;
+	}
+
+	//
+	// Writes
+	//
+
+	/**
+	 * Submit a write.
+	 *
+	 * @param key the key of the entity written
+	 * @param write a {@code Supplier} of the {@code Mono} that performs the write
+	 * @return a {@code Mono} that completes when the write (or the later write that replaced it) is performed
+	 */
+	public Mono<Void> submit(String key, Supplier<Mono<Void>> write) {
+		return submit(key, null, write);
+	}
+
+	/**
+	 * Submit a write, to be coalesced only with writes for the same key and scope.
+	 *
+	 * @param key the key of the entity written
+	 * @param scope the objects the write depends on besides the entity (e.g. options and credentials), compared by identity
+	 * @param write a {@code Supplier} of the {@code Mono} that performs the write
+	 * @return a {@code Mono} that completes when the write (or the later write that replaced it) is performed
+	 */
+	public Mono<Void> submit(String key, Object[] scope, Supplier<Mono<Void>> write) {
+		return Mono.defer(() -> {
+			submitted.incrementAndGet();
+			Pending p;
+			Pending flushed = null;
+			Supplier<Mono<Void>> flushedWrite = null;
+			synchronized (this) {
+				p = pending.get(key);
+				if (p!=null && isSameScope(p.scope, scope)) {
+					p.write = write;
+					coalesced.incrementAndGet();
+					return p.result;
+				}
+				if (p!=null) {
+					flushed = p;
+					flushedWrite = take(p);
+				}
+				Pending previous = writing.get(key);
+				p = new Pending(key, scope, write, previous!=null ? previous.result : Mono.empty());
+				pending.put(key, p);
+			}
+			if (flushed!=null) {
+				if (flushed.timer!=null) {
+					flushed.timer.dispose();
+				}
+				perform(flushed, flushedWrite);
+			}
+			Pending p0 = p;
+			p.timer = Mono.delay(Duration.ofMillis(getWindow())).subscribe(t -> write(p0));
+			return p.result;
+		});
+	}
+
+	private static boolean isSameScope(Object[] scope1, Object[] scope2) {
+		int n1 = scope1!=null ? scope1.length : 0;
+		int n2 = scope2!=null ? scope2.length : 0;
+		if (n1!=n2) {
+			return false;
+		}
+		for (int i = 0; i<n1; i++) {
+			if (scope1[i]!=scope2[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Perform a pending write, after the previous write for the same key.
+	 *
+	 * @param p the pending write
+	 */
+	private void write(Pending p) {
+		Supplier<Mono<Void>> write;
+		synchronized (this) {
+			if (pending.get(p.key)!=p) {
+				return;
+			}
+			write = take(p);
+		}
+		perform(p, write);
+	}
+
+	/**
+	 * Move a pending write to the writes in flight. Must be invoked while holding the lock.
+	 *
+	 * @param p the pending write
+	 * @return the write to perform
+	 */
+	private Supplier<Mono<Void>> take(Pending p) {
+		pending.remove(p.key);
+		writing.put(p.key, p);
+		return p.write;
+	}
+
+	private void perform(Pending p, Supplier<Mono<Void>> write) {
+		writes.incrementAndGet();
+		p.previous.onErrorResume(e -> Mono.empty())
+			.then(Mono.defer(write))
+			.doOnError(e -> {
+				failed.incrementAndGet();
+				logger.warn("write: " + p.key + " " + e);
+			})
+			.doFinally(signal -> {
+				synchronized (this) {
+					writing.remove(p.key, p);
+				}
+			})
+			.subscribe(p.result);
+	}
+
+	/**
+	 * Perform all pending writes now.
+	 *
+	 * @return a {@code Mono} that completes when all writes in flight are performed (or failed)
+	 */
+	public Mono<Void> flush() {
+		return Mono.defer(() -> {
+			List<Pending> all;
+			synchronized (this) {
+				all = new ArrayList<>(pending.values());
+				all.addAll(writing.values());
+			}
+			List<Mono<Void>> results = new ArrayList<>();
+			for (Pending p: all) {
+				if (p.timer!=null) {
+					p.timer.dispose();
+				}
+				write(p);
+				results.add(p.result.onErrorResume(e -> Mono.empty()));
+			}
+			return Mono.when(results);
+		});
+	}
+
+	@Override
+	public void destroy() {
+		long timeout = config.getShutdownTimeout()!=null ? config.getShutdownTimeout() : ReactiveWriteBehindConfiguration.DEFAULT_SHUTDOWN_TIMEOUT;
+		try {
+			flush().block(Duration.ofMillis(timeout));
+		} catch (RuntimeException e) {
+			logger.warn("destroy: " + getPending() + " writes not performed: " + e);
+		}
+	}
+
+	private long getWindow() {
+		return config.getWindow()!=null ? Math.max(0, config.getWindow()) : ReactiveWriteBehindConfiguration.DEFAULT_WINDOW;
+	}
+
+	//
+	// Metrics
+	//
+
+	/**
+	 * Get the number of writes waiting to be performed.
+	 *
+	 * @return the number of writes
+	 */
+	public synchronized int getPending() {
+		return pending.size();
+	}
+
+	/**
+	 * Get the number of writes submitted.
+	 *
+	 * @return the number of writes
+	 */
+	public long getSubmitted() {
+		return submitted.get();
+	}
+
+	/**
+	 * Get the number of writes performed.
+	 *
+	 * @return the number of writes
+	 */
+	public long getWrites() {
+		return writes.get();
+	}
+
+	/**
+	 * Get the number of writes replaced by a later write for the same key.
+	 *
+	 * @return the number of writes
+	 */
+	public long getCoalesced() {
+		return coalesced.get();
+	}
+
+	/**
+	 * Get the number of writes performed that failed.
+	 *
+	 * @return the number of writes
+	 */
+	public long getFailed() {
+		return failed.get();
+	}
+
+	private static class Pending {
+
+		private final String key;
+
+		private final Object[] scope;
+
+		private final Mono<Void> previous;
+
+		private final MonoProcessor<Void> result = MonoProcessor.create();
+
+		private Supplier<Mono<Void>> write;
+
+		private volatile Disposable timer;
+
+		Pending(String key, Object[] scope, Supplier<Mono<Void>> write, Mono<Void> previous) {
+			this.key = key;
+			this.scope = scope;
+			this.write = write;
+			this.previous = previous;
+		}
+
+	}
+
+}
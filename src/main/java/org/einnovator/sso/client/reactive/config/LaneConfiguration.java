@@ -0,0 +1,75 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.config;
+
+/**
+ * Configuration of a request lane: its connection pool and concurrency share.
+ *
+ * @author support@einnovator.org
+ */
+public class LaneConfiguration {
+
+	private Integer maxConnections;
+
+	private Double share;
+
+	/**
+	 * Create instance of {@code LaneConfiguration}.
+	 *
+	 */
+	public LaneConfiguration() {
+	}
+
+	/**
+	 * Create instance of {@code LaneConfiguration}.
+	 *
+	 * @param maxConnections the max number of connections of the lane pool
+	 * @param share the share of the concurrency limit
+	 */
+	public LaneConfiguration(Integer maxConnections, Double share) {
+		this.maxConnections = maxConnections;
+		this.share = share;
+	}
+
+	/**
+	 * Get the value of property {@code maxConnections}.
+	 *
+	 * <p>If zero or negative, an elastic (unbounded) connection pool is used.
+	 *
+	 * @return the maxConnections
+	 */
+	public Integer getMaxConnections() {
+		return maxConnections;
+	}
+
+	/**
+	 * Set the value of property {@code maxConnections}.
+	 *
+	 * @param maxConnections the value of property maxConnections
+	 */
+	public void setMaxConnections(Integer maxConnections) {
+		this.maxConnections = maxConnections;
+	}
+
+	/**
+	 * Get the value of property {@code share}.
+	 *
+	 * <p>Fraction of the limits in {@code ReactiveConcurrencyConfiguration} reserved for this lane, if concurrency limiting is enabled.
+	 *
+	 * @return the share
+	 */
+	public Double getShare() {
+		return share;
+	}
+
+	/**
+	 * Set the value of property {@code share}.
+	 *
+	 * @param share the value of property share
+	 */
+	public void setShare(Double share) {
+		this.share = share;
+	}
+
+}
@@ -0,0 +1,86 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.config;
+
+/**
+ * Rate limit settings for a group of SSO server endpoints.
+ *
+ * @author support@einnovator.org
+ */
+public class RateLimitGroupConfiguration {
+
+	private String[] paths;
+
+	private Double rate;
+
+	private Integer burst;
+
+	/**
+	 * Create instance of {@code RateLimitGroupConfiguration}.
+	 *
+	 */
+	public RateLimitGroupConfiguration() {
+	}
+
+	/**
+	 * Get the value of property {@code paths}.
+	 *
+	 * <p>Prefixes of the request paths in the group (e.g. {@code /api/user}).
+	 *
+	 * @return the paths
+	 */
+	public String[] getPaths() {
+		return paths;
+	}
+
+	/**
+	 * Set the value of property {@code paths}.
+	 *
+	 * @param paths the value of property paths
+	 */
+	public void setPaths(String[] paths) {
+		this.paths = paths;
+	}
+
+	/**
+	 * Get the value of property {@code rate}.
+	 *
+	 * <p>If not set, the default rate is used.
+	 *
+	 * @return the rate (permits per second)
+	 */
+	public Double getRate() {
+		return rate;
+	}
+
+	/**
+	 * Set the value of property {@code rate}.
+	 *
+	 * @param rate the value of property rate (permits per second)
+	 */
+	public void setRate(Double rate) {
+		this.rate = rate;
+	}
+
+	/**
+	 * Get the value of property {@code burst}.
+	 *
+	 * <p>If not set, the default burst is used.
+	 *
+	 * @return the burst
+	 */
+	public Integer getBurst() {
+		return burst;
+	}
+
+	/**
+	 * Set the value of property {@code burst}.
+	 *
+	 * @param burst the value of property burst
+	 */
+	public void setBurst(Integer burst) {
+		this.burst = burst;
+	}
+
+}
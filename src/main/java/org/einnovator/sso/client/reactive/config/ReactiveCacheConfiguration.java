@@ -0,0 +1,92 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.config;
+
+/**
+ * Configuration for the second-level cache ({@code SharedCache}) used by client caches.
+ *
+ * @author support@einnovator.org
+ */
+public class ReactiveCacheConfiguration {
+
+	public static final String SHARED_MEMORY = "memory";
+
+	public static final String SHARED_FILE = "file";
+
+	public static final int DEFAULT_MAX_SIZE = 100000;
+
+	private String shared;
+
+	private String dir;
+
+	private Integer maxSize = DEFAULT_MAX_SIZE;
+
+	/**
+	 * Create instance of {@code ReactiveCacheConfiguration}.
+	 *
+	 */
+	public ReactiveCacheConfiguration() {
+	}
+
+	/**
+	 * Get the value of property {@code shared}.
+	 *
+	 * <p>Kind of {@code SharedCache}: {@value #SHARED_MEMORY} (in-process), or {@value #SHARED_FILE} (file-backed, in {@link #getDir()}).
+	 * If not set, no second-level cache is used.
+	 *
+	 * @return the shared
+	 */
+	public String getShared() {
+		return shared;
+	}
+
+	/**
+	 * Set the value of property {@code shared}.
+	 *
+	 * @param shared the value of property shared
+	 */
+	public void setShared(String shared) {
+		this.shared = shared;
+	}
+
+	/**
+	 * Get the value of property {@code dir}.
+	 *
+	 * <p>Required if {@link #getShared()} is {@value #SHARED_FILE}. Entries are trusted as read, so the directory
+	 * should only be writable by the client instances sharing it (it is created accessible only to the owner, if missing).
+	 *
+	 * @return the dir
+	 */
+	public String getDir() {
+		return dir;
+	}
+
+	/**
+	 * Set the value of property {@code dir}.
+	 *
+	 * @param dir the value of property dir
+	 */
+	public void setDir(String dir) {
+		this.dir = dir;
+	}
+
+	/**
+	 * Get the value of property {@code maxSize}.
+	 *
+	 * @return the maxSize
+	 */
+	public Integer getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Set the value of property {@code maxSize}.
+	 *
+	 * @param maxSize the value of property maxSize
+	 */
+	public void setMaxSize(Integer maxSize) {
+		this.maxSize = maxSize;
+	}
+
+}
@@ -0,0 +1,131 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.config;
+
+import org.einnovator.sso.client.reactive.cache.RegistryCache;
+
+/**
+ * Configuration for caching of OAuth {@code Client}s (e.g. {@code getClientMono}).
+ *
+ * <p>Cached {@code Client}s are used for {@link #getTtl()}, and unknown identifiers are remembered for {@link #getNegativeTtl()}.
+ * The cache is cleared when a {@code Client} is created, updated or deleted through the same {@code SsoReactiveClient}.
+ * <p>Caching is disabled by default, since changes made by other clients (e.g. a revoked {@code Client} secret) are only
+ * seen after {@link #getTtl()}. Enable it with {@link #setCache(Boolean)}.
+ *
+ * @author support@einnovator.org
+ */
+public class ReactiveClientsConfiguration {
+
+	private Boolean cache = false;
+
+	private Long ttl = RegistryCache.DEFAULT_TTL;
+
+	private Long negativeTtl = RegistryCache.DEFAULT_NEGATIVE_TTL;
+
+	private Integer maxCacheSize = RegistryCache.DEFAULT_MAX_SIZE;
+
+	private Boolean preload = false;
+
+	/**
+	 * Create instance of {@code ReactiveClientsConfiguration}.
+	 *
+	 */
+	public ReactiveClientsConfiguration() {
+	}
+
+	/**
+	 * Get the value of property {@code cache}.
+	 *
+	 * @return the cache
+	 */
+	public Boolean getCache() {
+		return cache;
+	}
+
+	/**
+	 * Set the value of property {@code cache}.
+	 *
+	 * @param cache the value of property cache
+	 */
+	public void setCache(Boolean cache) {
+		this.cache = cache;
+	}
+
+	/**
+	 * Get the value of property {@code ttl}.
+	 *
+	 * @return the ttl (milliseconds)
+	 */
+	public Long getTtl() {
+		return ttl;
+	}
+
+	/**
+	 * Set the value of property {@code ttl}.
+	 *
+	 * @param ttl the value of property ttl (milliseconds)
+	 */
+	public void setTtl(Long ttl) {
+		this.ttl = ttl;
+	}
+
+	/**
+	 * Get the value of property {@code negativeTtl}.
+	 *
+	 * <p>How long unknown {@code Client} identifiers are remembered. Zero to not cache them.
+	 *
+	 * @return the negativeTtl (milliseconds)
+	 */
+	public Long getNegativeTtl() {
+		return negativeTtl;
+	}
+
+	/**
+	 * Set the value of property {@code negativeTtl}.
+	 *
+	 * @param negativeTtl the value of property negativeTtl (milliseconds)
+	 */
+	public void setNegativeTtl(Long negativeTtl) {
+		this.negativeTtl = negativeTtl;
+	}
+
+	/**
+	 * Get the value of property {@code maxCacheSize}.
+	 *
+	 * @return the maxCacheSize
+	 */
+	public Integer getMaxCacheSize() {
+		return maxCacheSize;
+	}
+
+	/**
+	 * Set the value of property {@code maxCacheSize}.
+	 *
+	 * @param maxCacheSize the value of property maxCacheSize
+	 */
+	public void setMaxCacheSize(Integer maxCacheSize) {
+		this.maxCacheSize = maxCacheSize;
+	}
+
+	/**
+	 * Get the value of property {@code preload}.
+	 *
+	 * <p>If true, and {@link #getCache()} is enabled, all {@code Client}s are loaded into the cache once the application is ready.
+	 *
+	 * @return the preload
+	 */
+	public Boolean getPreload() {
+		return preload;
+	}
+
+	/**
+	 * Set the value of property {@code preload}.
+	 *
+	 * @param preload the value of property preload
+	 */
+	public void setPreload(Boolean preload) {
+		this.preload = preload;
+	}
+
+}
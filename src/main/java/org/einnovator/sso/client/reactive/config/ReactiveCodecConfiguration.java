@@ -0,0 +1,156 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.config;
+
+/**
+ * Configuration of the codecs used by {@code WebClient}s to read and write SSO server requests and responses.
+ *
+ * <p>All {@code WebClient}s made by {@code ReactiveWebClientFactory} share one {@code ObjectMapper} configured as specified here.
+ *
+ * @author support@einnovator.org
+ */
+public class ReactiveCodecConfiguration {
+
+	public static final int DEFAULT_MAX_IN_MEMORY_SIZE = 10 * 1024 * 1024;
+
+	public static final long DEFAULT_PROBE_INTERVAL = 10 * 60 * 1000;
+
+	private Integer maxInMemorySize = DEFAULT_MAX_IN_MEMORY_SIZE;
+
+	private Boolean afterburner = false;
+
+	private Boolean prewarm = true;
+
+	private Boolean failOnUnknownProperties = false;
+
+	private Boolean smile = false;
+
+	private Long probeInterval = DEFAULT_PROBE_INTERVAL;
+
+	/**
+	 * Create instance of {@code ReactiveCodecConfiguration}.
+	 *
+	 */
+	public ReactiveCodecConfiguration() {
+	}
+
+	/**
+	 * Get the value of property {@code maxInMemorySize}.
+	 *
+	 * <p>Max number of bytes buffered to decode a response (e.g. a {@code PageResult}), or a single element of a streamed response. Negative for no limit.
+	 *
+	 * @return the maxInMemorySize (bytes)
+	 */
+	public Integer getMaxInMemorySize() {
+		return maxInMemorySize;
+	}
+
+	/**
+	 * Set the value of property {@code maxInMemorySize}.
+	 *
+	 * @param maxInMemorySize the value of property maxInMemorySize (bytes)
+	 */
+	public void setMaxInMemorySize(Integer maxInMemorySize) {
+		this.maxInMemorySize = maxInMemorySize;
+	}
+
+	/**
+	 * Get the value of property {@code afterburner}.
+	 *
+	 * <p>If true, register the Jackson Afterburner module (bytecode generated accessors), if in the classpath.
+	 *
+	 * @return the afterburner
+	 */
+	public Boolean getAfterburner() {
+		return afterburner;
+	}
+
+	/**
+	 * Set the value of property {@code afterburner}.
+	 *
+	 * @param afterburner the value of property afterburner
+	 */
+	public void setAfterburner(Boolean afterburner) {
+		this.afterburner = afterburner;
+	}
+
+	/**
+	 * Get the value of property {@code prewarm}.
+	 *
+	 * <p>If true, the (de)serializers of the SSO model types are created when the {@code ObjectMapper} is created, rather than on first request.
+	 *
+	 * @return the prewarm
+	 */
+	public Boolean getPrewarm() {
+		return prewarm;
+	}
+
+	/**
+	 * Set the value of property {@code prewarm}.
+	 *
+	 * @param prewarm the value of property prewarm
+	 */
+	public void setPrewarm(Boolean prewarm) {
+		this.prewarm = prewarm;
+	}
+
+	/**
+	 * Get the value of property {@code failOnUnknownProperties}.
+	 *
+	 * @return the failOnUnknownProperties
+	 */
+	public Boolean getFailOnUnknownProperties() {
+		return failOnUnknownProperties;
+	}
+
+	/**
+	 * Set the value of property {@code failOnUnknownProperties}.
+	 *
+	 * @param failOnUnknownProperties the value of property failOnUnknownProperties
+	 */
+	public void setFailOnUnknownProperties(Boolean failOnUnknownProperties) {
+		this.failOnUnknownProperties = failOnUnknownProperties;
+	}
+
+	/**
+	 * Get the value of property {@code smile}.
+	 *
+	 * <p>If true, read requests prefer the Smile binary format, falling back to JSON if the server does not support it. Requires {@code jackson-dataformat-smile} in the classpath.
+	 *
+	 * @return the smile
+	 */
+	public Boolean getSmile() {
+		return smile;
+	}
+
+	/**
+	 * Set the value of property {@code smile}.
+	 *
+	 * @param smile the value of property smile
+	 */
+	public void setSmile(Boolean smile) {
+		this.smile = smile;
+	}
+
+	/**
+	 * Get the value of property {@code probeInterval}.
+	 *
+	 * <p>Time JSON is used without negotiation after the server rejects the binary format.
+	 *
+	 * @return the probeInterval (milliseconds)
+	 */
+	public Long getProbeInterval() {
+		return probeInterval;
+	}
+
+	/**
+	 * Set the value of property {@code probeInterval}.
+	 *
+	 * @param probeInterval the value of property probeInterval (milliseconds)
+	 */
+	public void setProbeInterval(Long probeInterval) {
+		this.probeInterval = probeInterval;
+	}
+
+}
@@ -0,0 +1,229 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.config;
+
+/**
+ * Configuration of the adaptive concurrency limiter for requests to the SSO server.
+ *
+ * <p>The limit on in-flight requests starts at {@link #getInitialLimit()} and adapts to the latency and overload
+ * signals of the server, between {@link #getMinLimit()} and {@link #getMaxLimit()}.
+ *
+ * @author support@einnovator.org
+ */
+public class ReactiveConcurrencyConfiguration {
+
+	public static final int DEFAULT_INITIAL_LIMIT = 20;
+
+	public static final int DEFAULT_MIN_LIMIT = 1;
+
+	public static final int DEFAULT_MAX_LIMIT = 200;
+
+	public static final double DEFAULT_TOLERANCE = 2.0;
+
+	public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+
+	public static final int DEFAULT_MIN_RTT_WINDOW = 1000;
+
+	public static final int DEFAULT_MAX_QUEUE = 100;
+
+	public static final long DEFAULT_MAX_WAIT = 10000;
+
+	private Boolean enabled = false;
+
+	private Integer initialLimit = DEFAULT_INITIAL_LIMIT;
+
+	private Integer minLimit = DEFAULT_MIN_LIMIT;
+
+	private Integer maxLimit = DEFAULT_MAX_LIMIT;
+
+	private Double tolerance = DEFAULT_TOLERANCE;
+
+	private Double backoffRatio = DEFAULT_BACKOFF_RATIO;
+
+	private Integer minRttWindow = DEFAULT_MIN_RTT_WINDOW;
+
+	private Integer maxQueue = DEFAULT_MAX_QUEUE;
+
+	private Long maxWait = DEFAULT_MAX_WAIT;
+
+	/**
+	 * Create instance of {@code ReactiveConcurrencyConfiguration}.
+	 *
+	 */
+	public ReactiveConcurrencyConfiguration() {
+	}
+
+	/**
+	 * Get the value of property {@code enabled}.
+	 *
+	 * @return the enabled
+	 */
+	public Boolean getEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Set the value of property {@code enabled}.
+	 *
+	 * @param enabled the value of property enabled
+	 */
+	public void setEnabled(Boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Get the value of property {@code initialLimit}.
+	 *
+	 * @return the initialLimit
+	 */
+	public Integer getInitialLimit() {
+		return initialLimit;
+	}
+
+	/**
+	 * Set the value of property {@code initialLimit}.
+	 *
+	 * @param initialLimit the value of property initialLimit
+	 */
+	public void setInitialLimit(Integer initialLimit) {
+		this.initialLimit = initialLimit;
+	}
+
+	/**
+	 * Get the value of property {@code minLimit}.
+	 *
+	 * @return the minLimit
+	 */
+	public Integer getMinLimit() {
+		return minLimit;
+	}
+
+	/**
+	 * Set the value of property {@code minLimit}.
+	 *
+	 * @param minLimit the value of property minLimit
+	 */
+	public void setMinLimit(Integer minLimit) {
+		this.minLimit = minLimit;
+	}
+
+	/**
+	 * Get the value of property {@code maxLimit}.
+	 *
+	 * @return the maxLimit
+	 */
+	public Integer getMaxLimit() {
+		return maxLimit;
+	}
+
+	/**
+	 * Set the value of property {@code maxLimit}.
+	 *
+	 * @param maxLimit the value of property maxLimit
+	 */
+	public void setMaxLimit(Integer maxLimit) {
+		this.maxLimit = maxLimit;
+	}
+
+	/**
+	 * Get the value of property {@code tolerance}.
+	 *
+	 * <p>Requests slower than the minimum recent latency times this factor decrease the limit.
+	 *
+	 * @return the tolerance
+	 */
+	public Double getTolerance() {
+		return tolerance;
+	}
+
+	/**
+	 * Set the value of property {@code tolerance}.
+	 *
+	 * @param tolerance the value of property tolerance
+	 */
+	public void setTolerance(Double tolerance) {
+		this.tolerance = tolerance;
+	}
+
+	/**
+	 * Get the value of property {@code backoffRatio}.
+	 *
+	 * <p>Factor applied to the limit on decrease.
+	 *
+	 * @return the backoffRatio
+	 */
+	public Double getBackoffRatio() {
+		return backoffRatio;
+	}
+
+	/**
+	 * Set the value of property {@code backoffRatio}.
+	 *
+	 * @param backoffRatio the value of property backoffRatio
+	 */
+	public void setBackoffRatio(Double backoffRatio) {
+		this.backoffRatio = backoffRatio;
+	}
+
+	/**
+	 * Get the value of property {@code minRttWindow}.
+	 *
+	 * <p>Number of samples after which the minimum latency is re-measured, to follow changes in the baseline.
+	 *
+	 * @return the minRttWindow
+	 */
+	public Integer getMinRttWindow() {
+		return minRttWindow;
+	}
+
+	/**
+	 * Set the value of property {@code minRttWindow}.
+	 *
+	 * @param minRttWindow the value of property minRttWindow
+	 */
+	public void setMinRttWindow(Integer minRttWindow) {
+		this.minRttWindow = minRttWindow;
+	}
+
+	/**
+	 * Get the value of property {@code maxQueue}.
+	 *
+	 * <p>Requests over the limit that find the queue full are rejected.
+	 *
+	 * @return the maxQueue
+	 */
+	public Integer getMaxQueue() {
+		return maxQueue;
+	}
+
+	/**
+	 * Set the value of property {@code maxQueue}.
+	 *
+	 * @param maxQueue the value of property maxQueue
+	 */
+	public void setMaxQueue(Integer maxQueue) {
+		this.maxQueue = maxQueue;
+	}
+
+	/**
+	 * Get the value of property {@code maxWait}.
+	 *
+	 * <p>Requests waiting longer in queue are rejected. Zero or negative to wait indefinitely.
+	 *
+	 * @return the maxWait (milliseconds)
+	 */
+	public Long getMaxWait() {
+		return maxWait;
+	}
+
+	/**
+	 * Set the value of property {@code maxWait}.
+	 *
+	 * @param maxWait the value of property maxWait (milliseconds)
+	 */
+	public void setMaxWait(Long maxWait) {
+		this.maxWait = maxWait;
+	}
+
+}
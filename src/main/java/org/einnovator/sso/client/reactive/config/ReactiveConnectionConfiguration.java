@@ -0,0 +1,156 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.config;
+
+/**
+ * Configuration of the HTTP connections used by reactive {@code WebClient}s to connect to the SSO server.
+ *
+ * @author support@einnovator.org
+ */
+public class ReactiveConnectionConfiguration {
+
+	public static final int DEFAULT_MAX_CONNECTIONS = 50;
+
+	public static final long DEFAULT_ACQUIRE_TIMEOUT = 45000;
+
+	public static final int DEFAULT_CONNECT_TIMEOUT = 10000;
+
+	public static final long DEFAULT_READ_TIMEOUT = 30000;
+
+	private Integer maxConnections = DEFAULT_MAX_CONNECTIONS;
+
+	private Long acquireTimeout = DEFAULT_ACQUIRE_TIMEOUT;
+
+	private Integer connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+
+	private Long readTimeout = DEFAULT_READ_TIMEOUT;
+
+	private String[] protocols;
+
+	private Boolean compress = true;
+
+	/**
+	 * Create instance of {@code ReactiveConnectionConfiguration}.
+	 *
+	 */
+	public ReactiveConnectionConfiguration() {
+	}
+
+	/**
+	 * Get the value of property {@code maxConnections}.
+	 *
+	 * <p>If zero or negative, an elastic (unbounded) connection pool is used.
+	 *
+	 * @return the maxConnections
+	 */
+	public Integer getMaxConnections() {
+		return maxConnections;
+	}
+
+	/**
+	 * Set the value of property {@code maxConnections}.
+	 *
+	 * @param maxConnections the value of property maxConnections
+	 */
+	public void setMaxConnections(Integer maxConnections) {
+		this.maxConnections = maxConnections;
+	}
+
+	/**
+	 * Get the value of property {@code acquireTimeout}.
+	 *
+	 * @return the acquireTimeout (milliseconds)
+	 */
+	public Long getAcquireTimeout() {
+		return acquireTimeout;
+	}
+
+	/**
+	 * Set the value of property {@code acquireTimeout}.
+	 *
+	 * @param acquireTimeout the value of property acquireTimeout (milliseconds)
+	 */
+	public void setAcquireTimeout(Long acquireTimeout) {
+		this.acquireTimeout = acquireTimeout;
+	}
+
+	/**
+	 * Get the value of property {@code connectTimeout}.
+	 *
+	 * @return the connectTimeout (milliseconds)
+	 */
+	public Integer getConnectTimeout() {
+		return connectTimeout;
+	}
+
+	/**
+	 * Set the value of property {@code connectTimeout}.
+	 *
+	 * @param connectTimeout the value of property connectTimeout (milliseconds)
+	 */
+	public void setConnectTimeout(Integer connectTimeout) {
+		this.connectTimeout = connectTimeout;
+	}
+
+	/**
+	 * Get the value of property {@code readTimeout}.
+	 *
+	 * @return the readTimeout (milliseconds)
+	 */
+	public Long getReadTimeout() {
+		return readTimeout;
+	}
+
+	/**
+	 * Set the value of property {@code readTimeout}.
+	 *
+	 * @param readTimeout the value of property readTimeout (milliseconds)
+	 */
+	public void setReadTimeout(Long readTimeout) {
+		this.readTimeout = readTimeout;
+	}
+
+	/**
+	 * Get the value of property {@code protocols}.
+	 *
+	 * <p>Names of the HTTP protocols to support: {@code HTTP11}, {@code H2} (HTTP/2 over TLS, negotiated with ALPN),
+	 * or {@code H2C} (HTTP/2 over clear-text, e.g. for in-cluster connections).
+	 * If not set, only HTTP/1.1 is used.
+	 *
+	 * @return the protocols
+	 */
+	public String[] getProtocols() {
+		return protocols;
+	}
+
+	/**
+	 * Set the value of property {@code protocols}.
+	 *
+	 * @param protocols the value of property protocols
+	 */
+	public void setProtocols(String[] protocols) {
+		this.protocols = protocols;
+	}
+
+	/**
+	 * Get the value of property {@code compress}.
+	 *
+	 * <p>If true, responses compressed with gzip or deflate are requested and decompressed.
+	 *
+	 * @return the compress
+	 */
+	public Boolean getCompress() {
+		return compress;
+	}
+
+	/**
+	 * Set the value of property {@code compress}.
+	 *
+	 * @param compress the value of property compress
+	 */
+	public void setCompress(Boolean compress) {
+		this.compress = compress;
+	}
+
+}
@@ -0,0 +1,132 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.config;
+
+import org.einnovator.sso.client.reactive.cache.StaleWhileRevalidateCache;
+
+/**
+ * Configuration for caching of count requests (e.g. {@code countGroups}, {@code countGroupMembers}).
+ *
+ * <p>Cached counts are served for {@link #getSoftTtl()}, and then served stale while refreshed in background,
+ * up to {@link #getHardTtl()}.
+ * <p>Caching is disabled by default, since cached counts may lag changes made by other clients by up to
+ * {@link #getHardTtl()}. Enable it with {@link #setCache(Boolean)}.
+ * <p>{@code InvitationStats} are shared as a snapshot refreshed every {@link #getStatsInterval()}.
+ *
+ * @author support@einnovator.org
+ */
+public class ReactiveCountsConfiguration {
+
+	public static final long DEFAULT_STATS_INTERVAL = 30 * 1000;
+
+	private Boolean cache = false;
+
+	private Long softTtl = StaleWhileRevalidateCache.DEFAULT_SOFT_TTL;
+
+	private Long hardTtl = StaleWhileRevalidateCache.DEFAULT_HARD_TTL;
+
+	private Integer maxCacheSize = StaleWhileRevalidateCache.DEFAULT_MAX_SIZE;
+
+	private Long statsInterval = DEFAULT_STATS_INTERVAL;
+
+	/**
+	 * Create instance of {@code ReactiveCountsConfiguration}.
+	 *
+	 */
+	public ReactiveCountsConfiguration() {
+	}
+
+	/**
+	 * Get the value of property {@code cache}.
+	 *
+	 * @return the cache
+	 */
+	public Boolean getCache() {
+		return cache;
+	}
+
+	/**
+	 * Set the value of property {@code cache}.
+	 *
+	 * @param cache the value of property cache
+	 */
+	public void setCache(Boolean cache) {
+		this.cache = cache;
+	}
+
+	/**
+	 * Get the value of property {@code softTtl}.
+	 *
+	 * @return the softTtl (milliseconds)
+	 */
+	public Long getSoftTtl() {
+		return softTtl;
+	}
+
+	/**
+	 * Set the value of property {@code softTtl}.
+	 *
+	 * @param softTtl the value of property softTtl (milliseconds)
+	 */
+	public void setSoftTtl(Long softTtl) {
+		this.softTtl = softTtl;
+	}
+
+	/**
+	 * Get the value of property {@code hardTtl}.
+	 *
+	 * @return the hardTtl (milliseconds)
+	 */
+	public Long getHardTtl() {
+		return hardTtl;
+	}
+
+	/**
+	 * Set the value of property {@code hardTtl}.
+	 *
+	 * @param hardTtl the value of property hardTtl (milliseconds)
+	 */
+	public void setHardTtl(Long hardTtl) {
+		this.hardTtl = hardTtl;
+	}
+
+	/**
+	 * Get the value of property {@code maxCacheSize}.
+	 *
+	 * @return the maxCacheSize
+	 */
+	public Integer getMaxCacheSize() {
+		return maxCacheSize;
+	}
+
+	/**
+	 * Set the value of property {@code maxCacheSize}.
+	 *
+	 * @param maxCacheSize the value of property maxCacheSize
+	 */
+	public void setMaxCacheSize(Integer maxCacheSize) {
+		this.maxCacheSize = maxCacheSize;
+	}
+
+	/**
+	 * Get the value of property {@code statsInterval}.
+	 *
+	 * <p>Interval between refreshes of the shared {@code InvitationStats} snapshot.
+	 *
+	 * @return the statsInterval (milliseconds)
+	 */
+	public Long getStatsInterval() {
+		return statsInterval;
+	}
+
+	/**
+	 * Set the value of property {@code statsInterval}.
+	 *
+	 * @param statsInterval the value of property statsInterval (milliseconds)
+	 */
+	public void setStatsInterval(Long statsInterval) {
+		this.statsInterval = statsInterval;
+	}
+
+}
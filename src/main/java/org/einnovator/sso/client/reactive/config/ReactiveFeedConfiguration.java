@@ -0,0 +1,108 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.config;
+
+/**
+ * Configuration for the subscription to the change feed of the SSO server.
+ *
+ * @author support@einnovator.org
+ */
+public class ReactiveFeedConfiguration {
+
+	public static final String DEFAULT_PATH = "/api/event/stream";
+
+	public static final long DEFAULT_MIN_BACKOFF = 1000;
+
+	public static final long DEFAULT_MAX_BACKOFF = 60000;
+
+	private Boolean enabled = false;
+
+	private String uri;
+
+	private Long minBackoff = DEFAULT_MIN_BACKOFF;
+
+	private Long maxBackoff = DEFAULT_MAX_BACKOFF;
+
+	/**
+	 * Create instance of {@code ReactiveFeedConfiguration}.
+	 *
+	 */
+	public ReactiveFeedConfiguration() {
+	}
+
+	/**
+	 * Get the value of property {@code enabled}.
+	 *
+	 * @return the enabled
+	 */
+	public Boolean getEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Set the value of property {@code enabled}.
+	 *
+	 * @param enabled the value of property enabled
+	 */
+	public void setEnabled(Boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Get the value of property {@code uri}.
+	 *
+	 * <p>If not set, defaults to the SSO server URL followed by {@link #DEFAULT_PATH}.
+	 *
+	 * @return the uri
+	 */
+	public String getUri() {
+		return uri;
+	}
+
+	/**
+	 * Set the value of property {@code uri}.
+	 *
+	 * @param uri the value of property uri
+	 */
+	public void setUri(String uri) {
+		this.uri = uri;
+	}
+
+	/**
+	 * Get the value of property {@code minBackoff}.
+	 *
+	 * @return the minBackoff (milliseconds)
+	 */
+	public Long getMinBackoff() {
+		return minBackoff;
+	}
+
+	/**
+	 * Set the value of property {@code minBackoff}.
+	 *
+	 * @param minBackoff the value of property minBackoff (milliseconds)
+	 */
+	public void setMinBackoff(Long minBackoff) {
+		this.minBackoff = minBackoff;
+	}
+
+	/**
+	 * Get the value of property {@code maxBackoff}.
+	 *
+	 * @return the maxBackoff (milliseconds)
+	 */
+	public Long getMaxBackoff() {
+		return maxBackoff;
+	}
+
+	/**
+	 * Set the value of property {@code maxBackoff}.
+	 *
+	 * @param maxBackoff the value of property maxBackoff (milliseconds)
+	 */
+	public void setMaxBackoff(Long maxBackoff) {
+		this.maxBackoff = maxBackoff;
+	}
+
+}
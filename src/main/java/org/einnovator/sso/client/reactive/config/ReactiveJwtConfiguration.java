@@ -0,0 +1,242 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.config;
+
+/**
+ * Configuration for local verification of JWT access tokens against the JWK set of the SSO server.
+ *
+ * @author support@einnovator.org
+ */
+public class ReactiveJwtConfiguration {
+
+	public static final String DEFAULT_JWK_SET_PATH = "/.well-known/jwks.json";
+
+	public static final long DEFAULT_REFRESH_INTERVAL = 15 * 60 * 1000;
+
+	public static final long DEFAULT_MIN_REFETCH_INTERVAL = 30000;
+
+	public static final long DEFAULT_CLOCK_SKEW = 60000;
+
+	public static final long DEFAULT_NEGATIVE_TTL = 60000;
+
+	public static final int DEFAULT_MAX_CACHE_SIZE = 10000;
+
+	public static final String[] DEFAULT_ALGORITHMS = {"RS256", "RS384", "RS512", "PS256", "PS384", "PS512", "ES256", "ES384", "ES512"};
+
+	private Boolean enabled = false;
+
+	private String jwkSetUri;
+
+	private Long refreshInterval = DEFAULT_REFRESH_INTERVAL;
+
+	private Long minRefetchInterval = DEFAULT_MIN_REFETCH_INTERVAL;
+
+	private Long clockSkew = DEFAULT_CLOCK_SKEW;
+
+	private Long negativeTtl = DEFAULT_NEGATIVE_TTL;
+
+	private Integer maxCacheSize = DEFAULT_MAX_CACHE_SIZE;
+
+	private String[] algorithms = DEFAULT_ALGORITHMS;
+
+	private String issuer;
+
+	private String audience;
+
+	/**
+	 * Create instance of {@code ReactiveJwtConfiguration}.
+	 *
+	 */
+	public ReactiveJwtConfiguration() {
+	}
+
+	/**
+	 * Get the value of property {@code enabled}.
+	 *
+	 * @return the enabled
+	 */
+	public Boolean getEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Set the value of property {@code enabled}.
+	 *
+	 * @param enabled the value of property enabled
+	 */
+	public void setEnabled(Boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Get the value of property {@code jwkSetUri}.
+	 *
+	 * <p>If not set, defaults to path {@value #DEFAULT_JWK_SET_PATH} in the SSO server.
+	 *
+	 * @return the jwkSetUri
+	 */
+	public String getJwkSetUri() {
+		return jwkSetUri;
+	}
+
+	/**
+	 * Set the value of property {@code jwkSetUri}.
+	 *
+	 * @param jwkSetUri the value of property jwkSetUri
+	 */
+	public void setJwkSetUri(String jwkSetUri) {
+		this.jwkSetUri = jwkSetUri;
+	}
+
+	/**
+	 * Get the value of property {@code refreshInterval}.
+	 *
+	 * @return the refreshInterval (milliseconds)
+	 */
+	public Long getRefreshInterval() {
+		return refreshInterval;
+	}
+
+	/**
+	 * Set the value of property {@code refreshInterval}.
+	 *
+	 * @param refreshInterval the value of property refreshInterval (milliseconds)
+	 */
+	public void setRefreshInterval(Long refreshInterval) {
+		this.refreshInterval = refreshInterval;
+	}
+
+	/**
+	 * Get the value of property {@code minRefetchInterval}.
+	 *
+	 * @return the minRefetchInterval (milliseconds)
+	 */
+	public Long getMinRefetchInterval() {
+		return minRefetchInterval;
+	}
+
+	/**
+	 * Set the value of property {@code minRefetchInterval}.
+	 *
+	 * @param minRefetchInterval the value of property minRefetchInterval (milliseconds)
+	 */
+	public void setMinRefetchInterval(Long minRefetchInterval) {
+		this.minRefetchInterval = minRefetchInterval;
+	}
+
+	/**
+	 * Get the value of property {@code clockSkew}.
+	 *
+	 * @return the clockSkew (milliseconds)
+	 */
+	public Long getClockSkew() {
+		return clockSkew;
+	}
+
+	/**
+	 * Set the value of property {@code clockSkew}.
+	 *
+	 * @param clockSkew the value of property clockSkew (milliseconds)
+	 */
+	public void setClockSkew(Long clockSkew) {
+		this.clockSkew = clockSkew;
+	}
+
+	/**
+	 * Get the value of property {@code negativeTtl}.
+	 *
+	 * @return the negativeTtl (milliseconds)
+	 */
+	public Long getNegativeTtl() {
+		return negativeTtl;
+	}
+
+	/**
+	 * Set the value of property {@code negativeTtl}.
+	 *
+	 * @param negativeTtl the value of property negativeTtl (milliseconds)
+	 */
+	public void setNegativeTtl(Long negativeTtl) {
+		this.negativeTtl = negativeTtl;
+	}
+
+	/**
+	 * Get the value of property {@code maxCacheSize}.
+	 *
+	 * @return the maxCacheSize
+	 */
+	public Integer getMaxCacheSize() {
+		return maxCacheSize;
+	}
+
+	/**
+	 * Set the value of property {@code maxCacheSize}.
+	 *
+	 * @param maxCacheSize the value of property maxCacheSize
+	 */
+	public void setMaxCacheSize(Integer maxCacheSize) {
+		this.maxCacheSize = maxCacheSize;
+	}
+
+	/**
+	 * Get the value of property {@code algorithms}.
+	 *
+	 * <p>Names of the JWS algorithms accepted. Only asymmetric algorithms (RSA and EC) are supported.
+	 *
+	 * @return the algorithms
+	 */
+	public String[] getAlgorithms() {
+		return algorithms;
+	}
+
+	/**
+	 * Set the value of property {@code algorithms}.
+	 *
+	 * @param algorithms the value of property algorithms
+	 */
+	public void setAlgorithms(String[] algorithms) {
+		this.algorithms = algorithms;
+	}
+
+	/**
+	 * Get the value of property {@code issuer}.
+	 *
+	 * <p>If set, tokens must have this value as {@code iss} claim.
+	 *
+	 * @return the issuer
+	 */
+	public String getIssuer() {
+		return issuer;
+	}
+
+	/**
+	 * Set the value of property {@code issuer}.
+	 *
+	 * @param issuer the value of property issuer
+	 */
+	public void setIssuer(String issuer) {
+		this.issuer = issuer;
+	}
+
+	/**
+	 * Get the value of property {@code audience}.
+	 *
+	 * <p>If set, tokens must include this value in the {@code aud} claim.
+	 *
+	 * @return the audience
+	 */
+	public String getAudience() {
+		return audience;
+	}
+
+	/**
+	 * Set the value of property {@code audience}.
+	 *
+	 * @param audience the value of property audience
+	 */
+	public void setAudience(String audience) {
+		this.audience = audience;
+	}
+
+}
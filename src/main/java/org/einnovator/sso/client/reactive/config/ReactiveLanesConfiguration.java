@@ -0,0 +1,126 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.config;
+
+import org.einnovator.sso.client.reactive.limit.RequestLane;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
+
+/**
+ * Configuration of request lanes, isolating user-facing requests from background and admin requests.
+ *
+ * <p>If enabled, each {@code RequestLane} has its own connection pool and its own share of the concurrency limit,
+ * so that bulk requests can not use up the capacity reserved for interactive requests.
+ *
+ * @author support@einnovator.org
+ */
+public class ReactiveLanesConfiguration {
+
+	private Boolean enabled = false;
+
+	@NestedConfigurationProperty
+	private LaneConfiguration interactive = new LaneConfiguration(30, 0.6);
+
+	@NestedConfigurationProperty
+	private LaneConfiguration background = new LaneConfiguration(10, 0.3);
+
+	@NestedConfigurationProperty
+	private LaneConfiguration admin = new LaneConfiguration(10, 0.1);
+
+	/**
+	 * Create instance of {@code ReactiveLanesConfiguration}.
+	 *
+	 */
+	public ReactiveLanesConfiguration() {
+	}
+
+	/**
+	 * Get the value of property {@code enabled}.
+	 *
+	 * @return the enabled
+	 */
+	public Boolean getEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Set the value of property {@code enabled}.
+	 *
+	 * @param enabled the value of property enabled
+	 */
+	public void setEnabled(Boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Get the value of property {@code interactive}.
+	 *
+	 * @return the interactive
+	 */
+	public LaneConfiguration getInteractive() {
+		return interactive;
+	}
+
+	/**
+	 * Set the value of property {@code interactive}.
+	 *
+	 * @param interactive the value of property interactive
+	 */
+	public void setInteractive(LaneConfiguration interactive) {
+		this.interactive = interactive;
+	}
+
+	/**
+	 * Get the value of property {@code background}.
+	 *
+	 * @return the background
+	 */
+	public LaneConfiguration getBackground() {
+		return background;
+	}
+
+	/**
+	 * Set the value of property {@code background}.
+	 *
+	 * @param background the value of property background
+	 */
+	public void setBackground(LaneConfiguration background) {
+		this.background = background;
+	}
+
+	/**
+	 * Get the value of property {@code admin}.
+	 *
+	 * @return the admin
+	 */
+	public LaneConfiguration getAdmin() {
+		return admin;
+	}
+
+	/**
+	 * Set the value of property {@code admin}.
+	 *
+	 * @param admin the value of property admin
+	 */
+	public void setAdmin(LaneConfiguration admin) {
+		this.admin = admin;
+	}
+
+	/**
+	 * Get the configuration of a lane.
+	 *
+	 * @param lane the {@code RequestLane}
+	 * @return the {@code LaneConfiguration}
+	 */
+	public LaneConfiguration getLane(RequestLane lane) {
+		switch (lane) {
+		case BACKGROUND:
+			return background;
+		case ADMIN:
+			return admin;
+		default:
+			return interactive;
+		}
+	}
+
+}
@@ -0,0 +1,84 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.config;
+
+/**
+ * Configuration for resolution of the principal {@code User} in reactive web requests.
+ *
+ * @author support@einnovator.org
+ */
+public class ReactivePrincipalConfiguration {
+
+	public static final int DEFAULT_MAX_CACHE_SIZE = 10000;
+
+	private Boolean filter = true;
+
+	private Long cacheTtl = 0L;
+
+	private Integer maxCacheSize = DEFAULT_MAX_CACHE_SIZE;
+
+	/**
+	 * Create instance of {@code ReactivePrincipalConfiguration}.
+	 *
+	 */
+	public ReactivePrincipalConfiguration() {
+	}
+
+	/**
+	 * Get the value of property {@code filter}.
+	 *
+	 * @return the filter
+	 */
+	public Boolean getFilter() {
+		return filter;
+	}
+
+	/**
+	 * Set the value of property {@code filter}.
+	 *
+	 * @param filter the value of property filter
+	 */
+	public void setFilter(Boolean filter) {
+		this.filter = filter;
+	}
+
+	/**
+	 * Get the value of property {@code cacheTtl}.
+	 *
+	 * <p>If zero or negative, the principal {@code User} is only memoized per request.
+	 *
+	 * @return the cacheTtl (milliseconds)
+	 */
+	public Long getCacheTtl() {
+		return cacheTtl;
+	}
+
+	/**
+	 * Set the value of property {@code cacheTtl}.
+	 *
+	 * @param cacheTtl the value of property cacheTtl (milliseconds)
+	 */
+	public void setCacheTtl(Long cacheTtl) {
+		this.cacheTtl = cacheTtl;
+	}
+
+	/**
+	 * Get the value of property {@code maxCacheSize}.
+	 *
+	 * @return the maxCacheSize
+	 */
+	public Integer getMaxCacheSize() {
+		return maxCacheSize;
+	}
+
+	/**
+	 * Set the value of property {@code maxCacheSize}.
+	 *
+	 * @param maxCacheSize the value of property maxCacheSize
+	 */
+	public void setMaxCacheSize(Integer maxCacheSize) {
+		this.maxCacheSize = maxCacheSize;
+	}
+
+}
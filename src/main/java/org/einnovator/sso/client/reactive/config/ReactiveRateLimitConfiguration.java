@@ -0,0 +1,158 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration of the client-side rate limiter for requests to the SSO server.
+ *
+ * <p>Requests are limited with token buckets, one per endpoint group in {@link #getGroups()},
+ * and one for all other requests. Requests over the limit are delayed, or rejected if {@link #getDelay()} is false.
+ *
+ * @author support@einnovator.org
+ */
+public class ReactiveRateLimitConfiguration {
+
+	public static final double DEFAULT_RATE = 50;
+
+	public static final int DEFAULT_BURST = 100;
+
+	public static final long DEFAULT_MAX_DELAY = 30000;
+
+	private Boolean enabled = false;
+
+	private Double rate = DEFAULT_RATE;
+
+	private Integer burst = DEFAULT_BURST;
+
+	private Boolean delay = true;
+
+	private Long maxDelay = DEFAULT_MAX_DELAY;
+
+	private Map<String, RateLimitGroupConfiguration> groups = new LinkedHashMap<>();
+
+	/**
+	 * Create instance of {@code ReactiveRateLimitConfiguration}.
+	 *
+	 */
+	public ReactiveRateLimitConfiguration() {
+	}
+
+	/**
+	 * Get the value of property {@code enabled}.
+	 *
+	 * @return the enabled
+	 */
+	public Boolean getEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Set the value of property {@code enabled}.
+	 *
+	 * @param enabled the value of property enabled
+	 */
+	public void setEnabled(Boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Get the value of property {@code rate}.
+	 *
+	 * @return the rate (permits per second)
+	 */
+	public Double getRate() {
+		return rate;
+	}
+
+	/**
+	 * Set the value of property {@code rate}.
+	 *
+	 * @param rate the value of property rate (permits per second)
+	 */
+	public void setRate(Double rate) {
+		this.rate = rate;
+	}
+
+	/**
+	 * Get the value of property {@code burst}.
+	 *
+	 * @return the burst
+	 */
+	public Integer getBurst() {
+		return burst;
+	}
+
+	/**
+	 * Set the value of property {@code burst}.
+	 *
+	 * @param burst the value of property burst
+	 */
+	public void setBurst(Integer burst) {
+		this.burst = burst;
+	}
+
+	/**
+	 * Get the value of property {@code delay}.
+	 *
+	 * <p>If true, requests over the limit wait for a permit. If false, they fail immediately.
+	 *
+	 * @return the delay
+	 */
+	public Boolean getDelay() {
+		return delay;
+	}
+
+	/**
+	 * Set the value of property {@code delay}.
+	 *
+	 * @param delay the value of property delay
+	 */
+	public void setDelay(Boolean delay) {
+		this.delay = delay;
+	}
+
+	/**
+	 * Get the value of property {@code maxDelay}.
+	 *
+	 * <p>Requests that would wait longer fail.
+	 *
+	 * @return the maxDelay (milliseconds)
+	 */
+	public Long getMaxDelay() {
+		return maxDelay;
+	}
+
+	/**
+	 * Set the value of property {@code maxDelay}.
+	 *
+	 * @param maxDelay the value of property maxDelay (milliseconds)
+	 */
+	public void setMaxDelay(Long maxDelay) {
+		this.maxDelay = maxDelay;
+	}
+
+	/**
+	 * Get the value of property {@code groups}.
+	 *
+	 * <p>Endpoint groups by name.
+	 *
+	 * @return the groups
+	 */
+	public Map<String, RateLimitGroupConfiguration> getGroups() {
+		return groups;
+	}
+
+	/**
+	 * Set the value of property {@code groups}.
+	 *
+	 * @param groups the value of property groups
+	 */
+	public void setGroups(Map<String, RateLimitGroupConfiguration> groups) {
+		this.groups = groups;
+	}
+
+}
@@ -0,0 +1,172 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.config;
+
+/**
+ * Configuration for asynchronous application registration with the SSO server.
+ *
+ * <p>Automatic registration on startup is enabled with property {@code sso.registration.roles.auto}.
+ * Unchanged registrations are skipped only if a location to keep the hash of the last registration is set,
+ * with {@code hashFile} or {@code hashDir}.
+ *
+ * @author support@einnovator.org
+ */
+public class ReactiveRegistrationConfiguration {
+
+	public static final long DEFAULT_MAX_RETRIES = 10;
+
+	public static final long DEFAULT_BACKOFF = 1000;
+
+	public static final long DEFAULT_MAX_BACKOFF = 60000;
+
+	public static final long DEFAULT_MAX_DELAY = 5000;
+
+	private Boolean skipUnchanged = true;
+
+	private String hashFile;
+
+	private String hashDir;
+
+	private Long maxDelay = DEFAULT_MAX_DELAY;
+
+	private Long maxRetries = DEFAULT_MAX_RETRIES;
+
+	private Long backoff = DEFAULT_BACKOFF;
+
+	private Long maxBackoff = DEFAULT_MAX_BACKOFF;
+
+	/**
+	 * Create instance of {@code ReactiveRegistrationConfiguration}.
+	 *
+	 */
+	public ReactiveRegistrationConfiguration() {
+	}
+
+	/**
+	 * Get the value of property {@code skipUnchanged}.
+	 *
+	 * @return the skipUnchanged
+	 */
+	public Boolean getSkipUnchanged() {
+		return skipUnchanged;
+	}
+
+	/**
+	 * Set the value of property {@code skipUnchanged}.
+	 *
+	 * @param skipUnchanged the value of property skipUnchanged
+	 */
+	public void setSkipUnchanged(Boolean skipUnchanged) {
+		this.skipUnchanged = skipUnchanged;
+	}
+
+	/**
+	 * Get the value of property {@code hashFile}.
+	 *
+	 * @return the hashFile
+	 */
+	public String getHashFile() {
+		return hashFile;
+	}
+
+	/**
+	 * Set the value of property {@code hashFile}.
+	 *
+	 * @param hashFile the value of property hashFile
+	 */
+	public void setHashFile(String hashFile) {
+		this.hashFile = hashFile;
+	}
+
+	/**
+	 * Get the value of property {@code hashDir}.
+	 *
+	 * @return the hashDir
+	 */
+	public String getHashDir() {
+		return hashDir;
+	}
+
+	/**
+	 * Set the value of property {@code hashDir}.
+	 *
+	 * @param hashDir the value of property hashDir
+	 */
+	public void setHashDir(String hashDir) {
+		this.hashDir = hashDir;
+	}
+
+	/**
+	 * Get the value of property {@code maxDelay}.
+	 *
+	 * @return the maxDelay
+	 */
+	public Long getMaxDelay() {
+		return maxDelay;
+	}
+
+	/**
+	 * Set the value of property {@code maxDelay}.
+	 *
+	 * @param maxDelay the value of property maxDelay
+	 */
+	public void setMaxDelay(Long maxDelay) {
+		this.maxDelay = maxDelay;
+	}
+
+	/**
+	 * Get the value of property {@code maxRetries}.
+	 *
+	 * @return the maxRetries
+	 */
+	public Long getMaxRetries() {
+		return maxRetries;
+	}
+
+	/**
+	 * Set the value of property {@code maxRetries}.
+	 *
+	 * @param maxRetries the value of property maxRetries
+	 */
+	public void setMaxRetries(Long maxRetries) {
+		this.maxRetries = maxRetries;
+	}
+
+	/**
+	 * Get the value of property {@code backoff}.
+	 *
+	 * @return the backoff
+	 */
+	public Long getBackoff() {
+		return backoff;
+	}
+
+	/**
+	 * Set the value of property {@code backoff}.
+	 *
+	 * @param backoff the value of property backoff
+	 */
+	public void setBackoff(Long backoff) {
+		this.backoff = backoff;
+	}
+
+	/**
+	 * Get the value of property {@code maxBackoff}.
+	 *
+	 * @return the maxBackoff
+	 */
+	public Long getMaxBackoff() {
+		return maxBackoff;
+	}
+
+	/**
+	 * Set the value of property {@code maxBackoff}.
+	 *
+	 * @param maxBackoff the value of property maxBackoff
+	 */
+	public void setMaxBackoff(Long maxBackoff) {
+		this.maxBackoff = maxBackoff;
+	}
+
+}
@@ -0,0 +1,88 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.config;
+
+import org.einnovator.sso.client.reactive.cache.ConditionalCache;
+
+/**
+ * Configuration for caching of single resources ({@code User}, {@code Group}, {@code Role}).
+ *
+ * <p>Cached resources are used as is for {@link #getTtl()}, and then revalidated with conditional requests.
+ * With the default TTL of zero, every read is a conditional request, so a {@code 304 Not Modified} response
+ * saves the body download and decoding while results are never stale.
+ * <p>Caching is disabled by default, since it keeps a copy of each resource read per principal, and only pays off
+ * if the server supports conditional requests. Enable it with {@link #setCache(Boolean)}.
+ *
+ * @author support@einnovator.org
+ */
+public class ReactiveResourcesConfiguration {
+
+	private Boolean cache = false;
+
+	private Long ttl = ConditionalCache.DEFAULT_TTL;
+
+	private Integer maxCacheSize = ConditionalCache.DEFAULT_MAX_SIZE;
+
+	/**
+	 * Create instance of {@code ReactiveResourcesConfiguration}.
+	 *
+	 */
+	public ReactiveResourcesConfiguration() {
+	}
+
+	/**
+	 * Get the value of property {@code cache}.
+	 *
+	 * @return the cache
+	 */
+	public Boolean getCache() {
+		return cache;
+	}
+
+	/**
+	 * Set the value of property {@code cache}.
+	 *
+	 * @param cache the value of property cache
+	 */
+	public void setCache(Boolean cache) {
+		this.cache = cache;
+	}
+
+	/**
+	 * Get the value of property {@code ttl}.
+	 *
+	 * @return the ttl (milliseconds)
+	 */
+	public Long getTtl() {
+		return ttl;
+	}
+
+	/**
+	 * Set the value of property {@code ttl}.
+	 *
+	 * @param ttl the value of property ttl (milliseconds)
+	 */
+	public void setTtl(Long ttl) {
+		this.ttl = ttl;
+	}
+
+	/**
+	 * Get the value of property {@code maxCacheSize}.
+	 *
+	 * @return the maxCacheSize
+	 */
+	public Integer getMaxCacheSize() {
+		return maxCacheSize;
+	}
+
+	/**
+	 * Set the value of property {@code maxCacheSize}.
+	 *
+	 * @param maxCacheSize the value of property maxCacheSize
+	 */
+	public void setMaxCacheSize(Integer maxCacheSize) {
+		this.maxCacheSize = maxCacheSize;
+	}
+
+}
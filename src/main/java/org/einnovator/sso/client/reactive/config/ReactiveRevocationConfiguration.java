@@ -0,0 +1,217 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.config;
+
+/**
+ * Configuration of the revocation of access tokens on logout.
+ *
+ * <p>If enabled, tokens are queued and revoked in the background, with up to {@link #getConcurrency()} requests in flight,
+ * so a burst of logouts does not block callers or flood the SSO server.
+ * Revoked tokens are also remembered locally, so they are rejected immediately, before the server acknowledges the revocation.
+ *
+ * @author support@einnovator.org
+ */
+public class ReactiveRevocationConfiguration {
+
+	public static final int DEFAULT_MAX_QUEUE = 10000;
+
+	public static final int DEFAULT_CONCURRENCY = 8;
+
+	public static final int DEFAULT_RETRIES = 3;
+
+	public static final long DEFAULT_BACKOFF = 200;
+
+	public static final long DEFAULT_REVOKED_TTL = 60 * 60 * 1000;
+
+	public static final int DEFAULT_MAX_REVOKED = 100000;
+
+	public static final long DEFAULT_SHUTDOWN_TIMEOUT = 5000;
+
+	private Boolean enabled = false;
+
+	private Integer maxQueue = DEFAULT_MAX_QUEUE;
+
+	private Integer concurrency = DEFAULT_CONCURRENCY;
+
+	private Integer retries = DEFAULT_RETRIES;
+
+	private Long backoff = DEFAULT_BACKOFF;
+
+	private Long revokedTtl = DEFAULT_REVOKED_TTL;
+
+	private Integer maxRevoked = DEFAULT_MAX_REVOKED;
+
+	private Long shutdownTimeout = DEFAULT_SHUTDOWN_TIMEOUT;
+
+	/**
+	 * Create instance of {@code ReactiveRevocationConfiguration}.
+	 *
+	 */
+	public ReactiveRevocationConfiguration() {
+	}
+
+	/**
+	 * Get the value of property {@code enabled}.
+	 *
+	 * <p>If true, tokens are revoked asynchronously on logout, and {@code doLogout} completes as soon as the token is queued.
+	 *
+	 * @return the enabled
+	 */
+	public Boolean getEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Set the value of property {@code enabled}.
+	 *
+	 * @param enabled the value of property enabled
+	 */
+	public void setEnabled(Boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Get the value of property {@code maxQueue}.
+	 *
+	 * <p>Maximum number of tokens waiting to be revoked. When the queue is full, tokens are revoked before {@code doLogout} completes.
+	 *
+	 * @return the maxQueue
+	 */
+	public Integer getMaxQueue() {
+		return maxQueue;
+	}
+
+	/**
+	 * Set the value of property {@code maxQueue}.
+	 *
+	 * @param maxQueue the value of property maxQueue
+	 */
+	public void setMaxQueue(Integer maxQueue) {
+		this.maxQueue = maxQueue;
+	}
+
+	/**
+	 * Get the value of property {@code concurrency}.
+	 *
+	 * <p>Maximum number of revocation requests in flight (pipelined).
+	 *
+	 * @return the concurrency
+	 */
+	public Integer getConcurrency() {
+		return concurrency;
+	}
+
+	/**
+	 * Set the value of property {@code concurrency}.
+	 *
+	 * @param concurrency the value of property concurrency
+	 */
+	public void setConcurrency(Integer concurrency) {
+		this.concurrency = concurrency;
+	}
+
+	/**
+	 * Get the value of property {@code retries}.
+	 *
+	 * <p>Number of retries of a failed revocation request, with exponential backoff.
+	 *
+	 * @return the retries
+	 */
+	public Integer getRetries() {
+		return retries;
+	}
+
+	/**
+	 * Set the value of property {@code retries}.
+	 *
+	 * @param retries the value of property retries
+	 */
+	public void setRetries(Integer retries) {
+		this.retries = retries;
+	}
+
+	/**
+	 * Get the value of property {@code backoff}.
+	 *
+	 * <p>Delay before the first retry.
+	 *
+	 * @return the backoff (milliseconds)
+	 */
+	public Long getBackoff() {
+		return backoff;
+	}
+
+	/**
+	 * Set the value of property {@code backoff}.
+	 *
+	 * @param backoff the value of property backoff (milliseconds)
+	 */
+	public void setBackoff(Long backoff) {
+		this.backoff = backoff;
+	}
+
+	/**
+	 * Get the value of property {@code revokedTtl}.
+	 *
+	 * <p>How long revoked tokens without an {@code exp} claim (e.g. opaque tokens) are remembered locally, and rejected without
+	 * asking the server. Should be no less than the validity of access tokens. JWT tokens are remembered until they expire.
+	 * Zero or negative to not remember revoked tokens.
+	 *
+	 * @return the revokedTtl (milliseconds)
+	 */
+	public Long getRevokedTtl() {
+		return revokedTtl;
+	}
+
+	/**
+	 * Set the value of property {@code revokedTtl}.
+	 *
+	 * @param revokedTtl the value of property revokedTtl (milliseconds)
+	 */
+	public void setRevokedTtl(Long revokedTtl) {
+		this.revokedTtl = revokedTtl;
+	}
+
+	/**
+	 * Get the value of property {@code maxRevoked}.
+	 *
+	 * <p>Maximum number of revoked tokens remembered locally. Tokens are never forgotten before they expire, so when
+	 * the limit is reached, further tokens are revoked in the server while the caller waits, and are not remembered.
+	 *
+	 * @return the maxRevoked
+	 */
+	public Integer getMaxRevoked() {
+		return maxRevoked;
+	}
+
+	/**
+	 * Set the value of property {@code maxRevoked}.
+	 *
+	 * @param maxRevoked the value of property maxRevoked
+	 */
+	public void setMaxRevoked(Integer maxRevoked) {
+		this.maxRevoked = maxRevoked;
+	}
+
+	/**
+	 * Get the value of property {@code shutdownTimeout}.
+	 *
+	 * <p>Maximum time to wait on shutdown for queued tokens to be revoked.
+	 *
+	 * @return the shutdownTimeout (milliseconds)
+	 */
+	public Long getShutdownTimeout() {
+		return shutdownTimeout;
+	}
+
+	/**
+	 * Set the value of property {@code shutdownTimeout}.
+	 *
+	 * @param shutdownTimeout the value of property shutdownTimeout (milliseconds)
+	 */
+	public void setShutdownTimeout(Long shutdownTimeout) {
+		this.shutdownTimeout = shutdownTimeout;
+	}
+
+}
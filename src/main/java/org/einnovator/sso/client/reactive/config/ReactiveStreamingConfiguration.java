@@ -0,0 +1,118 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.config;
+
+import reactor.core.publisher.BufferOverflowStrategy;
+
+/**
+ * Configuration of backpressure for streamed ({@code Flux}) responses from the SSO server.
+ *
+ * <p>By default, elements are requested from the response stream in batches of {@link #getLimitRate()},
+ * and a slow subscriber stops reading from the network, so memory use is bounded by the batch size.
+ * If {@link #getMaxBuffer()} is set, up to that many elements are read ahead of the subscriber,
+ * and {@link #getOverflow()} applies when the buffer is full.
+ * <p>Settings can be overridden per call in {@code SsoReactiveClientContext}.
+ *
+ * @author support@einnovator.org
+ */
+public class ReactiveStreamingConfiguration {
+
+	public static final int DEFAULT_LIMIT_RATE = 256;
+
+	private Integer limitRate = DEFAULT_LIMIT_RATE;
+
+	private Integer lowTide;
+
+	private Integer maxBuffer = 0;
+
+	private BufferOverflowStrategy overflow = BufferOverflowStrategy.ERROR;
+
+	/**
+	 * Create instance of {@code ReactiveStreamingConfiguration}.
+	 *
+	 */
+	public ReactiveStreamingConfiguration() {
+	}
+
+	/**
+	 * Get the value of property {@code limitRate}.
+	 *
+	 * <p>Number of elements requested from the response stream at a time (prefetch). Zero or negative to pass the subscriber demand as is.
+	 *
+	 * @return the limitRate
+	 */
+	public Integer getLimitRate() {
+		return limitRate;
+	}
+
+	/**
+	 * Set the value of property {@code limitRate}.
+	 *
+	 * @param limitRate the value of property limitRate
+	 */
+	public void setLimitRate(Integer limitRate) {
+		this.limitRate = limitRate;
+	}
+
+	/**
+	 * Get the value of property {@code lowTide}.
+	 *
+	 * <p>Number of elements emitted before requesting more. If not set, 75% of {@code limitRate}.
+	 *
+	 * @return the lowTide
+	 */
+	public Integer getLowTide() {
+		return lowTide;
+	}
+
+	/**
+	 * Set the value of property {@code lowTide}.
+	 *
+	 * @param lowTide the value of property lowTide
+	 */
+	public void setLowTide(Integer lowTide) {
+		this.lowTide = lowTide;
+	}
+
+	/**
+	 * Get the value of property {@code maxBuffer}.
+	 *
+	 * <p>Max number of elements read ahead of the subscriber. Zero or negative to not buffer.
+	 *
+	 * @return the maxBuffer
+	 */
+	public Integer getMaxBuffer() {
+		return maxBuffer;
+	}
+
+	/**
+	 * Set the value of property {@code maxBuffer}.
+	 *
+	 * @param maxBuffer the value of property maxBuffer
+	 */
+	public void setMaxBuffer(Integer maxBuffer) {
+		this.maxBuffer = maxBuffer;
+	}
+
+	/**
+	 * Get the value of property {@code overflow}.
+	 *
+	 * <p>Policy when the buffer is full: {@code ERROR} (fail the stream), {@code DROP_LATEST} or {@code DROP_OLDEST}.
+	 *
+	 * @return the overflow
+	 */
+	public BufferOverflowStrategy getOverflow() {
+		return overflow;
+	}
+
+	/**
+	 * Set the value of property {@code overflow}.
+	 *
+	 * @param overflow the value of property overflow
+	 */
+	public void setOverflow(BufferOverflowStrategy overflow) {
+		this.overflow = overflow;
+	}
+
+}
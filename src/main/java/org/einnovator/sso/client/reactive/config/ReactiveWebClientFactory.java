@@ -0,0 +1,610 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.einnovator.sso.client.model.Client;
+import org.einnovator.sso.client.model.Group;
+import org.einnovator.sso.client.model.Invitation;
+import org.einnovator.sso.client.model.Member;
+import org.einnovator.sso.client.model.Role;
+import org.einnovator.sso.client.model.User;
+import org.einnovator.sso.client.reactive.limit.AdaptiveConcurrencyLimiter;
+import org.einnovator.sso.client.reactive.limit.ConcurrencyLimitFilter;
+import org.einnovator.sso.client.reactive.limit.LaneRoutingFilter;
+import org.einnovator.sso.client.reactive.limit.RateLimitFilter;
+import org.einnovator.sso.client.reactive.limit.RequestLane;
+import org.einnovator.sso.client.reactive.model.GroupView;
+import org.einnovator.sso.client.reactive.model.RoleView;
+import org.einnovator.sso.client.reactive.model.UserView;
+import org.einnovator.sso.client.reactive.web.BinaryNegotiationFilter;
+import org.einnovator.util.PageResult;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunctions;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Factory for {@code WebClient}s used to connect to the SSO server.
+ *
+ * <p>The connection pool, HTTP connector and codecs are created lazily on first use,
+ * and shared by all {@code WebClient}s created by the same factory.
+ * The JSON codecs share one {@code ObjectMapper}, configured with {@code ReactiveCodecConfiguration}.
+ * If enabled, the Smile binary format is negotiated for read requests with a {@code BinaryNegotiationFilter}.
+ * <p>If rate limiting is enabled, all {@code WebClient}s share the same {@code RateLimitFilter}.
+ * Likewise, if concurrency limiting is enabled, they share the same {@code ConcurrencyLimitFilter}.
+ * <p>If request lanes are enabled, {@code WebClient}s made with {@link #makeWebClient(ExchangeFilterFunction...)}
+ * route each request to the connection pool and {@code ConcurrencyLimitFilter} of its {@code RequestLane}.
+ *
+ * @author support@einnovator.org
+ */
+public class ReactiveWebClientFactory implements DisposableBean {
+
+	public static final String POOL_NAME = "sso";
+
+	public static final String AFTERBURNER_MODULE = "com.fasterxml.jackson.module.afterburner.AfterburnerModule";
+
+	public static final String SMILE_FACTORY = "com.fasterxml.jackson.dataformat.smile.SmileFactory";
+
+	public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final ReactiveConnectionConfiguration connection;
+
+	private final ReactiveRateLimitConfiguration rateLimit;
+
+	private volatile RateLimitFilter rateLimitFilter;
+
+	private final ReactiveConcurrencyConfiguration concurrency;
+
+	private volatile ConcurrencyLimitFilter concurrencyLimitFilter;
+
+	private final ReactiveLanesConfiguration lanes;
+
+	private volatile LaneRoutingFilter laneRoutingFilter;
+
+	private final Map<RequestLane, ExchangeFunction> laneExchanges = new ConcurrentHashMap<>();
+
+	private final Map<RequestLane, ConnectionProvider> laneProviders = new ConcurrentHashMap<>();
+
+	private final Map<RequestLane, ConcurrencyLimitFilter> laneLimitFilters = new ConcurrentHashMap<>();
+
+	private volatile ConnectionProvider connectionProvider;
+
+	private volatile ClientHttpConnector connector;
+
+	private volatile ExchangeStrategies exchangeStrategies;
+
+	private final ReactiveCodecConfiguration codecs;
+
+	private volatile ObjectMapper objectMapper;
+
+	private volatile BinaryNegotiationFilter binaryNegotiationFilter;
+
+	/**
+	 * Create instance of {@code ReactiveWebClientFactory}.
+	 *
+	 * @param config the {@code SsoReactiveClientConfiguration}
+	 */
+	public ReactiveWebClientFactory(SsoReactiveClientConfiguration config) {
+		this.connection = config!=null && config.getConnection()!=null ? config.getConnection() : new ReactiveConnectionConfiguration();
+		this.rateLimit = config!=null ? config.getRateLimit() : null;
+		this.concurrency = config!=null ? config.getConcurrency() : null;
+		this.lanes = config!=null ? config.getLanes() : null;
+		this.codecs = config!=null && config.getCodecs()!=null ? config.getCodecs() : new ReactiveCodecConfiguration();
+	}
+
+	/**
+	 * Get the value of property {@code connection}.
+	 *
+	 * @return the connection
+	 */
+	public ReactiveConnectionConfiguration getConnection() {
+		return connection;
+	}
+
+	/**
+	 * Make a new {@code WebClient} sharing the connection pool and codecs of this factory.
+	 *
+	 * <p>If request lanes are enabled, requests are routed to the connection pool of their lane, after all filters.
+	 *
+	 * @param filters optional {@code ExchangeFilterFunction}s
+	 * @return the {@code WebClient}
+	 */
+	public WebClient makeWebClient(ExchangeFilterFunction... filters) {
+		WebClient.Builder builder = builder();
+		if (filters!=null) {
+			for (ExchangeFilterFunction filter: filters) {
+				if (filter!=null) {
+					builder.filter(filter);
+				}
+			}
+		}
+		LaneRoutingFilter laneRoutingFilter = getLaneRoutingFilter();
+		if (laneRoutingFilter!=null) {
+			builder.filter(laneRoutingFilter);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Get a {@code WebClient.Builder} pre-configured with the connector and codecs of this factory.
+	 *
+	 * @return the {@code WebClient.Builder}
+	 */
+	public WebClient.Builder builder() {
+		WebClient.Builder builder = WebClient.builder()
+				.clientConnector(getConnector())
+				.exchangeStrategies(getExchangeStrategies());
+		BinaryNegotiationFilter binaryNegotiationFilter = getBinaryNegotiationFilter();
+		if (binaryNegotiationFilter!=null) {
+			builder.filter(binaryNegotiationFilter);
+		}
+		RateLimitFilter rateLimitFilter = getRateLimitFilter();
+		if (rateLimitFilter!=null) {
+			builder.filter(rateLimitFilter);
+		}
+		ConcurrencyLimitFilter concurrencyLimitFilter = getConcurrencyLimitFilter();
+		if (concurrencyLimitFilter!=null && !isLanesEnabled()) {
+			builder.filter(concurrencyLimitFilter);
+		}
+		return builder;
+	}
+
+	/**
+	 * Get the shared {@code RateLimitFilter}, creating it on first use.
+	 *
+	 * @return the {@code RateLimitFilter}, or null if rate limiting is not enabled
+	 */
+	public RateLimitFilter getRateLimitFilter() {
+		if (rateLimit==null || !Boolean.TRUE.equals(rateLimit.getEnabled())) {
+			return null;
+		}
+		RateLimitFilter filter = this.rateLimitFilter;
+		if (filter==null) {
+			synchronized (this) {
+				filter = this.rateLimitFilter;
+				if (filter==null) {
+					filter = new RateLimitFilter(rateLimit);
+					this.rateLimitFilter = filter;
+				}
+			}
+		}
+		return filter;
+	}
+
+	/**
+	 * Get the shared {@code ConcurrencyLimitFilter}, creating it on first use.
+	 *
+	 * @return the {@code ConcurrencyLimitFilter}, or null if concurrency limiting is not enabled
+	 */
+	public ConcurrencyLimitFilter getConcurrencyLimitFilter() {
+		if (concurrency==null || !Boolean.TRUE.equals(concurrency.getEnabled())) {
+			return null;
+		}
+		ConcurrencyLimitFilter filter = this.concurrencyLimitFilter;
+		if (filter==null) {
+			synchronized (this) {
+				filter = this.concurrencyLimitFilter;
+				if (filter==null) {
+					filter = new ConcurrencyLimitFilter(concurrency);
+					this.concurrencyLimitFilter = filter;
+				}
+			}
+		}
+		return filter;
+	}
+
+	//
+	// Lanes
+	//
+
+	/**
+	 * Check if request lanes are enabled.
+	 *
+	 * @return true if enabled
+	 */
+	public boolean isLanesEnabled() {
+		return lanes!=null && Boolean.TRUE.equals(lanes.getEnabled());
+	}
+
+	/**
+	 * Get the shared {@code LaneRoutingFilter}, creating it on first use.
+	 *
+	 * @return the {@code LaneRoutingFilter}, or null if request lanes are not enabled
+	 */
+	public LaneRoutingFilter getLaneRoutingFilter() {
+		if (!isLanesEnabled()) {
+			return null;
+		}
+		LaneRoutingFilter filter = this.laneRoutingFilter;
+		if (filter==null) {
+			synchronized (this) {
+				filter = this.laneRoutingFilter;
+				if (filter==null) {
+					filter = new LaneRoutingFilter(this::getExchangeFunction);
+					this.laneRoutingFilter = filter;
+				}
+			}
+		}
+		return filter;
+	}
+
+	/**
+	 * Get the {@code ExchangeFunction} of a lane, creating it on first use.
+	 *
+	 * @param lane the {@code RequestLane}
+	 * @return the {@code ExchangeFunction}
+	 */
+	public ExchangeFunction getExchangeFunction(RequestLane lane) {
+		return laneExchanges.computeIfAbsent(lane, this::makeExchangeFunction);
+	}
+
+	/**
+	 * Make the {@code ExchangeFunction} of a lane, with its own connection pool and {@code ConcurrencyLimitFilter}.
+	 *
+	 * @param lane the {@code RequestLane}
+	 * @return the {@code ExchangeFunction}
+	 */
+	protected ExchangeFunction makeExchangeFunction(RequestLane lane) {
+		ConnectionProvider provider = laneProviders.computeIfAbsent(lane,
+				key -> makeConnectionProvider(getPoolName(key), lanes.getLane(key).getMaxConnections()));
+		ExchangeFunction exchange = ExchangeFunctions.create(new ReactorClientHttpConnector(makeHttpClient(provider)), getExchangeStrategies());
+		ConcurrencyLimitFilter filter = getConcurrencyLimitFilter(lane);
+		return filter!=null ? filter.apply(exchange) : exchange;
+	}
+
+	/**
+	 * Get the {@code ConcurrencyLimitFilter} of a lane, creating it on first use.
+	 *
+	 * <p>The limits of the lane are the limits in {@code ReactiveConcurrencyConfiguration} scaled by the lane share.
+	 *
+	 * @param lane the {@code RequestLane}
+	 * @return the {@code ConcurrencyLimitFilter}, or null if concurrency limiting is not enabled
+	 */
+	public ConcurrencyLimitFilter getConcurrencyLimitFilter(RequestLane lane) {
+		if (concurrency==null || !Boolean.TRUE.equals(concurrency.getEnabled()) || !isLanesEnabled()) {
+			return null;
+		}
+		return laneLimitFilters.computeIfAbsent(lane,
+				key -> new ConcurrencyLimitFilter(new AdaptiveConcurrencyLimiter(getPoolName(key), makeConcurrencyConfiguration(key))));
+	}
+
+	/**
+	 * Make the {@code ReactiveConcurrencyConfiguration} of a lane.
+	 *
+	 * @param lane the {@code RequestLane}
+	 * @return the {@code ReactiveConcurrencyConfiguration}
+	 */
+	protected ReactiveConcurrencyConfiguration makeConcurrencyConfiguration(RequestLane lane) {
+		Double share = lanes.getLane(lane).getShare();
+		double factor = share!=null && share>0 ? Math.min(share, 1.0) : 1.0;
+		ReactiveConcurrencyConfiguration config = new ReactiveConcurrencyConfiguration();
+		int maxLimit = scale(concurrency.getMaxLimit(), ReactiveConcurrencyConfiguration.DEFAULT_MAX_LIMIT, factor);
+		config.setEnabled(true);
+		config.setInitialLimit(Math.min(maxLimit, scale(concurrency.getInitialLimit(), ReactiveConcurrencyConfiguration.DEFAULT_INITIAL_LIMIT, factor)));
+		config.setMaxLimit(maxLimit);
+		config.setMinLimit(Math.min(maxLimit, concurrency.getMinLimit()!=null ? concurrency.getMinLimit() : ReactiveConcurrencyConfiguration.DEFAULT_MIN_LIMIT));
+		config.setTolerance(concurrency.getTolerance());
+		config.setBackoffRatio(concurrency.getBackoffRatio());
+		config.setMinRttWindow(concurrency.getMinRttWindow());
+		config.setMaxQueue(concurrency.getMaxQueue());
+		config.setMaxWait(concurrency.getMaxWait());
+		return config;
+	}
+
+	private static int scale(Integer value, int defaultValue, double factor) {
+		return Math.max(1, (int) Math.round((value!=null ? value : defaultValue) * factor));
+	}
+
+	private static String getPoolName(RequestLane lane) {
+		return POOL_NAME + "-" + lane.name().toLowerCase();
+	}
+
+	/**
+	 * Get the shared {@code ClientHttpConnector}, creating it on first use.
+	 *
+	 * @return the {@code ClientHttpConnector}
+	 */
+	public ClientHttpConnector getConnector() {
+		ClientHttpConnector connector = this.connector;
+		if (connector==null) {
+			synchronized (this) {
+				connector = this.connector;
+				if (connector==null) {
+					connector = makeConnector();
+					this.connector = connector;
+				}
+			}
+		}
+		return connector;
+	}
+
+	/**
+	 * Get the shared {@code ExchangeStrategies}, creating it on first use.
+	 *
+	 * @return the {@code ExchangeStrategies}
+	 */
+	public ExchangeStrategies getExchangeStrategies() {
+		ExchangeStrategies strategies = this.exchangeStrategies;
+		if (strategies==null) {
+			synchronized (this) {
+				strategies = this.exchangeStrategies;
+				if (strategies==null) {
+					strategies = makeExchangeStrategies();
+					this.exchangeStrategies = strategies;
+				}
+			}
+		}
+		return strategies;
+	}
+
+	/**
+	 * Make the {@code ClientHttpConnector}.
+	 *
+	 * @return the {@code ClientHttpConnector}
+	 */
+	protected ClientHttpConnector makeConnector() {
+		return new ReactorClientHttpConnector(makeHttpClient(getConnectionProvider()));
+	}
+
+	/**
+	 * Make a reactor {@code HttpClient} using specified {@code ConnectionProvider}.
+	 *
+	 * @param provider the {@code ConnectionProvider}
+	 * @return the {@code HttpClient}
+	 */
+	protected HttpClient makeHttpClient(ConnectionProvider provider) {
+		HttpClient httpClient = HttpClient.create(provider);
+		HttpProtocol[] protocols = getProtocols();
+		if (protocols.length>0) {
+			httpClient = httpClient.protocol(protocols);
+		}
+		if (Boolean.TRUE.equals(connection.getCompress())) {
+			httpClient = httpClient.compress(true);
+		}
+		Integer connectTimeout = connection.getConnectTimeout();
+		Long readTimeout = connection.getReadTimeout();
+		return httpClient.tcpConfiguration(tcp -> {
+			if (connectTimeout!=null && connectTimeout>0) {
+				tcp = tcp.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout);
+			}
+			if (readTimeout!=null && readTimeout>0) {
+				tcp = tcp.doOnConnected(conn -> conn.addHandlerLast(new ReadTimeoutHandler(readTimeout, TimeUnit.MILLISECONDS)));
+			}
+			return tcp;
+		});
+	}
+
+	/**
+	 * Get the HTTP protocols to support, as configured in {@link ReactiveConnectionConfiguration#getProtocols()}.
+	 *
+	 * @return the {@code HttpProtocol}s, or an empty array to use the default (HTTP/1.1)
+	 * @throws IllegalArgumentException if a protocol name is not valid
+	 */
+	protected HttpProtocol[] getProtocols() {
+		List<HttpProtocol> protocols = new ArrayList<>();
+		if (connection.getProtocols()!=null) {
+			for (String name: connection.getProtocols()) {
+				if (name!=null && !name.trim().isEmpty()) {
+					protocols.add(HttpProtocol.valueOf(name.trim().toUpperCase()));
+				}
+			}
+		}
+		return protocols.toArray(new HttpProtocol[protocols.size()]);
+	}
+
+	/**
+	 * Get the shared {@code ConnectionProvider}, creating it on first use.
+	 *
+	 * @return the {@code ConnectionProvider}
+	 */
+	protected ConnectionProvider getConnectionProvider() {
+		ConnectionProvider provider = this.connectionProvider;
+		if (provider==null) {
+			synchronized (this) {
+				provider = this.connectionProvider;
+				if (provider==null) {
+					provider = makeConnectionProvider(POOL_NAME, connection.getMaxConnections());
+					this.connectionProvider = provider;
+				}
+			}
+		}
+		return provider;
+	}
+
+	/**
+	 * Make a {@code ConnectionProvider}.
+	 *
+	 * @param name the pool name
+	 * @param maxConnections the max number of connections, or zero or negative for an elastic pool
+	 * @return the {@code ConnectionProvider}
+	 */
+	protected ConnectionProvider makeConnectionProvider(String name, Integer maxConnections) {
+		if (maxConnections==null || maxConnections<=0) {
+			return ConnectionProvider.elastic(name);
+		}
+		Long acquireTimeout = connection.getAcquireTimeout();
+		return ConnectionProvider.fixed(name, maxConnections,
+				acquireTimeout!=null ? acquireTimeout : ReactiveConnectionConfiguration.DEFAULT_ACQUIRE_TIMEOUT);
+	}
+
+	/**
+	 * Make the {@code ExchangeStrategies} with the codecs to use.
+	 *
+	 * <p>JSON codecs use the shared {@code ObjectMapper}, and the limit on buffered bytes is set from
+	 * {@link ReactiveCodecConfiguration#getMaxInMemorySize()}.
+	 *
+	 * @return the {@code ExchangeStrategies}
+	 */
+	protected ExchangeStrategies makeExchangeStrategies() {
+		ObjectMapper mapper = getObjectMapper();
+		Integer maxInMemorySize = codecs.getMaxInMemorySize();
+		return ExchangeStrategies.builder().codecs(configurer -> {
+			Jackson2JsonDecoder decoder = new Jackson2JsonDecoder(mapper);
+			if (maxInMemorySize!=null) {
+				decoder.setMaxInMemorySize(maxInMemorySize);
+				configurer.defaultCodecs().maxInMemorySize(maxInMemorySize);
+			}
+			configurer.defaultCodecs().jackson2JsonDecoder(decoder);
+			configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(mapper));
+			if (isSmileEnabled()) {
+				Jackson2SmileDecoder smileDecoder = new Jackson2SmileDecoder(makeSmileObjectMapper());
+				if (maxInMemorySize!=null) {
+					smileDecoder.setMaxInMemorySize(maxInMemorySize);
+				}
+				configurer.customCodecs().register(smileDecoder);
+			}
+		}).build();
+	}
+
+	/**
+	 * Check if the Smile binary format is enabled and supported.
+	 *
+	 * @return true if enabled and {@code jackson-dataformat-smile} is in the classpath
+	 */
+	public boolean isSmileEnabled() {
+		if (!Boolean.TRUE.equals(codecs.getSmile())) {
+			return false;
+		}
+		if (!ClassUtils.isPresent(SMILE_FACTORY, getClass().getClassLoader())) {
+			logger.warn("isSmileEnabled: Smile not in classpath: " + SMILE_FACTORY);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Get the shared {@code BinaryNegotiationFilter}, creating it on first use.
+	 *
+	 * @return the {@code BinaryNegotiationFilter}, or null if the Smile binary format is not enabled
+	 */
+	public BinaryNegotiationFilter getBinaryNegotiationFilter() {
+		BinaryNegotiationFilter filter = this.binaryNegotiationFilter;
+		if (filter==null) {
+			if (!isSmileEnabled()) {
+				return null;
+			}
+			synchronized (this) {
+				filter = this.binaryNegotiationFilter;
+				if (filter==null) {
+					Long probeInterval = codecs.getProbeInterval();
+					filter = new BinaryNegotiationFilter(APPLICATION_SMILE, probeInterval!=null ? probeInterval : ReactiveCodecConfiguration.DEFAULT_PROBE_INTERVAL);
+					this.binaryNegotiationFilter = filter;
+				}
+			}
+		}
+		return filter;
+	}
+
+	/**
+	 * Make the {@code ObjectMapper} used by the Smile decoder.
+	 *
+	 * @return the {@code ObjectMapper}
+	 */
+	protected ObjectMapper makeSmileObjectMapper() {
+		return Jackson2ObjectMapperBuilder.smile()
+				.failOnUnknownProperties(Boolean.TRUE.equals(codecs.getFailOnUnknownProperties()))
+				.build();
+	}
+
+	/**
+	 * Get the shared {@code ObjectMapper}, creating it on first use.
+	 *
+	 * @return the {@code ObjectMapper}
+	 */
+	public ObjectMapper getObjectMapper() {
+		ObjectMapper mapper = this.objectMapper;
+		if (mapper==null) {
+			synchronized (this) {
+				mapper = this.objectMapper;
+				if (mapper==null) {
+					mapper = makeObjectMapper();
+					this.objectMapper = mapper;
+				}
+			}
+		}
+		return mapper;
+	}
+
+	/**
+	 * Make the {@code ObjectMapper} used by the JSON codecs.
+	 *
+	 * @return the {@code ObjectMapper}
+	 */
+	protected ObjectMapper makeObjectMapper() {
+		ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+				.failOnUnknownProperties(Boolean.TRUE.equals(codecs.getFailOnUnknownProperties()))
+				.build();
+		if (Boolean.TRUE.equals(codecs.getAfterburner())) {
+			ClassLoader classLoader = getClass().getClassLoader();
+			if (ClassUtils.isPresent(AFTERBURNER_MODULE, classLoader)) {
+				try {
+					mapper.registerModule((Module) BeanUtils.instantiateClass(ClassUtils.forName(AFTERBURNER_MODULE, classLoader)));
+				} catch (ClassNotFoundException | LinkageError e) {
+					logger.warn("makeObjectMapper: " + e);
+				}
+			} else {
+				logger.warn("makeObjectMapper: Afterburner module not in classpath: " + AFTERBURNER_MODULE);
+			}
+		}
+		if (Boolean.TRUE.equals(codecs.getPrewarm())) {
+			for (Class<?> type: getPrewarmTypes()) {
+				mapper.canDeserialize(mapper.constructType(type));
+				mapper.canSerialize(type);
+			}
+		}
+		return mapper;
+	}
+
+	/**
+	 * Get the types for which (de)serializers are created in advance.
+	 *
+	 * @return the types
+	 */
+	protected Class<?>[] getPrewarmTypes() {
+		return new Class<?>[] {User.class, Group.class, Role.class, Member.class, Invitation.class, Client.class, PageResult.class,
+			UserView.class, GroupView.class, RoleView.class};
+	}
+
+	@Override
+	public void destroy() {
+		ConnectionProvider provider = this.connectionProvider;
+		if (provider!=null) {
+			provider.dispose();
+		}
+		for (ConnectionProvider laneProvider: laneProviders.values()) {
+			laneProvider.dispose();
+		}
+	}
+
+}
@@ -0,0 +1,94 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.config;
+
+/**
+ * Configuration of write-behind of updates to the SSO server.
+ *
+ * <p>If enabled, an update is held for up to {@link #getWindow()}, and later updates of the same entity in that window
+ * replace it, so only the latest state is sent. Pending updates are sent on shutdown.
+ * <p>Write-behind can be disabled per call in {@code SsoReactiveClientContext}, e.g. when the caller reads the entity back right away.
+ *
+ * @author support@einnovator.org
+ */
+public class ReactiveWriteBehindConfiguration {
+
+	public static final long DEFAULT_WINDOW = 2000;
+
+	public static final long DEFAULT_SHUTDOWN_TIMEOUT = 10000;
+
+	private Boolean enabled = false;
+
+	private Long window = DEFAULT_WINDOW;
+
+	private Long shutdownTimeout = DEFAULT_SHUTDOWN_TIMEOUT;
+
+	/**
+	 * Create instance of {@code ReactiveWriteBehindConfiguration}.
+	 *
+	 */
+	public ReactiveWriteBehindConfiguration() {
+	}
+
+	/**
+	 * Get the value of property {@code enabled}.
+	 *
+	 * <p>If true, updates of {@code User}s, {@code Group}s and {@code Invitation}s are written behind.
+	 *
+	 * @return the enabled
+	 */
+	public Boolean getEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Set the value of property {@code enabled}.
+	 *
+	 * @param enabled the value of property enabled
+	 */
+	public void setEnabled(Boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Get the value of property {@code window}.
+	 *
+	 * <p>Maximum time an update waits for later updates of the same entity, before being sent.
+	 *
+	 * @return the window (milliseconds)
+	 */
+	public Long getWindow() {
+		return window;
+	}
+
+	/**
+	 * Set the value of property {@code window}.
+	 *
+	 * @param window the value of property window (milliseconds)
+	 */
+	public void setWindow(Long window) {
+		this.window = window;
+	}
+
+	/**
+	 * Get the value of property {@code shutdownTimeout}.
+	 *
+	 * <p>Maximum time to wait on shutdown for pending updates to be sent.
+	 *
+	 * @return the shutdownTimeout (milliseconds)
+	 */
+	public Long getShutdownTimeout() {
+		return shutdownTimeout;
+	}
+
+	/**
+	 * Set the value of property {@code shutdownTimeout}.
+	 *
+	 * @param shutdownTimeout the value of property shutdownTimeout (milliseconds)
+	 */
+	public void setShutdownTimeout(Long shutdownTimeout) {
+		this.shutdownTimeout = shutdownTimeout;
+	}
+
+}
@@ -0,0 +1,45 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.config;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.einnovator.sso.client.reactive.SsoReactiveClient;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Triggers asynchronous preloading of the OAuth {@code Client} cache once the application is ready.
+ *
+ * <p>Startup does not wait for the SSO server. Failures are only logged, and {@code Client}s are then loaded on first use.
+ *
+ * @author support@einnovator.org
+ */
+public class SsoClientRegistryPreloader implements ApplicationListener<ApplicationReadyEvent> {
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final SsoReactiveClient client;
+
+	/**
+	 * Create instance of {@code SsoClientRegistryPreloader}.
+	 *
+	 * @param client the {@code SsoReactiveClient}
+	 */
+	public SsoClientRegistryPreloader(SsoReactiveClient client) {
+		this.client = client;
+	}
+
+	@Override
+	public void onApplicationEvent(ApplicationReadyEvent event) {
+		client.preloadClients(null).subscribe(
+			n -> {
+				if (logger.isDebugEnabled()) {
+					logger.debug("onApplicationEvent: preloaded clients: " + n);
+				}
+			},
+			e -> logger.error("onApplicationEvent: preload failed: " + e));
+	}
+
+}
@@ -0,0 +1,164 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.config;
+
+import java.io.File;
+
+import org.einnovator.sso.client.config.SsoClientConfiguration;
+import org.einnovator.sso.client.config.SsoEndpoints;
+import org.einnovator.sso.client.reactive.SsoReactiveClient;
+import org.einnovator.sso.client.reactive.cache.FileSharedCache;
+import org.einnovator.sso.client.reactive.cache.InMemorySharedCache;
+import org.einnovator.sso.client.reactive.cache.SharedCache;
+import org.einnovator.sso.client.reactive.cache.WriteBehindBuffer;
+import org.einnovator.sso.client.reactive.event.SsoChangeFeed;
+import org.einnovator.sso.client.reactive.security.ReactiveClientTokenProvider;
+import org.einnovator.sso.client.reactive.security.ReactiveJwtTokenVerifier;
+import org.einnovator.sso.client.reactive.security.TokenRevoker;
+import org.einnovator.sso.client.reactive.web.PrincipalUserWebFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Spring Boot auto-configuration for {@code SsoReactiveClient}.
+ *
+ * <p>The client beans are created lazily, so connection pools, codecs and tokens are only setup when the client is first used.
+ * The {@code SharedCache} is created eagerly, so an invalid configuration fails at startup.
+ * <p>Disabled by setting configuration property {@code sso.reactive.enabled} to false.
+ *
+ * @author support@einnovator.org
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(WebClient.class)
+@ConditionalOnProperty(prefix = "sso.reactive", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(SsoReactiveClientConfiguration.class)
+public class SsoReactiveClientConfig {
+
+	@Bean
+	@Lazy
+	@ConditionalOnMissingBean
+	@ConfigurationProperties("sso")
+	public SsoClientConfiguration ssoClientConfiguration() {
+		return new SsoClientConfiguration();
+	}
+
+	@Bean
+	@Lazy
+	@ConditionalOnMissingBean
+	public ReactiveWebClientFactory ssoWebClientFactory(SsoReactiveClientConfiguration reactiveConfig) {
+		return new ReactiveWebClientFactory(reactiveConfig);
+	}
+
+	@Bean
+	@Lazy
+	@ConditionalOnMissingBean
+	public ReactiveClientTokenProvider ssoClientTokenProvider(SsoClientConfiguration config, ReactiveWebClientFactory webClientFactory) {
+		return new ReactiveClientTokenProvider(config, webClientFactory.makeWebClient());
+	}
+
+	@Bean
+	@Lazy
+	@ConditionalOnMissingBean(name = "ssoWebClient")
+	public WebClient ssoWebClient(ReactiveWebClientFactory webClientFactory, ReactiveClientTokenProvider tokenProvider) {
+		return webClientFactory.makeWebClient(tokenProvider.filter());
+	}
+
+	@Bean
+	@Lazy
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = "sso.reactive.jwt", name = "enabled", havingValue = "true")
+	public ReactiveJwtTokenVerifier ssoJwtTokenVerifier(SsoClientConfiguration config, SsoReactiveClientConfiguration reactiveConfig, ReactiveWebClientFactory webClientFactory,
+			ObjectProvider<TokenRevoker> tokenRevoker) {
+		ReactiveJwtConfiguration jwt = reactiveConfig.getJwt();
+		String jwkSetUri = jwt.getJwkSetUri();
+		if (!StringUtils.hasText(jwkSetUri)) {
+			jwkSetUri = config.getServer() + ReactiveJwtConfiguration.DEFAULT_JWK_SET_PATH;
+		}
+		ReactiveJwtTokenVerifier verifier = new ReactiveJwtTokenVerifier(jwkSetUri, jwt, webClientFactory.makeWebClient());
+		verifier.setTokenRevoker(tokenRevoker.getIfAvailable());
+		return verifier;
+	}
+
+	@Bean
+	@Lazy
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = "sso.reactive.revocation", name = "enabled", havingValue = "true")
+	public TokenRevoker ssoTokenRevoker(SsoClientConfiguration config, SsoReactiveClientConfiguration reactiveConfig, ReactiveWebClientFactory webClientFactory) {
+		return new TokenRevoker(SsoEndpoints.getTokenRevokeEndpoint(config), reactiveConfig.getRevocation(), webClientFactory.makeWebClient());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = "sso.reactive.cache", name = "shared")
+	public SharedCache ssoSharedCache(SsoReactiveClientConfiguration reactiveConfig) {
+		ReactiveCacheConfiguration cache = reactiveConfig.getCache();
+		if (ReactiveCacheConfiguration.SHARED_FILE.equalsIgnoreCase(cache.getShared())) {
+			if (!StringUtils.hasText(cache.getDir())) {
+				throw new IllegalStateException("Missing sso.reactive.cache.dir, required with sso.reactive.cache.shared=" + ReactiveCacheConfiguration.SHARED_FILE);
+			}
+			return new FileSharedCache(new File(cache.getDir()));
+		}
+		return new InMemorySharedCache(cache.getMaxSize()!=null ? cache.getMaxSize() : ReactiveCacheConfiguration.DEFAULT_MAX_SIZE);
+	}
+
+	@Bean
+	@Lazy
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = "sso.reactive.write-behind", name = "enabled", havingValue = "true")
+	public WriteBehindBuffer ssoWriteBehindBuffer(SsoReactiveClientConfiguration reactiveConfig) {
+		return new WriteBehindBuffer(reactiveConfig.getWriteBehind());
+	}
+
+	@Bean
+	@Lazy
+	@ConditionalOnMissingBean
+	public SsoReactiveClient ssoReactiveClient(@Qualifier("ssoWebClient") WebClient webClient, SsoClientConfiguration config) {
+		return new SsoReactiveClient(webClient, config);
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+	@ConditionalOnProperty(prefix = "sso.reactive.principal", name = "filter", matchIfMissing = true)
+	public PrincipalUserWebFilter ssoPrincipalUserWebFilter(SsoReactiveClientConfiguration reactiveConfig) {
+		return new PrincipalUserWebFilter(reactiveConfig.getPrincipal());
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "sso.registration.roles", name = "auto", havingValue = "true")
+	public SsoRegistrationListener ssoRegistrationListener(@Lazy SsoReactiveClient client) {
+		return new SsoRegistrationListener(client);
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "sso.reactive.clients", name = "preload", havingValue = "true")
+	public SsoClientRegistryPreloader ssoClientRegistryPreloader(@Lazy SsoReactiveClient client) {
+		return new SsoClientRegistryPreloader(client);
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = "sso.reactive.feed", name = "enabled", havingValue = "true")
+	public SsoChangeFeed ssoChangeFeed(@Lazy SsoReactiveClient client, @Lazy @Qualifier("ssoWebClient") WebClient webClient,
+			SsoClientConfiguration config, SsoReactiveClientConfiguration reactiveConfig) {
+		ReactiveFeedConfiguration feed = reactiveConfig.getFeed();
+		String uri = feed.getUri();
+		if (!StringUtils.hasText(uri)) {
+			uri = config.getServer() + ReactiveFeedConfiguration.DEFAULT_PATH;
+		}
+		return new SsoChangeFeed(client, webClient, uri, feed);
+	}
+
+}
@@ -0,0 +1,382 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
+
+/**
+ * Configuration specific to the reactive client to the SSO server.
+ *
+ * <p>Complements {@code SsoClientConfiguration} with settings that only apply to {@code SsoReactiveClient}.
+ *
+ * @author support@einnovator.org
+ */
+@ConfigurationProperties("sso.reactive")
+public class SsoReactiveClientConfiguration {
+
+	private Boolean enabled = true;
+
+	@NestedConfigurationProperty
+	private ReactiveRegistrationConfiguration registration = new ReactiveRegistrationConfiguration();
+
+	@NestedConfigurationProperty
+	private ReactiveConnectionConfiguration connection = new ReactiveConnectionConfiguration();
+
+	@NestedConfigurationProperty
+	private ReactiveJwtConfiguration jwt = new ReactiveJwtConfiguration();
+
+	@NestedConfigurationProperty
+	private ReactivePrincipalConfiguration principal = new ReactivePrincipalConfiguration();
+
+	@NestedConfigurationProperty
+	private ReactiveCountsConfiguration counts = new ReactiveCountsConfiguration();
+
+	@NestedConfigurationProperty
+	private ReactiveResourcesConfiguration resources = new ReactiveResourcesConfiguration();
+
+	@NestedConfigurationProperty
+	private ReactiveFeedConfiguration feed = new ReactiveFeedConfiguration();
+
+	@NestedConfigurationProperty
+	private ReactiveCacheConfiguration cache = new ReactiveCacheConfiguration();
+
+	@NestedConfigurationProperty
+	private ReactiveRateLimitConfiguration rateLimit = new ReactiveRateLimitConfiguration();
+
+	@NestedConfigurationProperty
+	private ReactiveConcurrencyConfiguration concurrency = new ReactiveConcurrencyConfiguration();
+
+	@NestedConfigurationProperty
+	private ReactiveLanesConfiguration lanes = new ReactiveLanesConfiguration();
+
+	@NestedConfigurationProperty
+	private ReactiveStreamingConfiguration streaming = new ReactiveStreamingConfiguration();
+
+	@NestedConfigurationProperty
+	private ReactiveCodecConfiguration codecs = new ReactiveCodecConfiguration();
+
+	@NestedConfigurationProperty
+	private ReactiveRevocationConfiguration revocation = new ReactiveRevocationConfiguration();
+
+	@NestedConfigurationProperty
+	private ReactiveWriteBehindConfiguration writeBehind = new ReactiveWriteBehindConfiguration();
+
+	@NestedConfigurationProperty
+	private ReactiveClientsConfiguration clients = new ReactiveClientsConfiguration();
+
+	/**
+	 * Create instance of {@code SsoReactiveClientConfiguration}.
+	 *
+	 */
+	public SsoReactiveClientConfiguration() {
+	}
+
+	/**
+	 * Get the value of property {@code enabled}.
+	 *
+	 * @return the enabled
+	 */
+	public Boolean getEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Set the value of property {@code enabled}.
+	 *
+	 * @param enabled the value of property enabled
+	 */
+	public void setEnabled(Boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Get the value of property {@code registration}.
+	 *
+	 * @return the registration
+	 */
+	public ReactiveRegistrationConfiguration getRegistration() {
+		return registration;
+	}
+
+	/**
+	 * Set the value of property {@code registration}.
+	 *
+	 * @param registration the value of property registration
+	 */
+	public void setRegistration(ReactiveRegistrationConfiguration registration) {
+		this.registration = registration;
+	}
+
+	/**
+	 * Get the value of property {@code connection}.
+	 *
+	 * @return the connection
+	 */
+	public ReactiveConnectionConfiguration getConnection() {
+		return connection;
+	}
+
+	/**
+	 * Set the value of property {@code connection}.
+	 *
+	 * @param connection the value of property connection
+	 */
+	public void setConnection(ReactiveConnectionConfiguration connection) {
+		this.connection = connection;
+	}
+
+	/**
+	 * Get the value of property {@code jwt}.
+	 *
+	 * @return the jwt
+	 */
+	public ReactiveJwtConfiguration getJwt() {
+		return jwt;
+	}
+
+	/**
+	 * Set the value of property {@code jwt}.
+	 *
+	 * @param jwt the value of property jwt
+	 */
+	public void setJwt(ReactiveJwtConfiguration jwt) {
+		this.jwt = jwt;
+	}
+
+	/**
+	 * Get the value of property {@code principal}.
+	 *
+	 * @return the principal
+	 */
+	public ReactivePrincipalConfiguration getPrincipal() {
+		return principal;
+	}
+
+	/**
+	 * Set the value of property {@code principal}.
+	 *
+	 * @param principal the value of property principal
+	 */
+	public void setPrincipal(ReactivePrincipalConfiguration principal) {
+		this.principal = principal;
+	}
+
+	/**
+	 * Get the value of property {@code counts}.
+	 *
+	 * @return the counts
+	 */
+	public ReactiveCountsConfiguration getCounts() {
+		return counts;
+	}
+
+	/**
+	 * Set the value of property {@code counts}.
+	 *
+	 * @param counts the value of property counts
+	 */
+	public void setCounts(ReactiveCountsConfiguration counts) {
+		this.counts = counts;
+	}
+
+	/**
+	 * Get the value of property {@code resources}.
+	 *
+	 * @return the resources
+	 */
+	public ReactiveResourcesConfiguration getResources() {
+		return resources;
+	}
+
+	/**
+	 * Set the value of property {@code resources}.
+	 *
+	 * @param resources the value of property resources
+	 */
+	public void setResources(ReactiveResourcesConfiguration resources) {
+		this.resources = resources;
+	}
+
+	/**
+	 * Get the value of property {@code feed}.
+	 *
+	 * @return the feed
+	 */
+	public ReactiveFeedConfiguration getFeed() {
+		return feed;
+	}
+
+	/**
+	 * Set the value of property {@code feed}.
+	 *
+	 * @param feed the value of property feed
+	 */
+	public void setFeed(ReactiveFeedConfiguration feed) {
+		this.feed = feed;
+	}
+
+	/**
+	 * Get the value of property {@code cache}.
+	 *
+	 * @return the cache
+	 */
+	public ReactiveCacheConfiguration getCache() {
+		return cache;
+	}
+
+	/**
+	 * Set the value of property {@code cache}.
+	 *
+	 * @param cache the value of property cache
+	 */
+	public void setCache(ReactiveCacheConfiguration cache) {
+		this.cache = cache;
+	}
+
+	/**
+	 * Get the value of property {@code rateLimit}.
+	 *
+	 * @return the rateLimit
+	 */
+	public ReactiveRateLimitConfiguration getRateLimit() {
+		return rateLimit;
+	}
+
+	/**
+	 * Set the value of property {@code rateLimit}.
+	 *
+	 * @param rateLimit the value of property rateLimit
+	 */
+	public void setRateLimit(ReactiveRateLimitConfiguration rateLimit) {
+		this.rateLimit = rateLimit;
+	}
+
+	/**
+	 * Get the value of property {@code concurrency}.
+	 *
+	 * @return the concurrency
+	 */
+	public ReactiveConcurrencyConfiguration getConcurrency() {
+		return concurrency;
+	}
+
+	/**
+	 * Set the value of property {@code concurrency}.
+	 *
+	 * @param concurrency the value of property concurrency
+	 */
+	public void setConcurrency(ReactiveConcurrencyConfiguration concurrency) {
+		this.concurrency = concurrency;
+	}
+
+	/**
+	 * Get the value of property {@code lanes}.
+	 *
+	 * @return the lanes
+	 */
+	public ReactiveLanesConfiguration getLanes() {
+		return lanes;
+	}
+
+	/**
+	 * Set the value of property {@code lanes}.
+	 *
+	 * @param lanes the value of property lanes
+	 */
+	public void setLanes(ReactiveLanesConfiguration lanes) {
+		this.lanes = lanes;
+	}
+
+	/**
+	 * Get the value of property {@code streaming}.
+	 *
+	 * @return the streaming
+	 */
+	public ReactiveStreamingConfiguration getStreaming() {
+		return streaming;
+	}
+
+	/**
+	 * Set the value of property {@code streaming}.
+	 *
+	 * @param streaming the value of property streaming
+	 */
+	public void setStreaming(ReactiveStreamingConfiguration streaming) {
+		this.streaming = streaming;
+	}
+
+	/**
+	 * Get the value of property {@code codecs}.
+	 *
+	 * @return the codecs
+	 */
+	public ReactiveCodecConfiguration getCodecs() {
+		return codecs;
+	}
+
+	/**
+	 * Set the value of property {@code codecs}.
+	 *
+	 * @param codecs the value of property codecs
+	 */
+	public void setCodecs(ReactiveCodecConfiguration codecs) {
+		this.codecs = codecs;
+	}
+
+	/**
+	 * Get the value of property {@code revocation}.
+	 *
+	 * @return the revocation
+	 */
+	public ReactiveRevocationConfiguration getRevocation() {
+		return revocation;
+	}
+
+	/**
+	 * Set the value of property {@code revocation}.
+	 *
+	 * @param revocation the value of property revocation
+	 */
+	public void setRevocation(ReactiveRevocationConfiguration revocation) {
+		this.revocation = revocation;
+	}
+
+	/**
+	 * Get the value of property {@code writeBehind}.
+	 *
+	 * @return the writeBehind
+	 */
+	public ReactiveWriteBehindConfiguration getWriteBehind() {
+		return writeBehind;
+	}
+
+	/**
+	 * Set the value of property {@code writeBehind}.
+	 *
+	 * @param writeBehind the value of property writeBehind
+	 */
+	public void setWriteBehind(ReactiveWriteBehindConfiguration writeBehind) {
+		this.writeBehind = writeBehind;
+	}
+
+	/**
+	 * Get the value of property {@code clients}.
+	 *
+	 * @return the clients
+	 */
+	public ReactiveClientsConfiguration getClients() {
+		return clients;
+	}
+
+	/**
+	 * Set the value of property {@code clients}.
+	 *
+	 * @param clients the value of property clients
+	 */
+	public void setClients(ReactiveClientsConfiguration clients) {
+		this.clients = clients;
+	}
+
+}
@@ -4,6 +4,9 @@
 package org.einnovator.sso.client.reactive.config;
 
 import org.einnovator.sso.client.config.SsoClientConfiguration;
+import org.einnovator.sso.client.reactive.limit.RequestLane;
+
+import reactor.core.publisher.BufferOverflowStrategy;
 
 /**
  * A {@code ReactiveClientContext} for SSO.
@@ -14,6 +17,16 @@ public class SsoReactiveClientContext extends ReactiveClientContext {
 	
 	private SsoClientConfiguration config;
 
+	private RequestLane lane;
+
+	private Integer limitRate;
+
+	private Integer maxBuffer;
+
+	private BufferOverflowStrategy overflow;
+
+	private Boolean writeBehind;
+
 	
 	/**
 	 * Create instance of {@code SsoContext}.
@@ -39,6 +52,104 @@ public class SsoReactiveClientContext extends ReactiveClientContext {
 	public void setConfig(SsoClientConfiguration config) {
 		this.config = config;
 	}
+
+	/**
+	 * Get the value of property {@code lane}.
+	 *
+	 * @return the lane
+	 */
+	public RequestLane getLane() {
+		return lane;
+	}
+
+	/**
+	 * Set the value of property {@code lane}.
+	 *
+	 * @param lane the value of property lane
+	 */
+	public void setLane(RequestLane lane) {
+		this.lane = lane;
+	}
+
+	/**
+	 * Get the value of property {@code limitRate}.
+	 *
+	 * <p>Overrides {@link ReactiveStreamingConfiguration#getLimitRate()} for streamed responses.
+	 *
+	 * @return the limitRate
+	 */
+	public Integer getLimitRate() {
+		return limitRate;
+	}
+
+	/**
+	 * Set the value of property {@code limitRate}.
+	 *
+	 * @param limitRate the value of property limitRate
+	 */
+	public void setLimitRate(Integer limitRate) {
+		this.limitRate = limitRate;
+	}
+
+	/**
+	 * Get the value of property {@code maxBuffer}.
+	 *
+	 * <p>Overrides {@link ReactiveStreamingConfiguration#getMaxBuffer()} for streamed responses.
+	 *
+	 * @return the maxBuffer
+	 */
+	public Integer getMaxBuffer() {
+		return maxBuffer;
+	}
+
+	/**
+	 * Set the value of property {@code maxBuffer}.
+	 *
+	 * @param maxBuffer the value of property maxBuffer
+	 */
+	public void setMaxBuffer(Integer maxBuffer) {
+		this.maxBuffer = maxBuffer;
+	}
+
+	/**
+	 * Get the value of property {@code overflow}.
+	 *
+	 * <p>Overrides {@link ReactiveStreamingConfiguration#getOverflow()} for streamed responses.
+	 *
+	 * @return the overflow
+	 */
+	public BufferOverflowStrategy getOverflow() {
+		return overflow;
+	}
+
+	/**
+	 * Set the value of property {@code overflow}.
+	 *
+	 * @param overflow the value of property overflow
+	 */
+	public void setOverflow(BufferOverflowStrategy overflow) {
+		this.overflow = overflow;
+	}
+
+	/**
+	 * Get the value of property {@code writeBehind}.
+	 *
+	 * <p>If set, overrides whether updates are written behind (if a write-behind buffer is configured).
+	 *
+	 * @return the writeBehind
+	 */
+	public Boolean getWriteBehind() {
+		return writeBehind;
+	}
+
+	/**
+	 * Set the value of property {@code writeBehind}.
+	 *
+	 * @param writeBehind the value of property writeBehind
+	 */
+	public void setWriteBehind(Boolean writeBehind) {
+		this.writeBehind = writeBehind;
+	}
 	
 	//
 	// With
@@ -54,5 +165,60 @@ public class SsoReactiveClientContext extends ReactiveClientContext {
 		this.config = config;
 		return this;
 	}
+
+	/**
+	 * Set the value of property {@code lane}.
+	 *
+	 * @param lane the value of property lane
+	 * @return this {@code SsoReactiveClientContext}
+	 */
+	public SsoReactiveClientContext withLane(RequestLane lane) {
+		this.lane = lane;
+		return this;
+	}
+
+	/**
+	 * Set the value of property {@code limitRate}.
+	 *
+	 * @param limitRate the value of property limitRate
+	 * @return this {@code SsoReactiveClientContext}
+	 */
+	public SsoReactiveClientContext withLimitRate(Integer limitRate) {
+		this.limitRate = limitRate;
+		return this;
+	}
+
+	/**
+	 * Set the value of property {@code maxBuffer}.
+	 *
+	 * @param maxBuffer the value of property maxBuffer
+	 * @return this {@code SsoReactiveClientContext}
+	 */
+	public SsoReactiveClientContext withMaxBuffer(Integer maxBuffer) {
+		this.maxBuffer = maxBuffer;
+		return this;
+	}
+
+	/**
+	 * Set the value of property {@code overflow}.
+	 *
+	 * @param overflow the value of property overflow
+	 * @return this {@code SsoReactiveClientContext}
+	 */
+	public SsoReactiveClientContext withOverflow(BufferOverflowStrategy overflow) {
+		this.overflow = overflow;
+		return this;
+	}
+
+	/**
+	 * Set the value of property {@code writeBehind}.
+	 *
+	 * @param writeBehind the value of property writeBehind
+	 * @return this {@code SsoReactiveClientContext}
+	 */
+	public SsoReactiveClientContext withWriteBehind(Boolean writeBehind) {
+		this.writeBehind = writeBehind;
+		return this;
+	}
 	
 }
@@ -0,0 +1,47 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.config;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.einnovator.sso.client.reactive.SsoReactiveClient;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Triggers asynchronous registration of the application with the SSO server once the application is ready.
+ *
+ * <p>Startup does not wait for the SSO server. Failures are retried with backoff by {@link SsoReactiveClient#register()}
+ * and only logged once retries are exhausted.
+ *
+ * @author support@einnovator.org
+ */
+public class SsoRegistrationListener implements ApplicationListener<ApplicationReadyEvent> {
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final SsoReactiveClient client;
+
+	/**
+	 * Create instance of {@code SsoRegistrationListener}.
+	 *
+	 * @param client the {@code SsoReactiveClient}
+	 */
+	public SsoRegistrationListener(SsoReactiveClient client) {
+		this.client = client;
+	}
+
+	@Override
+	public void onApplicationEvent(ApplicationReadyEvent event) {
+		client.register().subscribe(
+			v -> {},
+			e -> logger.error("onApplicationEvent: registration failed: " + e),
+			() -> {
+				if (logger.isDebugEnabled()) {
+					logger.debug("onApplicationEvent: registration complete");
+				}
+			});
+	}
+
+}
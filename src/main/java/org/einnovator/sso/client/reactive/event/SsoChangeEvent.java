@@ -0,0 +1,211 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.event;
+
+/**
+ * An event notifying a change to a resource in the SSO server.
+ *
+ * <p>Published by {@code SsoReactiveClient} for changes performed through it.
+ *
+ * @author support@einnovator.org
+ */
+public class SsoChangeEvent {
+
+	/**
+	 * Type of changed resource.
+	 */
+	public enum Type {
+		USER,
+		GROUP,
+		MEMBER,
+		ROLE,
+		ROLE_MEMBER,
+		CLIENT,
+		INVITATION
+	}
+
+	/**
+	 * Kind of change.
+	 */
+	public enum Action {
+		CREATE,
+		UPDATE,
+		DELETE
+	}
+
+	private Type type;
+
+	private Action action;
+
+	private String id;
+
+	private String userId;
+
+	private String groupId;
+
+	private long timestamp = System.currentTimeMillis();
+
+	/**
+	 * Create instance of {@code SsoChangeEvent}.
+	 *
+	 */
+	public SsoChangeEvent() {
+	}
+
+	/**
+	 * Create instance of {@code SsoChangeEvent}.
+	 *
+	 * @param type the {@code Type}
+	 * @param action the {@code Action}
+	 * @param id the identifier of the changed resource
+	 */
+	public SsoChangeEvent(Type type, Action action, String id) {
+		this.type = type;
+		this.action = action;
+		this.id = id;
+	}
+
+	/**
+	 * Get the value of property {@code type}.
+	 *
+	 * @return the type
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * Set the value of property {@code type}.
+	 *
+	 * @param type the value of property type
+	 */
+	public void setType(Type type) {
+		this.type = type;
+	}
+
+	/**
+	 * Get the value of property {@code action}.
+	 *
+	 * @return the action
+	 */
+	public Action getAction() {
+		return action;
+	}
+
+	/**
+	 * Set the value of property {@code action}.
+	 *
+	 * @param action the value of property action
+	 */
+	public void setAction(Action action) {
+		this.action = action;
+	}
+
+	/**
+	 * Get the value of property {@code id}.
+	 *
+	 * @return the id
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * Set the value of property {@code id}.
+	 *
+	 * @param id the value of property id
+	 */
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	/**
+	 * Get the value of property {@code userId}.
+	 *
+	 * <p>The username of the affected {@code User}, if known, for changes of type {@code USER}, {@code MEMBER} and {@code ROLE_MEMBER}.
+	 *
+	 * @return the userId
+	 */
+	public String getUserId() {
+		return userId;
+	}
+
+	/**
+	 * Set the value of property {@code userId}.
+	 *
+	 * @param userId the value of property userId
+	 */
+	public void setUserId(String userId) {
+		this.userId = userId;
+	}
+
+	/**
+	 * Get the value of property {@code groupId}.
+	 *
+	 * @return the groupId
+	 */
+	public String getGroupId() {
+		return groupId;
+	}
+
+	/**
+	 * Set the value of property {@code groupId}.
+	 *
+	 * @param groupId the value of property groupId
+	 */
+	public void setGroupId(String groupId) {
+		this.groupId = groupId;
+	}
+
+	/**
+	 * Get the value of property {@code timestamp}.
+	 *
+	 * @return the timestamp
+	 */
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	/**
+	 * Set the value of property {@code timestamp}.
+	 *
+	 * @param timestamp the value of property timestamp
+	 */
+	public void setTimestamp(long timestamp) {
+		this.timestamp = timestamp;
+	}
+
+	//
+	// With
+	//
+
+	/**
+	 * Set the value of property {@code userId}.
+	 *
+	 * @param userId the value of property userId
+	 * @return this {@code SsoChangeEvent}
+	 */
+	public SsoChangeEvent withUserId(String userId) {
+		this.userId = userId;
+		return this;
+	}
+
+	/**
+	 * Set the value of property {@code groupId}.
+	 *
+	 * @param groupId the value of property groupId
+	 * @return this {@code SsoChangeEvent}
+	 */
+	public SsoChangeEvent withGroupId(String groupId) {
+		this.groupId = groupId;
+		return this;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[type=" + type + ", action=" + action + ", id=" + id
+				+ (userId!=null ? ", userId=" + userId : "") + (groupId!=null ? ", groupId=" + groupId : "") + "]";
+	}
+
+}
@@ -0,0 +1,269 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.event;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.einnovator.sso.client.reactive.SsoReactiveClient;
+import org.einnovator.sso.client.reactive.config.ReactiveFeedConfiguration;
+import org.einnovator.sso.client.reactive.limit.RequestLane;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Subscription to the Server-Sent Events (SSE) change feed of the SSO server.
+ *
+ * <p>Each received {@code SsoChangeEvent} is published with {@link SsoReactiveClient#publishChange(SsoChangeEvent)},
+ * so client caches and indexes are invalidated precisely when resources change in the server, including by other clients.
+ * <p>The subscription is re-established with exponential backoff when the stream fails or completes,
+ * sending the {@code Last-Event-ID} header to resume from the last received event.
+ * If event identifiers are numeric sequence numbers and a gap is detected (events not replayed by the server),
+ * or if the server sends an event named {@code resync}, {@link SsoReactiveClient#publishResync()} is called
+ * so that all cached state is discarded.
+ * <p>Servers are expected to send heartbeats (e.g. SSE comments) more often than the connection read timeout;
+ * otherwise the feed simply reconnects.
+ *
+ * @author support@einnovator.org
+ */
+public class SsoChangeFeed implements ApplicationListener<ApplicationReadyEvent>, DisposableBean {
+
+	public static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+	public static final String RESYNC_EVENT = "resync";
+
+	private static final ParameterizedTypeReference<ServerSentEvent<SsoChangeEvent>> EVENT_TYPE = new ParameterizedTypeReference<ServerSentEvent<SsoChangeEvent>>() {};
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final SsoReactiveClient client;
+
+	private final WebClient webClient;
+
+	private final String uri;
+
+	private final ReactiveFeedConfiguration config;
+
+	private volatile String lastEventId;
+
+	private volatile long lastSequence = -1;
+
+	private volatile boolean connected;
+
+	private final AtomicInteger failures = new AtomicInteger();
+
+	private final AtomicLong received = new AtomicLong();
+
+	private final AtomicLong reconnects = new AtomicLong();
+
+	private final AtomicLong resyncs = new AtomicLong();
+
+	private Disposable subscription;
+
+	/**
+	 * Create instance of {@code SsoChangeFeed}.
+	 *
+	 * @param client the {@code SsoReactiveClient} to publish changes to
+	 * @param webClient the {@code WebClient} to connect to the feed
+	 * @param uri the URI of the feed
+	 * @param config the {@code ReactiveFeedConfiguration}
+	 */
+	public SsoChangeFeed(SsoReactiveClient client, WebClient webClient, String uri, ReactiveFeedConfiguration config) {
+		this.client = client;
+		this.webClient = webClient;
+		this.uri = uri;
+		this.config = config!=null ? config : new ReactiveFeedConfiguration();
+	}
+
+	/**
+	 * Get the value of property {@code uri}.
+	 *
+	 * @return the uri
+	 */
+	public String getUri() {
+		return uri;
+	}
+
+	/**
+	 * Get the value of property {@code lastEventId}.
+	 *
+	 * @return the lastEventId
+	 */
+	public String getLastEventId() {
+		return lastEventId;
+	}
+
+	/**
+	 * Get the number of events received.
+	 *
+	 * @return the number of events
+	 */
+	public long getReceived() {
+		return received.get();
+	}
+
+	/**
+	 * Get the number of times the subscription was re-established.
+	 *
+	 * @return the number of reconnects
+	 */
+	public long getReconnects() {
+		return reconnects.get();
+	}
+
+	/**
+	 * Get the number of resyncs performed.
+	 *
+	 * @return the number of resyncs
+	 */
+	public long getResyncs() {
+		return resyncs.get();
+	}
+
+	//
+	// Lifecycle
+	//
+
+	@Override
+	public void onApplicationEvent(ApplicationReadyEvent event) {
+		start();
+	}
+
+	/**
+	 * Start the subscription, if not started already.
+	 *
+	 */
+	public synchronized void start() {
+		if (subscription!=null) {
+			return;
+		}
+		subscription = connect()
+			.repeatWhen(completed -> completed.concatMap(v -> Mono.delay(nextBackoff())))
+			.retryWhen(errors -> errors.concatMap(e -> {
+				logger.warn("start: " + uri + " " + e);
+				return Mono.delay(nextBackoff());
+			}))
+			.subscribe(this::onEvent);
+	}
+
+	/**
+	 * Stop the subscription.
+	 *
+	 */
+	public synchronized void stop() {
+		if (subscription!=null) {
+			subscription.dispose();
+			subscription = null;
+		}
+	}
+
+	@Override
+	public void destroy() {
+		stop();
+	}
+
+	//
+	// Events
+	//
+
+	/**
+	 * Connect to the feed, resuming from the last received event if any.
+	 *
+	 * @return a {@code Flux} for the events
+	 */
+	protected Flux<ServerSentEvent<SsoChangeEvent>> connect() {
+		return Flux.defer(() -> {
+			if (connected) {
+				reconnects.incrementAndGet();
+				if (lastSequence<0) {
+					resync();
+				}
+			}
+			connected = true;
+			WebClient.RequestHeadersSpec<?> spec = webClient.get().uri(uri).accept(MediaType.TEXT_EVENT_STREAM);
+			if (lastEventId!=null) {
+				spec = spec.header(LAST_EVENT_ID_HEADER, lastEventId);
+			}
+			return spec.retrieve().bodyToFlux(EVENT_TYPE).subscriberContext(RequestLane.context(RequestLane.BACKGROUND));
+		});
+	}
+
+	/**
+	 * Handle an event received from the feed.
+	 *
+	 * @param sse the {@code ServerSentEvent}
+	 */
+	protected void onEvent(ServerSentEvent<SsoChangeEvent> sse) {
+		failures.set(0);
+		received.incrementAndGet();
+		if (sse.id()!=null) {
+			Long sequence = parseSequence(sse.id());
+			if (sequence!=null) {
+				if (lastSequence>=0 && sequence<=lastSequence) {
+					return;
+				}
+				if (lastSequence>=0 && sequence>lastSequence+1) {
+					resync();
+				}
+				lastSequence = sequence;
+			}
+			lastEventId = sse.id();
+		}
+		if (RESYNC_EVENT.equals(sse.event())) {
+			resync();
+			return;
+		}
+		SsoChangeEvent event = sse.data();
+		if (event!=null && event.getType()!=null) {
+			client.publishChange(event);
+		}
+	}
+
+	/**
+	 * Discard all cached state, since changes may have been missed.
+	 *
+	 */
+	protected void resync() {
+		resyncs.incrementAndGet();
+		if (logger.isDebugEnabled()) {
+			logger.debug("resync: " + uri + " " + lastEventId);
+		}
+		client.publishResync();
+	}
+
+	/**
+	 * Get the delay before the next connection attempt.
+	 *
+	 * @return the delay, exponential on consecutive failures, with jitter
+	 */
+	protected Duration nextBackoff() {
+		long min = config.getMinBackoff()!=null ? config.getMinBackoff() : ReactiveFeedConfiguration.DEFAULT_MIN_BACKOFF;
+		long max = config.getMaxBackoff()!=null ? config.getMaxBackoff() : ReactiveFeedConfiguration.DEFAULT_MAX_BACKOFF;
+		int n = Math.min(failures.getAndIncrement(), 30);
+		long backoff = Math.min(max, min << n);
+		return Duration.ofMillis(backoff + ThreadLocalRandom.current().nextLong(backoff / 2 + 1));
+	}
+
+	private static Long parseSequence(String id) {
+		try {
+			return Long.parseLong(id.trim());
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,29 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.event;
+
+/**
+ * Listener of {@code SsoChangeEvent}s.
+ *
+ * <p>Invoked synchronously by the publisher, so implementations should not block.
+ *
+ * @author support@einnovator.org
+ */
+public interface SsoChangeListener {
+
+	/**
+	 * Notify a change.
+	 *
+	 * @param event the {@code SsoChangeEvent}
+	 */
+	void onChange(SsoChangeEvent event);
+
+	/**
+	 * Notify that changes may have been missed (e.g. a gap in a change feed), so all derived state should be discarded.
+	 *
+	 */
+	default void onResync() {
+	}
+
+}
@@ -0,0 +1,274 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.limit;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.einnovator.sso.client.reactive.config.ReactiveConcurrencyConfiguration;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * An adaptive limit on the number of concurrent (in-flight) requests, using AIMD (additive increase, multiplicative decrease).
+ *
+ * <p>The latency of each request is compared with the minimum latency observed recently.
+ * While latency stays within {@code tolerance} times the minimum, the limit grows by about one per round-trip
+ * (additive increase). When latency exceeds it, or a request is dropped (error or overload response),
+ * the limit shrinks by {@code backoffRatio} (multiplicative decrease).
+ * <p>Requests over the limit wait in a bounded FIFO queue, for at most {@code maxWait}.
+ * Requests that find the queue full, or that wait too long, are rejected with {@code ConcurrencyLimitExceededException}.
+ *
+ * @author support@einnovator.org
+ */
+public class AdaptiveConcurrencyLimiter {
+
+	private static final int WAITING = 0;
+
+	private static final int GRANTED = 1;
+
+	private static final int CANCELLED = 2;
+
+	private final String name;
+
+	private final ReactiveConcurrencyConfiguration config;
+
+	private final int minLimit;
+
+	private final int maxLimit;
+
+	private final double tolerance;
+
+	private final double backoffRatio;
+
+	private final int maxQueue;
+
+	private final int minRttWindow;
+
+	private double limit;
+
+	private int inFlight;
+
+	private long minRtt = Long.MAX_VALUE;
+
+	private long windowMinRtt = Long.MAX_VALUE;
+
+	private int windowSamples;
+
+	private final Deque<Waiter> queue = new ArrayDeque<>();
+
+	private final AtomicLong rejected = new AtomicLong();
+
+	private final AtomicLong dropped = new AtomicLong();
+
+	/**
+	 * Create instance of {@code AdaptiveConcurrencyLimiter}.
+	 *
+	 * @param name the name of the limiter
+	 * @param config the {@code ReactiveConcurrencyConfiguration}
+	 */
+	public AdaptiveConcurrencyLimiter(String name, ReactiveConcurrencyConfiguration config) {
+		this.name = name;
+		this.config = config!=null ? config : new ReactiveConcurrencyConfiguration();
+		this.minLimit = Math.max(1, value(this.config.getMinLimit(), ReactiveConcurrencyConfiguration.DEFAULT_MIN_LIMIT));
+		this.maxLimit = Math.max(minLimit, value(this.config.getMaxLimit(), ReactiveConcurrencyConfiguration.DEFAULT_MAX_LIMIT));
+		this.limit = Math.min(maxLimit, Math.max(minLimit, value(this.config.getInitialLimit(), ReactiveConcurrencyConfiguration.DEFAULT_INITIAL_LIMIT)));
+		this.tolerance = this.config.getTolerance()!=null ? this.config.getTolerance() : ReactiveConcurrencyConfiguration.DEFAULT_TOLERANCE;
+		this.backoffRatio = this.config.getBackoffRatio()!=null ? this.config.getBackoffRatio() : ReactiveConcurrencyConfiguration.DEFAULT_BACKOFF_RATIO;
+		this.maxQueue = value(this.config.getMaxQueue(), ReactiveConcurrencyConfiguration.DEFAULT_MAX_QUEUE);
+		this.minRttWindow = value(this.config.getMinRttWindow(), ReactiveConcurrencyConfiguration.DEFAULT_MIN_RTT_WINDOW);
+	}
+
+	/**
+	 * Get the value of property {@code name}.
+	 *
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	//
+	// Permits
+	//
+
+	/**
+	 * Acquire a permit, waiting in queue if the limit is reached.
+	 *
+	 * <p>Each successful acquisition must be followed by a call to {@link #release()}.
+	 *
+	 * @return a {@code Mono} that completes when the permit is acquired, or fails with {@code ConcurrencyLimitExceededException}
+	 */
+	public Mono<Void> acquire() {
+		Mono<Void> mono = Mono.create(sink -> {
+			Waiter waiter;
+			synchronized (this) {
+				if (inFlight<(int) limit) {
+					inFlight++;
+					sink.success();
+					return;
+				}
+				if (queue.size()>=maxQueue) {
+					rejected.incrementAndGet();
+					sink.error(new ConcurrencyLimitExceededException("Concurrency limit exceeded: " + name, (int) limit));
+					return;
+				}
+				waiter = new Waiter(sink);
+				queue.addLast(waiter);
+			}
+			sink.onCancel(() -> cancel(waiter));
+		});
+		Long maxWait = config.getMaxWait();
+		if (maxWait!=null && maxWait>0) {
+			mono = mono.timeout(Duration.ofMillis(maxWait), Mono.defer(() -> {
+				rejected.incrementAndGet();
+				return Mono.error(new ConcurrencyLimitExceededException("Concurrency limit wait timeout: " + name, getLimit()));
+			}));
+		}
+		return mono;
+	}
+
+	/**
+	 * Release a permit, and grant it to the next waiting request if any.
+	 *
+	 */
+	public void release() {
+		Waiter next = null;
+		synchronized (this) {
+			inFlight--;
+			while (inFlight<(int) limit && !queue.isEmpty()) {
+				Waiter waiter = queue.pollFirst();
+				if (waiter.state.compareAndSet(WAITING, GRANTED)) {
+					inFlight++;
+					next = waiter;
+					break;
+				}
+			}
+		}
+		if (next!=null) {
+			next.sink.success();
+		}
+	}
+
+	private void cancel(Waiter waiter) {
+		if (waiter.state.compareAndSet(WAITING, CANCELLED)) {
+			synchronized (this) {
+				queue.remove(waiter);
+			}
+		} else if (waiter.state.get()==GRANTED) {
+			release();
+		}
+	}
+
+	//
+	// Samples
+	//
+
+	/**
+	 * Update the limit with a latency sample.
+	 *
+	 * @param rtt the request latency (nanoseconds)
+	 * @param drop true if the request failed or was rejected because of overload
+	 */
+	public void onSample(long rtt, boolean drop) {
+		synchronized (this) {
+			if (!drop) {
+				windowMinRtt = Math.min(windowMinRtt, rtt);
+				minRtt = Math.min(minRtt, rtt);
+				if (++windowSamples>=minRttWindow) {
+					minRtt = windowMinRtt;
+					windowMinRtt = Long.MAX_VALUE;
+					windowSamples = 0;
+				}
+			}
+			if (drop || rtt>minRtt * tolerance) {
+				if (drop) {
+					dropped.incrementAndGet();
+				}
+				limit = Math.max(minLimit, limit * backoffRatio);
+			} else if (inFlight * 2>=limit) {
+				limit = Math.min(maxLimit, limit + 1 / limit);
+			}
+		}
+	}
+
+	//
+	// Metrics
+	//
+
+	/**
+	 * Get the current limit.
+	 *
+	 * @return the limit
+	 */
+	public synchronized int getLimit() {
+		return (int) limit;
+	}
+
+	/**
+	 * Get the number of requests in flight.
+	 *
+	 * @return the number of requests
+	 */
+	public synchronized int getInFlight() {
+		return inFlight;
+	}
+
+	/**
+	 * Get the number of requests waiting for a permit.
+	 *
+	 * @return the queue size
+	 */
+	public synchronized int getQueueSize() {
+		return queue.size();
+	}
+
+	/**
+	 * Get the minimum latency observed recently.
+	 *
+	 * @return the latency (nanoseconds), or -1 if no samples yet
+	 */
+	public synchronized long getMinRtt() {
+		return minRtt!=Long.MAX_VALUE ? minRtt : -1;
+	}
+
+	/**
+	 * Get the number of requests rejected.
+	 *
+	 * @return the number of rejected requests
+	 */
+	public long getRejected() {
+		return rejected.get();
+	}
+
+	/**
+	 * Get the number of dropped requests (failures or overload responses).
+	 *
+	 * @return the number of dropped requests
+	 */
+	public long getDropped() {
+		return dropped.get();
+	}
+
+	private static int value(Integer value, int defaultValue) {
+		return value!=null ? value : defaultValue;
+	}
+
+	private static class Waiter {
+
+		private final MonoSink<Void> sink;
+
+		private final AtomicInteger state = new AtomicInteger(WAITING);
+
+		Waiter(MonoSink<Void> sink) {
+			this.sink = sink;
+		}
+
+	}
+
+}
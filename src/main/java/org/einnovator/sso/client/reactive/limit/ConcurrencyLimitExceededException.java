@@ -0,0 +1,39 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.limit;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Exception signaling that a request to the SSO server was not performed because the concurrency limit was reached.
+ *
+ * @author support@einnovator.org
+ */
+public class ConcurrencyLimitExceededException extends RestClientException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final int limit;
+
+	/**
+	 * Create instance of {@code ConcurrencyLimitExceededException}.
+	 *
+	 * @param msg the detail message
+	 * @param limit the concurrency limit when the request was rejected
+	 */
+	public ConcurrencyLimitExceededException(String msg, int limit) {
+		super(msg);
+		this.limit = limit;
+	}
+
+	/**
+	 * Get the value of property {@code limit}.
+	 *
+	 * @return the limit
+	 */
+	public int getLimit() {
+		return limit;
+	}
+
+}
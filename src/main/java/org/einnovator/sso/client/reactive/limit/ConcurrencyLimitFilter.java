@@ -0,0 +1,156 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.limit;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.einnovator.sso.client.reactive.config.ReactiveConcurrencyConfiguration;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code ExchangeFilterFunction} that limits the number of concurrent requests to the SSO server with an {@code AdaptiveConcurrencyLimiter}.
+ *
+ * <p>The latency of each request, up to the response headers, is fed to the limiter.
+ * Responses {@code 429}, {@code 503} and {@code 504}, timeouts and connection errors count as drops.
+ * The permit is held until the response body is consumed or released, or the request fails or is cancelled,
+ * so a slow body download counts as a request in flight. As required by {@code WebClient}, callers of
+ * {@code exchange()} must consume or release the response body.
+ *
+ * @author support@einnovator.org
+ */
+public class ConcurrencyLimitFilter implements ExchangeFilterFunction {
+
+	public static final String DEFAULT_NAME = "sso";
+
+	private final AdaptiveConcurrencyLimiter limiter;
+
+	/**
+	 * Create instance of {@code ConcurrencyLimitFilter}.
+	 *
+	 * @param config the {@code ReactiveConcurrencyConfiguration}
+	 */
+	public ConcurrencyLimitFilter(ReactiveConcurrencyConfiguration config) {
+		this(new AdaptiveConcurrencyLimiter(DEFAULT_NAME, config));
+	}
+
+	/**
+	 * Create instance of {@code ConcurrencyLimitFilter}.
+	 *
+	 * @param limiter the {@code AdaptiveConcurrencyLimiter}
+	 */
+	public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter) {
+		this.limiter = limiter;
+	}
+
+	/**
+	 * Get the value of property {@code limiter}.
+	 *
+	 * @return the limiter
+	 */
+	public AdaptiveConcurrencyLimiter getLimiter() {
+		return limiter;
+	}
+
+	@Override
+	public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+		return Mono.defer(() -> {
+			AtomicBoolean acquired = new AtomicBoolean();
+			AtomicBoolean received = new AtomicBoolean();
+			Runnable release = () -> {
+				if (acquired.compareAndSet(true, false)) {
+					limiter.release();
+				}
+			};
+			return limiter.acquire()
+				.doOnSuccess(value -> acquired.set(true))
+				.then(Mono.defer(() -> {
+					long start = System.nanoTime();
+					return next.exchange(request)
+						.doOnNext(response -> limiter.onSample(System.nanoTime() - start, isDrop(response.statusCode())))
+						.doOnError(e -> limiter.onSample(System.nanoTime() - start, isDrop(e)));
+				}))
+				.map(response -> {
+					received.set(true);
+					return ClientResponse.from(response)
+						.body(response.bodyToFlux(DataBuffer.class).doFinally(signal -> release.run()))
+						.build();
+				})
+				.doFinally(signal -> {
+					if (!received.get()) {
+						release.run();
+					}
+				});
+		});
+	}
+
+	/**
+	 * Check if a response status signals that the server is overloaded.
+	 *
+	 * @param status the {@code HttpStatus}
+	 * @return true if the limit should be decreased
+	 */
+	protected boolean isDrop(HttpStatus status) {
+		return status==HttpStatus.TOO_MANY_REQUESTS || status==HttpStatus.SERVICE_UNAVAILABLE || status==HttpStatus.GATEWAY_TIMEOUT;
+	}
+
+	/**
+	 * Check if a request error signals that the server is overloaded.
+	 *
+	 * <p>All errors (e.g. timeouts, connection errors) count, except rejections by client-side limiters.
+	 *
+	 * @param e the error
+	 * @return true if the limit should be decreased
+	 */
+	protected boolean isDrop(Throwable e) {
+		return !(e instanceof RateLimitExceededException) && !(e instanceof ConcurrencyLimitExceededException);
+	}
+
+	//
+	// Metrics
+	//
+
+	/**
+	 * Get the current concurrency limit.
+	 *
+	 * @return the limit
+	 */
+	public int getLimit() {
+		return limiter.getLimit();
+	}
+
+	/**
+	 * Get the number of requests in flight.
+	 *
+	 * @return the number of requests
+	 */
+	public int getInFlight() {
+		return limiter.getInFlight();
+	}
+
+	/**
+	 * Get the number of requests waiting for a permit.
+	 *
+	 * @return the queue depth
+	 */
+	public int getQueueDepth() {
+		return limiter.getQueueSize();
+	}
+
+	/**
+	 * Get the number of requests rejected by the limiter.
+	 *
+	 * @return the number of rejected requests
+	 */
+	public long getRejected() {
+		return limiter.getRejected();
+	}
+
+}
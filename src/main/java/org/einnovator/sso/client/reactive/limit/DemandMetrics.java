@@ -0,0 +1,168 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics on the demand signalled by subscribers of streamed ({@code Flux}) responses.
+ *
+ * <p>Demand is measured as requested from the response stream, after {@code limitRate} batching,
+ * so it shows the batch sizes seen by the network layer.
+ *
+ * @author support@einnovator.org
+ */
+public class DemandMetrics {
+
+	private final AtomicLong subscriptions = new AtomicLong();
+
+	private final AtomicInteger active = new AtomicInteger();
+
+	private final AtomicLong requests = new AtomicLong();
+
+	private final AtomicLong requested = new AtomicLong();
+
+	private final AtomicLong unbounded = new AtomicLong();
+
+	private final AtomicLong emitted = new AtomicLong();
+
+	private final AtomicLong dropped = new AtomicLong();
+
+	/**
+	 * Create instance of {@code DemandMetrics}.
+	 *
+	 */
+	public DemandMetrics() {
+	}
+
+	//
+	// Recording
+	//
+
+	/**
+	 * Record a subscription to a stream.
+	 *
+	 */
+	public void onSubscribe() {
+		subscriptions.incrementAndGet();
+		active.incrementAndGet();
+	}
+
+	/**
+	 * Record a request signal.
+	 *
+	 * @param n the number of elements requested
+	 */
+	public void onRequest(long n) {
+		requests.incrementAndGet();
+		if (n==Long.MAX_VALUE) {
+			unbounded.incrementAndGet();
+		} else {
+			requested.addAndGet(n);
+		}
+	}
+
+	/**
+	 * Record an element emitted to the subscriber.
+	 *
+	 */
+	public void onNext() {
+		emitted.incrementAndGet();
+	}
+
+	/**
+	 * Record an element dropped on buffer overflow.
+	 *
+	 */
+	public void onDropped() {
+		dropped.incrementAndGet();
+	}
+
+	/**
+	 * Record the termination or cancellation of a stream.
+	 *
+	 */
+	public void onTerminate() {
+		active.decrementAndGet();
+	}
+
+	//
+	// Metrics
+	//
+
+	/**
+	 * Get the number of subscriptions.
+	 *
+	 * @return the number of subscriptions
+	 */
+	public long getSubscriptions() {
+		return subscriptions.get();
+	}
+
+	/**
+	 * Get the number of active streams.
+	 *
+	 * @return the number of streams
+	 */
+	public int getActive() {
+		return active.get();
+	}
+
+	/**
+	 * Get the number of request signals.
+	 *
+	 * @return the number of requests
+	 */
+	public long getRequests() {
+		return requests.get();
+	}
+
+	/**
+	 * Get the total number of elements requested by bounded request signals.
+	 *
+	 * @return the number of elements
+	 */
+	public long getRequested() {
+		return requested.get();
+	}
+
+	/**
+	 * Get the number of unbounded request signals (no backpressure).
+	 *
+	 * @return the number of requests
+	 */
+	public long getUnbounded() {
+		return unbounded.get();
+	}
+
+	/**
+	 * Get the average number of elements per bounded request signal.
+	 *
+	 * @return the average, or zero if none
+	 */
+	public double getAverageRequest() {
+		long bounded = requests.get() - unbounded.get();
+		return bounded>0 ? (double) requested.get() / bounded : 0;
+	}
+
+	/**
+	 * Get the number of elements emitted.
+	 *
+	 * @return the number of elements
+	 */
+	public long getEmitted() {
+		return emitted.get();
+	}
+
+	/**
+	 * Get the number of elements dropped on buffer overflow.
+	 *
+	 * @return the number of elements
+	 */
+	public long getDropped() {
+		return dropped.get();
+	}
+
+}
@@ -0,0 +1,64 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.limit;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code ExchangeFilterFunction} that routes each request to the {@code ExchangeFunction} of its {@code RequestLane}.
+ *
+ * <p>The lane is read from the Reactor {@code Context} of the subscription (see {@link RequestLane#context(RequestLane)}),
+ * and defaults to {@link RequestLane#INTERACTIVE}.
+ * <p>This filter must be the last in the chain, since requests do not proceed to the next {@code ExchangeFunction}.
+ *
+ * @author support@einnovator.org
+ */
+public class LaneRoutingFilter implements ExchangeFilterFunction {
+
+	private final Function<RequestLane, ExchangeFunction> lanes;
+
+	private final Map<RequestLane, AtomicLong> requests = new EnumMap<>(RequestLane.class);
+
+	/**
+	 * Create instance of {@code LaneRoutingFilter}.
+	 *
+	 * @param lanes function that gets the {@code ExchangeFunction} for each lane
+	 */
+	public LaneRoutingFilter(Function<RequestLane, ExchangeFunction> lanes) {
+		this.lanes = lanes;
+		for (RequestLane lane: RequestLane.values()) {
+			requests.put(lane, new AtomicLong());
+		}
+	}
+
+	@Override
+	public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+		return Mono.subscriberContext().flatMap(ctx -> {
+			RequestLane lane = ctx.getOrDefault(RequestLane.CONTEXT_KEY, RequestLane.INTERACTIVE);
+			requests.get(lane).incrementAndGet();
+			return lanes.apply(lane).exchange(request);
+		});
+	}
+
+	/**
+	 * Get the number of requests routed to a lane.
+	 *
+	 * @param lane the {@code RequestLane}
+	 * @return the number of requests
+	 */
+	public long getRequests(RequestLane lane) {
+		return requests.get(lane).get();
+	}
+
+}
@@ -0,0 +1,39 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.limit;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Exception signaling that a request to the SSO server was not performed because of a client-side limit.
+ *
+ * @author support@einnovator.org
+ */
+public class RateLimitExceededException extends RestClientException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final long delay;
+
+	/**
+	 * Create instance of {@code RateLimitExceededException}.
+	 *
+	 * @param msg the detail message
+	 * @param delay the time the request would have to wait (milliseconds)
+	 */
+	public RateLimitExceededException(String msg, long delay) {
+		super(msg);
+		this.delay = delay;
+	}
+
+	/**
+	 * Get the value of property {@code delay}.
+	 *
+	 * @return the delay (milliseconds)
+	 */
+	public long getDelay() {
+		return delay;
+	}
+
+}
@@ -0,0 +1,300 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.limit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.einnovator.sso.client.reactive.config.RateLimitGroupConfiguration;
+import org.einnovator.sso.client.reactive.config.ReactiveRateLimitConfiguration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code ExchangeFilterFunction} that rate limits requests to the SSO server with a {@code TokenBucket} per endpoint group.
+ *
+ * <p>Requests over the limit are delayed until a permit is available (or rejected with {@code RateLimitExceededException}
+ * if configured to not delay, or if the delay would exceed the configured maximum).
+ * <p>The limiter adapts to the server:
+ * {@code Retry-After} in {@code 429} or {@code 503} responses pauses the bucket,
+ * and {@code RateLimit-Remaining}/{@code RateLimit-Reset} (or {@code X-RateLimit-*}) headers align the bucket with the server quota.
+ * Idempotent requests rejected with {@code 429} are retried once through the limiter, when delaying is enabled.
+ *
+ * @author support@einnovator.org
+ */
+public class RateLimitFilter implements ExchangeFilterFunction {
+
+	public static final String DEFAULT_GROUP = "default";
+
+	private static final String[] REMAINING_HEADERS = {"RateLimit-Remaining", "X-RateLimit-Remaining"};
+
+	private static final String[] RESET_HEADERS = {"RateLimit-Reset", "X-RateLimit-Reset"};
+
+	private static final long EPOCH_SECONDS_THRESHOLD = 1000000000L;
+
+	private final ReactiveRateLimitConfiguration config;
+
+	private final Map<String, String[]> paths = new LinkedHashMap<>();
+
+	private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+	private final Map<String, AtomicInteger> queued = new ConcurrentHashMap<>();
+
+	private final AtomicLong rejected = new AtomicLong();
+
+	private final AtomicLong throttled = new AtomicLong();
+
+	/**
+	 * Create instance of {@code RateLimitFilter}.
+	 *
+	 * @param config the {@code ReactiveRateLimitConfiguration}
+	 */
+	public RateLimitFilter(ReactiveRateLimitConfiguration config) {
+		this.config = config!=null ? config : new ReactiveRateLimitConfiguration();
+		if (this.config.getGroups()!=null) {
+			for (Map.Entry<String, RateLimitGroupConfiguration> e: this.config.getGroups().entrySet()) {
+				if (e.getValue()!=null && e.getValue().getPaths()!=null) {
+					paths.put(e.getKey(), e.getValue().getPaths());
+				}
+			}
+		}
+	}
+
+	@Override
+	public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+		return Mono.defer(() -> filter(request, next, 0));
+	}
+
+	/**
+	 * Filter a request, waiting for a permit from the bucket of its endpoint group.
+	 *
+	 * @param request the {@code ClientRequest}
+	 * @param next the next {@code ExchangeFunction}
+	 * @param attempt the number of previous attempts rejected with {@code 429}
+	 * @return a {@code Mono} for the {@code ClientResponse}
+	 */
+	protected Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next, int attempt) {
+		String group = getGroup(request);
+		TokenBucket bucket = getBucket(group);
+		long delay = bucket.reserve();
+		Mono<ClientResponse> exchange = Mono.defer(() -> next.exchange(request))
+			.flatMap(response -> onResponse(request, next, bucket, response, attempt));
+		if (delay<=0) {
+			return exchange;
+		}
+		long maxDelay = config.getMaxDelay()!=null ? config.getMaxDelay() : ReactiveRateLimitConfiguration.DEFAULT_MAX_DELAY;
+		if (!Boolean.TRUE.equals(config.getDelay()) || delay>maxDelay) {
+			bucket.cancel();
+			rejected.incrementAndGet();
+			return Mono.error(new RateLimitExceededException("Rate limit exceeded: " + group, delay));
+		}
+		AtomicInteger counter = queued.computeIfAbsent(group, key -> new AtomicInteger());
+		return Mono.delay(Duration.ofMillis(delay))
+			.doOnSubscribe(s -> counter.incrementAndGet())
+			.doFinally(signal -> counter.decrementAndGet())
+			.then(exchange);
+	}
+
+	/**
+	 * Adapt the bucket to the rate limit information in a response.
+	 *
+	 * @param request the {@code ClientRequest}
+	 * @param next the next {@code ExchangeFunction}
+	 * @param bucket the {@code TokenBucket}
+	 * @param response the {@code ClientResponse}
+	 * @param attempt the number of previous attempts rejected with {@code 429}
+	 * @return a {@code Mono} for the {@code ClientResponse}, or for the response of a retry
+	 */
+	protected Mono<ClientResponse> onResponse(ClientRequest request, ExchangeFunction next, TokenBucket bucket, ClientResponse response, int attempt) {
+		HttpHeaders headers = response.headers().asHttpHeaders();
+		long now = System.currentTimeMillis();
+		Long remaining = getLong(headers, REMAINING_HEADERS);
+		if (remaining!=null) {
+			Long reset = getLong(headers, RESET_HEADERS);
+			bucket.updateRemaining(remaining, reset!=null ? toTime(reset, now) : -1);
+		}
+		HttpStatus status = response.statusCode();
+		if (status==HttpStatus.TOO_MANY_REQUESTS || status==HttpStatus.SERVICE_UNAVAILABLE) {
+			long retryAfter = getRetryAfter(headers, now);
+			if (retryAfter>0) {
+				bucket.pauseUntil(retryAfter);
+			}
+			if (status==HttpStatus.TOO_MANY_REQUESTS) {
+				throttled.incrementAndGet();
+				if (attempt==0 && Boolean.TRUE.equals(config.getDelay()) && isIdempotent(request.method())) {
+					return response.releaseBody().then(Mono.defer(() -> filter(request, next, attempt + 1)));
+				}
+			}
+		}
+		return Mono.just(response);
+	}
+
+	//
+	// Buckets
+	//
+
+	/**
+	 * Get the name of the endpoint group of a request.
+	 *
+	 * @param request the {@code ClientRequest}
+	 * @return the group name, or {@link #DEFAULT_GROUP}
+	 */
+	protected String getGroup(ClientRequest request) {
+		String path = request.url().getPath();
+		if (path!=null) {
+			for (Map.Entry<String, String[]> e: paths.entrySet()) {
+				for (String prefix: e.getValue()) {
+					if (prefix!=null && path.startsWith(prefix)) {
+						return e.getKey();
+					}
+				}
+			}
+		}
+		return DEFAULT_GROUP;
+	}
+
+	/**
+	 * Get the {@code TokenBucket} of an endpoint group, creating it on first use.
+	 *
+	 * @param group the group name
+	 * @return the {@code TokenBucket}
+	 */
+	public TokenBucket getBucket(String group) {
+		return buckets.computeIfAbsent(group, this::makeBucket);
+	}
+
+	/**
+	 * Make the {@code TokenBucket} for an endpoint group.
+	 *
+	 * @param group the group name
+	 * @return the {@code TokenBucket}
+	 */
+	protected TokenBucket makeBucket(String group) {
+		Double rate = config.getRate();
+		Integer burst = config.getBurst();
+		RateLimitGroupConfiguration groupConfig = config.getGroups()!=null ? config.getGroups().get(group) : null;
+		if (groupConfig!=null) {
+			if (groupConfig.getRate()!=null) {
+				rate = groupConfig.getRate();
+			}
+			if (groupConfig.getBurst()!=null) {
+				burst = groupConfig.getBurst();
+			}
+		}
+		return new TokenBucket(group, rate!=null && rate>0 ? rate : ReactiveRateLimitConfiguration.DEFAULT_RATE,
+				burst!=null ? burst : ReactiveRateLimitConfiguration.DEFAULT_BURST);
+	}
+
+	//
+	// Metrics
+	//
+
+	/**
+	 * Get the number of requests waiting for a permit.
+	 *
+	 * @return the queue depth
+	 */
+	public int getQueueDepth() {
+		int depth = 0;
+		for (AtomicInteger counter: queued.values()) {
+			depth += counter.get();
+		}
+		return depth;
+	}
+
+	/**
+	 * Get the number of requests of an endpoint group waiting for a permit.
+	 *
+	 * @param group the group name
+	 * @return the queue depth
+	 */
+	public int getQueueDepth(String group) {
+		AtomicInteger counter = queued.get(group);
+		return counter!=null ? counter.get() : 0;
+	}
+
+	/**
+	 * Get the names of the endpoint groups with a bucket.
+	 *
+	 * @return the group names
+	 */
+	public List<String> getGroups() {
+		return new ArrayList<>(buckets.keySet());
+	}
+
+	/**
+	 * Get the number of requests rejected by the limiter.
+	 *
+	 * @return the number of rejected requests
+	 */
+	public long getRejected() {
+		return rejected.get();
+	}
+
+	/**
+	 * Get the number of {@code 429} responses received.
+	 *
+	 * @return the number of throttled responses
+	 */
+	public long getThrottled() {
+		return throttled.get();
+	}
+
+	//
+	// Headers
+	//
+
+	private static long getRetryAfter(HttpHeaders headers, long now) {
+		String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+		if (value==null) {
+			return -1;
+		}
+		try {
+			return now + Long.parseLong(value.trim()) * 1000;
+		} catch (NumberFormatException e) {
+			//not delta-seconds, try HTTP-date
+		}
+		try {
+			return headers.getFirstDate(HttpHeaders.RETRY_AFTER);
+		} catch (IllegalArgumentException e) {
+			return -1;
+		}
+	}
+
+	private static Long getLong(HttpHeaders headers, String[] names) {
+		for (String name: names) {
+			String value = headers.getFirst(name);
+			if (value!=null) {
+				try {
+					return Long.parseLong(value.trim());
+				} catch (NumberFormatException e) {
+					return null;
+				}
+			}
+		}
+		return null;
+	}
+
+	private static long toTime(long reset, long now) {
+		return reset>=EPOCH_SECONDS_THRESHOLD ? reset * 1000 : now + reset * 1000;
+	}
+
+	private static boolean isIdempotent(HttpMethod method) {
+		return method==HttpMethod.GET || method==HttpMethod.HEAD || method==HttpMethod.OPTIONS;
+	}
+
+}
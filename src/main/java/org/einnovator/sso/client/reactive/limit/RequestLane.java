@@ -0,0 +1,53 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.limit;
+
+import java.util.function.Function;
+
+import reactor.util.context.Context;
+
+/**
+ * Class of requests to the SSO server, each served by a separate connection pool and concurrency share.
+ *
+ * <p>The lane of a request is set in the {@code SsoReactiveClientContext}, or in the Reactor {@code Context}
+ * of the subscription with {@link #context(RequestLane)}:
+ * <pre>
+ * client.listUsersFlux(filter, pageable, null).subscriberContext(RequestLane.context(RequestLane.BACKGROUND))
+ * </pre>
+ *
+ * @author support@einnovator.org
+ */
+public enum RequestLane {
+
+	/**
+	 * User-facing requests (e.g. login, user lookup). The default.
+	 */
+	INTERACTIVE,
+
+	/**
+	 * Batch and sync jobs, change feed, cache preload.
+	 */
+	BACKGROUND,
+
+	/**
+	 * Admin requests.
+	 */
+	ADMIN;
+
+	/**
+	 * Key of the lane in the Reactor {@code Context}.
+	 */
+	public static final String CONTEXT_KEY = RequestLane.class.getName();
+
+	/**
+	 * Get a function that sets the lane in a Reactor {@code Context}.
+	 *
+	 * @param lane the {@code RequestLane}
+	 * @return the function, to use with {@code subscriberContext()}
+	 */
+	public static Function<Context, Context> context(RequestLane lane) {
+		return ctx -> ctx.put(CONTEXT_KEY, lane);
+	}
+
+}
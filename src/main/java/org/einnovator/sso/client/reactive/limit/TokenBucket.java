@@ -0,0 +1,135 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.limit;
+
+/**
+ * A token bucket rate limiter, with reservation of future permits.
+ *
+ * <p>The bucket holds up to {@code burst} permits, refilled at {@code rate} permits per second.
+ * {@link #reserve()} always takes a permit, letting the balance go negative, and returns how long the caller
+ * must wait before using it. So waiting callers are served in order, and the wait reflects the queue ahead.
+ * <p>The bucket can also be paused (e.g. on a {@code Retry-After} from the server) or drained to match
+ * the remaining quota advertised by the server.
+ *
+ * @author support@einnovator.org
+ */
+public class TokenBucket {
+
+	private final String name;
+
+	private final double rate;
+
+	private final int burst;
+
+	private double tokens;
+
+	private long lastRefill;
+
+	private long pausedUntil;
+
+	/**
+	 * Create instance of {@code TokenBucket}.
+	 *
+	 * @param name the name of the bucket
+	 * @param rate the refill rate (permits per second)
+	 * @param burst the maximum number of permits
+	 */
+	public TokenBucket(String name, double rate, int burst) {
+		this.name = name;
+		this.rate = rate;
+		this.burst = Math.max(1, burst);
+		this.tokens = this.burst;
+		this.lastRefill = System.nanoTime();
+	}
+
+	/**
+	 * Get the value of property {@code name}.
+	 *
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Get the value of property {@code rate}.
+	 *
+	 * @return the rate (permits per second)
+	 */
+	public double getRate() {
+		return rate;
+	}
+
+	/**
+	 * Get the value of property {@code burst}.
+	 *
+	 * @return the burst
+	 */
+	public int getBurst() {
+		return burst;
+	}
+
+	/**
+	 * Reserve a permit.
+	 *
+	 * @return the time to wait before using the permit (milliseconds), zero if available now
+	 */
+	public synchronized long reserve() {
+		refill();
+		tokens -= 1;
+		long wait = tokens>=0 ? 0 : (long) Math.ceil(-tokens * 1000 / rate);
+		long pause = pausedUntil - System.currentTimeMillis();
+		return Math.max(wait, pause);
+	}
+
+	/**
+	 * Give back a permit reserved with {@link #reserve()} and not used.
+	 *
+	 */
+	public synchronized void cancel() {
+		tokens = Math.min(burst, tokens + 1);
+	}
+
+	/**
+	 * Stop granting permits until a given time.
+	 *
+	 * @param until the time (milliseconds since epoch)
+	 */
+	public synchronized void pauseUntil(long until) {
+		pausedUntil = Math.max(pausedUntil, until);
+	}
+
+	/**
+	 * Adjust the available permits to the remaining quota reported by the server.
+	 *
+	 * @param remaining the number of remaining requests in the server quota
+	 * @param resetAt the time the server quota is reset (milliseconds since epoch), or a negative number if unknown
+	 */
+	public synchronized void updateRemaining(long remaining, long resetAt) {
+		refill();
+		if (remaining<=0 && resetAt>0) {
+			pauseUntil(resetAt);
+		}
+		if (remaining<tokens) {
+			tokens = Math.max(0, remaining);
+		}
+	}
+
+	/**
+	 * Get the number of available permits (negative if permits are reserved ahead).
+	 *
+	 * @return the number of permits
+	 */
+	public synchronized double getAvailable() {
+		refill();
+		return tokens;
+	}
+
+	private void refill() {
+		long now = System.nanoTime();
+		tokens = Math.min(burst, tokens + (now - lastRefill) * rate / 1e9);
+		lastRefill = now;
+	}
+
+}
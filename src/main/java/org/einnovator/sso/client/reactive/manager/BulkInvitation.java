@@ -0,0 +1,241 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.manager;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.einnovator.sso.client.model.Invitation;
+import org.einnovator.sso.client.modelx.InvitationOptions;
+import org.einnovator.sso.client.reactive.SsoReactiveClient;
+import org.einnovator.sso.client.reactive.config.SsoReactiveClientContext;
+import org.einnovator.sso.client.reactive.limit.RequestLane;
+import org.einnovator.sso.client.reactive.model.InvitationResult;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bulk sending of {@code Invitation}s.
+ *
+ * <p>Each {@code Invitation} is created and its token generated in one pipeline, with up to {@code concurrency} {@code Invitation}s in flight.
+ * Results are emitted in input order, as {@code InvitationResult}s with the token {@code URI} or the error, so one failure does not stop the others.
+ * Input is requested as results are consumed, so a slow subscriber slows down sending.
+ * <p>The index of the last result emitted is kept as {@link #getLastAcknowledged()}. After an interruption, {@link #resume(Flux)}
+ * sends again the same input, skipping the {@code Invitation}s already acknowledged. Failed {@code Invitation}s are
+ * acknowledged too, so they are not retried by {@link #resume(Flux)}: retry them from their {@code InvitationResult}s.
+ * Requests are sent in the {@code BACKGROUND} {@code RequestLane}, unless a lane is set in the context.
+ *
+ * @author support@einnovator.org
+ */
+public class BulkInvitation {
+
+	public static final int DEFAULT_CONCURRENCY = 8;
+
+	private final SsoReactiveClient client;
+
+	private final InvitationOptions options;
+
+	private final SsoReactiveClientContext context;
+
+	private int concurrency = DEFAULT_CONCURRENCY;
+
+	private final AtomicLong lastAcknowledged = new AtomicLong(-1);
+
+	private final AtomicLong submitted = new AtomicLong();
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	private final AtomicLong succeeded = new AtomicLong();
+
+	private final AtomicLong failed = new AtomicLong();
+
+	/**
+	 * Create instance of {@code BulkInvitation}.
+	 *
+	 * @param client the {@code SsoReactiveClient}
+	 * @param options optional {@code InvitationOptions}
+	 * @param context optional {@code SsoReactiveClientContext}
+	 */
+	public BulkInvitation(SsoReactiveClient client, InvitationOptions options, SsoReactiveClientContext context) {
+		this.client = client;
+		this.options = options;
+		this.context = context;
+	}
+
+	/**
+	 * Get the value of property {@code concurrency}.
+	 *
+	 * @return the concurrency
+	 */
+	public int getConcurrency() {
+		return concurrency;
+	}
+
+	/**
+	 * Set the value of property {@code concurrency}.
+	 *
+	 * @param concurrency the value of property concurrency
+	 */
+	public void setConcurrency(int concurrency) {
+		this.concurrency = Math.max(1, concurrency);
+	}
+
+	/**
+	 * Set the value of property {@code concurrency}.
+	 *
+	 * @param concurrency the value of property concurrency
+	 * @return this {@code BulkInvitation}
+	 */
+	public BulkInvitation withConcurrency(int concurrency) {
+		setConcurrency(concurrency);
+		return this;
+	}
+
+	//
+	// Sending
+	//
+
+	/**
+	 * Send {@code Invitation}s.
+	 *
+	 * @param invitations the {@code Invitation}s
+	 * @return a {@code Flux} for the {@code InvitationResult}s, in input order
+	 */
+	public Flux<InvitationResult> invite(Flux<Invitation> invitations) {
+		return invite(invitations, -1);
+	}
+
+	/**
+	 * Send {@code Invitation}s again, skipping those up to the last acknowledged.
+	 *
+	 * <p>Skipped {@code Invitation}s include those that failed, as their results were emitted.
+	 *
+	 * @param invitations the same {@code Invitation}s given before
+	 * @return a {@code Flux} for the {@code InvitationResult}s of the {@code Invitation}s not acknowledged yet, in input order
+	 */
+	public Flux<InvitationResult> resume(Flux<Invitation> invitations) {
+		return Flux.defer(() -> invite(invitations, lastAcknowledged.get()));
+	}
+
+	/**
+	 * Send {@code Invitation}s, skipping those up to a given index.
+	 *
+	 * @param invitations the {@code Invitation}s
+	 * @param after the index of the last {@code Invitation} to skip, or -1 to skip none
+	 * @return a {@code Flux} for the {@code InvitationResult}s, in input order
+	 */
+	public Flux<InvitationResult> invite(Flux<Invitation> invitations, long after) {
+		return invitations.index()
+			.filter(indexed -> indexed.getT1()>after)
+			.flatMapSequential(indexed -> send(indexed.getT1(), indexed.getT2()), concurrency, 1)
+			.doOnNext(result -> lastAcknowledged.set(result.getIndex()))
+			.subscriberContext(RequestLane.context(RequestLane.BACKGROUND));
+	}
+
+	/**
+	 * Create an {@code Invitation} and generate its token.
+	 *
+	 * <p>If the server sends no location for the created {@code Invitation}, the token is generated for the UUID
+	 * set in the {@code Invitation}, if any.
+	 *
+	 * @param index the index of the {@code Invitation} in input
+	 * @param invitation the {@code Invitation}
+	 * @return a {@code Mono} for the {@code InvitationResult}
+	 */
+	protected Mono<InvitationResult> send(long index, Invitation invitation) {
+		return Mono.defer(() -> client.invite(invitation, options, context))
+			.map(Optional::of)
+			.defaultIfEmpty(Optional.empty())
+			.flatMap(optional -> {
+				URI location = optional.orElse(null);
+				String id = getId(invitation, location);
+				if (id==null) {
+					return Mono.just(new InvitationResult(index, invitation, null, null, new IllegalStateException("Missing location of created Invitation")));
+				}
+				return Mono.defer(() -> client.getInvitationToken(id, options, context))
+					.map(token -> new InvitationResult(index, invitation, location, token, null))
+					.onErrorResume(e -> Mono.just(new InvitationResult(index, invitation, location, null, e)));
+			})
+			.onErrorResume(e -> Mono.just(new InvitationResult(index, invitation, null, null, e)))
+			.doOnNext(result -> (result.isSuccess() ? succeeded : failed).incrementAndGet())
+			.doOnSubscribe(subscription -> {
+				submitted.incrementAndGet();
+				inFlight.incrementAndGet();
+			})
+			.doFinally(signal -> inFlight.decrementAndGet());
+	}
+
+	/**
+	 * Get the identifier of a created {@code Invitation}.
+	 *
+	 * @param invitation the {@code Invitation}
+	 * @param location the location {@code URI} of the created {@code Invitation}, or null if not available
+	 * @return the identifier (UUID), or null if not available
+	 */
+	protected String getId(Invitation invitation, URI location) {
+		if (invitation.getUuid()!=null) {
+			return invitation.getUuid();
+		}
+		if (location==null) {
+			return null;
+		}
+		List<String> segments = UriComponentsBuilder.fromUri(location).build().getPathSegments();
+		return !segments.isEmpty() ? segments.get(segments.size() - 1) : null;
+	}
+
+	//
+	// Metrics
+	//
+
+	/**
+	 * Get the index of the last {@code InvitationResult} emitted.
+	 *
+	 * @return the index, or -1 if none
+	 */
+	public long getLastAcknowledged() {
+		return lastAcknowledged.get();
+	}
+
+	/**
+	 * Get the number of {@code Invitation}s submitted.
+	 *
+	 * @return the number of {@code Invitation}s
+	 */
+	public long getSubmitted() {
+		return submitted.get();
+	}
+
+	/**
+	 * Get the number of {@code Invitation}s in flight.
+	 *
+	 * @return the number of {@code Invitation}s
+	 */
+	public int getInFlight() {
+		return inFlight.get();
+	}
+
+	/**
+	 * Get the number of {@code Invitation}s created with token.
+	 *
+	 * @return the number of {@code Invitation}s
+	 */
+	public long getSucceeded() {
+		return succeeded.get();
+	}
+
+	/**
+	 * Get the number of {@code Invitation}s that failed.
+	 *
+	 * @return the number of {@code Invitation}s
+	 */
+	public long getFailed() {
+		return failed.get();
+	}
+
+}
@@ -0,0 +1,488 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.manager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.einnovator.sso.client.model.Group;
+import org.einnovator.sso.client.reactive.SsoReactiveClient;
+import org.einnovator.sso.client.reactive.config.SsoReactiveClientContext;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A client-side index of a {@code Group} hierarchy.
+ *
+ * <p>The hierarchy is expanded level by level from a root {@code Group}, listing the direct sub-groups of all
+ * {@code Group}s in a level concurrently (up to {@link #getParallelism()} requests in flight).
+ * <p>Parent/child links are kept in compact arrays indexed by interned {@code Group} identifiers,
+ * so ancestor, descendant and path queries are answered in memory.
+ * <p>Queries run against an immutable snapshot, so they never block and never see a partially refreshed tree.
+ * A sub-tree can be refreshed with {@link #refresh(String)} without reloading the whole hierarchy.
+ *
+ * @author support@einnovator.org
+ */
+public class GroupTree {
+
+	public static final int DEFAULT_PARALLELISM = 8;
+
+	private final SsoReactiveClient client;
+
+	private final String rootId;
+
+	private SsoReactiveClientContext context;
+
+	private int parallelism = DEFAULT_PARALLELISM;
+
+	private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+	/**
+	 * Create instance of {@code GroupTree}.
+	 *
+	 * @param client the {@code SsoReactiveClient}
+	 * @param rootId the identifier of the root {@code Group}
+	 */
+	public GroupTree(SsoReactiveClient client, String rootId) {
+		this.client = client;
+		this.rootId = rootId;
+	}
+
+	/**
+	 * Get the value of property {@code rootId}.
+	 *
+	 * @return the rootId
+	 */
+	public String getRootId() {
+		return rootId;
+	}
+
+	/**
+	 * Get the value of property {@code context}.
+	 *
+	 * @return the context
+	 */
+	public SsoReactiveClientContext getContext() {
+		return context;
+	}
+
+	/**
+	 * Set the value of property {@code context}.
+	 *
+	 * @param context the value of property context
+	 */
+	public void setContext(SsoReactiveClientContext context) {
+		this.context = context;
+	}
+
+	/**
+	 * Get the value of property {@code parallelism}.
+	 *
+	 * @return the parallelism
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Set the value of property {@code parallelism}.
+	 *
+	 * @param parallelism the value of property parallelism
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	//
+	// Loading
+	//
+
+	/**
+	 * Load the whole hierarchy below the root {@code Group}.
+	 *
+	 * @return a {@code Mono} for this {@code GroupTree}, emitted once loaded
+	 */
+	public Mono<GroupTree> load() {
+		return client.getGroupMono(rootId, null, context)
+			.flatMap(root -> {
+				Builder builder = new Builder();
+				builder.add(null, root);
+				return expand(builder, Collections.singletonList(root.getId()))
+					.then(Mono.fromRunnable(() -> this.snapshot = builder.build()));
+			})
+			.thenReturn(this);
+	}
+
+	/**
+	 * Reload the sub-tree below specified {@code Group}, keeping the remaining of the hierarchy.
+	 *
+	 * <p>If the {@code Group} is not in the tree, the whole hierarchy is reloaded.
+	 *
+	 * @param groupId the identifier of the {@code Group}
+	 * @return a {@code Mono} for this {@code GroupTree}, emitted once refreshed
+	 */
+	public Mono<GroupTree> refresh(String groupId) {
+		Snapshot snapshot = this.snapshot;
+		int i = snapshot.indexOf(groupId);
+		if (i<0) {
+			return load();
+		}
+		return Mono.defer(() -> {
+			Builder builder = new Builder(snapshot, i);
+			return expand(builder, Collections.singletonList(groupId))
+				.then(Mono.fromRunnable(() -> this.snapshot = builder.build()));
+		}).thenReturn(this);
+	}
+
+	/**
+	 * Expand the hierarchy level by level, starting from specified {@code Group}s.
+	 *
+	 * @param builder the {@code Builder} to collect links
+	 * @param level the identifiers of the {@code Group}s in current level
+	 * @return a {@code Mono} that completes when all levels are expanded
+	 */
+	protected Mono<Void> expand(Builder builder, List<String> level) {
+		if (level.isEmpty()) {
+			return Mono.empty();
+		}
+		return Flux.fromIterable(level)
+			.flatMap(parentId -> client.listSubGroupsFlux(parentId, true, null, null, context)
+					.map(group -> new Link(parentId, group)), parallelism)
+			.collectList()
+			.flatMap(links -> {
+				List<String> next = new ArrayList<>(links.size());
+				for (Link link: links) {
+					if (builder.add(link.parentId, link.group)) {
+						next.add(link.group.getId());
+					}
+				}
+				return expand(builder, next);
+			});
+	}
+
+	//
+	// Queries
+	//
+
+	/**
+	 * Get the number of {@code Group}s in the tree.
+	 *
+	 * @return the number of {@code Group}s
+	 */
+	public int size() {
+		return snapshot.size;
+	}
+
+	/**
+	 * Check if a {@code Group} is in the tree.
+	 *
+	 * @param groupId the {@code Group} identifier
+	 * @return true if in the tree
+	 */
+	public boolean contains(String groupId) {
+		return snapshot.indexOf(groupId)>=0;
+	}
+
+	/**
+	 * Get a {@code Group} in the tree.
+	 *
+	 * @param groupId the {@code Group} identifier
+	 * @return the {@code Group}, or null if not in the tree
+	 */
+	public Group getGroup(String groupId) {
+		Snapshot snapshot = this.snapshot;
+		int i = snapshot.indexOf(groupId);
+		return i>=0 ? snapshot.groups[i] : null;
+	}
+
+	/**
+	 * Get the identifier of the parent of a {@code Group}.
+	 *
+	 * @param groupId the {@code Group} identifier
+	 * @return the parent identifier, or null if root or not in the tree
+	 */
+	public String getParent(String groupId) {
+		Snapshot snapshot = this.snapshot;
+		int i = snapshot.indexOf(groupId);
+		return i>=0 && snapshot.parent[i]>=0 ? snapshot.ids[snapshot.parent[i]] : null;
+	}
+
+	/**
+	 * Get the identifiers of the direct sub-groups of a {@code Group}.
+	 *
+	 * @param groupId the {@code Group} identifier
+	 * @return the list of identifiers
+	 */
+	public List<String> getChildren(String groupId) {
+		Snapshot snapshot = this.snapshot;
+		int i = snapshot.indexOf(groupId);
+		if (i<0) {
+			return Collections.emptyList();
+		}
+		List<String> children = new ArrayList<>(snapshot.childStart[i+1] - snapshot.childStart[i]);
+		for (int k = snapshot.childStart[i]; k<snapshot.childStart[i+1]; k++) {
+			children.add(snapshot.ids[snapshot.children[k]]);
+		}
+		return children;
+	}
+
+	/**
+	 * Get the identifiers of the ancestors of a {@code Group}, nearest first.
+	 *
+	 * @param groupId the {@code Group} identifier
+	 * @return the list of identifiers
+	 */
+	public List<String> getAncestors(String groupId) {
+		Snapshot snapshot = this.snapshot;
+		int i = snapshot.indexOf(groupId);
+		if (i<0) {
+			return Collections.emptyList();
+		}
+		List<String> ancestors = new ArrayList<>(snapshot.depth[i]);
+		for (int p = snapshot.parent[i]; p>=0; p = snapshot.parent[p]) {
+			ancestors.add(snapshot.ids[p]);
+		}
+		return ancestors;
+	}
+
+	/**
+	 * Get the path from the root to a {@code Group}, both included.
+	 *
+	 * @param groupId the {@code Group} identifier
+	 * @return the list of identifiers, empty if not in the tree
+	 */
+	public List<String> getPath(String groupId) {
+		if (!contains(groupId)) {
+			return Collections.emptyList();
+		}
+		List<String> path = getAncestors(groupId);
+		Collections.reverse(path);
+		path.add(groupId);
+		return path;
+	}
+
+	/**
+	 * Get the identifiers of all descendants of a {@code Group}, in breadth-first order.
+	 *
+	 * @param groupId the {@code Group} identifier
+	 * @return the list of identifiers
+	 */
+	public List<String> getDescendants(String groupId) {
+		Snapshot snapshot = this.snapshot;
+		int i = snapshot.indexOf(groupId);
+		if (i<0) {
+			return Collections.emptyList();
+		}
+		int[] queue = snapshot.descendants(i);
+		List<String> descendants = new ArrayList<>(queue.length);
+		for (int d: queue) {
+			descendants.add(snapshot.ids[d]);
+		}
+		return descendants;
+	}
+
+	/**
+	 * Check if a {@code Group} is an ancestor of another.
+	 *
+	 * @param ancestorId the identifier of the candidate ancestor
+	 * @param groupId the {@code Group} identifier
+	 * @return true if {@code ancestorId} is a (strict) ancestor of {@code groupId}
+	 */
+	public boolean isAncestor(String ancestorId, String groupId) {
+		Snapshot snapshot = this.snapshot;
+		int a = snapshot.indexOf(ancestorId);
+		int i = snapshot.indexOf(groupId);
+		if (a<0 || i<0 || snapshot.depth[a]>=snapshot.depth[i]) {
+			return false;
+		}
+		for (int p = snapshot.parent[i]; p>=0; p = snapshot.parent[p]) {
+			if (p==a) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Get the depth of a {@code Group} in the tree.
+	 *
+	 * @param groupId the {@code Group} identifier
+	 * @return the depth (0 for root), or -1 if not in the tree
+	 */
+	public int getDepth(String groupId) {
+		Snapshot snapshot = this.snapshot;
+		int i = snapshot.indexOf(groupId);
+		return i>=0 ? snapshot.depth[i] : -1;
+	}
+
+	//
+	// Internal
+	//
+
+	private static class Link {
+
+		private final String parentId;
+
+		private final Group group;
+
+		Link(String parentId, Group group) {
+			this.parentId = parentId;
+			this.group = group;
+		}
+
+	}
+
+	/**
+	 * Mutable collector of links, compiled into an immutable {@code Snapshot}.
+	 */
+	private static class Builder {
+
+		private final Map<String, Group> groups = new LinkedHashMap<>();
+
+		private final Map<String, String> parents = new HashMap<>();
+
+		Builder() {
+		}
+
+		/**
+		 * Create a builder with all links of a snapshot, except those below the {@code Group} at index {@code exclude}.
+		 */
+		Builder(Snapshot snapshot, int exclude) {
+			boolean[] excluded = new boolean[snapshot.size];
+			for (int d: snapshot.descendants(exclude)) {
+				excluded[d] = true;
+			}
+			for (int i = 0; i<snapshot.size; i++) {
+				if (!excluded[i]) {
+					groups.put(snapshot.ids[i], snapshot.groups[i]);
+					if (snapshot.parent[i]>=0) {
+						parents.put(snapshot.ids[i], snapshot.ids[snapshot.parent[i]]);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Add a link, ignoring {@code Group}s already seen (guard against cycles).
+		 */
+		boolean add(String parentId, Group group) {
+			String id = group.getId();
+			if (id==null || groups.containsKey(id)) {
+				return false;
+			}
+			groups.put(id, group);
+			if (parentId!=null) {
+				parents.put(id, parentId);
+			}
+			return true;
+		}
+
+		Snapshot build() {
+			int n = groups.size();
+			String[] ids = new String[n];
+			Group[] groups = new Group[n];
+			Map<String, Integer> index = new HashMap<>(n * 2);
+			int i = 0;
+			for (Map.Entry<String, Group> e: this.groups.entrySet()) {
+				ids[i] = e.getKey();
+				groups[i] = e.getValue();
+				index.put(e.getKey(), i);
+				i++;
+			}
+			int[] parent = new int[n];
+			int[] childStart = new int[n+1];
+			for (i = 0; i<n; i++) {
+				String parentId = parents.get(ids[i]);
+				Integer p = parentId!=null ? index.get(parentId) : null;
+				parent[i] = p!=null ? p : -1;
+				if (parent[i]>=0) {
+					childStart[parent[i]+1]++;
+				}
+			}
+			for (i = 0; i<n; i++) {
+				childStart[i+1] += childStart[i];
+			}
+			int[] children = new int[childStart[n]];
+			int[] fill = Arrays.copyOf(childStart, n);
+			for (i = 0; i<n; i++) {
+				if (parent[i]>=0) {
+					children[fill[parent[i]]++] = i;
+				}
+			}
+			int[] depth = new int[n];
+			for (i = 0; i<n; i++) {
+				int d = 0;
+				for (int p = parent[i]; p>=0 && d<=n; p = parent[p]) {
+					d++;
+				}
+				depth[i] = d;
+			}
+			return new Snapshot(ids, groups, index, parent, childStart, children, depth);
+		}
+
+	}
+
+	/**
+	 * Immutable compact representation of the tree.
+	 */
+	private static class Snapshot {
+
+		static final Snapshot EMPTY = new Snapshot(new String[0], new Group[0], Collections.<String, Integer>emptyMap(), new int[0], new int[1], new int[0], new int[0]);
+
+		private final int size;
+
+		private final String[] ids;
+
+		private final Group[] groups;
+
+		private final Map<String, Integer> index;
+
+		private final int[] parent;
+
+		private final int[] childStart;
+
+		private final int[] children;
+
+		private final int[] depth;
+
+		Snapshot(String[] ids, Group[] groups, Map<String, Integer> index, int[] parent, int[] childStart, int[] children, int[] depth) {
+			this.size = ids.length;
+			this.ids = ids;
+			this.groups = groups;
+			this.index = index;
+			this.parent = parent;
+			this.childStart = childStart;
+			this.children = children;
+			this.depth = depth;
+		}
+
+		int indexOf(String id) {
+			Integer i = id!=null ? index.get(id) : null;
+			return i!=null ? i : -1;
+		}
+
+		int[] descendants(int i) {
+			int[] queue = new int[size];
+			int head = 0, tail = 0;
+			for (int k = childStart[i]; k<childStart[i+1]; k++) {
+				queue[tail++] = children[k];
+			}
+			while (head<tail) {
+				int c = queue[head++];
+				for (int k = childStart[c]; k<childStart[c+1]; k++) {
+					queue[tail++] = children[k];
+				}
+			}
+			return Arrays.copyOf(queue, tail);
+		}
+
+	}
+
+}
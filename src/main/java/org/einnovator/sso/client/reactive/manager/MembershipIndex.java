@@ -0,0 +1,443 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.manager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.einnovator.sso.client.model.Group;
+import org.einnovator.sso.client.model.Member;
+import org.einnovator.sso.client.reactive.SsoReactiveClient;
+import org.einnovator.sso.client.reactive.config.SsoReactiveClientContext;
+import org.einnovator.sso.client.reactive.event.SsoChangeEvent;
+import org.einnovator.sso.client.reactive.event.SsoChangeListener;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory bidirectional index of {@code Group} memberships ({@code User} to {@code Group}s, and {@code Group} to members).
+ *
+ * <p>{@code User} and {@code Group} identifiers are interned to small integers, and each relation is kept
+ * as a {@code BitSet} over the interned identifiers of the other side, so membership checks are O(1) and need no network calls.
+ * <p>Relations are loaded per {@code Group} (with {@link #loadGroup(String)}) or per {@code User} (with {@link #loadUser(String)}).
+ * A membership is known if either side was loaded. Memberships added or removed through the same {@code SsoReactiveClient}
+ * are applied as deltas to the index.
+ * <p>{@code User}s are identified by username, as in {@link SsoReactiveClient#addMemberToGroup(String, String, org.einnovator.util.web.RequestOptions, SsoReactiveClientContext)}.
+ *
+ * @author support@einnovator.org
+ */
+public class MembershipIndex implements SsoChangeListener {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private final SsoReactiveClient client;
+
+	private SsoReactiveClientContext context;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final Map<String, Integer> userIndex = new HashMap<>();
+
+	private final Map<String, Integer> groupIndex = new HashMap<>();
+
+	private String[] users = new String[INITIAL_CAPACITY];
+
+	private String[] groups = new String[INITIAL_CAPACITY];
+
+	private BitSet[] groupsOfUser = new BitSet[INITIAL_CAPACITY];
+
+	private BitSet[] membersOfGroup = new BitSet[INITIAL_CAPACITY];
+
+	private final BitSet loadedUsers = new BitSet();
+
+	private final BitSet loadedGroups = new BitSet();
+
+	/**
+	 * Create instance of {@code MembershipIndex}, and register it as listener of changes in {@code client}.
+	 *
+	 * @param client the {@code SsoReactiveClient}
+	 */
+	public MembershipIndex(SsoReactiveClient client) {
+		this.client = client;
+		client.addChangeListener(this);
+	}
+
+	/**
+	 * Get the value of property {@code context}.
+	 *
+	 * @return the context
+	 */
+	public SsoReactiveClientContext getContext() {
+		return context;
+	}
+
+	/**
+	 * Set the value of property {@code context}.
+	 *
+	 * @param context the value of property context
+	 */
+	public void setContext(SsoReactiveClientContext context) {
+		this.context = context;
+	}
+
+	//
+	// Loading
+	//
+
+	/**
+	 * Load (or reload) the members of a {@code Group}.
+	 *
+	 * @param groupId the {@code Group} identifier
+	 * @return a {@code Mono} that completes when loaded
+	 */
+	public Mono<Void> loadGroup(String groupId) {
+		return client.listGroupMembersFlex(groupId, null, null, context)
+			.map(this::getUsername)
+			.collectList()
+			.doOnNext(usernames -> setMembers(groupId, usernames))
+			.then();
+	}
+
+	/**
+	 * Load (or reload) the members of several {@code Group}s concurrently.
+	 *
+	 * @param groupIds the {@code Group} identifiers
+	 * @param concurrency max number of {@code Group}s loaded concurrently
+	 * @return a {@code Mono} that completes when all loaded
+	 */
+	public Mono<Void> loadGroups(Collection<String> groupIds, int concurrency) {
+		return Flux.fromIterable(groupIds)
+			.flatMap(this::loadGroup, concurrency)
+			.then();
+	}
+
+	/**
+	 * Load (or reload) the {@code Group}s a {@code User} is member of.
+	 *
+	 * @param userId the username
+	 * @return a {@code Mono} that completes when loaded
+	 */
+	public Mono<Void> loadUser(String userId) {
+		return client.listGroupsForUserFlux(userId, null, null, context)
+			.map(Group::getId)
+			.collectList()
+			.doOnNext(groupIds -> setGroups(userId, groupIds))
+			.then();
+	}
+
+	/**
+	 * Get the username of a {@code Member}.
+	 *
+	 * @param member the {@code Member}
+	 * @return the username (empty string if not available)
+	 */
+	protected String getUsername(Member member) {
+		return member.getUser()!=null && member.getUser().getUsername()!=null ? member.getUser().getUsername() : "";
+	}
+
+	//
+	// Queries
+	//
+
+	/**
+	 * Check if a {@code User} is member of a {@code Group}, using only local data.
+	 *
+	 * @param userId the username
+	 * @param groupId the {@code Group} identifier
+	 * @return true or false if known, or null if neither the {@code User} nor the {@code Group} was loaded
+	 */
+	public Boolean isMember(String userId, String groupId) {
+		lock.readLock().lock();
+		try {
+			Integer u = userIndex.get(userId);
+			Integer g = groupIndex.get(groupId);
+			boolean userLoaded = u!=null && loadedUsers.get(u);
+			boolean groupLoaded = g!=null && loadedGroups.get(g);
+			if (!userLoaded && !groupLoaded) {
+				return null;
+			}
+			return u!=null && g!=null && groupsOfUser[u]!=null && groupsOfUser[u].get(g);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Check if a {@code User} is member of a {@code Group}, loading the {@code User} memberships if not known.
+	 *
+	 * @param userId the username
+	 * @param groupId the {@code Group} identifier
+	 * @return a {@code Mono} for the result
+	 */
+	public Mono<Boolean> isMemberMono(String userId, String groupId) {
+		Boolean member = isMember(userId, groupId);
+		if (member!=null) {
+			return Mono.just(member);
+		}
+		return loadUser(userId).then(Mono.fromCallable(() -> Boolean.TRUE.equals(isMember(userId, groupId))));
+	}
+
+	/**
+	 * Get the identifiers of the {@code Group}s a {@code User} is known to be member of.
+	 *
+	 * @param userId the username
+	 * @return the set of {@code Group} identifiers
+	 */
+	public Set<String> getGroups(String userId) {
+		lock.readLock().lock();
+		try {
+			Integer u = userIndex.get(userId);
+			return u!=null ? toSet(groupsOfUser[u], groups) : Collections.<String>emptySet();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Get the usernames of the known members of a {@code Group}.
+	 *
+	 * @param groupId the {@code Group} identifier
+	 * @return the set of usernames
+	 */
+	public Set<String> getMembers(String groupId) {
+		lock.readLock().lock();
+		try {
+			Integer g = groupIndex.get(groupId);
+			return g!=null ? toSet(membersOfGroup[g], users) : Collections.<String>emptySet();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Get the number of known members of a {@code Group}.
+	 *
+	 * @param groupId the {@code Group} identifier
+	 * @return the number of members
+	 */
+	public int getMemberCount(String groupId) {
+		lock.readLock().lock();
+		try {
+			Integer g = groupIndex.get(groupId);
+			return g!=null && membersOfGroup[g]!=null ? membersOfGroup[g].cardinality() : 0;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	//
+	// Updates
+	//
+
+	@Override
+	public void onChange(SsoChangeEvent event) {
+		if (event.getType()==SsoChangeEvent.Type.MEMBER) {
+			if (event.getUserId()==null || event.getGroupId()==null) {
+				return;
+			}
+			if (event.getAction()==SsoChangeEvent.Action.DELETE) {
+				removeMember(event.getUserId(), event.getGroupId());
+			} else {
+				addMember(event.getUserId(), event.getGroupId());
+			}
+		} else if (event.getAction()==SsoChangeEvent.Action.DELETE) {
+			if (event.getType()==SsoChangeEvent.Type.GROUP) {
+				removeGroup(event.getId());
+			} else if (event.getType()==SsoChangeEvent.Type.USER) {
+				removeUser(event.getUserId()!=null ? event.getUserId() : event.getId());
+			}
+		}
+	}
+
+	@Override
+	public void onResync() {
+		clear();
+	}
+
+	/**
+	 * Add a membership to the index.
+	 *
+	 * @param userId the username
+	 * @param groupId the {@code Group} identifier
+	 */
+	public void addMember(String userId, String groupId) {
+		lock.writeLock().lock();
+		try {
+			int u = internUser(userId);
+			int g = internGroup(groupId);
+			groupsOfUser[u].set(g);
+			membersOfGroup[g].set(u);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Remove a membership from the index.
+	 *
+	 * @param userId the username
+	 * @param groupId the {@code Group} identifier
+	 */
+	public void removeMember(String userId, String groupId) {
+		lock.writeLock().lock();
+		try {
+			Integer u = userIndex.get(userId);
+			Integer g = groupIndex.get(groupId);
+			if (u!=null && g!=null) {
+				groupsOfUser[u].clear(g);
+				membersOfGroup[g].clear(u);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Remove all memberships of a {@code Group}.
+	 *
+	 * @param groupId the {@code Group} identifier
+	 */
+	public void removeGroup(String groupId) {
+		setMembers(groupId, Collections.<String>emptyList());
+	}
+
+	/**
+	 * Remove all memberships of a {@code User}.
+	 *
+	 * @param userId the username
+	 */
+	public void removeUser(String userId) {
+		setGroups(userId, Collections.<String>emptyList());
+	}
+
+	/**
+	 * Clear the index.
+	 *
+	 */
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			userIndex.clear();
+			groupIndex.clear();
+			Arrays.fill(users, null);
+			Arrays.fill(groups, null);
+			Arrays.fill(groupsOfUser, null);
+			Arrays.fill(membersOfGroup, null);
+			loadedUsers.clear();
+			loadedGroups.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Replace the members of a {@code Group}.
+	 *
+	 * @param groupId the {@code Group} identifier
+	 * @param usernames the usernames of the members
+	 */
+	protected void setMembers(String groupId, List<String> usernames) {
+		lock.writeLock().lock();
+		try {
+			int g = internGroup(groupId);
+			BitSet members = membersOfGroup[g];
+			for (int u = members.nextSetBit(0); u>=0; u = members.nextSetBit(u+1)) {
+				groupsOfUser[u].clear(g);
+			}
+			members.clear();
+			for (String username: usernames) {
+				if (username!=null && !username.isEmpty()) {
+					int u = internUser(username);
+					groupsOfUser[u].set(g);
+					members.set(u);
+				}
+			}
+			loadedGroups.set(g);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Replace the {@code Group}s of a {@code User}.
+	 *
+	 * @param userId the username
+	 * @param groupIds the {@code Group} identifiers
+	 */
+	protected void setGroups(String userId, List<String> groupIds) {
+		lock.writeLock().lock();
+		try {
+			int u = internUser(userId);
+			BitSet userGroups = groupsOfUser[u];
+			for (int g = userGroups.nextSetBit(0); g>=0; g = userGroups.nextSetBit(g+1)) {
+				membersOfGroup[g].clear(u);
+			}
+			userGroups.clear();
+			for (String groupId: groupIds) {
+				if (groupId!=null) {
+					int g = internGroup(groupId);
+					membersOfGroup[g].set(u);
+					userGroups.set(g);
+				}
+			}
+			loadedUsers.set(u);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private int internUser(String userId) {
+		Integer u = userIndex.get(userId);
+		if (u!=null) {
+			return u;
+		}
+		int i = userIndex.size();
+		if (i>=users.length) {
+			users = Arrays.copyOf(users, users.length * 2);
+			groupsOfUser = Arrays.copyOf(groupsOfUser, groupsOfUser.length * 2);
+		}
+		users[i] = userId;
+		groupsOfUser[i] = new BitSet();
+		userIndex.put(userId, i);
+		return i;
+	}
+
+	private int internGroup(String groupId) {
+		Integer g = groupIndex.get(groupId);
+		if (g!=null) {
+			return g;
+		}
+		int i = groupIndex.size();
+		if (i>=groups.length) {
+			groups = Arrays.copyOf(groups, groups.length * 2);
+			membersOfGroup = Arrays.copyOf(membersOfGroup, membersOfGroup.length * 2);
+		}
+		groups[i] = groupId;
+		membersOfGroup[i] = new BitSet();
+		groupIndex.put(groupId, i);
+		return i;
+	}
+
+	private static Set<String> toSet(BitSet bits, String[] names) {
+		if (bits==null) {
+			return Collections.emptySet();
+		}
+		List<String> list = new ArrayList<>(bits.cardinality());
+		for (int i = bits.nextSetBit(0); i>=0; i = bits.nextSetBit(i+1)) {
+			list.add(names[i]);
+		}
+		return new LinkedHashSet<>(list);
+	}
+
+}
@@ -0,0 +1,365 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.manager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.einnovator.sso.client.model.Role;
+import org.einnovator.sso.client.reactive.SsoReactiveClient;
+import org.einnovator.sso.client.reactive.cache.SharedCache;
+import org.einnovator.sso.client.reactive.cache.TwoLevelCache;
+import org.einnovator.sso.client.reactive.config.SsoReactiveClientContext;
+import org.einnovator.sso.client.reactive.event.SsoChangeEvent;
+import org.einnovator.sso.client.reactive.event.SsoChangeListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Engine to resolve the effective {@code Role}s of a {@code User} in a {@code Group}.
+ *
+ * <p>The effective {@code Role}s are the union of the global {@code Role}s of the {@code User}
+ * and the {@code Role}s assigned in the {@code Group} and each of its ancestors.
+ * If a {@code GroupTree} is set, ancestors are taken from it, and the per-group lookups are performed concurrently.
+ * <p>Role sets are memoized per {@code User} (global) and per {@code User} and {@code Group}, for {@link #getTtl()},
+ * so repeated checks (e.g. {@link #hasRole(String, String, String)}) are answered from memory.
+ * Lookups denied by the server (403, 404) are cached as empty role sets for {@link #getNegativeTtl()}.
+ * Concurrent lookups for the same key share the same request.
+ * <p>Role sets are kept in a {@code TwoLevelCache}. If a {@code SharedCache} is set, role sets loaded by other client
+ * instances are reused from it, and invalidations evict them there too.
+ * <p>Role sets are invalidated by {@code SsoChangeEvent}s, which identify {@code User}s by username
+ * (as {@link MembershipIndex} does), so {@code User}s should be identified by username in queries.
+ * A change to a {@code User} known only by another identifier invalidates all role sets.
+ *
+ * @author support@einnovator.org
+ */
+public class PermissionEngine implements SsoChangeListener {
+
+	public static final long DEFAULT_TTL = 60000;
+
+	public static final long DEFAULT_NEGATIVE_TTL = 30000;
+
+	public static final int DEFAULT_PARALLELISM = 8;
+
+	private static final String GLOBAL = "";
+
+	private final SsoReactiveClient client;
+
+	private GroupTree groupTree;
+
+	private SsoReactiveClientContext context;
+
+	private long ttl = DEFAULT_TTL;
+
+	private long negativeTtl = DEFAULT_NEGATIVE_TTL;
+
+	private int parallelism = DEFAULT_PARALLELISM;
+
+	private final TwoLevelCache<Set<String>> cache = new TwoLevelCache<>("roles",
+			TypeFactory.defaultInstance().constructCollectionType(Set.class, String.class));
+
+	/**
+	 * Create instance of {@code PermissionEngine}, and register it as listener of changes in {@code client}.
+	 *
+	 * @param client the {@code SsoReactiveClient}
+	 */
+	public PermissionEngine(SsoReactiveClient client) {
+		this.client = client;
+		cache.setTtl(ttl);
+		cache.setSharedCache(client.getSharedCache());
+		client.addChangeListener(this);
+	}
+
+	/**
+	 * Get the value of property {@code groupTree}.
+	 *
+	 * @return the groupTree
+	 */
+	public GroupTree getGroupTree() {
+		return groupTree;
+	}
+
+	/**
+	 * Set the value of property {@code groupTree}.
+	 *
+	 * @param groupTree the value of property groupTree
+	 */
+	public void setGroupTree(GroupTree groupTree) {
+		this.groupTree = groupTree;
+	}
+
+	/**
+	 * Get the value of property {@code context}.
+	 *
+	 * @return the context
+	 */
+	public SsoReactiveClientContext getContext() {
+		return context;
+	}
+
+	/**
+	 * Set the value of property {@code context}.
+	 *
+	 * @param context the value of property context
+	 */
+	public void setContext(SsoReactiveClientContext context) {
+		this.context = context;
+	}
+
+	/**
+	 * Get the value of property {@code ttl}.
+	 *
+	 * @return the ttl (milliseconds)
+	 */
+	public long getTtl() {
+		return ttl;
+	}
+
+	/**
+	 * Set the value of property {@code ttl}.
+	 *
+	 * @param ttl the value of property ttl (milliseconds)
+	 */
+	public void setTtl(long ttl) {
+		this.ttl = ttl;
+		cache.setTtl(ttl);
+	}
+
+	/**
+	 * Get the {@code TwoLevelCache} with the role sets.
+	 *
+	 * @return the {@code TwoLevelCache}
+	 */
+	public TwoLevelCache<Set<String>> getCache() {
+		return cache;
+	}
+
+	/**
+	 * Set the {@code SharedCache} to use as second-level cache of role sets.
+	 *
+	 * @param sharedCache the {@code SharedCache}, or null for none
+	 */
+	public void setSharedCache(SharedCache sharedCache) {
+		cache.setSharedCache(sharedCache);
+	}
+
+	/**
+	 * Get the value of property {@code negativeTtl}.
+	 *
+	 * @return the negativeTtl (milliseconds)
+	 */
+	public long getNegativeTtl() {
+		return negativeTtl;
+	}
+
+	/**
+	 * Set the value of property {@code negativeTtl}.
+	 *
+	 * @param negativeTtl the value of property negativeTtl (milliseconds)
+	 */
+	public void setNegativeTtl(long negativeTtl) {
+		this.negativeTtl = negativeTtl;
+	}
+
+	/**
+	 * Get the value of property {@code parallelism}.
+	 *
+	 * @return the parallelism
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Set the value of property {@code parallelism}.
+	 *
+	 * @param parallelism the value of property parallelism
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	//
+	// Queries
+	//
+
+	/**
+	 * Check if a {@code User} has a {@code Role} in a {@code Group} (or globally).
+	 *
+	 * @param userId the identifier of a {@code User} (UUID, or username)
+	 * @param roleName the name of the {@code Role}
+	 * @param groupId the identifier of the {@code Group} (optional, if null only global {@code Role}s are considered)
+	 * @return a {@code Mono} for the result
+	 */
+	public Mono<Boolean> hasRole(String userId, String roleName, String groupId) {
+		Boolean result = hasRoleCached(userId, roleName, groupId);
+		if (result!=null) {
+			return Mono.just(result);
+		}
+		return getEffectiveRoles(userId, groupId).map(roles -> roles.contains(roleName));
+	}
+
+	/**
+	 * Check if a {@code User} has a {@code Role} in a {@code Group} (or globally), using only memoized data.
+	 *
+	 * @param userId the identifier of a {@code User} (UUID, or username)
+	 * @param roleName the name of the {@code Role}
+	 * @param groupId the identifier of the {@code Group} (optional)
+	 * @return true or false if known, or null if any of the required role sets is not memoized
+	 */
+	public Boolean hasRoleCached(String userId, String roleName, String groupId) {
+		List<String> groupIds = getScope(groupId);
+		boolean known = true;
+		for (String groupId2: groupIds) {
+			Set<String> roles = cache.getIfPresent(key(userId, groupId2));
+			if (roles==null) {
+				known = false;
+			} else if (roles.contains(roleName)) {
+				return true;
+			}
+		}
+		return known ? Boolean.FALSE : null;
+	}
+
+	/**
+	 * Get the effective {@code Role} names of a {@code User} in a {@code Group}.
+	 *
+	 * @param userId the identifier of a {@code User} (UUID, or username)
+	 * @param groupId the identifier of the {@code Group} (optional, if null only global {@code Role}s are considered)
+	 * @return a {@code Mono} for the set of {@code Role} names
+	 */
+	public Mono<Set<String>> getEffectiveRoles(String userId, String groupId) {
+		return Flux.fromIterable(getScope(groupId))
+			.flatMap(groupId2 -> getRoles(userId, groupId2), parallelism)
+			.collect(HashSet<String>::new, Set::addAll)
+			.<Set<String>>map(Collections::unmodifiableSet);
+	}
+
+	/**
+	 * Get the {@code Group} identifiers to consider for a {@code Group}: global scope, the {@code Group}, and its ancestors.
+	 *
+	 * @param groupId the identifier of the {@code Group} (optional)
+	 * @return the list of {@code Group} identifiers, with empty string denoting global scope
+	 */
+	protected List<String> getScope(String groupId) {
+		List<String> scope = new ArrayList<>();
+		scope.add(GLOBAL);
+		if (groupId!=null) {
+			scope.add(groupId);
+			if (groupTree!=null) {
+				scope.addAll(groupTree.getAncestors(groupId));
+			}
+		}
+		return scope;
+	}
+
+	/**
+	 * Get the {@code Role} names of a {@code User} in a single scope, memoized.
+	 *
+	 * @param userId the identifier of a {@code User}
+	 * @param groupId the identifier of the {@code Group}, or empty string for global {@code Role}s
+	 * @return a {@code Mono} for the set of {@code Role} names
+	 */
+	protected Mono<Set<String>> getRoles(String userId, String groupId) {
+		String key = key(userId, groupId);
+		return cache.get(key, () -> fetchRoles(userId, groupId)
+				.collect(HashSet<String>::new, Set::add)
+				.<Set<String>>map(Collections::unmodifiableSet))
+			.onErrorResume(WebClientResponseException.class, e -> {
+				if (e.getStatusCode()==HttpStatus.FORBIDDEN || e.getStatusCode()==HttpStatus.NOT_FOUND) {
+					Set<String> none = Collections.emptySet();
+					cache.put(key, none, negativeTtl);
+					return Mono.just(none);
+				}
+				return Mono.error(e);
+			});
+	}
+
+	/**
+	 * Fetch the {@code Role} names of a {@code User} in a single scope from the server.
+	 *
+	 * @param userId the identifier of a {@code User}
+	 * @param groupId the identifier of the {@code Group}, or empty string for global {@code Role}s
+	 * @return a {@code Flux} for the {@code Role} names
+	 */
+	protected Flux<String> fetchRoles(String userId, String groupId) {
+		Flux<Role> roles = GLOBAL.equals(groupId) ? client.listRolesForUserFlux(userId, null, null, context)
+				: client.listRolesForUserInGroupFlux(userId, groupId, null, null, context);
+		return roles.filter(role -> role.getName()!=null).map(Role::getName);
+	}
+
+	//
+	// Invalidation
+	//
+
+	@Override
+	public void onChange(SsoChangeEvent event) {
+		switch (event.getType()) {
+		case ROLE:
+			invalidate();
+			break;
+		case ROLE_MEMBER:
+		case MEMBER:
+			if (event.getUserId()!=null) {
+				invalidateUser(event.getUserId());
+			} else {
+				invalidate();
+			}
+			break;
+		case USER:
+			if (event.getUserId()!=null) {
+				invalidateUser(event.getUserId());
+				if (event.getId()!=null) {
+					invalidateUser(event.getId());
+				}
+			} else {
+				invalidate();
+			}
+			break;
+		case GROUP:
+			if (event.getAction()!=SsoChangeEvent.Action.CREATE) {
+				invalidate();
+			}
+			break;
+		default:
+			break;
+		}
+	}
+
+	@Override
+	public void onResync() {
+		invalidate();
+	}
+
+	/**
+	 * Invalidate all memoized role sets of a {@code User}.
+	 *
+	 * @param userId the identifier of a {@code User}
+	 */
+	public void invalidateUser(String userId) {
+		String prefix = userId + "|";
+		cache.invalidatePrefix(prefix);
+	}
+
+	/**
+	 * Invalidate all memoized role sets.
+	 *
+	 */
+	public void invalidate() {
+		cache.clear();
+	}
+
+	private static String key(String userId, String groupId) {
+		return userId + "|" + groupId;
+	}
+
+}
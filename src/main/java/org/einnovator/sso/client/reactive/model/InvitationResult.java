@@ -0,0 +1,106 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.model;
+
+import java.net.URI;
+
+import org.einnovator.sso.client.model.Invitation;
+
+/**
+ * The result of sending one {@code Invitation} in a bulk invitation.
+ *
+ * <p>Either the {@code Invitation} was created and has a token {@code URI}, or it has the error that made it fail.
+ * Results are numbered by the position of the {@code Invitation} in the input, starting at zero.
+ *
+ * @author support@einnovator.org
+ */
+public final class InvitationResult {
+
+	private final long index;
+
+	private final Invitation invitation;
+
+	private final URI location;
+
+	private final URI token;
+
+	private final Throwable error;
+
+	/**
+	 * Create instance of {@code InvitationResult}.
+	 *
+	 * @param index the index
+	 * @param invitation the invitation
+	 * @param location the location of the created {@code Invitation}, or null
+	 * @param token the invitation token {@code URI}, or null
+	 * @param error the error, or null
+	 */
+	public InvitationResult(long index, Invitation invitation, URI location, URI token, Throwable error) {
+		this.index = index;
+		this.invitation = invitation;
+		this.location = location;
+		this.token = token;
+		this.error = error;
+	}
+
+	/**
+	 * Get the value of property {@code index}.
+	 *
+	 * @return the index
+	 */
+	public long getIndex() {
+		return index;
+	}
+
+	/**
+	 * Get the value of property {@code invitation}.
+	 *
+	 * @return the invitation
+	 */
+	public Invitation getInvitation() {
+		return invitation;
+	}
+
+	/**
+	 * Get the value of property {@code location}.
+	 *
+	 * @return the location
+	 */
+	public URI getLocation() {
+		return location;
+	}
+
+	/**
+	 * Get the value of property {@code token}.
+	 *
+	 * @return the token
+	 */
+	public URI getToken() {
+		return token;
+	}
+
+	/**
+	 * Get the value of property {@code error}.
+	 *
+	 * @return the error
+	 */
+	public Throwable getError() {
+		return error;
+	}
+
+	/**
+	 * Check if the {@code Invitation} was created and its token generated.
+	 *
+	 * @return true if successful
+	 */
+	public boolean isSuccess() {
+		return error==null;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " [" + "index=" + index + ", " + "location=" + location + ", " + "token=" + token + ", " + "error=" + error + "]";
+	}
+
+}
@@ -0,0 +1,77 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A compact read-only view of a {@code Role}, with its identity and display name.
+ *
+ * <p>Only the properties in {@link #FIELDS} are requested from the server and decoded. Other properties are skipped.
+ *
+ * @author support@einnovator.org
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class RoleView {
+
+	/**
+	 * The properties of the view, requested from the server as projection.
+	 */
+	public static final String[] FIELDS = {"id", "name", "displayName"};
+
+	private final String id;
+
+	private final String name;
+
+	private final String displayName;
+
+	/**
+	 * Create instance of {@code RoleView}.
+	 *
+	 * @param id the id
+	 * @param name the name
+	 * @param displayName the displayName
+	 */
+	@JsonCreator
+	public RoleView(@JsonProperty("id") String id, @JsonProperty("name") String name, @JsonProperty("displayName") String displayName) {
+		this.id = id;
+		this.name = name;
+		this.displayName = displayName;
+	}
+
+	/**
+	 * Get the value of property {@code id}.
+	 *
+	 * @return the id
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * Get the value of property {@code name}.
+	 *
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Get the value of property {@code displayName}.
+	 *
+	 * @return the displayName
+	 */
+	public String getDisplayName() {
+		return displayName;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " [" + "id=" + id + ", " + "name=" + name + ", " + "displayName=" + displayName + "]";
+	}
+
+}
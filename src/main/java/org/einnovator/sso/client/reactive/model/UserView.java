@@ -0,0 +1,90 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A compact read-only view of a {@code User}, with its identity and display name.
+ *
+ * <p>Only the properties in {@link #FIELDS} are requested from the server and decoded. Other properties are skipped.
+ *
+ * @author support@einnovator.org
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class UserView {
+
+	/**
+	 * The properties of the view, requested from the server as projection.
+	 */
+	public static final String[] FIELDS = {"id", "username", "displayName", "email"};
+
+	private final String id;
+
+	private final String username;
+
+	private final String displayName;
+
+	private final String email;
+
+	/**
+	 * Create instance of {@code UserView}.
+	 *
+	 * @param id the id
+	 * @param username the username
+	 * @param displayName the displayName
+	 * @param email the email
+	 */
+	@JsonCreator
+	public UserView(@JsonProperty("id") String id, @JsonProperty("username") String username, @JsonProperty("displayName") String displayName, @JsonProperty("email") String email) {
+		this.id = id;
+		this.username = username;
+		this.displayName = displayName;
+		this.email = email;
+	}
+
+	/**
+	 * Get the value of property {@code id}.
+	 *
+	 * @return the id
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * Get the value of property {@code username}.
+	 *
+	 * @return the username
+	 */
+	public String getUsername() {
+		return username;
+	}
+
+	/**
+	 * Get the value of property {@code displayName}.
+	 *
+	 * @return the displayName
+	 */
+	public String getDisplayName() {
+		return displayName;
+	}
+
+	/**
+	 * Get the value of property {@code email}.
+	 *
+	 * @return the email
+	 */
+	public String getEmail() {
+		return email;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " [" + "id=" + id + ", " + "username=" + username + ", " + "displayName=" + displayName + ", " + "email=" + email + "]";
+	}
+
+}
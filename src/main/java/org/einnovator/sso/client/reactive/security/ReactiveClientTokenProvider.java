@@ -0,0 +1,226 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.security;
+
+import java.util.Date;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.einnovator.sso.client.SsoClient;
+import org.einnovator.sso.client.config.SsoClientConfiguration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.client.OAuth2ClientContext;
+import org.springframework.security.oauth2.client.resource.OAuth2ProtectedResourceDetails;
+import org.springframework.security.oauth2.client.token.grant.client.ClientCredentialsResourceDetails;
+import org.springframework.security.oauth2.client.token.grant.password.ResourceOwnerPasswordResourceDetails;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Provider of client credentials {@code OAuth2AccessToken}s for reactive requests to the SSO server.
+ *
+ * <p>Tokens are requested without blocking, and cached until shortly before they expire.
+ * Concurrent requests for a new token share the same in-flight token request.
+ * <p>Tokens are requested with the grant of the {@code OAuth2ProtectedResourceDetails}: client credentials,
+ * or resource owner password. If an {@code OAuth2ClientContext} is given, its token is used while valid and new tokens are stored in it.
+ *
+ * @author support@einnovator.org
+ */
+public class ReactiveClientTokenProvider {
+
+	public static final long DEFAULT_EXPIRATION_MARGIN = 30000;
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final OAuth2ProtectedResourceDetails resource;
+
+	private final OAuth2ClientContext oauth2ClientContext;
+
+	private final WebClient webClient;
+
+	private long expirationMargin = DEFAULT_EXPIRATION_MARGIN;
+
+	private volatile OAuth2AccessToken token;
+
+	private Mono<OAuth2AccessToken> pending;
+
+	/**
+	 * Create instance of {@code ReactiveClientTokenProvider}.
+	 *
+	 * @param config the {@code SsoClientConfiguration} with token endpoint and client credentials
+	 * @param webClient the {@code WebClient} used to request tokens (without authentication filters)
+	 */
+	public ReactiveClientTokenProvider(SsoClientConfiguration config, WebClient webClient) {
+		this(SsoClient.makeClientCredentialsResourceDetails(config), null, webClient);
+	}
+
+	/**
+	 * Create instance of {@code ReactiveClientTokenProvider}.
+	 *
+	 * @param resource the {@code OAuth2ProtectedResourceDetails} with token endpoint and credentials
+	 * @param oauth2ClientContext optional {@code OAuth2ClientContext} where tokens are kept
+	 * @param webClient the {@code WebClient} used to request tokens (without authentication filters)
+	 * @throws IllegalArgumentException if the grant type of {@code resource} is not supported
+	 */
+	public ReactiveClientTokenProvider(OAuth2ProtectedResourceDetails resource, OAuth2ClientContext oauth2ClientContext, WebClient webClient) {
+		if (!(resource instanceof ClientCredentialsResourceDetails) && !(resource instanceof ResourceOwnerPasswordResourceDetails)) {
+			throw new IllegalArgumentException("Unsupported grant type: " + (resource!=null ? resource.getGrantType() : null));
+		}
+		this.resource = resource;
+		this.oauth2ClientContext = oauth2ClientContext;
+		this.webClient = webClient;
+		if (oauth2ClientContext!=null) {
+			this.token = oauth2ClientContext.getAccessToken();
+		}
+	}
+
+	/**
+	 * Get the value of property {@code resource}.
+	 *
+	 * @return the resource
+	 */
+	public OAuth2ProtectedResourceDetails getResource() {
+		return resource;
+	}
+
+	/**
+	 * Get the value of property {@code expirationMargin}.
+	 *
+	 * @return the expirationMargin (milliseconds)
+	 */
+	public long getExpirationMargin() {
+		return expirationMargin;
+	}
+
+	/**
+	 * Set the value of property {@code expirationMargin}.
+	 *
+	 * @param expirationMargin the value of property expirationMargin (milliseconds)
+	 */
+	public void setExpirationMargin(long expirationMargin) {
+		this.expirationMargin = expirationMargin;
+	}
+
+	/**
+	 * Get a {@code Mono} for a valid client credentials {@code OAuth2AccessToken}.
+	 *
+	 * @return the {@code Mono}
+	 */
+	public Mono<OAuth2AccessToken> getToken() {
+		OAuth2AccessToken token = this.token;
+		if (token!=null && !isExpiring(token)) {
+			return Mono.just(token);
+		}
+		synchronized (this) {
+			if (pending==null) {
+				pending = requestToken()
+					.doOnNext(this::setToken)
+					.doFinally(signal -> clearPending())
+					.cache();
+			}
+			return pending;
+		}
+	}
+
+	/**
+	 * Invalidate the cached token, so that a new one is requested on next use.
+	 *
+	 */
+	public void invalidate() {
+		setToken(null);
+	}
+
+	private void setToken(OAuth2AccessToken token) {
+		this.token = token;
+		if (oauth2ClientContext!=null) {
+			oauth2ClientContext.setAccessToken(token);
+		}
+	}
+
+	/**
+	 * Get an {@code ExchangeFilterFunction} that sets a bearer client token in requests without an {@code Authorization} header.
+	 *
+	 * @return the {@code ExchangeFilterFunction}
+	 */
+	public ExchangeFilterFunction filter() {
+		return (request, next) -> {
+			if (request.headers().containsKey(HttpHeaders.AUTHORIZATION)) {
+				return next.exchange(request);
+			}
+			return getToken()
+				.map(token -> ClientRequest.from(request).headers(headers -> headers.setBearerAuth(token.getValue())).build())
+				.defaultIfEmpty(request)
+				.flatMap(next::exchange);
+		};
+	}
+
+	private synchronized void clearPending() {
+		pending = null;
+	}
+
+	/**
+	 * Check if a token is expired or about to expire.
+	 *
+	 * @param token the {@code OAuth2AccessToken}
+	 * @return true if expired or expiring within {@link #getExpirationMargin()}
+	 */
+	protected boolean isExpiring(OAuth2AccessToken token) {
+		Date expiration = token.getExpiration();
+		return expiration!=null && expiration.getTime() - expirationMargin <= System.currentTimeMillis();
+	}
+
+	/**
+	 * Request a new token from the server.
+	 *
+	 * @return a {@code Mono} for the {@code OAuth2AccessToken}
+	 */
+	@SuppressWarnings("rawtypes")
+	protected Mono<OAuth2AccessToken> requestToken() {
+		MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+		form.add("grant_type", resource.getGrantType());
+		if (resource instanceof ResourceOwnerPasswordResourceDetails) {
+			form.add("username", ((ResourceOwnerPasswordResourceDetails) resource).getUsername());
+			form.add("password", ((ResourceOwnerPasswordResourceDetails) resource).getPassword());
+		}
+		return webClient.post().uri(resource.getAccessTokenUri())
+			.accept(MediaType.APPLICATION_JSON)
+			.headers(headers -> headers.setBasicAuth(resource.getClientId(), resource.getClientSecret()))
+			.body(BodyInserters.fromFormData(form))
+			.retrieve()
+			.bodyToMono(Map.class)
+			.map(this::makeToken)
+			.doOnError(e -> logger.error("requestToken: " + e));
+	}
+
+	/**
+	 * Make a {@code OAuth2AccessToken} from the token endpoint response.
+	 *
+	 * @param response the token endpoint response
+	 * @return the {@code OAuth2AccessToken}
+	 */
+	@SuppressWarnings("rawtypes")
+	protected OAuth2AccessToken makeToken(Map response) {
+		DefaultOAuth2AccessToken token = new DefaultOAuth2AccessToken((String)response.get(OAuth2AccessToken.ACCESS_TOKEN));
+		Object tokenType = response.get(OAuth2AccessToken.TOKEN_TYPE);
+		if (tokenType!=null) {
+			token.setTokenType(tokenType.toString());
+		}
+		Object expiresIn = response.get(OAuth2AccessToken.EXPIRES_IN);
+		if (expiresIn!=null) {
+			token.setExpiration(new Date(System.currentTimeMillis() + Long.parseLong(expiresIn.toString()) * 1000));
+		}
+		return token;
+	}
+
+}
@@ -0,0 +1,436 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.security;
+
+import java.security.Key;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.einnovator.sso.client.reactive.cache.BoundedCache;
+import org.einnovator.sso.client.reactive.config.ReactiveJwtConfiguration;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.factories.DefaultJWSVerifierFactory;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A {@code ReactiveJwtDecoder} that verifies signed access tokens locally, using the JWK set of the SSO server.
+ *
+ * <p>The JWK set is fetched on first use and refreshed in the background every {@link ReactiveJwtConfiguration#getRefreshInterval()}.
+ * If a token is signed with an unknown key id, the JWK set is refetched, at most once every {@link ReactiveJwtConfiguration#getMinRefetchInterval()}.
+ * <p>Only asymmetric keys (RSA and EC) and the algorithms in {@link ReactiveJwtConfiguration#getAlgorithms()} are accepted.
+ * The token algorithm must match the {@code alg} of the key, if set, and the key must be meant for signatures.
+ * Optionally, the {@code iss} and {@code aud} claims are checked against {@link ReactiveJwtConfiguration#getIssuer()}
+ * and {@link ReactiveJwtConfiguration#getAudience()}.
+ * <p>Successful verifications are cached until the token expires, and failed verifications for {@link ReactiveJwtConfiguration#getNegativeTtl()},
+ * so repeated requests with the same token do not repeat the signature check.
+ * Failures to get the JWK set are reported as {@code JwtException}s (so the request is rejected as unauthenticated),
+ * but are not cached, since they do not depend on the token. Neither are failures due to an unknown key id,
+ * so tokens signed with a new key are accepted as soon as the JWK set is refetched.
+ * <p>If a {@code TokenRevoker} is set, tokens it revoked are rejected even if the signature is valid, or the verification is cached.
+ * The auto-configuration sets it when {@code sso.reactive.revocation.enabled} is true.
+ *
+ * @author support@einnovator.org
+ */
+public class ReactiveJwtTokenVerifier implements ReactiveJwtDecoder, DisposableBean {
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final String jwkSetUri;
+
+	private final ReactiveJwtConfiguration config;
+
+	private final WebClient webClient;
+
+	private final DefaultJWSVerifierFactory verifierFactory = new DefaultJWSVerifierFactory();
+
+	private final BoundedCache<String, Jwt> verified;
+
+	private final BoundedCache<String, Long> rejected;
+
+	private volatile JWKSet jwkSet;
+
+	private volatile long lastFetch;
+
+	private Mono<JWKSet> pending;
+
+	private Disposable refresher;
+
+	private TokenRevoker tokenRevoker;
+
+	/**
+	 * Create instance of {@code ReactiveJwtTokenVerifier}.
+	 *
+	 * @param jwkSetUri the URI of the JWK set
+	 * @param config the {@code ReactiveJwtConfiguration}
+	 * @param webClient the {@code WebClient} used to fetch the JWK set
+	 */
+	public ReactiveJwtTokenVerifier(String jwkSetUri, ReactiveJwtConfiguration config, WebClient webClient) {
+		this.jwkSetUri = jwkSetUri;
+		this.config = config!=null ? config : new ReactiveJwtConfiguration();
+		this.webClient = webClient;
+		int maxCacheSize = this.config.getMaxCacheSize()!=null ? this.config.getMaxCacheSize() : 0;
+		this.verified = new BoundedCache<>(maxCacheSize);
+		this.rejected = new BoundedCache<>(maxCacheSize);
+	}
+
+	/**
+	 * Get the value of property {@code jwkSetUri}.
+	 *
+	 * @return the jwkSetUri
+	 */
+	public String getJwkSetUri() {
+		return jwkSetUri;
+	}
+
+	/**
+	 * Get the value of property {@code tokenRevoker}.
+	 *
+	 * @return the tokenRevoker
+	 */
+	public TokenRevoker getTokenRevoker() {
+		return tokenRevoker;
+	}
+
+	/**
+	 * Set the value of property {@code tokenRevoker}.
+	 *
+	 * @param tokenRevoker the value of property tokenRevoker
+	 */
+	public void setTokenRevoker(TokenRevoker tokenRevoker) {
+		this.tokenRevoker = tokenRevoker;
+	}
+
+	@Override
+	public Mono<Jwt> decode(String token) throws JwtException {
+		if (token==null) {
+			return Mono.error(new JwtException("Missing token"));
+		}
+		if (tokenRevoker!=null && tokenRevoker.isRevoked(token)) {
+			return Mono.error(new JwtException("Revoked token"));
+		}
+		Jwt jwt = verified.get(token);
+		if (jwt!=null) {
+			if (jwt.getExpiresAt()==null || jwt.getExpiresAt().isAfter(Instant.now())) {
+				return Mono.just(jwt);
+			}
+			verified.remove(token, jwt);
+		}
+		Long until = rejected.get(token);
+		if (until!=null) {
+			if (until>System.currentTimeMillis()) {
+				return Mono.error(new JwtException("Invalid token"));
+			}
+			rejected.remove(token, until);
+		}
+		SignedJWT signed;
+		try {
+			signed = SignedJWT.parse(token);
+		} catch (ParseException e) {
+			reject(token);
+			return Mono.error(new JwtException("Malformed token: " + e.getMessage(), e));
+		}
+		JWSAlgorithm alg = signed.getHeader().getAlgorithm();
+		if (!isAllowed(alg)) {
+			reject(token);
+			return Mono.error(new JwtException("Unsupported algorithm: " + alg));
+		}
+		String kid = signed.getHeader().getKeyID();
+		return getJwkSet(false)
+			.flatMap(jwkSet -> {
+				if (findKey(jwkSet, kid)==null && canRefetch()) {
+					return getJwkSet(true);
+				}
+				return Mono.just(jwkSet);
+			})
+			.map(jwkSet -> verify(token, signed, findKey(jwkSet, kid)))
+			.doOnError(JwtException.class, e -> {
+				if (!(e instanceof JwkSetException) && !(e instanceof UnknownKeyException)) {
+					reject(token);
+				}
+			});
+	}
+
+	/**
+	 * Check if a JWS algorithm is accepted.
+	 *
+	 * @param alg the {@code JWSAlgorithm}
+	 * @return true if in {@link ReactiveJwtConfiguration#getAlgorithms()}, and asymmetric
+	 */
+	protected boolean isAllowed(JWSAlgorithm alg) {
+		if (alg==null || !(JWSAlgorithm.Family.RSA.contains(alg) || JWSAlgorithm.Family.EC.contains(alg))) {
+			return false;
+		}
+		String[] algorithms = config.getAlgorithms()!=null ? config.getAlgorithms() : ReactiveJwtConfiguration.DEFAULT_ALGORITHMS;
+		return Arrays.asList(algorithms).contains(alg.getName());
+	}
+
+	/**
+	 * Start the background refresh of the JWK set.
+	 *
+	 * <p>Invoked automatically on first use.
+	 */
+	public synchronized void start() {
+		if (refresher!=null) {
+			return;
+		}
+		Long interval = config.getRefreshInterval();
+		if (interval==null || interval<=0) {
+			return;
+		}
+		refresher = Flux.interval(Duration.ofMillis(interval), Duration.ofMillis(interval))
+			.onBackpressureDrop()
+			.concatMap(i -> fetchJwkSet().onErrorResume(e -> Mono.empty()))
+			.subscribe();
+	}
+
+	@Override
+	public synchronized void destroy() {
+		if (refresher!=null) {
+			refresher.dispose();
+			refresher = null;
+		}
+	}
+
+	/**
+	 * Clear all cached verification results.
+	 *
+	 */
+	public void clear() {
+		verified.clear();
+		rejected.clear();
+	}
+
+	/**
+	 * Get a {@code Mono} for the JWK set.
+	 *
+	 * @param force true if the JWK set should be refetched even if available locally
+	 * @return the {@code Mono}
+	 */
+	protected Mono<JWKSet> getJwkSet(boolean force) {
+		JWKSet jwkSet = this.jwkSet;
+		if (jwkSet!=null && !force) {
+			return Mono.just(jwkSet);
+		}
+		synchronized (this) {
+			if (pending==null) {
+				pending = fetchJwkSet()
+					.doFinally(signal -> clearPending())
+					.cache();
+			}
+			return pending;
+		}
+	}
+
+	private synchronized void clearPending() {
+		pending = null;
+	}
+
+	/**
+	 * Fetch the JWK set from the server.
+	 *
+	 * @return a {@code Mono} for the {@code JWKSet}, failing with a {@code JwtException} if not available or invalid
+	 */
+	protected Mono<JWKSet> fetchJwkSet() {
+		start();
+		return webClient.get().uri(jwkSetUri)
+			.retrieve()
+			.bodyToMono(String.class)
+			.map(body -> {
+				try {
+					return JWKSet.parse(body);
+				} catch (ParseException e) {
+					throw new JwkSetException("Invalid JWK set: " + e.getMessage(), e);
+				}
+			})
+			.onErrorMap(e -> !(e instanceof JwkSetException), e -> new JwkSetException("JWK set not available: " + e.getMessage(), e))
+			.doOnNext(jwkSet -> {
+				this.jwkSet = jwkSet;
+				this.lastFetch = System.currentTimeMillis();
+				if (logger.isDebugEnabled()) {
+					logger.debug("fetchJwkSet: " + jwkSet.getKeys().size() + " keys");
+				}
+			})
+			.doOnError(e -> logger.error("fetchJwkSet: " + jwkSetUri + " " + e));
+	}
+
+	/**
+	 * Check if the JWK set can be refetched, to limit the rate of requests triggered by unknown key ids.
+	 *
+	 * @return true if the last fetch is older than {@link ReactiveJwtConfiguration#getMinRefetchInterval()}
+	 */
+	protected boolean canRefetch() {
+		Long min = config.getMinRefetchInterval();
+		return min==null || System.currentTimeMillis() - lastFetch >= min;
+	}
+
+	/**
+	 * Find the key with specified id.
+	 *
+	 * @param jwkSet the {@code JWKSet}
+	 * @param kid the key id (optional)
+	 * @return the {@code JWK}, or null if not found
+	 */
+	protected JWK findKey(JWKSet jwkSet, String kid) {
+		if (kid!=null) {
+			return jwkSet.getKeyByKeyId(kid);
+		}
+		List<JWK> keys = jwkSet.getKeys();
+		return keys.size()==1 ? keys.get(0) : null;
+	}
+
+	/**
+	 * Verify the signature and time claims of a token.
+	 *
+	 * @param token the token value
+	 * @param signed the parsed {@code SignedJWT}
+	 * @param jwk the {@code JWK} to verify the signature
+	 * @return the {@code Jwt}
+	 * @throws JwtException if the token is not valid
+	 */
+	protected Jwt verify(String token, SignedJWT signed, JWK jwk) {
+		if (jwk==null) {
+			throw new UnknownKeyException("Unknown signing key: " + signed.getHeader().getKeyID());
+		}
+		if (jwk.getKeyUse()!=null && !KeyUse.SIGNATURE.equals(jwk.getKeyUse())) {
+			throw new JwtException("Key not meant for signatures: " + jwk.getKeyID());
+		}
+		if (jwk.getAlgorithm()!=null && !jwk.getAlgorithm().equals(signed.getHeader().getAlgorithm())) {
+			throw new JwtException("Algorithm does not match key: " + signed.getHeader().getAlgorithm());
+		}
+		JWTClaimsSet claims;
+		try {
+			JWSVerifier verifier = verifierFactory.createJWSVerifier(signed.getHeader(), toKey(jwk));
+			if (!signed.verify(verifier)) {
+				throw new JwtException("Invalid signature");
+			}
+			claims = signed.getJWTClaimsSet();
+		} catch (JOSEException | ParseException e) {
+			throw new JwtException("Invalid token: " + e.getMessage(), e);
+		}
+		long now = System.currentTimeMillis();
+		long skew = config.getClockSkew()!=null ? config.getClockSkew() : 0;
+		Date exp = claims.getExpirationTime();
+		if (exp!=null && exp.getTime() + skew < now) {
+			throw new JwtException("Expired token");
+		}
+		Date nbf = claims.getNotBeforeTime();
+		if (nbf!=null && nbf.getTime() - skew > now) {
+			throw new JwtException("Token not yet valid");
+		}
+		if (config.getIssuer()!=null && !config.getIssuer().equals(claims.getIssuer())) {
+			throw new JwtException("Invalid issuer: " + claims.getIssuer());
+		}
+		if (config.getAudience()!=null && (claims.getAudience()==null || !claims.getAudience().contains(config.getAudience()))) {
+			throw new JwtException("Invalid audience: " + claims.getAudience());
+		}
+		Jwt jwt = makeJwt(token, signed, claims);
+		cache(token, jwt);
+		return jwt;
+	}
+
+	/**
+	 * Convert a {@code JWK} to a {@code Key} usable to verify signatures.
+	 *
+	 * <p>Only public keys are supported. Symmetric keys are rejected, since a key published in the JWK set
+	 * could be used by anyone to sign tokens.
+	 *
+	 * @param jwk the {@code JWK}
+	 * @return the {@code Key}
+	 * @throws JOSEException if the key type is not supported
+	 */
+	protected Key toKey(JWK jwk) throws JOSEException {
+		if (jwk instanceof RSAKey) {
+			return ((RSAKey) jwk).toRSAPublicKey();
+		}
+		if (jwk instanceof ECKey) {
+			return ((ECKey) jwk).toECPublicKey();
+		}
+		throw new JOSEException("Unsupported key type: " + jwk.getKeyType());
+	}
+
+	/**
+	 * Make a {@code Jwt} from a verified token.
+	 *
+	 * @param token the token value
+	 * @param signed the {@code SignedJWT}
+	 * @param claims the {@code JWTClaimsSet}
+	 * @return the {@code Jwt}
+	 */
+	protected Jwt makeJwt(String token, SignedJWT signed, JWTClaimsSet claims) {
+		Map<String, Object> headers = new LinkedHashMap<>(signed.getHeader().toJSONObject());
+		Map<String, Object> claims2 = new LinkedHashMap<>();
+		for (Map.Entry<String, Object> e: claims.getClaims().entrySet()) {
+			Object value = e.getValue();
+			claims2.put(e.getKey(), value instanceof Date ? ((Date) value).toInstant() : value);
+		}
+		Instant issuedAt = claims.getIssueTime()!=null ? claims.getIssueTime().toInstant() : null;
+		Instant expiresAt = claims.getExpirationTime()!=null ? claims.getExpirationTime().toInstant() : null;
+		return new Jwt(token, issuedAt, expiresAt, headers, claims2);
+	}
+
+	private void cache(String token, Jwt jwt) {
+		verified.put(token, jwt);
+	}
+
+	private void reject(String token) {
+		Long ttl = config.getNegativeTtl();
+		if (ttl==null || ttl<=0) {
+			return;
+		}
+		rejected.put(token, System.currentTimeMillis() + ttl);
+	}
+
+	/**
+	 * Failure to find the signing key in the JWK set, which may be resolved by a later refetch (e.g. on key rotation).
+	 */
+	private static class UnknownKeyException extends JwtException {
+
+		private static final long serialVersionUID = 1L;
+
+		UnknownKeyException(String message) {
+			super(message);
+		}
+
+	}
+
+	/**
+	 * Failure to get the JWK set, which does not depend on the token verified.
+	 */
+	private static class JwkSetException extends JwtException {
+
+		private static final long serialVersionUID = 1L;
+
+		JwkSetException(String message, Throwable cause) {
+			super(message, cause);
+		}
+
+	}
+
+}
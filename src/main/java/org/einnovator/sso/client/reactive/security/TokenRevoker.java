@@ -0,0 +1,411 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.security;
+
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.einnovator.sso.client.reactive.config.ReactiveRevocationConfiguration;
+import org.einnovator.sso.client.reactive.limit.RequestLane;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.nimbusds.jwt.JWTParser;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Revokes access tokens in the SSO server asynchronously.
+ *
+ * <p>Tokens are added to a bounded queue and revoked in the background, with up to {@code concurrency} requests in flight.
+ * The revoke endpoint takes one token per request (as bearer token), so requests are pipelined rather than batched.
+ * Failed requests are retried with exponential backoff. Tokens the server rejects with a client error ({@code 4xx})
+ * are considered revoked, since they are no longer valid.
+ * When the queue is full, tokens are revoked before {@link #revoke(String)} completes, so callers are slowed down
+ * rather than tokens dropped.
+ * <p>Revoked tokens are remembered locally until they expire, so {@link #isRevoked(String)} is true as soon as
+ * the revocation is requested. The expiry is taken from the {@code exp} claim of JWT tokens, or is {@code revokedTtl}
+ * from now for other tokens. Remembered tokens are never dropped before they expire: if {@code maxRevoked} tokens are
+ * remembered, expired ones are purged, and if none expired the token is not remembered and is instead revoked in the
+ * server before {@link #revoke(String)} completes.
+ *
+ * @author support@einnovator.org
+ */
+public class TokenRevoker implements DisposableBean {
+
+	private static final long FLUSH_POLL = 10;
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final String revokeUri;
+
+	private final ReactiveRevocationConfiguration config;
+
+	private final WebClient webClient;
+
+	private final Queue<String> queue = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger queued = new AtomicInteger();
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	private final AtomicBoolean draining = new AtomicBoolean();
+
+	private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+	private final PriorityQueue<Revoked> expiries = new PriorityQueue<>();
+
+	private Clock clock = Clock.systemUTC();
+
+	private final AtomicLong completed = new AtomicLong();
+
+	private final AtomicLong failed = new AtomicLong();
+
+	private final AtomicLong overflows = new AtomicLong();
+
+	private final AtomicLong revokedOverflows = new AtomicLong();
+
+	/**
+	 * Create instance of {@code TokenRevoker}.
+	 *
+	 * @param revokeUri the URI of the token revoke endpoint
+	 * @param config the {@code ReactiveRevocationConfiguration}
+	 * @param webClient the {@code WebClient} (without client credentials, as the revoked token is sent as bearer token)
+	 */
+	public TokenRevoker(String revokeUri, ReactiveRevocationConfiguration config, WebClient webClient) {
+		this.revokeUri = revokeUri;
+		this.config = config!=null ? config : new ReactiveRevocationConfiguration();
+		this.webClient = webClient;
+	}
+
+	/**
+	 * Get the value of property {@code revokeUri}.
+	 *
+	 * @return the revokeUri
+	 */
+	public String getRevokeUri() {
+		return revokeUri;
+	}
+
+	/**
+	 * Get the value of property {@code clock}.
+	 *
+	 * @return the clock
+	 */
+	public Clock getClock() {
+		return clock;
+	}
+
+	/**
+	 * Set the value of property {@code clock}.
+	 *
+	 * @param clock the value of property clock
+	 */
+	public void setClock(Clock clock) {
+		this.clock = clock;
+	}
+
+	//
+	// Revocation
+	//
+
+	/**
+	 * Revoke a token.
+	 *
+	 * <p>The token is marked as revoked locally, and queued to be revoked in the server.
+	 *
+	 * @param token the token
+	 * @return a {@code Mono} that completes when the token is queued, or revoked if the queue or the local list of
+	 * revoked tokens is full
+	 */
+	public Mono<Void> revoke(String token) {
+		return Mono.defer(() -> {
+			if (token==null) {
+				return Mono.empty();
+			}
+			boolean marked = markRevoked(token);
+			int maxQueue = config.getMaxQueue()!=null ? config.getMaxQueue() : ReactiveRevocationConfiguration.DEFAULT_MAX_QUEUE;
+			if (!marked || queued.incrementAndGet()>maxQueue) {
+				if (marked) {
+					queued.decrementAndGet();
+					overflows.incrementAndGet();
+				}
+				inFlight.incrementAndGet();
+				return send(token).doFinally(signal -> inFlight.decrementAndGet());
+			}
+			queue.add(token);
+			drain();
+			return Mono.empty();
+		});
+	}
+
+	/**
+	 * Start revoking queued tokens, if not started already.
+	 *
+	 */
+	protected void drain() {
+		if (!draining.compareAndSet(false, true)) {
+			return;
+		}
+		int concurrency = Math.max(1, config.getConcurrency()!=null ? config.getConcurrency() : ReactiveRevocationConfiguration.DEFAULT_CONCURRENCY);
+		Flux.<String>generate(sink -> {
+				String token = queue.poll();
+				if (token==null) {
+					sink.complete();
+				} else {
+					inFlight.incrementAndGet();
+					queued.decrementAndGet();
+					sink.next(token);
+				}
+			})
+			.flatMap(token -> send(token)
+				.doFinally(signal -> inFlight.decrementAndGet())
+				.onErrorResume(e -> Mono.empty()), concurrency)
+			.doFinally(signal -> {
+				draining.set(false);
+				if (!queue.isEmpty()) {
+					drain();
+				}
+			})
+			.subscribe();
+	}
+
+	/**
+	 * Send the request to revoke a token to the server, with retries.
+	 *
+	 * @param token the token
+	 * @return a {@code Mono} that completes when the token is revoked
+	 */
+	protected Mono<Void> send(String token) {
+		Mono<Void> mono = webClient.post().uri(revokeUri)
+			.accept(MediaType.APPLICATION_JSON)
+			.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+			.retrieve()
+			.toBodilessEntity()
+			.then()
+			.onErrorResume(WebClientResponseException.class, e -> isInvalid(e.getStatusCode()) ? Mono.empty() : Mono.error(e));
+		int retries = config.getRetries()!=null ? config.getRetries() : ReactiveRevocationConfiguration.DEFAULT_RETRIES;
+		if (retries>0) {
+			long backoff = config.getBackoff()!=null ? config.getBackoff() : ReactiveRevocationConfiguration.DEFAULT_BACKOFF;
+			mono = mono.retryBackoff(retries, Duration.ofMillis(backoff));
+		}
+		return mono
+			.doOnSuccess(v -> completed.incrementAndGet())
+			.doOnError(e -> {
+				failed.incrementAndGet();
+				logger.warn("send: " + e);
+			})
+			.subscriberContext(RequestLane.context(RequestLane.BACKGROUND));
+	}
+
+	private static boolean isInvalid(HttpStatus status) {
+		return status.is4xxClientError() && status!=HttpStatus.TOO_MANY_REQUESTS;
+	}
+
+	/**
+	 * Get a {@code Mono} that completes when all queued tokens are revoked (or failed).
+	 *
+	 * @return the {@code Mono}
+	 */
+	public Mono<Void> flush() {
+		return Mono.defer(() -> {
+			if (queued.get()<=0 && inFlight.get()<=0) {
+				return Mono.empty();
+			}
+			return Mono.delay(Duration.ofMillis(FLUSH_POLL)).then(flush());
+		});
+	}
+
+	@Override
+	public void destroy() {
+		long timeout = config.getShutdownTimeout()!=null ? config.getShutdownTimeout() : ReactiveRevocationConfiguration.DEFAULT_SHUTDOWN_TIMEOUT;
+		try {
+			flush().block(Duration.ofMillis(timeout));
+		} catch (RuntimeException e) {
+			logger.warn("destroy: " + queued.get() + " tokens not revoked: " + e);
+		}
+	}
+
+	//
+	// Revoked tokens
+	//
+
+	/**
+	 * Check if a token was revoked recently.
+	 *
+	 * @param token the token
+	 * @return true if revoked
+	 */
+	public boolean isRevoked(String token) {
+		if (token==null) {
+			return false;
+		}
+		Long until = revoked.get(token);
+		if (until==null) {
+			return false;
+		}
+		return until>clock.millis();
+	}
+
+	/**
+	 * Remember a token as revoked until it expires.
+	 *
+	 * @param token the token
+	 * @return true if remembered (or already expired, or remembering is disabled), false if the list of revoked tokens is full
+	 */
+	protected boolean markRevoked(String token) {
+		long ttl = config.getRevokedTtl()!=null ? config.getRevokedTtl() : ReactiveRevocationConfiguration.DEFAULT_REVOKED_TTL;
+		if (ttl<=0) {
+			return true;
+		}
+		long now = clock.millis();
+		long expiresAt = getExpiresAt(token, now + ttl);
+		if (expiresAt<=now) {
+			return true;
+		}
+		int max = config.getMaxRevoked()!=null ? config.getMaxRevoked() : ReactiveRevocationConfiguration.DEFAULT_MAX_REVOKED;
+		synchronized (expiries) {
+			purge(now);
+			if (revoked.size()>=max && !revoked.containsKey(token)) {
+				revokedOverflows.incrementAndGet();
+				return false;
+			}
+			Long previous = revoked.put(token, expiresAt);
+			if (previous==null || previous!=expiresAt) {
+				expiries.add(new Revoked(token, expiresAt));
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Get the expiry time of a token, from the {@code exp} claim if the token is a JWT.
+	 *
+	 * @param token the token
+	 * @param defaultExpiresAt the expiry time to use if not available in the token
+	 * @return the expiry time (milliseconds since epoch)
+	 */
+	protected long getExpiresAt(String token, long defaultExpiresAt) {
+		if (token.indexOf('.')<0) {
+			return defaultExpiresAt;
+		}
+		try {
+			Date exp = JWTParser.parse(token).getJWTClaimsSet().getExpirationTime();
+			return exp!=null ? exp.getTime() : defaultExpiresAt;
+		} catch (ParseException | RuntimeException e) {
+			return defaultExpiresAt;
+		}
+	}
+
+	private void purge(long now) {
+		Revoked head;
+		while ((head = expiries.peek())!=null && head.expiresAt<=now) {
+			expiries.poll();
+			revoked.remove(head.token, head.expiresAt);
+		}
+	}
+
+	//
+	// Metrics
+	//
+
+	/**
+	 * Get the number of tokens waiting to be revoked.
+	 *
+	 * @return the number of tokens
+	 */
+	public int getQueued() {
+		return queued.get();
+	}
+
+	/**
+	 * Get the number of revocation requests in flight.
+	 *
+	 * @return the number of requests
+	 */
+	public int getInFlight() {
+		return inFlight.get();
+	}
+
+	/**
+	 * Get the number of tokens revoked in the server.
+	 *
+	 * @return the number of tokens
+	 */
+	public long getCompleted() {
+		return completed.get();
+	}
+
+	/**
+	 * Get the number of tokens that failed to be revoked in the server, after all retries.
+	 *
+	 * @return the number of tokens
+	 */
+	public long getFailed() {
+		return failed.get();
+	}
+
+	/**
+	 * Get the number of tokens revoked while the caller waits, because the queue was full.
+	 *
+	 * @return the number of tokens
+	 */
+	public long getOverflows() {
+		return overflows.get();
+	}
+
+	/**
+	 * Get the number of tokens revoked while the caller waits, because the list of revoked tokens was full of unexpired tokens.
+	 *
+	 * @return the number of tokens
+	 */
+	public long getRevokedOverflows() {
+		return revokedOverflows.get();
+	}
+
+	/**
+	 * Get the number of tokens remembered as revoked.
+	 *
+	 * @return the number of tokens
+	 */
+	public int getRevokedSize() {
+		return revoked.size();
+	}
+
+	private static class Revoked implements Comparable<Revoked> {
+
+		private final String token;
+
+		private final long expiresAt;
+
+		Revoked(String token, long expiresAt) {
+			this.token = token;
+			this.expiresAt = expiresAt;
+		}
+
+		@Override
+		public int compareTo(Revoked other) {
+			return Long.compare(expiresAt, other.expiresAt);
+		}
+
+	}
+
+}
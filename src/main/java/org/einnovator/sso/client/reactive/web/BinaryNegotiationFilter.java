@@ -0,0 +1,139 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.web;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code ExchangeFilterFunction} that negotiates a binary format for JSON read requests to the SSO server.
+ *
+ * <p>{@code GET} requests that accept JSON are sent with the binary media type preferred,
+ * and JSON accepted with a lower quality, so a server without support for the binary format responds with JSON.
+ * If the server rejects the request with {@code 406} or {@code 415}, the request is sent again accepting only JSON,
+ * and negotiation is suspended for {@code probeInterval} milliseconds.
+ * <p>Requests with attribute {@link #DISABLE_ATTRIBUTE} set to true are not changed.
+ *
+ * @author support@einnovator.org
+ */
+public class BinaryNegotiationFilter implements ExchangeFilterFunction {
+
+	public static final String DISABLE_ATTRIBUTE = BinaryNegotiationFilter.class.getName() + ".disable";
+
+	public static final String JSON_QUALITY = "0.9";
+
+	private final MediaType mediaType;
+
+	private final long probeInterval;
+
+	private volatile long suspendedUntil;
+
+	private final AtomicLong negotiated = new AtomicLong();
+
+	private final AtomicLong fallbacks = new AtomicLong();
+
+	/**
+	 * Create instance of {@code BinaryNegotiationFilter}.
+	 *
+	 * @param mediaType the binary {@code MediaType}
+	 * @param probeInterval the time negotiation is suspended after a rejection (milliseconds)
+	 */
+	public BinaryNegotiationFilter(MediaType mediaType, long probeInterval) {
+		this.mediaType = mediaType;
+		this.probeInterval = probeInterval;
+	}
+
+	/**
+	 * Get the value of property {@code mediaType}.
+	 *
+	 * @return the mediaType
+	 */
+	public MediaType getMediaType() {
+		return mediaType;
+	}
+
+	@Override
+	public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+		if (!isNegotiable(request)) {
+			return next.exchange(request);
+		}
+		negotiated.incrementAndGet();
+		ClientRequest binaryRequest = ClientRequest.from(request)
+				.headers(headers -> headers.setAccept(getAccept(headers)))
+				.build();
+		return next.exchange(binaryRequest).flatMap(response -> {
+			HttpStatus status = response.statusCode();
+			if (status==HttpStatus.NOT_ACCEPTABLE || status==HttpStatus.UNSUPPORTED_MEDIA_TYPE) {
+				fallbacks.incrementAndGet();
+				suspendedUntil = System.currentTimeMillis() + probeInterval;
+				return response.releaseBody().then(Mono.defer(() -> next.exchange(request)));
+			}
+			return Mono.just(response);
+		});
+	}
+
+	/**
+	 * Check if the binary format should be negotiated for a request.
+	 *
+	 * @param request the {@code ClientRequest}
+	 * @return true if the request is a {@code GET} accepting JSON, and negotiation is not suspended or disabled
+	 */
+	protected boolean isNegotiable(ClientRequest request) {
+		if (request.method()!=HttpMethod.GET || System.currentTimeMillis()<suspendedUntil
+				|| Boolean.TRUE.equals(request.attribute(DISABLE_ATTRIBUTE).orElse(null))) {
+			return false;
+		}
+		for (MediaType type: request.headers().getAccept()) {
+			if (MediaType.APPLICATION_JSON.isCompatibleWith(type) && !type.isWildcardType()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private List<MediaType> getAccept(HttpHeaders headers) {
+		List<MediaType> accept = new ArrayList<>();
+		accept.add(mediaType);
+		for (MediaType type: headers.getAccept()) {
+			accept.add(type.getParameter("q")==null ? new MediaType(type, Collections.singletonMap("q", JSON_QUALITY)) : type);
+		}
+		return accept;
+	}
+
+	//
+	// Metrics
+	//
+
+	/**
+	 * Get the number of requests sent with the binary format preferred.
+	 *
+	 * @return the number of requests
+	 */
+	public long getNegotiated() {
+		return negotiated.get();
+	}
+
+	/**
+	 * Get the number of requests sent again accepting only JSON.
+	 *
+	 * @return the number of requests
+	 */
+	public long getFallbacks() {
+		return fallbacks.get();
+	}
+
+}
@@ -0,0 +1,196 @@
+/**
+ *
+ */
+package org.einnovator.sso.client.reactive.web;
+
+import java.util.Map;
+
+import org.einnovator.sso.client.model.User;
+import org.einnovator.sso.client.reactive.SsoReactiveClient;
+import org.einnovator.sso.client.reactive.cache.BoundedCache;
+import org.einnovator.sso.client.reactive.config.ReactivePrincipalConfiguration;
+import org.einnovator.util.MappingUtils;
+import org.springframework.core.Ordered;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.oauth2.core.AbstractOAuth2Token;
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * A {@code WebFilter} that resolves the principal {@code User} at most once per request.
+ *
+ * <p>The resolved {@code User} is shared by all downstream consumers, via exchange attribute {@link #PRINCIPAL_USER_ATTRIBUTE}
+ * and the reactor {@code Context}. Resolution is lazy, so requests that never ask for the {@code User} pay nothing.
+ * <p>Optionally, resolved {@code User}s are also cached per token for {@link ReactivePrincipalConfiguration#getCacheTtl()}.
+ * <p>Should be ordered after the Spring Security {@code WebFilter} chain.
+ *
+ * @see SsoReactiveClient#getPrincipalUserMono()
+ * @author support@einnovator.org
+ */
+public class PrincipalUserWebFilter implements WebFilter, Ordered {
+
+	public static final String PRINCIPAL_USER_ATTRIBUTE = PrincipalUserWebFilter.class.getName() + ".USER";
+
+	public static final int DEFAULT_ORDER = 0;
+
+	private final ReactivePrincipalConfiguration config;
+
+	private final BoundedCache<String, CachedUser> cache;
+
+	private int order = DEFAULT_ORDER;
+
+	/**
+	 * Create instance of {@code PrincipalUserWebFilter}.
+	 *
+	 * @param config the {@code ReactivePrincipalConfiguration}
+	 */
+	public PrincipalUserWebFilter(ReactivePrincipalConfiguration config) {
+		this.config = config!=null ? config : new ReactivePrincipalConfiguration();
+		this.cache = new BoundedCache<>(this.config.getMaxCacheSize()!=null ? this.config.getMaxCacheSize() : 0);
+	}
+
+	/**
+	 * Create instance of {@code PrincipalUserWebFilter}.
+	 *
+	 */
+	public PrincipalUserWebFilter() {
+		this(null);
+	}
+
+	@Override
+	public int getOrder() {
+		return order;
+	}
+
+	/**
+	 * Set the value of property {@code order}.
+	 *
+	 * @param order the value of property order
+	 */
+	public void setOrder(int order) {
+		this.order = order;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+		Mono<User> user = ReactiveSecurityContextHolder.getContext()
+			.map(SecurityContext::getAuthentication)
+			.flatMap(this::resolve)
+			.cache();
+		exchange.getAttributes().put(PRINCIPAL_USER_ATTRIBUTE, user);
+		return chain.filter(exchange)
+			.subscriberContext(context -> context.put(PRINCIPAL_USER_ATTRIBUTE, user));
+	}
+
+	/**
+	 * Get a {@code Mono} for the principal {@code User} of a request, as memoized by a {@code PrincipalUserWebFilter}.
+	 *
+	 * @param exchange the {@code ServerWebExchange}
+	 * @return the {@code Mono}, empty if not available
+	 */
+	@SuppressWarnings("unchecked")
+	public static Mono<User> getPrincipalUser(ServerWebExchange exchange) {
+		Object user = exchange.getAttribute(PRINCIPAL_USER_ATTRIBUTE);
+		if (user instanceof Mono) {
+			return (Mono<User>) user;
+		}
+		return Mono.empty();
+	}
+
+	/**
+	 * Resolve the {@code User} for an {@code Authentication}.
+	 *
+	 * @param authentication the {@code Authentication}
+	 * @return a {@code Mono} for the {@code User}
+	 */
+	protected Mono<User> resolve(Authentication authentication) {
+		Long ttl = config.getCacheTtl();
+		String key = ttl!=null && ttl>0 ? getTokenValue(authentication) : null;
+		if (key!=null) {
+			CachedUser cached = cache.get(key);
+			if (cached!=null) {
+				if (cached.expiresAt>System.currentTimeMillis()) {
+					return Mono.just(cached.user);
+				}
+				cache.remove(key, cached);
+			}
+		}
+		User user = makeUser(authentication);
+		if (user==null) {
+			return Mono.empty();
+		}
+		if (key!=null) {
+			cache.put(key, new CachedUser(user, System.currentTimeMillis() + ttl));
+		}
+		return Mono.just(user);
+	}
+
+	/**
+	 * Get the details of the principal of an {@code Authentication}.
+	 *
+	 * @param authentication the {@code Authentication}
+	 * @return the details, or null if not available
+	 */
+	@SuppressWarnings("unchecked")
+	public static Map<String, Object> getPrincipalDetails(Authentication authentication) {
+		if (authentication==null) {
+			return null;
+		}
+		if (authentication.getPrincipal() instanceof OAuth2AuthenticatedPrincipal) {
+			return ((OAuth2AuthenticatedPrincipal) authentication.getPrincipal()).getAttributes();
+		}
+		if (authentication.getCredentials() instanceof Jwt) {
+			return ((Jwt) authentication.getCredentials()).getClaims();
+		}
+		if (authentication instanceof OAuth2Authentication) {
+			Authentication userAuthentication = ((OAuth2Authentication) authentication).getUserAuthentication();
+			if (userAuthentication!=null && userAuthentication.getDetails() instanceof Map) {
+				return (Map<String, Object>) userAuthentication.getDetails();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Make the {@code User} for an {@code Authentication}.
+	 *
+	 * @param authentication the {@code Authentication}
+	 * @return the {@code User}, or null if not available
+	 */
+	public static User makeUser(Authentication authentication) {
+		Map<String, Object> details = getPrincipalDetails(authentication);
+		if (details==null) {
+			return null;
+		}
+		return MappingUtils.convert(details, User.class);
+	}
+
+	private static String getTokenValue(Authentication authentication) {
+		if (authentication.getCredentials() instanceof AbstractOAuth2Token) {
+			return ((AbstractOAuth2Token) authentication.getCredentials()).getTokenValue();
+		}
+		return SsoReactiveClient.getTokenValue(authentication);
+	}
+
+	private static class CachedUser {
+
+		private final User user;
+
+		private final long expiresAt;
+
+		CachedUser(User user, long expiresAt) {
+			this.user = user;
+			this.expiresAt = expiresAt;
+		}
+
+	}
+
+}
@@ -0,0 +1,73 @@
+package org.einnovator.sso.client.reactive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import org.einnovator.sso.client.config.SsoClientConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+class SsoReactiveClientRawTests {
+
+	private static final String USER = "{\"id\":\"u1\",\"username\":\"alice\",\"unknown\":{\"nested\":[1,2,3]}}";
+
+	private DisposableServer server;
+
+	@BeforeEach
+	void startStubServer() {
+		server = HttpServer.create().host("localhost").port(0)
+			.route(routes -> routes
+				.get("/api/user/u1", (request, response) -> response.header("Content-Type", "application/json").header("ETag", "\"v1\"").sendString(Flux.just(USER)))
+				.get("/api/user/u2", (request, response) -> response.status(404).send()))
+			.bindNow();
+	}
+
+	@AfterEach
+	void stopStubServer() {
+		server.disposeNow();
+	}
+
+	private RequestEntity<Void> get(String path) {
+		return RequestEntity.get(URI.create("http://localhost:" + server.port() + path)).accept(MediaType.APPLICATION_JSON).build();
+	}
+
+	@Test
+	void passesBodyThroughWithoutDecoding() {
+		SsoReactiveClient client = new SsoReactiveClient(WebClient.create(), new SsoClientConfiguration(), false);
+		ResponseEntity<Flux<DataBuffer>> entity = client.retrieveRaw(get("/api/user/u1"), null).block();
+		assertEquals(HttpStatus.OK, entity.getStatusCode());
+		assertEquals("\"v1\"", entity.getHeaders().getETag());
+		assertFalse(entity.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING));
+		String body = DataBufferUtils.join(entity.getBody()).map(buffer -> {
+			String value = buffer.toString(StandardCharsets.UTF_8);
+			DataBufferUtils.release(buffer);
+			return value;
+		}).block();
+		assertEquals(USER, body);
+	}
+
+	@Test
+	void failsOnErrorResponse() {
+		SsoReactiveClient client = new SsoReactiveClient(WebClient.create(), new SsoClientConfiguration(), false);
+		assertThrows(WebClientResponseException.NotFound.class, () -> client.retrieveRaw(get("/api/user/u2"), null).block());
+	}
+
+}
@@ -0,0 +1,117 @@
+package org.einnovator.sso.client.reactive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.einnovator.sso.client.config.SsoClientConfiguration;
+import org.einnovator.sso.client.model.SsoRegistration;
+import org.einnovator.sso.client.reactive.config.ReactiveRegistrationConfiguration;
+import org.einnovator.sso.client.reactive.config.SsoReactiveClientConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.client.OAuth2ClientContext;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+class SsoReactiveClientRegistrationTests {
+
+	private DisposableServer server;
+
+	private final List<String> bodies = new CopyOnWriteArrayList<>();
+
+	private final List<String> contentTypes = new CopyOnWriteArrayList<>();
+
+	private volatile int status = 200;
+
+	@TempDir
+	Path dir;
+
+	@BeforeEach
+	void startStubServer() {
+		server = HttpServer.create().host("localhost").port(0)
+			.handle((request, response) -> request.receive().aggregate().asString().defaultIfEmpty("")
+				.flatMap(body -> {
+					bodies.add(body);
+					contentTypes.add(String.valueOf(request.requestHeaders().get(HttpHeaders.CONTENT_TYPE)));
+					return response.status(status).send().then();
+				}))
+			.bindNow();
+	}
+
+	@AfterEach
+	void stopStubServer() {
+		server.disposeNow();
+	}
+
+	private SsoReactiveClient makeClient(String hashDir) {
+		SsoClientConfiguration config = new SsoClientConfiguration();
+		config.setServer("http://localhost:" + server.port());
+		config.setClientId("app");
+		SsoReactiveClient client = new SsoReactiveClient(WebClient.create(), config, false) {
+
+			@Override
+			public OAuth2AccessToken setupClientToken(OAuth2ClientContext oauth2ClientContext) {
+				return null;
+			}
+
+			@Override
+			public WebClient makeClientWebClient() {
+				return WebClient.create();
+			}
+
+		};
+		SsoReactiveClientConfiguration reactiveConfig = new SsoReactiveClientConfiguration();
+		ReactiveRegistrationConfiguration registration = new ReactiveRegistrationConfiguration();
+		registration.setMaxRetries(0L);
+		registration.setHashDir(hashDir);
+		reactiveConfig.setRegistration(registration);
+		client.setReactiveConfig(reactiveConfig);
+		return client;
+	}
+
+	@Test
+	void sendsRegistrationAsBody() {
+		SsoReactiveClient client = makeClient(null);
+		client.register(new SsoRegistration(), WebClient.create()).block();
+		assertEquals(1, bodies.size());
+		assertTrue(bodies.get(0).startsWith("{"));
+		assertTrue(contentTypes.get(0).startsWith("application/json"));
+	}
+
+	@Test
+	void recordsHashOnlyAfterSuccess() {
+		SsoReactiveClient client = makeClient(dir.toString());
+		File hashFile = new File(dir.toFile(), "sso-registration-app.hash");
+		status = 500;
+		assertThrows(RuntimeException.class, () -> client.register(new SsoRegistration()).block());
+		assertFalse(hashFile.exists());
+		status = 200;
+		client.register(new SsoRegistration()).block();
+		assertTrue(hashFile.exists());
+		assertEquals(2, bodies.size());
+		client.register(new SsoRegistration()).block();
+		assertEquals(2, bodies.size());
+	}
+
+	@Test
+	void doesNotSkipWithoutHashLocation() {
+		SsoReactiveClient client = makeClient(null);
+		client.register(new SsoRegistration()).block();
+		client.register(new SsoRegistration()).block();
+		assertEquals(2, bodies.size());
+	}
+
+}
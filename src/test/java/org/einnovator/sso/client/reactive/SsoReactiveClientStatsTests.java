@@ -0,0 +1,61 @@
+package org.einnovator.sso.client.reactive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.einnovator.sso.client.config.SsoClientConfiguration;
+import org.einnovator.sso.client.model.InvitationStats;
+import org.einnovator.sso.client.reactive.config.SsoReactiveClientConfiguration;
+import org.einnovator.sso.client.reactive.config.SsoReactiveClientContext;
+import org.einnovator.util.web.RequestOptions;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+class SsoReactiveClientStatsTests {
+
+	@Test
+	void viewersShareOneRefreshPerInterval() {
+		VirtualTimeScheduler scheduler = VirtualTimeScheduler.getOrSet();
+		try {
+			AtomicInteger requests = new AtomicInteger();
+			SsoReactiveClient client = new SsoReactiveClient(null, new SsoClientConfiguration(), false) {
+				@Override
+				public Mono<InvitationStats> getInvitationStats(RequestOptions options, SsoReactiveClientContext context) {
+					return Mono.fromCallable(() -> {
+						requests.incrementAndGet();
+						return new InvitationStats();
+					});
+				}
+			};
+			SsoReactiveClientConfiguration reactiveConfig = new SsoReactiveClientConfiguration();
+			reactiveConfig.getCounts().setStatsInterval(200L);
+			client.setReactiveConfig(reactiveConfig);
+			AtomicInteger received = new AtomicInteger();
+			Disposable[] viewers = new Disposable[10];
+			for (int i = 0; i<viewers.length; i++) {
+				viewers[i] = client.getInvitationStatsFlux().subscribe(stats -> received.incrementAndGet());
+			}
+			scheduler.advanceTimeBy(Duration.ofMillis(500));
+			assertEquals(3, requests.get());
+			assertEquals(3 * viewers.length, received.get());
+			InvitationStats latest = client.getInvitationStatsFlux().blockFirst(Duration.ofSeconds(1));
+			assertNotNull(latest);
+			assertEquals(3, requests.get());
+			assertNotNull(client.getInvitationStatsSnapshot());
+			for (Disposable viewer: viewers) {
+				viewer.dispose();
+			}
+			scheduler.advanceTimeBy(Duration.ofMillis(1000));
+			assertEquals(3, requests.get());
+		} finally {
+			VirtualTimeScheduler.reset();
+		}
+	}
+
+}
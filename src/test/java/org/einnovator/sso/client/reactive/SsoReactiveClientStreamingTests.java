@@ -0,0 +1,55 @@
+package org.einnovator.sso.client.reactive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.einnovator.sso.client.config.SsoClientConfiguration;
+import org.einnovator.sso.client.reactive.config.SsoReactiveClientConfiguration;
+import org.einnovator.sso.client.reactive.config.SsoReactiveClientContext;
+import org.einnovator.sso.client.reactive.limit.DemandMetrics;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class SsoReactiveClientStreamingTests {
+
+	private static SsoReactiveClient makeClient() {
+		SsoReactiveClient client = new SsoReactiveClient(null, new SsoClientConfiguration(), false);
+		client.setReactiveConfig(new SsoReactiveClientConfiguration());
+		return client;
+	}
+
+	@Test
+	void requestsInBatchesOfLimitRate() {
+		SsoReactiveClient client = makeClient();
+		List<Long> requests = new ArrayList<>();
+		Flux<Integer> source = Flux.range(0, 1000).doOnRequest(requests::add);
+		StepVerifier.create(client.limitRate(source, new SsoReactiveClientContext().withLimitRate(100)))
+			.expectNextCount(1000)
+			.verifyComplete();
+		assertEquals(100L, requests.get(0));
+		assertTrue(requests.stream().allMatch(n -> n<=100));
+		DemandMetrics metrics = client.getDemandMetrics();
+		assertEquals(1000, metrics.getEmitted());
+		assertEquals(0, metrics.getUnbounded());
+		assertEquals(0, metrics.getActive());
+	}
+
+	@Test
+	void dropsOnBufferOverflow() {
+		SsoReactiveClient client = makeClient();
+		SsoReactiveClientContext context = new SsoReactiveClientContext().withLimitRate(0).withMaxBuffer(10).withOverflow(BufferOverflowStrategy.DROP_LATEST);
+		StepVerifier.create(client.limitRate(Flux.range(0, 100), context), 5)
+			.expectNextCount(5)
+			.thenRequest(Long.MAX_VALUE)
+			.expectNextCount(10)
+			.verifyComplete();
+		assertEquals(85, client.getDemandMetrics().getDropped());
+	}
+
+}
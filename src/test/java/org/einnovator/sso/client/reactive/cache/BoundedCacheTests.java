@@ -0,0 +1,52 @@
+package org.einnovator.sso.client.reactive.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedCacheTests {
+
+	@Test
+	void evictsLeastRecentlyUsedWhenFull() {
+		BoundedCache<String, Integer> cache = new BoundedCache<>(2);
+		cache.put("a", 1);
+		cache.put("b", 2);
+		cache.get("a");
+		cache.put("c", 3);
+		assertEquals(2, cache.size());
+		assertEquals(1, (int) cache.get("a"));
+		assertNull(cache.get("b"));
+		assertEquals(3, (int) cache.get("c"));
+		assertEquals(1, cache.getEvictions());
+	}
+
+	@Test
+	void shrinksWhenMaxSizeReduced() {
+		BoundedCache<String, Integer> cache = new BoundedCache<>(0);
+		for (int i = 0; i < 10; i++) {
+			cache.put("k" + i, i);
+		}
+		assertEquals(10, cache.size());
+		cache.setMaxSize(3);
+		assertEquals(3, cache.size());
+		assertEquals(9, (int) cache.get("k9"));
+		assertNull(cache.get("k0"));
+	}
+
+	@Test
+	void removesOnlyExpectedValue() {
+		BoundedCache<String, Integer> cache = new BoundedCache<>(10);
+		cache.put("a", 1);
+		assertFalse(cache.remove("a", 2));
+		assertTrue(cache.remove("a", 1));
+		cache.put("a", 1);
+		cache.put("b", 2);
+		cache.removeIf((key, value) -> value > 1);
+		assertEquals(1, cache.size());
+		assertEquals("a", cache.keys().get(0));
+	}
+
+}
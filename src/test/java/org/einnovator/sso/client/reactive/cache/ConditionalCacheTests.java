@@ -0,0 +1,44 @@
+package org.einnovator.sso.client.reactive.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class ConditionalCacheTests {
+
+	@Test
+	void entriesWithValidatorsAreRevalidated() {
+		ConditionalCache cache = new ConditionalCache(0, 100);
+		cache.put("u1", "alice", "\"v1\"", -1);
+		ConditionalCache.Entry<String> entry = cache.get("u1", String.class);
+		assertEquals("alice", entry.getValue());
+		assertEquals("\"v1\"", entry.getEtag());
+		assertFalse(cache.isFresh(entry));
+		cache.touch(entry);
+		assertEquals(1, cache.getNotModified());
+	}
+
+	@Test
+	void entriesWithoutValidatorsAreNotCachedWithoutTtl() {
+		ConditionalCache cache = new ConditionalCache(0, 100);
+		cache.put("u1", "alice", null, -1);
+		assertNull(cache.get("u1", String.class));
+		assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	void freshEntriesAreHits() {
+		ConditionalCache cache = new ConditionalCache(60000, 100);
+		cache.put("u1", "alice", null, 1000L);
+		ConditionalCache.Entry<String> entry = cache.get("u1", String.class);
+		assertTrue(cache.isFresh(entry));
+		assertEquals(1, cache.getHits());
+		assertNull(cache.get("u1", Integer.class));
+		cache.invalidateIf(key -> key.startsWith("u"));
+		assertEquals(0, cache.size());
+	}
+
+}
@@ -0,0 +1,48 @@
+package org.einnovator.sso.client.reactive.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+class PendingLoadsTests {
+
+	@Test
+	void concurrentLoadsShareOneRequest() {
+		PendingLoads<String, Integer> pending = new PendingLoads<>();
+		AtomicInteger loads = new AtomicInteger();
+		MonoProcessor<Integer> result = MonoProcessor.create();
+		Mono<Integer> load1 = pending.get("k", () -> result.doOnSubscribe(s -> loads.incrementAndGet()));
+		Mono<Integer> load2 = pending.get("k", () -> Mono.just(2));
+		assertSame(load1, load2);
+		load1.subscribe();
+		load2.subscribe();
+		result.onNext(1);
+		assertEquals(1, load2.block());
+		assertEquals(1, loads.get());
+		assertEquals(0, pending.size());
+	}
+
+	@Test
+	void terminatedLoadDoesNotRemoveNewerLoad() {
+		PendingLoads<String, Integer> pending = new PendingLoads<>();
+		MonoProcessor<Integer> first = MonoProcessor.create();
+		MonoProcessor<Integer> second = MonoProcessor.create();
+		pending.get("k", () -> first).subscribe();
+		pending.remove("k");
+		Mono<Integer> load2 = pending.get("k", () -> second);
+		load2.subscribe();
+		first.onNext(1);
+		assertEquals(1, pending.size());
+		assertSame(load2, pending.get("k", () -> Mono.just(3)));
+		second.onNext(2);
+		assertEquals(2, load2.block());
+		assertEquals(0, pending.size());
+	}
+
+}
@@ -0,0 +1,71 @@
+package org.einnovator.sso.client.reactive.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import reactor.core.publisher.Mono;
+
+class RegistryCacheTests {
+
+	private static Mono<String> notFound(AtomicInteger loads) {
+		return Mono.defer(() -> {
+			loads.incrementAndGet();
+			return Mono.error(WebClientResponseException.create(404, "Not Found", null, null, null));
+		});
+	}
+
+	@Test
+	void cachesValuesAndUnknownKeys() {
+		RegistryCache<String> cache = new RegistryCache<>();
+		AtomicInteger loads = new AtomicInteger();
+		assertEquals("app", cache.get("c1", () -> Mono.fromCallable(() -> "app" + (loads.incrementAndGet()>1 ? "!" : ""))).block());
+		assertEquals("app", cache.get("c1", () -> Mono.just("other")).block());
+		assertThrows(WebClientResponseException.NotFound.class, () -> cache.get("unknown", () -> notFound(loads)).block());
+		assertThrows(WebClientResponseException.NotFound.class, () -> cache.get("unknown", () -> notFound(loads)).block());
+		assertEquals(2, loads.get());
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getNegativeHits());
+		assertEquals(2, cache.getMisses());
+	}
+
+	@Test
+	void otherErrorsAreNotCached() {
+		RegistryCache<String> cache = new RegistryCache<>();
+		assertThrows(IllegalStateException.class, () -> cache.get("c1", () -> Mono.error(new IllegalStateException())).block());
+		assertEquals("app", cache.get("c1", () -> Mono.just("app")).block());
+	}
+
+	@Test
+	void entriesExpire() {
+		RegistryCache<String> cache = new RegistryCache<>(50, 50, 100);
+		Clock clock = Clock.fixed(Instant.EPOCH, ZoneOffset.UTC);
+		cache.setClock(clock);
+		cache.put("c1", "app");
+		assertEquals("app", cache.getIfPresent("c1"));
+		cache.setClock(Clock.offset(clock, Duration.ofMillis(50)));
+		assertNull(cache.getIfPresent("c1"));
+		assertEquals("app2", cache.get("c1", () -> Mono.just("app2")).block());
+	}
+
+	@Test
+	void invalidationDiscardsLoadsInFlight() {
+		RegistryCache<String> cache = new RegistryCache<>();
+		Mono<String> load = cache.get("c1", () -> Mono.delay(Duration.ofMillis(50)).map(t -> "old"));
+		load.subscribe();
+		cache.clear();
+		assertEquals("new", cache.get("c1", () -> Mono.just("new")).block());
+		assertEquals("old", load.block());
+		assertEquals("new", cache.getIfPresent("c1"));
+	}
+
+}
@@ -0,0 +1,105 @@
+package org.einnovator.sso.client.reactive.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+class StaleWhileRevalidateCacheTests {
+
+	private static <K, V> StaleWhileRevalidateCache<K, V> makeCache(long softTtl, long hardTtl) {
+		StaleWhileRevalidateCache<K, V> cache = new StaleWhileRevalidateCache<>(softTtl, hardTtl, 100);
+		cache.setClock(Clock.fixed(Instant.EPOCH, ZoneOffset.UTC));
+		return cache;
+	}
+
+	private static void advance(StaleWhileRevalidateCache<?, ?> cache, long millis) {
+		cache.setClock(Clock.offset(cache.getClock(), Duration.ofMillis(millis)));
+	}
+
+	@Test
+	void freshValueIsNotReloaded() {
+		StaleWhileRevalidateCache<String, Integer> cache = makeCache(60000, 120000);
+		AtomicInteger loads = new AtomicInteger();
+		assertEquals(1, cache.get("k", () -> Mono.fromCallable(loads::incrementAndGet)).block());
+		assertEquals(1, cache.get("k", () -> Mono.fromCallable(loads::incrementAndGet)).block());
+		assertEquals(1, loads.get());
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	void staleValueIsServedWhileRefreshing() {
+		StaleWhileRevalidateCache<String, Integer> cache = makeCache(10, 60000);
+		AtomicInteger loads = new AtomicInteger();
+		cache.get("k", () -> Mono.fromCallable(loads::incrementAndGet)).block();
+		advance(cache, 20);
+		assertEquals(1, cache.get("k", () -> Mono.fromCallable(loads::incrementAndGet)).block());
+		assertEquals(2, cache.getIfPresent("k"));
+		assertEquals(2, loads.get());
+		assertEquals(1, cache.getStaleHits());
+	}
+
+	@Test
+	void singleBackgroundRefresh() {
+		StaleWhileRevalidateCache<String, Integer> cache = makeCache(10, 60000);
+		AtomicInteger loads = new AtomicInteger();
+		cache.put("k", 0);
+		advance(cache, 20);
+		for (int i=0; i<10; i++) {
+			assertEquals(0, cache.get("k", () -> Mono.<Integer>never().doOnSubscribe(s -> loads.incrementAndGet())).block());
+		}
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void refreshIsRetriedAfterEmptyOrFailedRefresh() {
+		StaleWhileRevalidateCache<String, Integer> cache = makeCache(10, 60000);
+		AtomicInteger loads = new AtomicInteger();
+		cache.put("k", 0);
+		advance(cache, 20);
+		assertEquals(0, cache.get("k", () -> Mono.<Integer>empty().doOnSubscribe(s -> loads.incrementAndGet())).block());
+		assertEquals(0, cache.get("k", () -> Mono.<Integer>error(new IllegalStateException()).doOnSubscribe(s -> loads.incrementAndGet())).block());
+		assertEquals(0, cache.get("k", () -> Mono.just(1).doOnSubscribe(s -> loads.incrementAndGet())).block());
+		assertEquals(3, loads.get());
+		assertEquals(1, cache.getIfPresent("k"));
+	}
+
+	@Test
+	void hardExpiredValueIsReloaded() {
+		StaleWhileRevalidateCache<String, Integer> cache = makeCache(5, 10);
+		cache.put("k", 0);
+		advance(cache, 20);
+		assertEquals(1, cache.get("k", () -> Mono.just(1)).block());
+		assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	void loadsInFlightDuringClearAreNotStored() {
+		StaleWhileRevalidateCache<String, Integer> cache = makeCache(10, 60000);
+		MonoProcessor<Integer> load = MonoProcessor.create();
+		MonoProcessor<Integer> result = cache.get("k", () -> load).toProcessor();
+		cache.clear();
+		load.onNext(1);
+		assertEquals(1, result.block());
+		assertNull(cache.getIfPresent("k"));
+		cache.put("k", 0);
+		advance(cache, 20);
+		MonoProcessor<Integer> refresh = MonoProcessor.create();
+		assertEquals(0, cache.get("k", () -> refresh).block());
+		cache.invalidate("k");
+		refresh.onNext(1);
+		assertNull(cache.getIfPresent("k"));
+		assertEquals(2, cache.get("k", () -> Mono.just(2)).block());
+	}
+
+}
@@ -0,0 +1,117 @@
+package org.einnovator.sso.client.reactive.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+class TwoLevelCacheTests {
+
+	private static TwoLevelCache<String> makeCache(SharedCache sharedCache) {
+		TwoLevelCache<String> cache = new TwoLevelCache<>("test", String.class);
+		cache.setSharedCache(sharedCache);
+		return cache;
+	}
+
+	@Test
+	void valuesLoadedByOneInstanceAreSharedWithOthers() {
+		InMemorySharedCache sharedCache = new InMemorySharedCache();
+		TwoLevelCache<String> node1 = makeCache(sharedCache);
+		TwoLevelCache<String> node2 = makeCache(sharedCache);
+		AtomicInteger loads = new AtomicInteger();
+		assertEquals("alice", node1.get("u1", () -> Mono.fromCallable(() -> "alice" + (loads.incrementAndGet()>1 ? "!" : ""))).block());
+		assertEquals("alice", node2.get("u1", () -> Mono.fromCallable(() -> "alice" + (loads.incrementAndGet()>1 ? "!" : ""))).block());
+		assertEquals("alice", node2.get("u1", () -> Mono.just("other")).block());
+		assertEquals(1, loads.get());
+		assertEquals(1, node1.getL2Misses());
+		assertEquals(1, node2.getL2Hits());
+		assertEquals(1, node2.getL1Hits());
+		assertEquals(0.5, node2.getL1HitRate());
+		assertEquals(1.0, node2.getL2HitRate());
+	}
+
+	@Test
+	void valuesFromSharedCacheKeepTheirExpiry() {
+		InMemorySharedCache sharedCache = new InMemorySharedCache();
+		Clock clock = Clock.fixed(Instant.now(), ZoneOffset.UTC);
+		TwoLevelCache<String> node1 = makeCache(sharedCache);
+		TwoLevelCache<String> node2 = makeCache(sharedCache);
+		node1.setClock(clock);
+		node1.put("u1", "alice", 1000);
+		node2.setClock(Clock.offset(clock, Duration.ofMillis(900)));
+		assertEquals("alice", node2.get("u1", () -> Mono.just("other")).block());
+		node2.setClock(Clock.offset(clock, Duration.ofMillis(1000)));
+		assertNull(node2.getIfPresent("u1"));
+		assertEquals("bob", node2.get("u1", () -> Mono.just("bob")).block());
+		assertEquals(1, node2.getL2Misses());
+	}
+
+	@Test
+	void invalidateEvictsBothLevels() {
+		InMemorySharedCache sharedCache = new InMemorySharedCache();
+		TwoLevelCache<String> cache = makeCache(sharedCache);
+		cache.put("u1", "alice");
+		assertEquals(1, sharedCache.size());
+		cache.invalidateIf(key -> key.startsWith("u"));
+		assertNull(cache.getIfPresent("u1"));
+		assertEquals(0, sharedCache.size());
+	}
+
+	@Test
+	void invalidatePrefixEvictsEntriesOfOtherInstances() {
+		InMemorySharedCache sharedCache = new InMemorySharedCache();
+		TwoLevelCache<String> node1 = makeCache(sharedCache);
+		TwoLevelCache<String> node2 = makeCache(sharedCache);
+		node1.put("alice|g1", "admin");
+		node1.put("bob|g1", "user");
+		node2.invalidatePrefix("alice|");
+		assertEquals(1, sharedCache.size());
+		assertEquals("viewer", node2.get("alice|g1", () -> Mono.just("viewer")).block());
+		node2.clear();
+		assertEquals(0, sharedCache.size());
+	}
+
+	@Test
+	void loadsInFlightDuringInvalidationAreNotStored() {
+		InMemorySharedCache sharedCache = new InMemorySharedCache();
+		TwoLevelCache<String> cache = makeCache(sharedCache);
+		MonoProcessor<String> load = MonoProcessor.create();
+		MonoProcessor<String> result = cache.get("u1", () -> load).toProcessor();
+		cache.invalidate("u1");
+		load.onNext("revoked");
+		assertEquals("revoked", result.block());
+		assertNull(cache.getIfPresent("u1"));
+		assertEquals(0, sharedCache.size());
+		assertEquals("granted", cache.get("u1", () -> Mono.just("granted")).block());
+		assertEquals("granted", cache.getIfPresent("u1"));
+	}
+
+	@Test
+	void fileSharedCache(@TempDir File dir) {
+		FileSharedCache sharedCache = new FileSharedCache(dir);
+		sharedCache.put("k", new byte[] {1, 2, 3}, 60000).block();
+		assertArrayEquals(new byte[] {1, 2, 3}, new FileSharedCache(dir).get("k").block());
+		sharedCache.put("expired", new byte[] {1}, -1).block();
+		assertNull(sharedCache.get("expired").block());
+		sharedCache.evict("k").block();
+		assertNull(sharedCache.get("k").block());
+		sharedCache.put("roles:alice|g1", new byte[] {1}, 60000).block();
+		sharedCache.put("roles:bob|g1", new byte[] {2}, 60000).block();
+		sharedCache.evictAll("roles:alice|").block();
+		assertNull(sharedCache.get("roles:alice|g1").block());
+		assertArrayEquals(new byte[] {2}, sharedCache.get("roles:bob|g1").block());
+	}
+
+}
@@ -0,0 +1,88 @@
+package org.einnovator.sso.client.reactive.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.einnovator.sso.client.reactive.config.ReactiveWriteBehindConfiguration;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Mono;
+
+class WriteBehindBufferTests {
+
+	private static WriteBehindBuffer makeBuffer(long window) {
+		ReactiveWriteBehindConfiguration config = new ReactiveWriteBehindConfiguration();
+		config.setWindow(window);
+		return new WriteBehindBuffer(config);
+	}
+
+	private static Mono<Void> write(List<String> written, String value) {
+		return Mono.fromRunnable(() -> written.add(value));
+	}
+
+	@Test
+	void coalescesWritesToTheSameKeyInWindow() {
+		WriteBehindBuffer buffer = makeBuffer(100);
+		List<String> written = new CopyOnWriteArrayList<>();
+		Mono<Void> first = buffer.submit("user:u1", () -> write(written, "v1")).cache();
+		first.subscribe();
+		buffer.submit("user:u1", () -> write(written, "v2")).subscribe();
+		buffer.submit("user:u2", () -> write(written, "w1")).subscribe();
+		Mono<Void> last = buffer.submit("user:u1", () -> write(written, "v3"));
+		last.block(Duration.ofSeconds(5));
+		first.block(Duration.ofSeconds(5));
+		buffer.flush().block(Duration.ofSeconds(5));
+		assertEquals(2, written.size());
+		assertTrue(written.contains("v3") && written.contains("w1"));
+		assertEquals(4, buffer.getSubmitted());
+		assertEquals(2, buffer.getCoalesced());
+		assertEquals(2, buffer.getWrites());
+	}
+
+	@Test
+	void doesNotCoalesceWritesWithDifferentScope() {
+		WriteBehindBuffer buffer = makeBuffer(100);
+		List<String> written = new CopyOnWriteArrayList<>();
+		Object alice = new Object();
+		Object bob = new Object();
+		Mono<Void> first = buffer.submit("user:u1", new Object[] {null, alice}, () -> write(written, "alice1")).cache();
+		first.subscribe();
+		buffer.submit("user:u1", new Object[] {null, alice}, () -> write(written, "alice2")).subscribe();
+		Mono<Void> last = buffer.submit("user:u1", new Object[] {null, bob}, () -> write(written, "bob1"));
+		last.block(Duration.ofSeconds(5));
+		first.block(Duration.ofSeconds(5));
+		assertEquals(Arrays.asList("alice2", "bob1"), written);
+		assertEquals(1, buffer.getCoalesced());
+		assertEquals(2, buffer.getWrites());
+	}
+
+	@Test
+	void callersGetErrorOfCoalescedWrite() {
+		WriteBehindBuffer buffer = makeBuffer(50);
+		Mono<Void> first = buffer.submit("group:g1", () -> Mono.empty()).cache();
+		first.subscribe(v -> {}, e -> {});
+		Mono<Void> second = buffer.submit("group:g1", () -> Mono.error(new IllegalStateException("conflict")));
+		assertThrows(IllegalStateException.class, () -> second.block(Duration.ofSeconds(5)));
+		assertThrows(IllegalStateException.class, () -> first.block(Duration.ofSeconds(5)));
+		assertEquals(1, buffer.getFailed());
+	}
+
+	@Test
+	void flushWritesPendingWritesOnDestroy() {
+		WriteBehindBuffer buffer = makeBuffer(60000);
+		List<String> written = new CopyOnWriteArrayList<>();
+		buffer.submit("invitation:i1", () -> write(written, "i1")).subscribe();
+		assertEquals(1, buffer.getPending());
+		buffer.destroy();
+		assertEquals(Collections.singletonList("i1"), written);
+		assertEquals(0, buffer.getPending());
+	}
+
+}
@@ -0,0 +1,102 @@
+package org.einnovator.sso.client.reactive.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.einnovator.sso.client.reactive.model.UserView;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.Decoder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.codec.DecoderHttpMessageReader;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+
+class ReactiveWebClientFactoryTests {
+
+	@Test
+	void jsonCodecsShareTunedObjectMapper() throws Exception {
+		SsoReactiveClientConfiguration config = new SsoReactiveClientConfiguration();
+		config.getCodecs().setMaxInMemorySize(1024 * 1024);
+		ReactiveWebClientFactory factory = new ReactiveWebClientFactory(config);
+		ObjectMapper mapper = factory.getObjectMapper();
+		Jackson2JsonDecoder decoder = factory.getExchangeStrategies().messageReaders().stream()
+			.filter(reader -> reader instanceof DecoderHttpMessageReader)
+			.map(reader -> (Decoder<?>) ((DecoderHttpMessageReader<?>) reader).getDecoder())
+			.filter(reader -> reader instanceof Jackson2JsonDecoder)
+			.map(reader -> (Jackson2JsonDecoder) reader)
+			.findFirst().get();
+		assertSame(mapper, decoder.getObjectMapper());
+		assertEquals(1024 * 1024, decoder.getMaxInMemorySize());
+		assertEquals("u1", mapper.readValue("{\"id\":\"u1\",\"other\":true}", UserView.class).getId());
+		assertTrue(mapper.canDeserialize(mapper.constructType(UserView.class)));
+	}
+
+	@Test
+	void httpClientSpeaksConfiguredProtocolsAndCompresses() {
+		List<String> versions = new CopyOnWriteArrayList<>();
+		List<String> encodings = new CopyOnWriteArrayList<>();
+		DisposableServer server = HttpServer.create().host("localhost").port(0)
+			.protocol(HttpProtocol.H2C)
+			.handle((request, response) -> {
+				versions.add(request.version().text());
+				encodings.add(String.valueOf(request.requestHeaders().get(HttpHeaders.ACCEPT_ENCODING)));
+				return response.sendString(Flux.just("ok"));
+			})
+			.bindNow();
+		SsoReactiveClientConfiguration config = new SsoReactiveClientConfiguration();
+		config.getConnection().setProtocols(new String[] {"h2c"});
+		config.getConnection().setCompress(true);
+		ReactiveWebClientFactory factory = new ReactiveWebClientFactory(config);
+		try {
+			String body = factory.makeWebClient().get().uri("http://localhost:" + server.port() + "/")
+				.retrieve().bodyToMono(String.class).block();
+			assertEquals("ok", body);
+			assertEquals("HTTP/2.0", versions.get(0));
+			assertTrue(encodings.get(0).contains("gzip"));
+		} finally {
+			factory.destroy();
+			server.disposeNow();
+		}
+	}
+
+	@Test
+	void httpClientOmitsCompressionWhenDisabled() {
+		List<String> encodings = new CopyOnWriteArrayList<>();
+		DisposableServer server = HttpServer.create().host("localhost").port(0)
+			.handle((request, response) -> {
+				encodings.add(String.valueOf(request.requestHeaders().get(HttpHeaders.ACCEPT_ENCODING)));
+				return response.sendString(Flux.just("ok"));
+			})
+			.bindNow();
+		SsoReactiveClientConfiguration config = new SsoReactiveClientConfiguration();
+		config.getConnection().setCompress(false);
+		ReactiveWebClientFactory factory = new ReactiveWebClientFactory(config);
+		try {
+			factory.makeWebClient().get().uri("http://localhost:" + server.port() + "/")
+				.retrieve().bodyToMono(String.class).block();
+			assertEquals("null", encodings.get(0));
+		} finally {
+			factory.destroy();
+			server.disposeNow();
+		}
+	}
+
+	@Test
+	void rejectsUnknownProtocol() {
+		SsoReactiveClientConfiguration config = new SsoReactiveClientConfiguration();
+		config.getConnection().setProtocols(new String[] {"spdy"});
+		assertThrows(IllegalArgumentException.class, () -> new ReactiveWebClientFactory(config).getProtocols());
+	}
+
+}
@@ -0,0 +1,143 @@
+package org.einnovator.sso.client.reactive.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.einnovator.sso.client.reactive.SsoReactiveClient;
+import org.einnovator.sso.client.reactive.security.ReactiveClientTokenProvider;
+import org.einnovator.sso.client.reactive.security.ReactiveJwtTokenVerifier;
+import org.einnovator.sso.client.reactive.security.TokenRevoker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.client.DefaultOAuth2ClientContext;
+import org.springframework.security.oauth2.client.token.grant.client.ClientCredentialsResourceDetails;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+class SsoReactiveClientConfigTests {
+
+	private static final String TOKEN = "{\"access_token\":\"t1\",\"token_type\":\"bearer\",\"expires_in\":3600}";
+
+	private DisposableServer server;
+
+	private RSAKey key;
+
+	private final List<String> authorizations = new CopyOnWriteArrayList<>();
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+		.withConfiguration(AutoConfigurations.of(SsoReactiveClientConfig.class));
+
+	@BeforeEach
+	void startStubServer() throws Exception {
+		key = new RSAKeyGenerator(2048).keyID("k1").generate();
+		String jwks = new JWKSet(key.toPublicJWK()).toString();
+		server = HttpServer.create().host("localhost").port(0)
+			.handle((request, response) -> {
+				if (request.uri().contains("jwks")) {
+					return response.header("Content-Type", "application/json").sendString(Flux.just(jwks));
+				}
+				if (request.uri().contains("token")) {
+					return response.header("Content-Type", "application/json").sendString(Flux.just(TOKEN));
+				}
+				authorizations.add(String.valueOf(request.requestHeaders().get(HttpHeaders.AUTHORIZATION)));
+				return response.status(204).send();
+			})
+			.bindNow();
+	}
+
+	@AfterEach
+	void stopStubServer() {
+		server.disposeNow();
+	}
+
+	private String getServer() {
+		return "http://localhost:" + server.port();
+	}
+
+	@Test
+	void autoConfiguresClientWithTokenProvider() {
+		contextRunner
+			.withPropertyValues("sso.server=" + getServer(), "sso.client-id=app", "sso.client-secret=secret")
+			.run(context -> {
+				assertThat(context).hasSingleBean(ReactiveWebClientFactory.class);
+				assertThat(context).hasSingleBean(ReactiveClientTokenProvider.class);
+				assertThat(context).hasSingleBean(SsoReactiveClient.class);
+				SsoReactiveClient client = context.getBean(SsoReactiveClient.class);
+				assertSame(context.getBean(ReactiveWebClientFactory.class), client.getWebClientFactory());
+				assertSame(context.getBean(ReactiveClientTokenProvider.class), client.getTokenProvider());
+				assertSame(context.getBean("ssoWebClient"), client.getWebClient());
+				client.getWebClient().get().uri(getServer() + "/api/user").retrieve().toBodilessEntity().block();
+				assertEquals("Bearer t1", authorizations.get(0));
+			});
+	}
+
+	@Test
+	void verifierRejectsRevokedTokens() {
+		contextRunner
+			.withPropertyValues("sso.server=" + getServer(), "sso.client-id=app", "sso.client-secret=secret",
+				"sso.reactive.jwt.enabled=true", "sso.reactive.revocation.enabled=true")
+			.run(context -> {
+				SsoReactiveClient client = context.getBean(SsoReactiveClient.class);
+				assertSame(context.getBean(TokenRevoker.class), context.getBean(ReactiveJwtTokenVerifier.class).getTokenRevoker());
+				SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID("k1").build(),
+					new JWTClaimsSet.Builder().subject("alice").expirationTime(new Date(System.currentTimeMillis() + 60000)).build());
+				jwt.sign(new RSASSASigner(key));
+				String token = jwt.serialize();
+				assertEquals("alice", client.verifyToken(token).block().getSubject());
+				context.getBean(TokenRevoker.class).revoke(token).block();
+				JwtException e = assertThrows(JwtException.class, () -> client.verifyToken(token).block());
+				assertEquals("Revoked token", e.getMessage());
+			});
+	}
+
+	@Test
+	void fileSharedCacheRequiresDir() {
+		contextRunner
+			.withPropertyValues("sso.reactive.cache.shared=file")
+			.run(context -> assertThat(context).hasFailed());
+	}
+
+	@Test
+	void backsOffWhenDisabled() {
+		contextRunner
+			.withPropertyValues("sso.reactive.enabled=false")
+			.run(context -> assertThat(context).doesNotHaveBean(SsoReactiveClient.class));
+	}
+
+	@Test
+	void staticWebClientSendsBearerToken() {
+		ClientCredentialsResourceDetails resource = new ClientCredentialsResourceDetails();
+		resource.setAccessTokenUri(getServer() + "/oauth/token");
+		resource.setClientId("app");
+		resource.setClientSecret("secret");
+		DefaultOAuth2ClientContext oauth2ClientContext = new DefaultOAuth2ClientContext();
+		WebClient webClient = SsoReactiveClient.makeWebClient(resource, oauth2ClientContext);
+		webClient.get().uri(getServer() + "/api/user").retrieve().toBodilessEntity().block();
+		assertEquals("Bearer t1", authorizations.get(0));
+		assertEquals("t1", oauth2ClientContext.getAccessToken().getValue());
+	}
+
+}
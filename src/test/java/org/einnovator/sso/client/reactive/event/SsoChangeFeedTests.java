@@ -0,0 +1,92 @@
+package org.einnovator.sso.client.reactive.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.einnovator.sso.client.reactive.SsoReactiveClient;
+import org.einnovator.sso.client.reactive.config.ReactiveFeedConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+class SsoChangeFeedTests {
+
+	private final AtomicInteger connections = new AtomicInteger();
+
+	private final List<String> lastEventIds = new CopyOnWriteArrayList<>();
+
+	private DisposableServer server;
+
+	private static String sse(String id, String type, String action, String resourceId) {
+		return "id:" + id + "\ndata:{\"type\":\"" + type + "\",\"action\":\"" + action + "\",\"id\":\"" + resourceId + "\"}\n\n";
+	}
+
+	@BeforeEach
+	void startStubEventSource() {
+		server = HttpServer.create().host("localhost").port(0)
+			.route(routes -> routes.get("/events", (request, response) -> {
+				int n = connections.incrementAndGet();
+				lastEventIds.add(String.valueOf(request.requestHeaders().get(SsoChangeFeed.LAST_EVENT_ID_HEADER)));
+				Flux<String> events = n==1
+					? Flux.just(sse("1", "USER", "UPDATE", "u1"), sse("2", "GROUP", "DELETE", "g1"))
+					: Flux.just(sse("5", "ROLE", "UPDATE", "r1")).concatWith(Flux.never());
+				return response.header("Content-Type", "text/event-stream").sendString(events);
+			}))
+			.bindNow();
+	}
+
+	@AfterEach
+	void stopStubEventSource() {
+		server.disposeNow();
+	}
+
+	@Test
+	void publishesEventsAndResyncsOnGap() {
+		SsoReactiveClient client = mock(SsoReactiveClient.class);
+		ReactiveFeedConfiguration config = new ReactiveFeedConfiguration();
+		config.setMinBackoff(10L);
+		config.setMaxBackoff(50L);
+		SsoChangeFeed feed = new SsoChangeFeed(client, WebClient.create(), "http://localhost:" + server.port() + "/events", config);
+		feed.start();
+		try {
+			ArgumentCaptor<SsoChangeEvent> events = ArgumentCaptor.forClass(SsoChangeEvent.class);
+			verify(client, timeout(5000).times(3)).publishChange(events.capture());
+			verify(client, timeout(5000)).publishResync();
+			assertEquals(SsoChangeEvent.Type.USER, events.getAllValues().get(0).getType());
+			assertEquals("u1", events.getAllValues().get(0).getId());
+			assertEquals(SsoChangeEvent.Action.DELETE, events.getAllValues().get(1).getAction());
+			assertEquals("r1", events.getAllValues().get(2).getId());
+			assertEquals("null", lastEventIds.get(0));
+			assertEquals("2", lastEventIds.get(1));
+			assertEquals(1, feed.getResyncs());
+			assertEquals("5", feed.getLastEventId());
+		} finally {
+			feed.stop();
+		}
+	}
+
+	@Test
+	void ignoresReplayedEvents() {
+		SsoReactiveClient client = mock(SsoReactiveClient.class);
+		SsoChangeFeed feed = new SsoChangeFeed(client, WebClient.create(), "http://localhost/events", null);
+		feed.onEvent(ServerSentEvent.builder(new SsoChangeEvent(SsoChangeEvent.Type.USER, SsoChangeEvent.Action.UPDATE, "u1")).id("7").build());
+		feed.onEvent(ServerSentEvent.builder(new SsoChangeEvent(SsoChangeEvent.Type.USER, SsoChangeEvent.Action.UPDATE, "u1")).id("7").build());
+		verify(client, timeout(1000).times(1)).publishChange(any());
+		assertEquals(0, feed.getResyncs());
+	}
+
+}
@@ -0,0 +1,106 @@
+package org.einnovator.sso.client.reactive.limit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+
+import org.einnovator.sso.client.reactive.config.ReactiveConcurrencyConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+class ConcurrencyLimitFilterTests {
+
+	private static final ExchangeFunction OK = request -> Mono.just(ClientResponse.create(HttpStatus.OK).build());
+
+	private static ClientRequest get(String path) {
+		return ClientRequest.create(HttpMethod.GET, URI.create("http://localhost" + path)).build();
+	}
+
+	private static ReactiveConcurrencyConfiguration makeConfig(int initialLimit, int maxQueue) {
+		ReactiveConcurrencyConfiguration config = new ReactiveConcurrencyConfiguration();
+		config.setInitialLimit(initialLimit);
+		config.setMaxQueue(maxQueue);
+		return config;
+	}
+
+	@Test
+	void queuesRequestsOverTheLimitAndRejectsWhenQueueIsFull() {
+		ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(makeConfig(1, 1));
+		MonoProcessor<ClientResponse> pending = MonoProcessor.create();
+		ExchangeFunction slow = request -> pending;
+		Disposable first = filter.filter(get("/api/user"), slow).flatMap(ClientResponse::releaseBody).subscribe();
+		assertEquals(1, filter.getInFlight());
+		ExchangeFunction ok = request -> Mono.just(ClientResponse.create(HttpStatus.OK).body("ok").build());
+		MonoProcessor<String> second = filter.filter(get("/api/user"), ok).flatMap(response -> response.bodyToMono(String.class)).toProcessor();
+		assertEquals(1, filter.getQueueDepth());
+		assertThrows(ConcurrencyLimitExceededException.class, () -> filter.filter(get("/api/user"), OK).block());
+		assertEquals(1, filter.getRejected());
+		pending.onNext(ClientResponse.create(HttpStatus.OK).build());
+		assertEquals("ok", second.block());
+		assertEquals(0, filter.getQueueDepth());
+		assertEquals(0, filter.getInFlight());
+		first.dispose();
+	}
+
+	@Test
+	void cancelledRequestsReleaseTheirPermit() {
+		ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(makeConfig(1, 1));
+		Disposable first = filter.filter(get("/api/user"), request -> Mono.never()).subscribe();
+		Disposable queued = filter.filter(get("/api/user"), OK).subscribe();
+		assertEquals(1, filter.getQueueDepth());
+		queued.dispose();
+		assertEquals(0, filter.getQueueDepth());
+		first.dispose();
+		assertEquals(0, filter.getInFlight());
+		assertEquals(HttpStatus.OK, filter.filter(get("/api/user"), OK).block().statusCode());
+	}
+
+	@Test
+	void permitIsHeldUntilBodyIsConsumed() {
+		ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(makeConfig(1, 1));
+		ClientResponse response = filter.filter(get("/api/user"), request -> Mono.just(ClientResponse.create(HttpStatus.OK).body("ok").build())).block();
+		assertEquals(HttpStatus.OK, response.statusCode());
+		assertEquals(1, filter.getInFlight());
+		assertEquals("ok", response.bodyToMono(String.class).block());
+		assertEquals(0, filter.getInFlight());
+	}
+
+	@Test
+	void limitDecreasesOnOverload() {
+		ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(makeConfig(10, 1));
+		ExchangeFunction overloaded = request -> Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+		for (int i = 0; i<5; i++) {
+			filter.filter(get("/api/user"), overloaded).flatMap(ClientResponse::releaseBody).block();
+		}
+		assertEquals(5, filter.getLimit());
+		assertEquals(5, filter.getLimiter().getDropped());
+	}
+
+	@Test
+	void limitIncreasesWhileLatencyIsLow() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", makeConfig(2, 1));
+		for (int i = 0; i<10; i++) {
+			limiter.acquire().block();
+			limiter.acquire().block();
+			limiter.onSample(1000000, false);
+			limiter.onSample(1000000, false);
+			limiter.release();
+			limiter.release();
+		}
+		int limit = limiter.getLimit();
+		assertTrue(limit>2);
+		limiter.onSample(10000000, false);
+		assertTrue(limiter.getLimit()<limit);
+	}
+
+}
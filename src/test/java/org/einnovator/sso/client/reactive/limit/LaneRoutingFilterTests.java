@@ -0,0 +1,68 @@
+package org.einnovator.sso.client.reactive.limit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.net.URI;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.einnovator.sso.client.reactive.config.ReactiveWebClientFactory;
+import org.einnovator.sso.client.reactive.config.SsoReactiveClientConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import reactor.core.publisher.Mono;
+
+class LaneRoutingFilterTests {
+
+	private static final ClientRequest REQUEST = ClientRequest.create(HttpMethod.GET, URI.create("http://localhost/api/user")).build();
+
+	private static final ExchangeFunction NOT_ROUTED = request -> Mono.error(new IllegalStateException());
+
+	@Test
+	void routesRequestsToTheLaneInContext() {
+		Map<RequestLane, HttpStatus> statuses = new EnumMap<>(RequestLane.class);
+		statuses.put(RequestLane.INTERACTIVE, HttpStatus.OK);
+		statuses.put(RequestLane.BACKGROUND, HttpStatus.ACCEPTED);
+		statuses.put(RequestLane.ADMIN, HttpStatus.CREATED);
+		LaneRoutingFilter filter = new LaneRoutingFilter(lane -> request -> Mono.just(ClientResponse.create(statuses.get(lane)).build()));
+		assertEquals(HttpStatus.OK, filter.filter(REQUEST, NOT_ROUTED).block().statusCode());
+		assertEquals(HttpStatus.ACCEPTED, filter.filter(REQUEST, NOT_ROUTED)
+				.subscriberContext(RequestLane.context(RequestLane.BACKGROUND)).block().statusCode());
+		assertEquals(HttpStatus.CREATED, filter.filter(REQUEST, NOT_ROUTED)
+				.subscriberContext(RequestLane.context(RequestLane.ADMIN)).block().statusCode());
+		assertEquals(1, filter.getRequests(RequestLane.INTERACTIVE));
+		assertEquals(1, filter.getRequests(RequestLane.BACKGROUND));
+	}
+
+	@Test
+	void lanesHaveSeparateConcurrencyShares() {
+		SsoReactiveClientConfiguration config = new SsoReactiveClientConfiguration();
+		config.getLanes().setEnabled(true);
+		config.getConcurrency().setEnabled(true);
+		config.getConcurrency().setInitialLimit(20);
+		config.getConcurrency().setMaxLimit(100);
+		ReactiveWebClientFactory factory = new ReactiveWebClientFactory(config);
+		ConcurrencyLimitFilter interactive = factory.getConcurrencyLimitFilter(RequestLane.INTERACTIVE);
+		ConcurrencyLimitFilter background = factory.getConcurrencyLimitFilter(RequestLane.BACKGROUND);
+		assertNotSame(interactive, background);
+		assertEquals(12, interactive.getLimit());
+		assertEquals(6, background.getLimit());
+		assertEquals(2, factory.getConcurrencyLimitFilter(RequestLane.ADMIN).getLimit());
+		factory.destroy();
+	}
+
+	@Test
+	void lanesDisabledByDefault() {
+		ReactiveWebClientFactory factory = new ReactiveWebClientFactory(new SsoReactiveClientConfiguration());
+		assertNull(factory.getLaneRoutingFilter());
+		assertNull(factory.getConcurrencyLimitFilter(RequestLane.INTERACTIVE));
+	}
+
+}
@@ -0,0 +1,94 @@
+package org.einnovator.sso.client.reactive.limit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.einnovator.sso.client.reactive.config.RateLimitGroupConfiguration;
+import org.einnovator.sso.client.reactive.config.ReactiveRateLimitConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import reactor.core.publisher.Mono;
+
+class RateLimitFilterTests {
+
+	private static final ExchangeFunction OK = request -> Mono.just(ClientResponse.create(HttpStatus.OK).build());
+
+	private static ClientRequest get(String path) {
+		return ClientRequest.create(HttpMethod.GET, URI.create("http://localhost" + path)).build();
+	}
+
+	private static ReactiveRateLimitConfiguration makeConfig(double rate, int burst) {
+		ReactiveRateLimitConfiguration config = new ReactiveRateLimitConfiguration();
+		config.setRate(rate);
+		config.setBurst(burst);
+		return config;
+	}
+
+	@Test
+	void delaysRequestsOverTheLimit() {
+		RateLimitFilter filter = new RateLimitFilter(makeConfig(10, 1));
+		filter.filter(get("/api/user"), OK).block();
+		Mono<ClientResponse> second = filter.filter(get("/api/user"), OK);
+		long start = System.currentTimeMillis();
+		second.subscribe();
+		assertEquals(1, filter.getQueueDepth());
+		assertEquals(HttpStatus.OK, filter.filter(get("/api/user"), OK).block().statusCode());
+		assertTrue(System.currentTimeMillis() - start>=100);
+		assertEquals(0, filter.getQueueDepth());
+	}
+
+	@Test
+	void rejectsRequestsOverTheLimitIfNotDelaying() {
+		ReactiveRateLimitConfiguration config = makeConfig(1, 1);
+		config.setDelay(false);
+		RateLimitFilter filter = new RateLimitFilter(config);
+		filter.filter(get("/api/user"), OK).block();
+		assertThrows(RateLimitExceededException.class, () -> filter.filter(get("/api/user"), OK).block());
+		assertEquals(1, filter.getRejected());
+	}
+
+	@Test
+	void endpointGroupsHaveSeparateBuckets() {
+		ReactiveRateLimitConfiguration config = makeConfig(1, 1);
+		config.setDelay(false);
+		RateLimitGroupConfiguration users = new RateLimitGroupConfiguration();
+		users.setPaths(new String[] {"/api/user"});
+		config.getGroups().put("users", users);
+		RateLimitFilter filter = new RateLimitFilter(config);
+		filter.filter(get("/api/user/u1"), OK).block();
+		filter.filter(get("/api/group/g1"), OK).block();
+		assertEquals(2, filter.getGroups().size());
+	}
+
+	@Test
+	void retriesAfterServerRetryAfter() {
+		RateLimitFilter filter = new RateLimitFilter(makeConfig(100, 10));
+		AtomicInteger calls = new AtomicInteger();
+		ExchangeFunction server = request -> Mono.just(calls.incrementAndGet()==1
+				? ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS).header("Retry-After", "1").build()
+				: ClientResponse.create(HttpStatus.OK).build());
+		long start = System.currentTimeMillis();
+		assertEquals(HttpStatus.OK, filter.filter(get("/api/user"), server).block().statusCode());
+		assertTrue(System.currentTimeMillis() - start>=900);
+		assertEquals(2, calls.get());
+		assertEquals(1, filter.getThrottled());
+	}
+
+	@Test
+	void remainingQuotaDrainsBucket() {
+		RateLimitFilter filter = new RateLimitFilter(makeConfig(100, 10));
+		ExchangeFunction server = request -> Mono.just(ClientResponse.create(HttpStatus.OK).header("X-RateLimit-Remaining", "0").header("X-RateLimit-Reset", "2").build());
+		filter.filter(get("/api/user"), server).block();
+		assertTrue(filter.getBucket(RateLimitFilter.DEFAULT_GROUP).reserve()>1000);
+	}
+
+}
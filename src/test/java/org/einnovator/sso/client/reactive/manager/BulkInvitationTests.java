@@ -0,0 +1,95 @@
+package org.einnovator.sso.client.reactive.manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.einnovator.sso.client.model.Invitation;
+import org.einnovator.sso.client.reactive.SsoReactiveClient;
+import org.einnovator.sso.client.reactive.model.InvitationResult;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class BulkInvitationTests {
+
+	private static Invitation invitation(String uuid) {
+		Invitation invitation = new Invitation();
+		invitation.setUuid(uuid);
+		return invitation;
+	}
+
+	private static Flux<Invitation> invitations(int n) {
+		return Flux.range(0, n).map(i -> invitation("i" + i));
+	}
+
+	private SsoReactiveClient makeClient(AtomicInteger active, AtomicInteger maxActive) {
+		SsoReactiveClient client = mock(SsoReactiveClient.class);
+		when(client.invite(any(), any(), any())).thenAnswer(invocation -> {
+			Invitation invitation = invocation.getArgument(0);
+			if (invitation.getUuid().equals("i3")) {
+				return Mono.error(new IllegalArgumentException("invalid"));
+			}
+			String id = invitation.getUuid();
+			return Mono.delay(Duration.ofMillis(10))
+				.doOnSubscribe(s -> maxActive.accumulateAndGet(active.incrementAndGet(), Math::max))
+				.doFinally(signal -> active.decrementAndGet())
+				.map(t -> URI.create("http://localhost/api/invitation/" + id));
+		});
+		when(client.getInvitationToken(any(), any(), any())).thenAnswer(invocation -> Mono.just(URI.create("http://localhost/invitation?token=" + invocation.getArgument(0))));
+		return client;
+	}
+
+	@Test
+	void pipelinesInvitationsAndEmitsResultsInOrder() {
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger maxActive = new AtomicInteger();
+		BulkInvitation bulk = new BulkInvitation(makeClient(active, maxActive), null, null).withConcurrency(4);
+		List<InvitationResult> results = bulk.invite(invitations(20)).collectList().block(Duration.ofSeconds(5));
+		assertEquals(20, results.size());
+		for (int i = 0; i<20; i++) {
+			assertEquals(i, results.get(i).getIndex());
+		}
+		assertFalse(results.get(3).isSuccess());
+		assertEquals(URI.create("http://localhost/invitation?token=i5"), results.get(5).getToken());
+		assertEquals(19, bulk.getSucceeded());
+		assertEquals(1, bulk.getFailed());
+		assertEquals(19, bulk.getLastAcknowledged());
+		assertTrue(maxActive.get()<=4 && maxActive.get()>1);
+	}
+
+	@Test
+	void resumesFromLastAcknowledged() {
+		SsoReactiveClient client = makeClient(new AtomicInteger(), new AtomicInteger());
+		BulkInvitation bulk = new BulkInvitation(client, null, null);
+		assertEquals(5, bulk.invite(invitations(10)).take(5).count().block(Duration.ofSeconds(5)));
+		assertEquals(4, bulk.getLastAcknowledged());
+		List<InvitationResult> rest = bulk.resume(invitations(10)).collectList().block(Duration.ofSeconds(5));
+		assertEquals(5, rest.size());
+		assertEquals(5, rest.get(0).getIndex());
+		assertEquals(9, bulk.getLastAcknowledged());
+	}
+
+	@Test
+	void usesUuidWhenLocationIsMissing() {
+		SsoReactiveClient client = mock(SsoReactiveClient.class);
+		when(client.invite(any(), any(), any())).thenReturn(Mono.empty());
+		when(client.getInvitationToken(any(), any(), any())).thenAnswer(invocation -> Mono.just(URI.create("http://localhost/invitation?token=" + invocation.getArgument(0))));
+		BulkInvitation bulk = new BulkInvitation(client, null, null);
+		List<InvitationResult> results = bulk.invite(Flux.just(invitation("i0"), invitation(null))).collectList().block(Duration.ofSeconds(5));
+		assertEquals(URI.create("http://localhost/invitation?token=i0"), results.get(0).getToken());
+		assertFalse(results.get(1).isSuccess());
+		assertEquals(1, bulk.getFailed());
+		assertEquals(1, bulk.getLastAcknowledged());
+	}
+
+}
@@ -0,0 +1,67 @@
+package org.einnovator.sso.client.reactive.manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+
+import org.einnovator.sso.client.model.Group;
+import org.einnovator.sso.client.reactive.SsoReactiveClient;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class GroupTreeTests {
+
+	private static Group group(String id) {
+		Group group = new Group();
+		group.setId(id);
+		return group;
+	}
+
+	private SsoReactiveClient makeClient() {
+		SsoReactiveClient client = mock(SsoReactiveClient.class);
+		when(client.getGroupMono(eq("root"), any(), any())).thenReturn(Mono.just(group("root")));
+		when(client.listSubGroupsFlux(any(), eq(true), isNull(), isNull(), any())).thenReturn(Flux.empty());
+		when(client.listSubGroupsFlux(eq("root"), eq(true), isNull(), isNull(), any())).thenReturn(Flux.just(group("a"), group("b")));
+		when(client.listSubGroupsFlux(eq("a"), eq(true), isNull(), isNull(), any())).thenReturn(Flux.just(group("a1"), group("a2")));
+		when(client.listSubGroupsFlux(eq("a1"), eq(true), isNull(), isNull(), any())).thenReturn(Flux.just(group("a11")));
+		return client;
+	}
+
+	@Test
+	void loadAndQuery() {
+		GroupTree tree = new GroupTree(makeClient(), "root").load().block();
+		assertEquals(6, tree.size());
+		assertEquals("a1", tree.getParent("a11"));
+		assertNull(tree.getParent("root"));
+		assertEquals(Arrays.asList("a1", "a2"), tree.getChildren("a"));
+		assertEquals(Arrays.asList("a1", "a", "root"), tree.getAncestors("a11"));
+		assertEquals(Arrays.asList("root", "a", "a1", "a11"), tree.getPath("a11"));
+		assertEquals(Arrays.asList("a1", "a2", "a11"), tree.getDescendants("a"));
+		assertTrue(tree.isAncestor("root", "a11"));
+		assertFalse(tree.isAncestor("b", "a11"));
+		assertEquals(3, tree.getDepth("a11"));
+	}
+
+	@Test
+	void refreshSubTree() {
+		SsoReactiveClient client = makeClient();
+		GroupTree tree = new GroupTree(client, "root").load().block();
+		when(client.listSubGroupsFlux(eq("a"), eq(true), isNull(), isNull(), any())).thenReturn(Flux.just(group("a3")));
+		tree.refresh("a").block();
+		assertEquals(Arrays.asList("a3"), tree.getChildren("a"));
+		assertFalse(tree.contains("a11"));
+		assertTrue(tree.contains("b"));
+		assertEquals(4, tree.size());
+	}
+
+}
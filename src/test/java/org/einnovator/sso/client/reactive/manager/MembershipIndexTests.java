@@ -0,0 +1,53 @@
+package org.einnovator.sso.client.reactive.manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.einnovator.sso.client.model.Group;
+import org.einnovator.sso.client.reactive.SsoReactiveClient;
+import org.einnovator.sso.client.reactive.event.SsoChangeEvent;
+import org.einnovator.sso.client.reactive.event.SsoChangeEvent.Action;
+import org.einnovator.sso.client.reactive.event.SsoChangeEvent.Type;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Flux;
+
+class MembershipIndexTests {
+
+	private static Group group(String id) {
+		Group group = new Group();
+		group.setId(id);
+		return group;
+	}
+
+	@Test
+	void loadUserAndApplyDeltas() {
+		SsoReactiveClient client = mock(SsoReactiveClient.class);
+		when(client.listGroupsForUserFlux(eq("jsmith"), any(), any(), any())).thenReturn(Flux.just(group("g1"), group("g2")));
+		MembershipIndex index = new MembershipIndex(client);
+
+		assertNull(index.isMember("jsmith", "g1"));
+		assertTrue(index.isMemberMono("jsmith", "g1").block());
+		assertFalse(index.isMember("jsmith", "g3"));
+		assertEquals(new HashSet<>(Arrays.asList("g1", "g2")), index.getGroups("jsmith"));
+
+		index.onChange(new SsoChangeEvent(Type.MEMBER, Action.CREATE, null).withUserId("jsmith").withGroupId("g3"));
+		assertTrue(index.isMember("jsmith", "g3"));
+		assertEquals(Collections.singleton("jsmith"), index.getMembers("g3"));
+
+		index.onChange(new SsoChangeEvent(Type.MEMBER, Action.DELETE, null).withUserId("jsmith").withGroupId("g1"));
+		assertFalse(index.isMember("jsmith", "g1"));
+		assertEquals(0, index.getMemberCount("g1"));
+	}
+
+}
@@ -0,0 +1,103 @@
+package org.einnovator.sso.client.reactive.manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.einnovator.sso.client.model.Role;
+import org.einnovator.sso.client.reactive.SsoReactiveClient;
+import org.einnovator.sso.client.reactive.event.SsoChangeEvent;
+import org.einnovator.sso.client.reactive.event.SsoChangeEvent.Action;
+import org.einnovator.sso.client.reactive.event.SsoChangeEvent.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import reactor.core.publisher.Flux;
+
+class PermissionEngineTests {
+
+	private SsoReactiveClient client;
+
+	private PermissionEngine engine;
+
+	private static Role role(String name) {
+		Role role = new Role();
+		role.setName(name);
+		return role;
+	}
+
+	private static WebClientResponseException error(HttpStatus status) {
+		return WebClientResponseException.create(status.value(), status.getReasonPhrase(), new HttpHeaders(), new byte[0], null);
+	}
+
+	@BeforeEach
+	void setup() {
+		client = mock(SsoReactiveClient.class);
+		when(client.listRolesForUserFlux(eq("jsmith"), any(), any(), any())).thenReturn(Flux.just(role("USER")));
+		when(client.listRolesForUserInGroupFlux(eq("jsmith"), eq("g1"), any(), any(), any())).thenReturn(Flux.just(role("EDITOR")));
+		when(client.listRolesForUserInGroupFlux(eq("jsmith"), eq("root"), any(), any(), any())).thenReturn(Flux.just(role("ADMIN")));
+		GroupTree groupTree = mock(GroupTree.class);
+		when(groupTree.getAncestors("g1")).thenReturn(Arrays.asList("root"));
+		engine = new PermissionEngine(client);
+		engine.setGroupTree(groupTree);
+	}
+
+	@Test
+	void mergesGlobalGroupAndAncestorRoles() {
+		assertEquals(new HashSet<>(Arrays.asList("USER", "EDITOR", "ADMIN")), engine.getEffectiveRoles("jsmith", "g1").block());
+		assertEquals(new HashSet<>(Arrays.asList("USER")), engine.getEffectiveRoles("jsmith", null).block());
+		assertTrue(engine.hasRoleCached("jsmith", "ADMIN", "g1"));
+		assertFalse(engine.hasRoleCached("jsmith", "OWNER", "g1"));
+		assertNull(engine.hasRoleCached("jsmith", "OWNER", "g2"));
+		assertTrue(engine.hasRole("jsmith", "EDITOR", "g1").block());
+		verify(client, times(1)).listRolesForUserFlux(eq("jsmith"), any(), any(), any());
+	}
+
+	@Test
+	void cachesDeniedLookupsAsEmpty() {
+		when(client.listRolesForUserInGroupFlux(eq("jsmith"), eq("g2"), any(), any(), any())).thenReturn(Flux.error(error(HttpStatus.FORBIDDEN)));
+		when(client.listRolesForUserInGroupFlux(eq("jsmith"), eq("g3"), any(), any(), any())).thenReturn(Flux.error(error(HttpStatus.INTERNAL_SERVER_ERROR)));
+		assertFalse(engine.hasRole("jsmith", "EDITOR", "g2").block());
+		assertFalse(engine.hasRoleCached("jsmith", "EDITOR", "g2"));
+		assertFalse(engine.hasRole("jsmith", "EDITOR", "g2").block());
+		verify(client, times(1)).listRolesForUserInGroupFlux(eq("jsmith"), eq("g2"), any(), any(), any());
+		assertThrows(WebClientResponseException.class, () -> engine.hasRole("jsmith", "EDITOR", "g3").block());
+		assertNull(engine.hasRoleCached("jsmith", "EDITOR", "g3"));
+	}
+
+	@Test
+	void invalidatesOnChangeEvents() {
+		engine.getEffectiveRoles("jsmith", "g1").block();
+		engine.onChange(new SsoChangeEvent(Type.MEMBER, Action.DELETE, null).withUserId("jsmith").withGroupId("g1"));
+		assertNull(engine.hasRoleCached("jsmith", "USER", null));
+
+		engine.getEffectiveRoles("jsmith", "g1").block();
+		engine.onChange(new SsoChangeEvent(Type.USER, Action.UPDATE, "8f1c-uuid").withUserId("jsmith"));
+		assertNull(engine.hasRoleCached("jsmith", "USER", null));
+
+		engine.getEffectiveRoles("jsmith", "g1").block();
+		engine.onChange(new SsoChangeEvent(Type.USER, Action.DELETE, "8f1c-uuid"));
+		assertNull(engine.hasRoleCached("jsmith", "USER", null));
+
+		engine.getEffectiveRoles("jsmith", "g1").block();
+		engine.onChange(new SsoChangeEvent(Type.GROUP, Action.CREATE, "g4"));
+		assertTrue(engine.hasRoleCached("jsmith", "USER", null));
+		engine.onChange(new SsoChangeEvent(Type.ROLE, Action.UPDATE, "r1"));
+		assertNull(engine.hasRoleCached("jsmith", "USER", null));
+	}
+
+}
@@ -0,0 +1,38 @@
+package org.einnovator.sso.client.reactive.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.net.URI;
+
+import org.einnovator.sso.client.config.SsoClientConfiguration;
+import org.einnovator.sso.client.reactive.SsoReactiveClient;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class UserViewTests {
+
+	@Test
+	void decodesProjectedPropertiesAndSkipsOthers() throws Exception {
+		String json = "{\"id\":\"u1\",\"username\":\"alice\",\"displayName\":\"Alice\",\"address\":{\"city\":\"Lisbon\"},\"groups\":[{\"id\":\"g1\"}]}";
+		UserView view = new ObjectMapper().readValue(json, UserView.class);
+		assertEquals("u1", view.getId());
+		assertEquals("alice", view.getUsername());
+		assertEquals("Alice", view.getDisplayName());
+		assertNull(view.getEmail());
+	}
+
+	@Test
+	void requestsProjectedProperties() {
+		SsoReactiveClient client = new SsoReactiveClient(null, new SsoClientConfiguration()) {
+			@Override
+			public URI processFields(URI uri, String... fields) {
+				return super.processFields(uri, fields);
+			}
+		};
+		URI uri = client.processFields(URI.create("http://localhost/api/user/u1?fields=all&x=1"), UserView.FIELDS);
+		assertEquals("http://localhost/api/user/u1?x=1&fields=id,username,displayName,email", uri.toString());
+	}
+
+}
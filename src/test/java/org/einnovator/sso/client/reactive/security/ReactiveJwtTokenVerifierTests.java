@@ -0,0 +1,172 @@
+package org.einnovator.sso.client.reactive.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.einnovator.sso.client.reactive.config.ReactiveJwtConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.OctetSequenceKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import reactor.core.publisher.Mono;
+
+class ReactiveJwtTokenVerifierTests {
+
+	private RSAKey key1;
+
+	private RSAKey key2;
+
+	private final AtomicReference<JWKSet> jwkSet = new AtomicReference<>();
+
+	private final AtomicInteger fetches = new AtomicInteger();
+
+	private final AtomicReference<HttpStatus> status = new AtomicReference<>(HttpStatus.OK);
+
+	private final ReactiveJwtConfiguration config = new ReactiveJwtConfiguration();
+
+	@BeforeEach
+	void setup() throws Exception {
+		key1 = new RSAKeyGenerator(2048).keyID("k1").generate();
+		key2 = new RSAKeyGenerator(2048).keyID("k2").generate();
+		jwkSet.set(new JWKSet(key1.toPublicJWK()));
+		config.setRefreshInterval(0L);
+		config.setMinRefetchInterval(0L);
+		config.setClockSkew(0L);
+	}
+
+	private ReactiveJwtTokenVerifier makeVerifier() {
+		WebClient webClient = WebClient.builder().exchangeFunction(request -> {
+			fetches.incrementAndGet();
+			if (status.get()!=HttpStatus.OK) {
+				return Mono.just(ClientResponse.create(status.get()).build());
+			}
+			return Mono.just(ClientResponse.create(HttpStatus.OK)
+				.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+				.body(jwkSet.get().toString())
+				.build());
+		}).build();
+		return new ReactiveJwtTokenVerifier("http://localhost/.well-known/jwks.json", config, webClient);
+	}
+
+	private static JWTClaimsSet.Builder claims(long expiresIn) {
+		return new JWTClaimsSet.Builder().subject("alice").issuer("sso").audience("app")
+			.expirationTime(new Date(System.currentTimeMillis() + expiresIn));
+	}
+
+	private static String sign(RSAKey key, JWSAlgorithm alg, JWTClaimsSet claims) throws Exception {
+		SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(alg).keyID(key.getKeyID()).build(), claims);
+		jwt.sign(new RSASSASigner(key));
+		return jwt.serialize();
+	}
+
+	@Test
+	void acceptsValidSignature() throws Exception {
+		String token = sign(key1, JWSAlgorithm.RS256, claims(60000).build());
+		Jwt jwt = makeVerifier().decode(token).block();
+		assertEquals("alice", jwt.getSubject());
+	}
+
+	@Test
+	void rejectsBadSignature() throws Exception {
+		RSAKey other = new RSAKeyGenerator(2048).keyID("k1").generate();
+		String token = sign(other, JWSAlgorithm.RS256, claims(60000).build());
+		assertThrows(JwtException.class, () -> makeVerifier().decode(token).block());
+	}
+
+	@Test
+	void refetchesJwkSetForUnknownKeyId() throws Exception {
+		ReactiveJwtTokenVerifier verifier = makeVerifier();
+		verifier.decode(sign(key1, JWSAlgorithm.RS256, claims(60000).build())).block();
+		assertEquals(1, fetches.get());
+		jwkSet.set(new JWKSet(Arrays.<JWK>asList(key1.toPublicJWK(), key2.toPublicJWK())));
+		Jwt jwt = verifier.decode(sign(key2, JWSAlgorithm.RS256, claims(60000).build())).block();
+		assertEquals("alice", jwt.getSubject());
+		assertEquals(2, fetches.get());
+	}
+
+	@Test
+	void unknownKeyIsNotCachedAsRejected() throws Exception {
+		config.setMinRefetchInterval(60000L);
+		config.setNegativeTtl(60000L);
+		ReactiveJwtTokenVerifier verifier = makeVerifier();
+		verifier.decode(sign(key1, JWSAlgorithm.RS256, claims(60000).build())).block();
+		jwkSet.set(new JWKSet(Arrays.<JWK>asList(key1.toPublicJWK(), key2.toPublicJWK())));
+		String token = sign(key2, JWSAlgorithm.RS256, claims(60000).build());
+		JwtException e = assertThrows(JwtException.class, () -> verifier.decode(token).block());
+		assertTrue(e.getMessage().contains("Unknown signing key"));
+		assertEquals(1, fetches.get());
+		config.setMinRefetchInterval(0L);
+		assertEquals("alice", verifier.decode(token).block().getSubject());
+		assertEquals(2, fetches.get());
+	}
+
+	@Test
+	void rejectsExpiredToken() throws Exception {
+		String token = sign(key1, JWSAlgorithm.RS256, claims(-1000).build());
+		JwtException e = assertThrows(JwtException.class, () -> makeVerifier().decode(token).block());
+		assertTrue(e.getMessage().contains("Expired"));
+	}
+
+	@Test
+	void rejectsAlgorithmNotMatchingKey() throws Exception {
+		jwkSet.set(new JWKSet(new RSAKey.Builder(key1.toRSAPublicKey()).keyID("k1").algorithm(JWSAlgorithm.RS512).build()));
+		String token = sign(key1, JWSAlgorithm.RS256, claims(60000).build());
+		JwtException e = assertThrows(JwtException.class, () -> makeVerifier().decode(token).block());
+		assertTrue(e.getMessage().contains("Algorithm"));
+	}
+
+	@Test
+	void rejectsSymmetricAlgorithmsAndKeys() throws Exception {
+		OctetSequenceKey secret = new OctetSequenceKeyGenerator(256).keyID("s1").generate();
+		jwkSet.set(new JWKSet(secret));
+		SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("s1").build(), claims(60000).build());
+		jwt.sign(new MACSigner(secret));
+		JwtException e = assertThrows(JwtException.class, () -> makeVerifier().decode(jwt.serialize()).block());
+		assertTrue(e.getMessage().contains("Unsupported algorithm"));
+	}
+
+	@Test
+	void checksIssuerAndAudience() throws Exception {
+		config.setIssuer("sso");
+		config.setAudience("other");
+		String token = sign(key1, JWSAlgorithm.RS256, claims(60000).build());
+		JwtException e = assertThrows(JwtException.class, () -> makeVerifier().decode(token).block());
+		assertTrue(e.getMessage().contains("audience"));
+	}
+
+	@Test
+	void jwkSetFailuresAreUnauthenticatedAndNotCached() throws Exception {
+		ReactiveJwtTokenVerifier verifier = makeVerifier();
+		String token = sign(key1, JWSAlgorithm.RS256, claims(60000).build());
+		status.set(HttpStatus.SERVICE_UNAVAILABLE);
+		assertThrows(JwtException.class, () -> verifier.decode(token).block());
+		status.set(HttpStatus.OK);
+		assertEquals("alice", verifier.decode(token).block().getSubject());
+	}
+
+}
@@ -0,0 +1,141 @@
+package org.einnovator.sso.client.reactive.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.einnovator.sso.client.reactive.config.ReactiveRevocationConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import reactor.core.publisher.Mono;
+
+class TokenRevokerTests {
+
+	private static TokenRevoker makeRevoker(ReactiveRevocationConfiguration config, ExchangeFunction server) {
+		return new TokenRevoker("http://localhost/oauth/revoke", config, WebClient.builder().exchangeFunction(server).build());
+	}
+
+	private static final ExchangeFunction OK = request -> Mono.just(ClientResponse.create(HttpStatus.OK).build());
+
+	private static String jwt(Instant exp) throws Exception {
+		SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), new JWTClaimsSet.Builder().subject("alice").expirationTime(Date.from(exp)).build());
+		jwt.sign(new MACSigner(new byte[32]));
+		return jwt.serialize();
+	}
+
+	@Test
+	void revokesQueuedTokensWithBoundedConcurrency() {
+		ReactiveRevocationConfiguration config = new ReactiveRevocationConfiguration();
+		config.setConcurrency(4);
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger maxActive = new AtomicInteger();
+		Set<String> tokens = ConcurrentHashMap.newKeySet();
+		TokenRevoker revoker = makeRevoker(config, request -> Mono.delay(Duration.ofMillis(20))
+			.doOnSubscribe(s -> maxActive.accumulateAndGet(active.incrementAndGet(), Math::max))
+			.doFinally(signal -> active.decrementAndGet())
+			.map(t -> {
+				tokens.add(request.headers().getFirst(HttpHeaders.AUTHORIZATION));
+				return ClientResponse.create(HttpStatus.OK).build();
+			}));
+		long start = System.currentTimeMillis();
+		for (int i = 0; i<40; i++) {
+			revoker.revoke("t" + i).block();
+		}
+		assertTrue(System.currentTimeMillis() - start<200);
+		assertTrue(revoker.isRevoked("t0"));
+		revoker.flush().block(Duration.ofSeconds(5));
+		assertEquals(40, tokens.size());
+		assertTrue(tokens.contains("Bearer t39"));
+		assertEquals(40, revoker.getCompleted());
+		assertTrue(maxActive.get()<=4);
+		assertEquals(0, revoker.getQueued());
+	}
+
+	@Test
+	void retriesServerErrorsAndAcceptsInvalidTokens() {
+		ReactiveRevocationConfiguration config = new ReactiveRevocationConfiguration();
+		config.setBackoff(1L);
+		AtomicInteger calls = new AtomicInteger();
+		TokenRevoker revoker = makeRevoker(config, request -> Mono.just(ClientResponse.create(
+			request.headers().getFirst(HttpHeaders.AUTHORIZATION).endsWith("expired") ? HttpStatus.UNAUTHORIZED
+				: calls.incrementAndGet()==1 ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.OK).build()));
+		revoker.revoke("t1").then(revoker.revoke("expired")).block();
+		revoker.flush().block(Duration.ofSeconds(5));
+		assertEquals(2, calls.get());
+		assertEquals(2, revoker.getCompleted());
+		assertEquals(0, revoker.getFailed());
+	}
+
+	@Test
+	void revokesInlineWhenQueueIsFull() {
+		ReactiveRevocationConfiguration config = new ReactiveRevocationConfiguration();
+		config.setMaxQueue(0);
+		TokenRevoker revoker = makeRevoker(config, request -> Mono.just(ClientResponse.create(HttpStatus.OK).build()));
+		revoker.revoke("t1").block();
+		assertEquals(1, revoker.getOverflows());
+		assertEquals(1, revoker.getCompleted());
+		assertTrue(revoker.isRevoked("t1"));
+		assertFalse(revoker.isRevoked("t2"));
+	}
+
+	@Test
+	void remembersJwtUntilItExpires() throws Exception {
+		Instant now = Instant.ofEpochSecond(1600000000);
+		TokenRevoker revoker = makeRevoker(new ReactiveRevocationConfiguration(), OK);
+		revoker.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		String token = jwt(now.plusSeconds(60));
+		revoker.revoke(token).block();
+		revoker.revoke("opaque").block();
+		revoker.setClock(Clock.fixed(now.plusSeconds(59), ZoneOffset.UTC));
+		assertTrue(revoker.isRevoked(token));
+		revoker.setClock(Clock.fixed(now.plusSeconds(60), ZoneOffset.UTC));
+		assertFalse(revoker.isRevoked(token));
+		assertTrue(revoker.isRevoked("opaque"));
+		revoker.flush().block(Duration.ofSeconds(5));
+	}
+
+	@Test
+	void neverForgetsLiveTokensWhenFull() {
+		ReactiveRevocationConfiguration config = new ReactiveRevocationConfiguration();
+		config.setMaxRevoked(2);
+		config.setRevokedTtl(1000L);
+		Instant now = Instant.ofEpochSecond(1600000000);
+		TokenRevoker revoker = makeRevoker(config, OK);
+		revoker.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		revoker.revoke("t1").block();
+		revoker.revoke("t2").block();
+		revoker.revoke("t3").block();
+		assertTrue(revoker.isRevoked("t1"));
+		assertTrue(revoker.isRevoked("t2"));
+		assertFalse(revoker.isRevoked("t3"));
+		assertEquals(1, revoker.getRevokedOverflows());
+		revoker.flush().block(Duration.ofSeconds(5));
+		assertEquals(3, revoker.getCompleted());
+		revoker.setClock(Clock.fixed(now.plusMillis(1000), ZoneOffset.UTC));
+		revoker.revoke("t4").block();
+		assertTrue(revoker.isRevoked("t4"));
+		assertEquals(1, revoker.getRevokedSize());
+		revoker.flush().block(Duration.ofSeconds(5));
+	}
+
+}
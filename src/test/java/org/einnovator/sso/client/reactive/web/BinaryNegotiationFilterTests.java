@@ -0,0 +1,87 @@
+package org.einnovator.sso.client.reactive.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.einnovator.sso.client.reactive.config.ReactiveWebClientFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Mono;
+
+class BinaryNegotiationFilterTests {
+
+	private static ClientRequest get(String path) {
+		return ClientRequest.create(HttpMethod.GET, URI.create("http://localhost" + path)).header("Accept", MediaType.APPLICATION_JSON_VALUE).build();
+	}
+
+	@Test
+	void prefersBinaryAndAcceptsJson() {
+		BinaryNegotiationFilter filter = new BinaryNegotiationFilter(ReactiveWebClientFactory.APPLICATION_SMILE, 60000);
+		List<List<MediaType>> accepts = new ArrayList<>();
+		ExchangeFunction server = request -> {
+			accepts.add(request.headers().getAccept());
+			return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+		};
+		filter.filter(get("/api/user"), server).block();
+		assertEquals(ReactiveWebClientFactory.APPLICATION_SMILE, accepts.get(0).get(0));
+		assertEquals("0.9", accepts.get(0).get(1).getParameter("q"));
+		filter.filter(ClientRequest.create(HttpMethod.PUT, URI.create("http://localhost/api/user")).header("Accept", "application/json").build(), server).block();
+		assertEquals(1, accepts.get(1).size());
+	}
+
+	@Test
+	void fallsBackToJsonWhenRejected() {
+		BinaryNegotiationFilter filter = new BinaryNegotiationFilter(ReactiveWebClientFactory.APPLICATION_SMILE, 60000);
+		List<List<MediaType>> accepts = new ArrayList<>();
+		ExchangeFunction server = request -> {
+			List<MediaType> accept = request.headers().getAccept();
+			accepts.add(accept);
+			return Mono.just(ClientResponse.create(accept.size()>1 ? HttpStatus.NOT_ACCEPTABLE : HttpStatus.OK).build());
+		};
+		assertEquals(HttpStatus.OK, filter.filter(get("/api/user"), server).block().statusCode());
+		assertEquals(2, accepts.size());
+		assertEquals(1, filter.getFallbacks());
+		filter.filter(get("/api/user"), server).block();
+		assertEquals(3, accepts.size());
+		assertEquals(1, filter.getNegotiated());
+	}
+
+	@Test
+	void smileIsSmallerAndDecodesTheSamePayload() throws Exception {
+		List<Map<String, Object>> content = new ArrayList<>();
+		for (int i = 0; i<1000; i++) {
+			Map<String, Object> user = new LinkedHashMap<>();
+			user.put("id", "u" + i);
+			user.put("username", "user" + i);
+			user.put("email", "user" + i + "@example.com");
+			user.put("enabled", true);
+			user.put("createdDate", 1580000000000L + i);
+			content.add(user);
+		}
+		Map<String, Object> page = new LinkedHashMap<>();
+		page.put("content", content);
+		page.put("totalElements", content.size());
+		ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+		ObjectMapper smile = Jackson2ObjectMapperBuilder.smile().build();
+		byte[] jsonBytes = json.writeValueAsBytes(page);
+		byte[] smileBytes = smile.writeValueAsBytes(page);
+		assertTrue(smileBytes.length<jsonBytes.length, "smile: " + smileBytes.length + " json: " + jsonBytes.length);
+		assertEquals(json.readValue(jsonBytes, Map.class), smile.readValue(smileBytes, Map.class));
+	}
+
+}
@@ -0,0 +1,81 @@
+package org.einnovator.sso.client.reactive.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.einnovator.sso.client.model.User;
+import org.einnovator.sso.client.reactive.config.ReactivePrincipalConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import reactor.core.publisher.Mono;
+
+class PrincipalUserWebFilterTests {
+
+	private static Authentication makeAuthentication(String token) {
+		Map<String, Object> claims = new HashMap<>();
+		claims.put("username", "alice");
+		Jwt jwt = new Jwt(token, Instant.now(), Instant.now().plusSeconds(60),
+			Collections.<String, Object>singletonMap("alg", "RS256"), claims);
+		return new TestingAuthenticationToken("alice", jwt);
+	}
+
+	private static User filter(PrincipalUserWebFilter filter, Authentication authentication) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+		AtomicReference<User> fromAttribute = new AtomicReference<>();
+		AtomicReference<User> fromContext = new AtomicReference<>();
+		filter.filter(exchange, exchange2 -> PrincipalUserWebFilter.getPrincipalUser(exchange2)
+				.doOnNext(fromAttribute::set)
+				.then(Mono.subscriberContext())
+				.flatMap(context -> context.<Mono<User>>get(PrincipalUserWebFilter.PRINCIPAL_USER_ATTRIBUTE))
+				.doOnNext(fromContext::set)
+				.then())
+			.subscriberContext(ReactiveSecurityContextHolder.withAuthentication(authentication))
+			.block();
+		assertSame(fromAttribute.get(), fromContext.get());
+		return fromAttribute.get();
+	}
+
+	@Test
+	void exposesPrincipalUserAsAttributeAndInContext() {
+		User user = filter(new PrincipalUserWebFilter(), makeAuthentication("t1"));
+		assertEquals("alice", user.getUsername());
+	}
+
+	@Test
+	void emptyWithoutPrincipalDetails() {
+		User user = filter(new PrincipalUserWebFilter(), new TestingAuthenticationToken("alice", "secret"));
+		assertNull(user);
+	}
+
+	@Test
+	void cachesUserPerToken() {
+		ReactivePrincipalConfiguration config = new ReactivePrincipalConfiguration();
+		config.setCacheTtl(60000L);
+		PrincipalUserWebFilter filter = new PrincipalUserWebFilter(config);
+		User user = filter(filter, makeAuthentication("t1"));
+		assertSame(user, filter(filter, makeAuthentication("t1")));
+		assertNotSame(user, filter(filter, makeAuthentication("t2")));
+	}
+
+	@Test
+	void doesNotCacheByDefault() {
+		PrincipalUserWebFilter filter = new PrincipalUserWebFilter();
+		User user = filter(filter, makeAuthentication("t1"));
+		assertNotSame(user, filter(filter, makeAuthentication("t1")));
+	}
+
+}